@@ -54,6 +54,26 @@ import exchangemage.effects.targeting.Targetable;
  * </ul>
  */
 public interface Actor extends Targetable, PersistentEffectsHolder {
+    /**
+     * A set of {@link ActorEvent}s published to the {@link Observer}s of an {@link Actor} as a
+     * single update. A single event is a set of its own, while the events caused by a single state
+     * transition of an actor (e.g. receiving damage which kills it) can be combined into an
+     * {@link ActorEventMask}.
+     *
+     * @see ActorEvent
+     * @see ActorEventMask
+     */
+    interface ActorEventSet extends Observable.Event {
+        /**
+         * @param event the event to check
+         * @return <code>true</code> if the given event is in the set, <code>false</code> otherwise
+         */
+        default boolean contains(ActorEvent event) {return (getMask() & event.getMask()) != 0;}
+
+        /** @return the bitmask of the events in the set, with a bit per event ordinal */
+        int getMask();
+    }
+
     /**
      * An enum defining events specific to {@link Actor} operations. Can be used to notify
      * its {@link Observer}s and create {@link NotificationEffect}s used to trigger
@@ -63,7 +83,7 @@ public interface Actor extends Targetable, PersistentEffectsHolder {
      * @see NotificationEffect
      * @see Observable
      */
-    enum ActorEvent implements Observable.Event, Notification {
+    enum ActorEvent implements ActorEventSet, Notification {
         /** Event used to notify {@link Observer}s that an {@link Actor} has died. */
         DEATH,
         /** Event used to notify {@link Observer}s that an {@link Actor} has received damage. */
@@ -84,7 +104,76 @@ public interface Actor extends Targetable, PersistentEffectsHolder {
          * Event used to notify {@link Observer}s that an {@link Actor}'s health has been restored
          * to its maximum value.
          */
-        MAX_HEALTH_REACHED;
+        MAX_HEALTH_REACHED,
+        /**
+         * Event used to notify {@link Observer}s that an {@link Actor}'s health has been set
+         * directly, without the actor receiving damage or healing.
+         */
+        HEALTH_SET;
+
+        /** The events, indexed by ordinal. */
+        private static final ActorEvent[] VALUES = values();
+
+        /** @return the bitmask containing only this event */
+        @Override
+        public int getMask() {return 1 << ordinal();}
+
+        /**
+         * @param ordinal the ordinal of the event to return
+         * @return the event with the given ordinal
+         */
+        static ActorEvent of(int ordinal) {return VALUES[ordinal];}
+    }
+
+    /**
+     * An immutable set of two or more {@link ActorEvent}s caused by a single state transition of
+     * an {@link Actor}, delivered to its {@link Observer}s as one update. Instances are shared -
+     * there is one for each combination of events.
+     *
+     * @see #of
+     */
+    final class ActorEventMask implements ActorEventSet {
+        /** The shared sets, indexed by mask. */
+        private static final ActorEventSet[] SETS =
+                new ActorEventSet[1 << ActorEvent.VALUES.length];
+
+        static {
+            for (int mask = 1; mask < SETS.length; mask++)
+                SETS[mask] = Integer.bitCount(mask) == 1
+                             ? ActorEvent.of(Integer.numberOfTrailingZeros(mask))
+                             : new ActorEventMask(mask);
+        }
+
+        /** The bitmask of the events in the set. */
+        private final int mask;
+
+        private ActorEventMask(int mask) {this.mask = mask;}
+
+        /**
+         * @param mask the bitmask of the events, with a bit per event ordinal
+         * @return the shared set of the events in the given mask - the {@link ActorEvent} itself
+         * if the mask contains a single event
+         * @throws IllegalArgumentException if the mask is empty or contains unknown bits
+         */
+        public static ActorEventSet of(int mask) {
+            if (mask <= 0 || mask >= SETS.length)
+                throw new IllegalArgumentException("Invalid actor event mask: " + mask + ".");
+            return SETS[mask];
+        }
+
+        @Override
+        public int getMask() {return this.mask;}
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder("[");
+            for (int bits = this.mask; bits != 0; bits &= bits - 1) {
+                if (builder.length() > 1)
+                    builder.append(", ");
+                builder.append(ActorEvent.of(Integer.numberOfTrailingZeros(bits)));
+            }
+            return builder.append(']').toString();
+        }
     }
 
     /** @return the set of {@link Targetable}s held by this actor (if any) */
@@ -120,6 +209,16 @@ public interface Actor extends Targetable, PersistentEffectsHolder {
     /** @return <code>true</code> if this actor is dead, <code>false</code> otherwise */
     boolean isDead();
 
+    /**
+     * Returns a counter incremented every time the state of this actor (e.g. its health or the set
+     * of {@link PersistentEffect}s it holds) changes. Used to invalidate cached results of
+     * computations which read the actor's state.
+     *
+     * @return the current state version of this actor
+     * @see Scene#getStateVersion
+     */
+    long getStateVersion();
+
     /**
      * Notifies this actor's {@link Observer}s of the specified {@link ActorEvent} and calls
      * on the {@link EffectPlayer} to play a {@link NotificationEffect} for the event.
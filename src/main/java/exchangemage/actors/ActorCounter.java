@@ -0,0 +1,124 @@
+package exchangemage.actors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import exchangemage.cards.Card;
+import exchangemage.effects.triggers.getters.ActorCounterGetter;
+
+/**
+ * A named counter kept by every {@link DeckHolderActor}, such as the damage it has taken during
+ * the current turn or the number of {@link Card}s it has played. Each counter is tagged with a
+ * {@link CounterScope} and is reset lazily once a new period of its scope begins.
+ * <br><br>
+ * Counters are registered once, under a unique name, and receive dense ids in the order of
+ * registration, which the actors use to index the arrays storing their counter values. The
+ * built-in counters are maintained by the actors and the effect player; counters registered by
+ * designers are written through {@link DeckHolderActor#incrementCounter}. All counters can be
+ * read by triggers through {@link ActorCounterGetter}s.
+ *
+ * @see CounterScope
+ * @see DeckHolderActor#getCounter
+ */
+public final class ActorCounter {
+    /** The registered counters, indexed by id. */
+    private static final List<ActorCounter> counters = new ArrayList<>();
+
+    /** The registered counters, keyed by name. */
+    private static final Map<String, ActorCounter> byName = new HashMap<>();
+
+    /** The health lost to damage by an actor during the current turn. */
+    public static final ActorCounter DAMAGE_TAKEN_THIS_TURN =
+            register("damageTakenThisTurn", CounterScope.TURN);
+
+    /** The health lost to damage by an actor during the current round. */
+    public static final ActorCounter DAMAGE_TAKEN_THIS_ROUND =
+            register("damageTakenThisRound", CounterScope.ROUND);
+
+    /** The health lost to damage by an actor during the current encounter. */
+    public static final ActorCounter DAMAGE_TAKEN_THIS_ENCOUNTER =
+            register("damageTakenThisEncounter", CounterScope.ENCOUNTER);
+
+    /** The health restored by healing to an actor during the current encounter. */
+    public static final ActorCounter HEALING_THIS_ENCOUNTER =
+            register("healingThisEncounter", CounterScope.ENCOUNTER);
+
+    /** The number of {@link Card}s played by an actor during the current turn. */
+    public static final ActorCounter CARDS_PLAYED_THIS_TURN =
+            register("cardsPlayedThisTurn", CounterScope.TURN);
+
+    /** The unique name of the counter. */
+    private final String name;
+
+    /** The scope after which the counter is reset. */
+    private final CounterScope scope;
+
+    /** The dense id of the counter. */
+    private final int id;
+
+    private ActorCounter(String name, CounterScope scope, int id) {
+        this.name  = name;
+        this.scope = scope;
+        this.id    = id;
+    }
+
+    /**
+     * Registers a new counter with the given name and scope.
+     *
+     * @param name  the unique name of the counter
+     * @param scope the scope after which the counter is reset
+     * @return the registered counter
+     * @throws NullPointerException     if the name or scope is <code>null</code>
+     * @throws IllegalArgumentException if a counter with the given name is already registered
+     */
+    public static synchronized ActorCounter register(String name, CounterScope scope) {
+        Objects.requireNonNull(name, "Counter name cannot be null.");
+        Objects.requireNonNull(scope, "Counter scope cannot be null.");
+        if (byName.containsKey(name))
+            throw new IllegalArgumentException(
+                    String.format("Counter \"%s\" is already registered.", name)
+            );
+        ActorCounter counter = new ActorCounter(name, scope, counters.size());
+        counters.add(counter);
+        byName.put(name, counter);
+        return counter;
+    }
+
+    /**
+     * @param name the name of the counter to return
+     * @return the counter registered under the given name
+     * @throws IllegalArgumentException if no counter is registered under the given name
+     */
+    public static synchronized ActorCounter get(String name) {
+        ActorCounter counter = byName.get(name);
+        if (counter == null)
+            throw new IllegalArgumentException(
+                    String.format("No counter is registered under the name \"%s\".", name)
+            );
+        return counter;
+    }
+
+    /** @return an unmodifiable list of all registered counters, in the order of their ids */
+    public static synchronized List<ActorCounter> getAll() {
+        return Collections.unmodifiableList(new ArrayList<>(counters));
+    }
+
+    /** @return the number of registered counters */
+    static synchronized int count() {return counters.size();}
+
+    /** @return the unique name of the counter */
+    public String getName() {return this.name;}
+
+    /** @return the scope after which the counter is reset */
+    public CounterScope getScope() {return this.scope;}
+
+    /** @return the dense id of the counter */
+    int getId() {return this.id;}
+
+    @Override
+    public String toString() {return this.name;}
+}
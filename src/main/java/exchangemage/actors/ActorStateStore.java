@@ -0,0 +1,188 @@
+package exchangemage.actors;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import exchangemage.scenes.Encounter;
+
+/**
+ * An optional backing store of the scalar state of {@link DeckHolderActor}s - their current and
+ * maximum health and state version - kept in primitive arrays indexed by the slots
+ * of the actors attached to the store. An attached actor remains a thin view of its slot: all
+ * of its health methods read and write the arrays of the store, while its observers and
+ * persistent effects stay with the actor.
+ * <br><br>
+ * Since the state of all attached actors is laid out contiguously, the bulk operations of the
+ * store (e.g. {@link #sumCurrentHealth} or {@link #countAlive}) are plain loops over
+ * primitive arrays, which do not touch the actor objects. Stores are meant to group actors which
+ * are processed together - for instance, keeping the enemies of an {@link Encounter} in a store
+ * of their own lets the health of all enemies be summed in a single pass.
+ * <br><br>
+ * Stores can be reused across many simulated encounters - {@link #clear} detaches all attached
+ * actors while keeping the arrays. A detached actor gets its state back and keeps working on its
+ * own, so no actor ever shares a slot with the actors attached after it.
+ *
+ * @see DeckHolderActor
+ */
+public final class ActorStateStore {
+    /** The initial number of slots of a store. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The actors attached to the store, indexed by slot. */
+    private DeckHolderActor[] actors;
+
+    /** The current health of the attached actors. */
+    private int[] currentHealth;
+
+    /** The maximum health of the attached actors. */
+    private int[] maxHealth;
+
+    /** The state versions of the attached actors. */
+    private long[] stateVersion;
+
+    /** The number of attached actors. */
+    private int size = 0;
+
+    /** Creates an empty store. */
+    public ActorStateStore() {this(INITIAL_CAPACITY);}
+
+    /**
+     * @param capacity the number of actors the store can hold before its arrays are grown
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public ActorStateStore(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Store capacity must be positive.");
+        this.actors        = new DeckHolderActor[capacity];
+        this.currentHealth = new int[capacity];
+        this.maxHealth     = new int[capacity];
+        this.stateVersion  = new long[capacity];
+    }
+
+    /**
+     * Attaches the given {@link DeckHolderActor} to the store, moving its current state into the
+     * next free slot. From then on, the state of the actor is kept by the store.
+     *
+     * @param actor the actor to attach
+     * @return the slot assigned to the actor
+     * @throws NullPointerException     if the actor is <code>null</code>
+     * @throws IllegalArgumentException if the actor is already attached to a store
+     */
+    public int attach(DeckHolderActor actor) {
+        Objects.requireNonNull(actor, "Cannot attach null actor to store.");
+        if (actor.getStateStore() != null)
+            throw new IllegalArgumentException("Actor is already attached to a store.");
+
+        if (this.size == this.actors.length)
+            grow();
+        int slot = this.size++;
+        this.actors[slot]        = actor;
+        this.currentHealth[slot] = actor.getCurrentHealth();
+        this.maxHealth[slot]     = actor.getMaxHealth();
+        this.stateVersion[slot]  = actor.getStateVersion();
+        actor.attachTo(this, slot);
+        return slot;
+    }
+
+    /**
+     * Detaches the given {@link DeckHolderActor} from the store, copying the state kept in its
+     * slot back into the actor. The last attached actor is moved into the freed slot, so the
+     * slots of the store stay contiguous.
+     *
+     * @param actor the actor to detach
+     * @throws NullPointerException     if the actor is <code>null</code>
+     * @throws IllegalArgumentException if the actor is not attached to this store
+     */
+    public void detach(DeckHolderActor actor) {
+        Objects.requireNonNull(actor, "Cannot detach null actor from store.");
+        if (actor.getStateStore() != this)
+            throw new IllegalArgumentException("Actor is not attached to this store.");
+
+        int slot = actor.getStateSlot();
+        int last = --this.size;
+        actor.detach();
+        if (slot != last) {
+            this.actors[slot]        = this.actors[last];
+            this.currentHealth[slot] = this.currentHealth[last];
+            this.maxHealth[slot]     = this.maxHealth[last];
+            this.stateVersion[slot]  = this.stateVersion[last];
+            this.actors[slot].attachTo(this, slot);
+        }
+        this.actors[last] = null;
+    }
+
+    /**
+     * Detaches all attached actors (see {@link #detach}), keeping the arrays of the store for
+     * reuse.
+     */
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            this.actors[i].detach();
+            this.actors[i] = null;
+        }
+        this.size = 0;
+    }
+
+    /** @return the number of attached actors */
+    public int size() {return this.size;}
+
+    /**
+     * @param slot the slot of the actor to return
+     * @return the actor attached to the given slot
+     * @throws IndexOutOfBoundsException if no actor is attached to the slot
+     */
+    public DeckHolderActor getActor(int slot) {
+        Objects.checkIndex(slot, this.size);
+        return this.actors[slot];
+    }
+
+    // ------------------------------------ bulk operations ----------------------------------- //
+
+    /** @return the sum of the current health of all attached actors */
+    public long sumCurrentHealth() {
+        long sum = 0;
+        for (int i = 0; i < this.size; i++)
+            sum += this.currentHealth[i];
+        return sum;
+    }
+
+    /** @return the sum of the maximum health of all attached actors */
+    public long sumMaxHealth() {
+        long sum = 0;
+        for (int i = 0; i < this.size; i++)
+            sum += this.maxHealth[i];
+        return sum;
+    }
+
+    /** @return the number of attached actors which are alive */
+    public int countAlive() {
+        int count = 0;
+        for (int i = 0; i < this.size; i++)
+            if (this.currentHealth[i] != 0)
+                count++;
+        return count;
+    }
+
+    // ------------------------------------- slot accessors ----------------------------------- //
+
+    int getCurrentHealth(int slot) {return this.currentHealth[slot];}
+
+    void setCurrentHealth(int slot, int currentHealth) {this.currentHealth[slot] = currentHealth;}
+
+    int getMaxHealth(int slot) {return this.maxHealth[slot];}
+
+    long getStateVersion(int slot) {return this.stateVersion[slot];}
+
+    void incrementStateVersion(int slot) {this.stateVersion[slot]++;}
+
+    // ------------------------------------- helper methods ----------------------------------- //
+
+    /** Doubles the capacity of the store. */
+    private void grow() {
+        int capacity = this.actors.length * 2;
+        this.actors        = Arrays.copyOf(this.actors, capacity);
+        this.currentHealth = Arrays.copyOf(this.currentHealth, capacity);
+        this.maxHealth     = Arrays.copyOf(this.maxHealth, capacity);
+        this.stateVersion  = Arrays.copyOf(this.stateVersion, capacity);
+    }
+}
@@ -0,0 +1,54 @@
+package exchangemage.actors;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import exchangemage.base.GameState;
+
+/**
+ * The current epochs of the {@link CounterScope}s of a single game session, kept by its
+ * {@link GameState}. Every session advances its own epochs, so a new period of play begun in one
+ * session does not reset the counters read in another.
+ * <br><br>
+ * The epochs of all sessions are drawn from a single global clock, so an epoch is never reused -
+ * a counter cannot match an epoch of a later period, not even after its actor has been moved to
+ * another encounter or session. Epochs are advanced by the thread playing the session, but can be
+ * read by any thread (e.g. one planning the intent of an enemy).
+ *
+ * @see CounterScope
+ * @see GameState#getCounterEpochs
+ */
+public final class CounterEpochs {
+    /** The clock all epochs are drawn from. */
+    private static final AtomicLong clock = new AtomicLong();
+
+    /** The current epochs of all scopes, indexed by ordinal. */
+    private final AtomicLongArray epochs = new AtomicLongArray(CounterScope.values().length);
+
+    /** Creates the epochs of a new session, beginning a new period of every scope. */
+    public CounterEpochs() {advance(CounterScope.ENCOUNTER);}
+
+    /**
+     * @param scope the scope whose epoch to return
+     * @return the current epoch of the given scope
+     * @throws NullPointerException if the scope is <code>null</code>
+     */
+    public long get(CounterScope scope) {
+        Objects.requireNonNull(scope, "Counter scope cannot be null.");
+        return this.epochs.get(scope.ordinal());
+    }
+
+    /**
+     * Begins a new period of the given scope (and of all narrower scopes) in this session.
+     *
+     * @param scope the scope to advance
+     * @throws NullPointerException if the scope is <code>null</code>
+     */
+    public void advance(CounterScope scope) {
+        Objects.requireNonNull(scope, "Counter scope cannot be null.");
+        long epoch = clock.incrementAndGet();
+        for (int i = 0; i <= scope.ordinal(); i++)
+            this.epochs.set(i, epoch);
+    }
+}
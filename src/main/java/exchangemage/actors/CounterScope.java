@@ -0,0 +1,45 @@
+package exchangemage.actors;
+
+import exchangemage.base.GameState;
+import exchangemage.base.GameStateLocator;
+import exchangemage.scenes.Encounter;
+import exchangemage.scenes.TurnPlayer;
+
+/**
+ * An enum of the scopes of {@link ActorCounter}s - the periods of play after which the counters
+ * are reset to zero.
+ * <br><br>
+ * Counters are not reset by walking all actors at each boundary. Instead, every scope has an
+ * epoch, kept per session by the {@link CounterEpochs} of the current {@link GameState} and
+ * advanced by the {@link TurnPlayer} (and the {@link Encounter}) whenever a new period of the
+ * scope begins. Each counter of an actor remembers the epoch it was last written in and is
+ * treated as zero once that epoch is no longer current.
+ * <br><br>
+ * Scopes are nested: advancing a scope also advances all narrower scopes (e.g. a new round is
+ * also a new turn).
+ *
+ * @see ActorCounter
+ * @see CounterEpochs
+ * @see DeckHolderActor#getCounter
+ */
+public enum CounterScope {
+    /** Counters reset at the start of every turn. */
+    TURN,
+    /** Counters reset at the start of every round. */
+    ROUND,
+    /** Counters reset at the start of every encounter. */
+    ENCOUNTER;
+
+    /** @return the current epoch of this scope in the session of the current game state */
+    public long getEpoch() {return GameStateLocator.getGameState().getCounterEpochs().get(this);}
+
+    /**
+     * Begins a new period of this scope (and of all narrower scopes) in the session of the current
+     * game state, making all counters of these scopes read as zero until they are written again.
+     *
+     * @see TurnPlayer#notifyTurnStarted
+     * @see TurnPlayer#notifyRoundStarted
+     * @see Encounter#start
+     */
+    public void advance() {GameStateLocator.getGameState().getCounterEpochs().advance(this);}
+}
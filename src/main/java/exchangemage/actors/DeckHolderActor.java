@@ -1,18 +1,23 @@
 package exchangemage.actors;
 
+import java.util.Arrays;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Objects;
 
+import exchangemage.base.GameStateLocator;
 import exchangemage.base.Observer;
 import exchangemage.cards.Deck;
 import exchangemage.cards.Card;
 import exchangemage.base.Observable;
 import exchangemage.scenes.Encounter;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.NotificationEffect;
 import exchangemage.effects.value.DamageEffect;
 import exchangemage.effects.value.HealEffect;
 import exchangemage.effects.deployers.PersistentEffect;
 import exchangemage.effects.deployers.PersistentEffectsHolder;
+import exchangemage.stats.CombatStats;
 
 /**
  * Base abstract class for all {@link Actor}s which hold a {@link Deck} and whose actions revolve
@@ -21,6 +26,13 @@ import exchangemage.effects.deployers.PersistentEffectsHolder;
  * <br><br>
  * This base class also provides default implementations of the actor's {@link Observable} and
  * {@link PersistentEffectsHolder} methods, as well as logic related to the actor's health.
+ * <br><br>
+ * The scalar state of the actor (its health and state version) is kept in its own fields, unless
+ * the actor is attached to an {@link ActorStateStore}, in which case the actor reads and writes
+ * the arrays of the store instead.
+ * <br><br>
+ * Every actor also keeps the values of all {@link ActorCounter}s, which are reset lazily once a
+ * new period of their {@link CounterScope} begins - see {@link #getCounter}.
  *
  * @see Deck
  * @see Actor
@@ -41,11 +53,53 @@ public abstract class DeckHolderActor implements Actor {
     /** The current health value of the enemy. */
     private int currentHealth;
 
-    /** Whether the enemy has been damaged during current {@link Encounter}. */
-    private boolean damagedThisEncounter = false;
+    /**
+     * Counter incremented every time the health or the set of {@link PersistentEffect}s of this
+     * actor changes.
+     */
+    private long stateVersion = 0;
+
+    /** The number of bits used to store the ordinal of an {@link ActorEvent}. */
+    private static final int EVENT_BITS = Math.max(
+            1, Integer.SIZE - Integer.numberOfLeadingZeros(ActorEvent.values().length - 1)
+    );
+
+    /** The mask of the bits storing the ordinal of an {@link ActorEvent}. */
+    private static final long EVENT_BITS_MASK = (1L << EVENT_BITS) - 1;
 
-    /** Whether the enemy has been damaged during current round. */
-    private boolean damagedThisRound = false;
+    static {
+        if (ActorEvent.values().length * EVENT_BITS > Long.SIZE)
+            throw new IllegalStateException("Too many actor events to record the order of the " +
+                                            "events of a state transition.");
+    }
+
+    /** The number of state transitions of this actor in progress (nested transitions included). */
+    private int transitionDepth = 0;
+
+    /** The bitmask of the events published during the current state transition. */
+    private int pendingMask = 0;
+
+    /**
+     * The ordinals of the events published during the current transition, {@link #EVENT_BITS}
+     * bits each, in order. Every event is recorded at most once per transition, so the ordinals
+     * of all events always fit.
+     */
+    private long pendingOrder = 0;
+
+    /** The number of events published during the current state transition. */
+    private int pendingCount = 0;
+
+    /** The store keeping the scalar state of this actor (or <code>null</code> if not attached). */
+    private ActorStateStore stateStore;
+
+    /** The slot of this actor in its {@link #stateStore} (or <code>-1</code> if not attached). */
+    private int stateSlot = -1;
+
+    /** The values of the {@link ActorCounter}s of this actor, indexed by counter id. */
+    private int[] counterValues = new int[0];
+
+    /** The epochs in which the {@link #counterValues} were last written, indexed by counter id. */
+    private long[] counterEpochs = new long[0];
 
     /**
      * @param deck              this actor's {@link Deck}
@@ -71,14 +125,18 @@ public abstract class DeckHolderActor implements Actor {
     // ------------------------------------ health methods ------------------------------------ //
 
     /**
-     * Sets this actor's {@link #currentHealth} to the specified value.
+     * Sets this actor's {@link #currentHealth} to the specified value and notifies its
+     * {@link Observer}s of the {@link ActorEvent#HEALTH_SET} event.
+     *
      * @param currentHealth the new value of this actor's current health
      * @throws IllegalArgumentException if the specified value is negative
      */
     public void setCurrentHealth(int currentHealth) {
         if (currentHealth < 0)
             throw new IllegalArgumentException("Actor's current health cannot be negative.");
-        this.currentHealth = currentHealth;
+        writeHealth(currentHealth);
+        incrementStateVersion();
+        notifyObservers(ActorEvent.HEALTH_SET);
     }
 
     /**
@@ -86,6 +144,9 @@ public abstract class DeckHolderActor implements Actor {
      * alert {@link Observer}s and the {@link Encounter} of any relevant {@link ActorEvent}s.
      * <br><br>
      * If as a result of this method health is reduced to zero, the {@link #die} method is called.
+     * All events caused by the damage (including the death) are coalesced into a single update -
+     * see {@link #notifyOfEvent}. The health lost is recorded in the current {@link CombatStats}
+     * (if any).
      *
      * @param damage the amount of damage received (ignored if negative)
      * @see Actor.ActorEvent
@@ -96,26 +157,49 @@ public abstract class DeckHolderActor implements Actor {
         if (damage <= 0)
             return;
 
-        this.currentHealth = Math.max(0, this.currentHealth - damage);
+        boolean completed = false;
+        this.transitionDepth++;
+        try {
+            applyDamage(damage);
+            completed = true;
+        } finally {
+            endTransition(completed);
+        }
+    }
+
+    /**
+     * Applies the damage and counts the health actually lost towards the damage counters, so
+     * overkill damage is not counted. The first damage events are only published once health has
+     * actually been lost in the period of their counter.
+     *
+     * @param damage the amount of damage received (positive)
+     */
+    private void applyDamage(int damage) {
+        int health = getCurrentHealth();
+        writeHealth(Math.max(0, health - damage));
+        incrementStateVersion();
+        int lost = health - getCurrentHealth();
+
+        CombatStats stats = CombatStats.current();
+        if (stats != null)
+            stats.recordDamageTaken(this, lost);
+
         notifyOfEvent(ActorEvent.DAMAGE_RECEIVED);
 
-        if (!this.damagedThisEncounter) {
-            this.damagedThisEncounter = true;
+        incrementCounter(ActorCounter.DAMAGE_TAKEN_THIS_ROUND, lost);
+        if (incrementCounter(ActorCounter.DAMAGE_TAKEN_THIS_ENCOUNTER, lost) == 0 && lost > 0)
             notifyOfEvent(ActorEvent.FIRST_DAMAGE_THIS_ENCOUNTER_RECEIVED);
-        }
-
-        if (!this.damagedThisRound) {
-            this.damagedThisRound = true;
+        if (incrementCounter(ActorCounter.DAMAGE_TAKEN_THIS_TURN, lost) == 0 && lost > 0)
             notifyOfEvent(ActorEvent.FIRST_DAMAGE_THIS_TURN_RECEIVED);
-        }
 
-        if (this.currentHealth == 0)
+        if (getCurrentHealth() == 0)
             die();
     }
 
     /**
      * Heals the specified amount of health and calls on the {@link #notifyOfEvent} method to alert
-     * {@link Observer}s and the {@link Encounter} of any relevant {@link ActorEvent}s.
+     * {@link Observer}s and the {@link Encounter} of any relevant {@link ActorEvent}s. All events
+     * caused by the healing are coalesced into a single update - see {@link #notifyOfEvent}.
      *
      * @param healing the amount of healing received (ignored if negative)
      * @see Actor.ActorEvent
@@ -126,11 +210,32 @@ public abstract class DeckHolderActor implements Actor {
         if (healing <= 0)
             return;
 
-        boolean healed = this.currentHealth < this.maxHealth;
-        this.currentHealth = Math.min(this.maxHealth, this.currentHealth + healing);
+        boolean completed = false;
+        this.transitionDepth++;
+        try {
+            applyHealing(healing);
+            completed = true;
+        } finally {
+            endTransition(completed);
+        }
+    }
+
+    /**
+     * Applies the healing and counts the health actually restored towards the healing counter,
+     * so overhealing is not counted.
+     *
+     * @param healing the amount of healing received (positive)
+     */
+    private void applyHealing(int healing) {
+        int     maxHealth = getMaxHealth();
+        int     health    = getCurrentHealth();
+        boolean healed    = health < maxHealth;
+        writeHealth(Math.min(maxHealth, health + healing));
+        incrementStateVersion();
+        incrementCounter(ActorCounter.HEALING_THIS_ENCOUNTER, getCurrentHealth() - health);
         notifyOfEvent(ActorEvent.HEALING_RECEIVED);
 
-        if (this.currentHealth == this.maxHealth && healed)
+        if (getCurrentHealth() == maxHealth && healed)
             notifyOfEvent(ActorEvent.MAX_HEALTH_REACHED);
     }
 
@@ -146,13 +251,197 @@ public abstract class DeckHolderActor implements Actor {
      * <code>false</code> otherwise
      */
     @Override
-    public boolean isDead() {return this.currentHealth == 0;}
+    public boolean isDead() {return getCurrentHealth() == 0;}
 
     /** @return this actor's {@link #maxHealth} */
-    public int getMaxHealth() {return this.maxHealth;}
+    public int getMaxHealth() {
+        return this.stateStore != null ? this.stateStore.getMaxHealth(this.stateSlot)
+                                       : this.maxHealth;
+    }
 
     /** @return this actor's {@link #currentHealth} */
-    public int getCurrentHealth() {return this.currentHealth;}
+    public int getCurrentHealth() {
+        return this.stateStore != null ? this.stateStore.getCurrentHealth(this.stateSlot)
+                                       : this.currentHealth;
+    }
+
+    /** @return this actor's {@link #stateVersion} */
+    @Override
+    public long getStateVersion() {
+        return this.stateStore != null ? this.stateStore.getStateVersion(this.stateSlot)
+                                       : this.stateVersion;
+    }
+
+    // --------------------------------------- counters --------------------------------------- //
+
+    /**
+     * Returns the value of the given {@link ActorCounter} of this actor. A counter which has not
+     * been written since the current period of its {@link CounterScope} began reads as zero.
+     *
+     * @param counter the counter to read
+     * @return the value of the counter in the current period of its scope
+     * @throws NullPointerException if the counter is <code>null</code>
+     */
+    public int getCounter(ActorCounter counter) {
+        Objects.requireNonNull(counter, "Counter to read cannot be null.");
+        int id = counter.getId();
+        if (id >= this.counterValues.length
+            || this.counterEpochs[id] != counter.getScope().getEpoch())
+            return 0;
+        return this.counterValues[id];
+    }
+
+    /**
+     * Adds the given amount to the given {@link ActorCounter} of this actor, first resetting the
+     * counter if it was last written in an earlier period of its {@link CounterScope}.
+     *
+     * @param counter the counter to increment
+     * @param amount  the amount to add
+     * @return the value of the counter before the increment
+     * @throws NullPointerException     if the counter is <code>null</code>
+     * @throws IllegalArgumentException if the amount is negative
+     */
+    public int incrementCounter(ActorCounter counter, int amount) {
+        Objects.requireNonNull(counter, "Counter to increment cannot be null.");
+        if (amount < 0)
+            throw new IllegalArgumentException("Counter increment cannot be negative.");
+        int id = counter.getId();
+        if (id >= this.counterValues.length) {
+            int length = Math.max(id + 1, ActorCounter.count());
+            this.counterValues = Arrays.copyOf(this.counterValues, length);
+            this.counterEpochs = Arrays.copyOf(this.counterEpochs, length);
+        }
+
+        long epoch    = counter.getScope().getEpoch();
+        int  previous = this.counterEpochs[id] == epoch ? this.counterValues[id] : 0;
+        this.counterEpochs[id] = epoch;
+        this.counterValues[id] = previous + amount;
+        return previous;
+    }
+
+    // ------------------------------------ event emission ------------------------------------ //
+
+    /**
+     * Notifies this actor's {@link Observer}s of the specified {@link ActorEvent} and calls on the
+     * {@link EffectPlayer} to play a {@link NotificationEffect} for the event.
+     * <br><br>
+     * Events published while the actor is in the middle of a state transition (i.e. while it
+     * receives damage or is healed) are coalesced - they are packed into a bitmask and delivered
+     * once the transition is complete:
+     * <ul>
+     *     <li>
+     *         <b>Observers</b> - receive a single update with all events of the transition, as an
+     *         {@link ActorEventMask} (or the event itself if there was only one).
+     *     </li>
+     *     <br>
+     *     <li>
+     *         <b>Persistent effects</b> - a notification effect is played for every event of the
+     *         transition, in the order in which the events were published, so the reactions are
+     *         resolved in the same order as if the events were published separately. Events no
+     *         {@link PersistentEffect} is subscribed to are skipped (see
+     *         {@link EffectPlayer#hasSubscribers}).
+     *     </li>
+     * </ul>
+     * An event published more than once during a transition is delivered once.
+     *
+     * @param event the event to notify the observers and play an effect for
+     * @throws NullPointerException if the event is <code>null</code>
+     */
+    @Override
+    public void notifyOfEvent(ActorEvent event) {
+        Objects.requireNonNull(event, "Cannot notify of null event.");
+        if (this.transitionDepth > 0) {
+            if ((this.pendingMask & event.getMask()) == 0) {
+                this.pendingOrder |= (long) event.ordinal() << (EVENT_BITS * this.pendingCount++);
+                this.pendingMask  |= event.getMask();
+            }
+            return;
+        }
+        publish(event.getMask(), event.ordinal(), 1);
+    }
+
+    /**
+     * Ends a state transition of this actor, publishing the events coalesced during it once the
+     * outermost transition is complete. The events of a transition interrupted by an exception
+     * are discarded.
+     *
+     * @param completed whether the transition has completed without an exception
+     */
+    private void endTransition(boolean completed) {
+        if (--this.transitionDepth > 0 || this.pendingCount == 0)
+            return;
+        int  mask  = this.pendingMask;
+        long order = this.pendingOrder;
+        int  count = this.pendingCount;
+        this.pendingMask  = 0;
+        this.pendingOrder = 0;
+        this.pendingCount = 0;
+        if (completed)
+            publish(mask, order, count);
+    }
+
+    /**
+     * Notifies the observers of the given events with a single update and plays a
+     * {@link NotificationEffect} for each of them with subscribers, in order.
+     *
+     * @param mask  the bitmask of the events
+     * @param order the ordinals of the events, {@link #EVENT_BITS} bits each, in order
+     * @param count the number of events
+     */
+    private void publish(int mask, long order, int count) {
+        notifyObservers(ActorEventMask.of(mask));
+        EffectPlayer effectPlayer = GameStateLocator.getGameState().getEffectPlayer();
+        for (int i = 0; i < count; i++) {
+            ActorEvent event = ActorEvent.of((int) (order >>> (EVENT_BITS * i) & EVENT_BITS_MASK));
+            if (effectPlayer.hasSubscribers(event))
+                effectPlayer.evaluateEffect(new NotificationEffect(event, this));
+        }
+    }
+
+    // ------------------------------------ state storage ------------------------------------- //
+
+    /** @return the store keeping the state of this actor (or <code>null</code> if not attached) */
+    public ActorStateStore getStateStore() {return this.stateStore;}
+
+    /** @return the slot of this actor in its store (or <code>-1</code> if not attached) */
+    int getStateSlot() {return this.stateSlot;}
+
+    /**
+     * Called by an {@link ActorStateStore} once it has copied the state of this actor into the
+     * given slot.
+     *
+     * @param store the store the actor is attached to
+     * @param slot  the slot of the actor in the store
+     */
+    void attachTo(ActorStateStore store, int slot) {
+        this.stateStore = store;
+        this.stateSlot  = slot;
+    }
+
+    /**
+     * Called by the {@link ActorStateStore} this actor is attached to in order to detach it,
+     * copying the state kept in the actor's slot back into its own fields.
+     */
+    void detach() {
+        this.currentHealth = this.stateStore.getCurrentHealth(this.stateSlot);
+        this.stateVersion  = this.stateStore.getStateVersion(this.stateSlot);
+        this.stateStore    = null;
+        this.stateSlot     = -1;
+    }
+
+    private void writeHealth(int currentHealth) {
+        if (this.stateStore != null)
+            this.stateStore.setCurrentHealth(this.stateSlot, currentHealth);
+        else
+            this.currentHealth = currentHealth;
+    }
+
+    private void incrementStateVersion() {
+        if (this.stateStore != null)
+            this.stateStore.incrementStateVersion(this.stateSlot);
+        else
+            this.stateVersion++;
+    }
 
     // -------------------------- persistent effects holder methods --------------------------- //
 
@@ -163,6 +452,8 @@ public abstract class DeckHolderActor implements Actor {
             throw new IllegalArgumentException("Cannot add duplicate persistent effect.");
         effect.setSource(this);
         this.persistentEffects.add(effect);
+        incrementStateVersion();
+        notifyObservers(PersistentEffectsHolderEvent.PERSISTENT_EFFECT_ADDED);
     }
 
     @Override
@@ -171,6 +462,8 @@ public abstract class DeckHolderActor implements Actor {
         if (!this.persistentEffects.contains(effect))
             throw new IllegalArgumentException("Cannot remove persistent effect not present.");
         this.persistentEffects.remove(effect);
+        incrementStateVersion();
+        notifyObservers(PersistentEffectsHolderEvent.PERSISTENT_EFFECT_REMOVED);
     }
 
     @Override
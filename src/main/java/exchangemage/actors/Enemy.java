@@ -1,13 +1,40 @@
 package exchangemage.actors;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.HashSet;
 
+import exchangemage.base.GameStateLocator;
 import exchangemage.cards.Deck;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer;
 import exchangemage.effects.deployers.PersistentEffect;
 import exchangemage.effects.targeting.Targetable;
+import exchangemage.effects.targeting.TargetingManager;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector.TargetingMode;
 
 public class Enemy extends DeckHolderActor {
+    /**
+     * The default number of candidate targets previewed by the decisions an enemy makes during a
+     * single turn.
+     */
+    public static final int DEFAULT_TURN_BUDGET = 64;
+
+    /**
+     * The {@link Effect}s evaluated by the enemy during each of its turns, in order. Their targets
+     * are usually chosen by selectors using the {@link TargetingMode#HEURISTIC} mode.
+     */
+    private final List<Effect<?>> actions = new ArrayList<>();
+
+    /**
+     * The number of candidate targets previewed by the decisions the enemy makes during a single
+     * turn.
+     */
+    private int turnBudget = DEFAULT_TURN_BUDGET;
+
     public Enemy(Deck deck, int maxHealth, Set<PersistentEffect> persistentEffects) {
         super(deck, maxHealth, persistentEffects);
     }
@@ -16,11 +43,73 @@ public class Enemy extends DeckHolderActor {
         super(deck, maxHealth, null);
     }
 
+    /**
+     * Creates an enemy evaluating the given {@link #actions} during each of its turns. The enemy
+     * is set as the source of the actions once it has been fully constructed.
+     *
+     * @param deck              the enemy's deck
+     * @param maxHealth         the enemy's maximum health
+     * @param persistentEffects the persistent effects held by the enemy (or <code>null</code>)
+     * @param actions           the effects evaluated by the enemy during each of its turns
+     * @return the created enemy
+     * @throws NullPointerException if the actions or any of them are <code>null</code>
+     */
+    public static Enemy withActions(Deck deck,
+                                    int maxHealth,
+                                    Set<PersistentEffect> persistentEffects,
+                                    List<? extends Effect<?>> actions) {
+        Objects.requireNonNull(actions, "Actions of enemy cannot be null.");
+        Enemy enemy = new Enemy(deck, maxHealth, persistentEffects);
+        actions.forEach(action -> {
+            Objects.requireNonNull(action, "Action of enemy cannot be null.");
+            action.setSource(enemy);
+            enemy.actions.add(action);
+        });
+        return enemy;
+    }
+
     @Override
     public Set<Targetable> getTargetables() {return new HashSet<>(this.getPersistentEffects());}
 
+    /**
+     * Evaluates the enemy's {@link #actions} in order and resolves the effects they enqueue. All
+     * decisions made during the turn share a decision window of the {@link TargetingManager},
+     * limited to the enemy's {@link #turnBudget} - once it is spent, heuristic target selections
+     * no longer score their candidates and choose one of them at random.
+     */
     @Override
     public void takeTurn() {
+        if (this.actions.isEmpty())
+            return;
 
+        EffectPlayer     effectPlayer     = GameStateLocator.getGameState().getEffectPlayer();
+        TargetingManager targetingManager = effectPlayer.getTargetingManager();
+        targetingManager.openDecisionWindow(this.turnBudget);
+        try {
+            this.actions.forEach(effectPlayer::evaluateEffect);
+            effectPlayer.resolveQueue();
+        } finally {
+            targetingManager.closeDecisionWindow();
+        }
     }
+
+    /** @return an unmodifiable view of the effects evaluated by the enemy during its turns */
+    public List<Effect<?>> getActions() {return Collections.unmodifiableList(this.actions);}
+
+    /**
+     * @param turnBudget the number of candidate targets previewed by the decisions the enemy
+     *                   makes during a single turn
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    public void setTurnBudget(int turnBudget) {
+        if (turnBudget < 0)
+            throw new IllegalArgumentException("Turn budget cannot be negative.");
+        this.turnBudget = turnBudget;
+    }
+
+    /**
+     * @return the number of candidate targets previewed by the decisions the enemy makes during a
+     * single turn
+     */
+    public int getTurnBudget() {return this.turnBudget;}
 }
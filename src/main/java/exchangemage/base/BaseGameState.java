@@ -1,5 +1,8 @@
 package exchangemage.base;
 
+import java.util.random.RandomGenerator;
+
+import exchangemage.actors.CounterEpochs;
 import exchangemage.actors.Player;
 import exchangemage.effects.Effect;
 import exchangemage.effects.EffectPlayer;
@@ -11,6 +14,9 @@ import exchangemage.scenes.Scene;
  * current {@link Game} retrieved through the {@link GameLocator} class.
  */
 public class BaseGameState implements GameState {
+    /** The current epochs of the counter scopes of the session. */
+    private final CounterEpochs counterEpochs = new CounterEpochs();
+
     /** @return the {@link Player} of the current {@link Game} */
     @Override
     public Player getPlayer() {return GameLocator.getGame().getPlayer();}
@@ -43,4 +49,16 @@ public class BaseGameState implements GameState {
      */
     @Override
     public Effect<?> getEffectInEvaluation() {return getEffectPlayer().getEffectInEvaluation();}
+
+    /** @return the {@link RandomService} of the current {@link Game} */
+    @Override
+    public RandomService getRandomService() {return GameLocator.getGame().getRandomService();}
+
+    /** @return the random number generator of the current {@link Scene} of the {@link Game} */
+    @Override
+    public RandomGenerator getRandom() {return GameLocator.getGame().getRandom();}
+
+    /** @return the current epochs of the counter scopes of the session */
+    @Override
+    public CounterEpochs getCounterEpochs() {return this.counterEpochs;}
 }
@@ -1,6 +1,7 @@
 package exchangemage.base;
 
 import java.util.Objects;
+import java.util.random.RandomGenerator;
 
 import exchangemage.actors.Player;
 import exchangemage.scenes.Scene;
@@ -8,6 +9,7 @@ import exchangemage.scenes.Scene;
 public class Game {
     private Scene scene;
     private Player player;
+    private RandomService randomService = new RandomService();
 
     public Scene getScene() {return this.scene;}
 
@@ -22,4 +24,17 @@ public class Game {
         Objects.requireNonNull(player, "Player cannot be null");
         this.player = player;
     }
+
+    public RandomService getRandomService() {return this.randomService;}
+
+    public void setRandomService(RandomService randomService) {
+        Objects.requireNonNull(randomService, "Random service cannot be null");
+        this.randomService = randomService;
+    }
+
+    public RandomGenerator getRandom() {
+        if (this.scene == null)
+            return this.randomService.getStream(RandomService.StreamType.SESSION, this);
+        return this.randomService.getStream(RandomService.StreamType.ENCOUNTER, this.scene);
+    }
 }
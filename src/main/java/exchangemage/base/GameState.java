@@ -1,5 +1,9 @@
 package exchangemage.base;
 
+import java.util.random.RandomGenerator;
+
+import exchangemage.actors.CounterEpochs;
+import exchangemage.actors.CounterScope;
 import exchangemage.actors.Player;
 import exchangemage.effects.Effect;
 import exchangemage.effects.EffectPlayer;
@@ -44,4 +48,23 @@ public interface GameState {
      * current {@link Scene} or <code>null</code> if there is no effect in evaluation
      */
     Effect<?> getEffectInEvaluation();
+
+    /**
+     * @return the {@link RandomService} of the current {@link Game} session, providing the
+     * deterministic random number streams of its encounters, actors and decks
+     */
+    RandomService getRandomService();
+
+    /**
+     * @return the random number generator of the current {@link Scene}, drawn from the
+     * {@link RandomService} of the session and used by all scene logic which relies on randomness
+     * (e.g. choosing random targets)
+     */
+    RandomGenerator getRandom();
+
+    /**
+     * @return the current epochs of the {@link CounterScope}s of the current {@link Game}
+     * session, resetting the counters of its actors
+     */
+    CounterEpochs getCounterEpochs();
 }
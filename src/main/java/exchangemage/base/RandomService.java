@@ -0,0 +1,143 @@
+package exchangemage.base;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.WeakHashMap;
+import java.util.random.RandomGenerator;
+
+import exchangemage.actors.Actor;
+import exchangemage.cards.Deck;
+import exchangemage.scenes.Encounter;
+
+/**
+ * A session-scoped source of randomness, deriving independent, deterministic random number
+ * streams from a single session seed. Every game element relying on randomness (e.g. an
+ * {@link Encounter} choosing random targets, an {@link Actor} deciding on its actions or a
+ * {@link Deck} being shuffled) should draw from its own stream, so that the outcome of a session
+ * can be reproduced from its seed and the streams of different elements do not affect each
+ * other.
+ * <br><br>
+ * Streams are identified by their {@link StreamType} and a key:
+ * <ul>
+ *     <li>
+ *         <b>Numeric keys</b> - {@link #getStream(StreamType, long)} returns a new generator
+ *         whose sequence depends only on the session seed, the stream type and the key.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>Owner keys</b> - {@link #getStream(StreamType, Object)} returns the generator of the
+ *         given owner, assigning it the next numeric key of the stream type upon first request.
+ *         The sequences of such streams are reproducible as long as the owners request them in
+ *         the same order.
+ *     </li>
+ * </ul>
+ * A service and the generators it returns are not thread-safe and should be confined to the
+ * thread playing the session. Parallel simulations should {@link #fork} the service instead - a
+ * fork is an independent service with a seed derived deterministically from its parent, so no
+ * state is shared between the threads.
+ *
+ * @see GameState#getRandomService
+ */
+public final class RandomService {
+    /** An enum defining the types of game elements which are given their own random streams. */
+    public enum StreamType {
+        /** Streams used by logic which does not belong to any specific game element. */
+        SESSION,
+        /** Streams used by encounters and other scenes (e.g. to choose random targets). */
+        ENCOUNTER,
+        /** Streams used by actors (e.g. to decide on their actions). */
+        ACTOR,
+        /** Streams used by decks (e.g. to shuffle their cards). */
+        DECK
+    }
+
+    /** The increment of the SplitMix64 sequence, used to spread derived seeds. */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /** The seed of the session, from which all streams are derived. */
+    private final long seed;
+
+    /** The generators of the streams requested by owner, by stream type. */
+    private final Map<StreamType, Map<Object, RandomGenerator>> ownerStreams =
+            new EnumMap<>(StreamType.class);
+
+    /** The next numeric key assigned to an owner, by stream type. */
+    private final Map<StreamType, Long> nextKeys = new EnumMap<>(StreamType.class);
+
+    /** The number of forks created from this service. */
+    private long forks = 0;
+
+    /** @param seed the seed of the session */
+    public RandomService(long seed) {this.seed = seed;}
+
+    /** Creates a service with a randomly chosen session seed. */
+    public RandomService() {this(new SplittableRandom().nextLong());}
+
+    /**
+     * Returns a new generator of the stream identified by the given type and numeric key. Two
+     * generators of the same stream produce the same sequence.
+     *
+     * @param type the type of the stream
+     * @param key  the key of the stream
+     * @return a new generator of the stream
+     * @throws NullPointerException if the type is <code>null</code>
+     */
+    public RandomGenerator getStream(StreamType type, long key) {
+        Objects.requireNonNull(type, "Stream type cannot be null.");
+        return new SplittableRandom(mix(mix(this.seed + GOLDEN_GAMMA * (type.ordinal() + 1)) +
+                                        GOLDEN_GAMMA * key));
+    }
+
+    /**
+     * Returns the generator of the stream of the given owner. Upon first request, the owner is
+     * assigned the next numeric key of the stream type and a new generator of the corresponding
+     * stream is created. Owners are held weakly.
+     *
+     * @param type  the type of the stream
+     * @param owner the owner of the stream (e.g. an encounter, actor or deck)
+     * @return the generator of the owner's stream
+     * @throws NullPointerException if the type or owner is <code>null</code>
+     */
+    public RandomGenerator getStream(StreamType type, Object owner) {
+        Objects.requireNonNull(type, "Stream type cannot be null.");
+        Objects.requireNonNull(owner, "Stream owner cannot be null.");
+        return this.ownerStreams
+                .computeIfAbsent(type, key -> new WeakHashMap<>())
+                .computeIfAbsent(owner, key -> getStream(type, nextKey(type)));
+    }
+
+    /**
+     * Creates an independent service whose seed is derived deterministically from the seed of
+     * this service and the number of forks created before it.
+     *
+     * @return the forked service
+     */
+    public RandomService fork() {return new RandomService(mix(this.seed ^ mix(++this.forks)));}
+
+    /** @return the seed of the session */
+    public long getSeed() {return this.seed;}
+
+    // ------------------------------------ helper methods ------------------------------------ //
+
+    /**
+     * @param type the type of stream
+     * @return the next numeric key assigned to an owner of a stream of the given type
+     */
+    private long nextKey(StreamType type) {
+        long key = this.nextKeys.getOrDefault(type, 0L);
+        this.nextKeys.put(type, key + 1);
+        return key;
+    }
+
+    /**
+     * @param value the value to mix
+     * @return the value mixed with the SplitMix64 finalizer
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -13,8 +13,10 @@ import exchangemage.effects.deployers.PersistentEffect;
 import exchangemage.effects.deployers.PersistentEffectsHolder;
 import exchangemage.effects.deployers.SequentialEffect;
 import exchangemage.effects.value.ValueEffect;
+import exchangemage.effects.triggers.CachedTrigger;
 import exchangemage.effects.triggers.Trigger;
 import exchangemage.effects.targeting.Targetable;
+import exchangemage.effects.targeting.selectors.ConstantTargetSelector;
 import exchangemage.effects.targeting.selectors.TargetSelector;
 import exchangemage.scenes.Scene;
 
@@ -50,7 +52,7 @@ import exchangemage.scenes.Scene;
  * @see Trigger
  * @see TargetSelector
  */
-public abstract class Effect<T extends Targetable> implements Targetable {
+public abstract class Effect<T extends Targetable> implements Targetable, Cloneable {
     /**
      * An enum indicating to the {@link EffectPlayer} what should be done with an {@link Effect}
      * upon its successful evaluation.
@@ -110,7 +112,8 @@ public abstract class Effect<T extends Targetable> implements Targetable {
 
     /**
      * The {@link Trigger} of the {@link Effect}. Represents the conditions which must be met for
-     * given effect to be resolved by the {@link EffectPlayer}.
+     * given effect to be resolved by the {@link EffectPlayer}. Triggers which read only versioned
+     * state are wrapped in a {@link CachedTrigger}.
      */
     private final Trigger trigger;
 
@@ -121,10 +124,10 @@ public abstract class Effect<T extends Targetable> implements Targetable {
     private final ResolutionMode resolutionMode;
 
     /** The {@link TargetSelector} of the {@link Effect}. Used to choose its target. */
-    private final TargetSelector<T> targetSelector;
+    private TargetSelector<T> targetSelector;
 
     /** A set of {@link Observer}s of the {@link Effect}. */
-    private final Set<Observer> observers;
+    private Set<Observer> observers;
 
     /**
      * @param description    description of the effect
@@ -149,7 +152,7 @@ public abstract class Effect<T extends Targetable> implements Targetable {
         this.description = description != null ? description : "";
         this.source = null;
         this.observers = new HashSet<>();
-        this.trigger = trigger;
+        this.trigger = CachedTrigger.of(trigger);
         this.targetSelector = targetSelector;
         this.resolutionMode = resolutionMode;
     }
@@ -206,6 +209,40 @@ public abstract class Effect<T extends Targetable> implements Targetable {
      */
     public void reset() {this.targetSelector.clearTarget();}
 
+    /**
+     * Creates a detached copy of the {@link Effect} targeting the given target, used to preview
+     * the effect against the target without changing the state of this effect (see
+     * {@link EffectPlayer#preview}). The copy is an instance of the same class and shares the
+     * description, trigger, resolution mode and source of this effect, but has no observers and
+     * targets the given target through a {@link ConstantTargetSelector} of its own.
+     * <br><br>
+     * Inheriting classes keeping mutable state should extend this logic to detach it from the
+     * copy.
+     *
+     * @param target the target of the copy
+     * @return the copy of the effect
+     * @throws TargetSelector.InvalidTargetException if the target is not valid for the effect
+     */
+    @SuppressWarnings("unchecked")
+    public Effect<T> copyFor(Targetable target) {
+        if (!this.targetSelector.isValidTarget(target))
+            throw new TargetSelector.InvalidTargetException("Target of effect copy is not valid " +
+                                                            "for the effect.");
+
+        Class<T>  targetClass = this.targetSelector.getTargetClass();
+        T         copyTarget  = targetClass.cast(target);
+        Effect<T> copy;
+        try {
+            copy = (Effect<T>) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Effect cannot be copied.", e);
+        }
+        copy.targetSelector = new ConstantTargetSelector<>(() -> copyTarget, targetClass);
+        copy.targetSelector.setTarget(copyTarget);
+        copy.observers = new HashSet<>();
+        return copy;
+    }
+
     // --------------------------------- getters and setters ---------------------------------- //
 
     /** @return the description of the {@link Effect} */
@@ -6,18 +6,35 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import exchangemage.base.GameStateLocator;
+import exchangemage.base.Notification;
 import exchangemage.actors.Actor;
+import exchangemage.actors.ActorCounter;
+import exchangemage.actors.DeckHolderActor;
 import exchangemage.cards.Card;
 import exchangemage.effects.deployers.PersistentEffect;
 import exchangemage.effects.deployers.PersistentEffectsHolder;
 import exchangemage.effects.targeting.Targetable;
 import exchangemage.effects.targeting.TargetingManager;
+import exchangemage.effects.targeting.selectors.TargetSelector;
 import exchangemage.effects.triggers.Trigger;
 import exchangemage.effects.triggers.ConditionalTrigger;
+import exchangemage.effects.triggers.TriggerNetwork;
+import exchangemage.effects.value.ValueEffect;
+import exchangemage.effects.value.ValueModifier;
+import exchangemage.effects.value.ValueModifierEffect;
+import exchangemage.effects.value.ValuePreview;
 import exchangemage.scenes.Scene;
+import exchangemage.stats.CombatStats;
 
 /**
  * EffectPlayer is responsible for managing the process of playing {@link Card}s and resolving
@@ -62,6 +79,30 @@ import exchangemage.scenes.Scene;
  * @see TargetingManager
  */
 public class EffectPlayer {
+    /**
+     * The effects in resolution and evaluation of a value preview taken on a thread, seen only
+     * by that thread (see {@link #preview}).
+     */
+    private static final class PreviewFrame {
+        /** The detached copy of the previewed effect, in resolution during the preview. */
+        private final ValueEffect<?> effectInResolution;
+
+        /** The effect being evaluated during the preview (or <code>null</code>). */
+        private Effect<?> effectInEvaluation = null;
+
+        /** @param effectInResolution the detached copy of the previewed effect */
+        private PreviewFrame(ValueEffect<?> effectInResolution) {
+            this.effectInResolution = effectInResolution;
+        }
+    }
+
+    /**
+     * The executor playing cards by default (see {@link #playCardAsync(Card)}), starting a virtual
+     * thread for every card so that a card awaiting the player's choice of a target does not
+     * occupy a platform thread.
+     */
+    private static final ExecutorService cardThreads = Executors.newVirtualThreadPerTaskExecutor();
+
     /**
      * The {@link Card} whose {@link Effect}s are currently being evaluated and/or resolved (or
      * <code>null</code> if no card is being resolved).
@@ -80,6 +121,9 @@ public class EffectPlayer {
      */
     private Effect<?> effectInEvaluation = null;
 
+    /** The frames of the value previews currently taken by each thread (see {@link #preview}). */
+    private final ThreadLocal<PreviewFrame> previewFrames = new ThreadLocal<>();
+
     /**
      * The {@link TargetingManager} used to manage the process of choosing a target for
      * {@link Effect}s enqueued into the resolution queue.
@@ -89,6 +133,19 @@ public class EffectPlayer {
     /** The queue of {@link Effect}s to be resolved. */
     private final LinkedList<Effect<?>> resolutionQueue = new LinkedList<>();
 
+    /**
+     * The optional {@link TriggerNetwork} used to discard {@link PersistentEffect}s which cannot
+     * be activated by the {@link Effect} in resolution before their evaluation (or
+     * <code>null</code> if all persistent effects should be evaluated).
+     */
+    private TriggerNetwork triggerNetwork = null;
+
+    /**
+     * The optional {@link CombatStats} recording the resolved {@link Effect}s (or
+     * <code>null</code> if no statistics should be recorded).
+     */
+    private CombatStats combatStats = null;
+
 
     /**
      * EffectResolutionStage is an enum representing the stages of the resolution process of an
@@ -198,11 +255,12 @@ public class EffectPlayer {
             throw new IllegalStateException("There is already an effect in evaluation.");
 
         this.effectInEvaluation = effect;
-        if (!effect.isTriggered() || !this.targetingManager.selectTarget(effect)) {
+        try {
+            if (!effect.isTriggered() || !this.targetingManager.selectTarget(effect))
+                return;
+        } finally {
             this.effectInEvaluation = null;
-            return;
         }
-        this.effectInEvaluation = null;
 
         switch (effect.getResolutionMode()) {
             case ENQUEUE -> enqueueEffect(effect);
@@ -267,8 +325,13 @@ public class EffectPlayer {
             throw new IllegalStateException("Effect to resolve has no target.");
 
         this.effectInResolution = effect;
-        EffectResolutionStage.sortPersistentEffects(new ArrayList<>(getPersistentEffects(effect)))
+        List<PersistentEffect> persistentEffects = this.triggerNetwork != null
+                ? this.triggerNetwork.filter(getPersistentEffects(effect), effect)
+                : new ArrayList<>(getPersistentEffects(effect));
+        EffectResolutionStage.sortPersistentEffects(persistentEffects)
                              .forEach(this::evaluateEffect);
+        if (this.combatStats != null)
+            this.combatStats.recordResolution(effect, this.cardInResolution);
         effect.execute();
         effect.reset();
         this.effectInResolution = null;
@@ -305,16 +368,165 @@ public class EffectPlayer {
     /**
      * Calls the {@link #evaluateEffect} method on all {@link Effect}s of the given {@link Card}
      * to determine their targets and activation. Then resolves all enqueued effects.
+     * <br><br>
+     * If the target selection of one of the card's effects is cancelled (e.g. because its
+     * deadline expired with the {@link TargetingManager.SelectionFallback#CANCEL} policy), the
+     * rest of the card is cancelled - the effects it has enqueued so far are discarded.
+     * <br><br>
+     * Once the card has been resolved, the {@link ActorCounter#CARDS_PLAYED_THIS_TURN} counter of
+     * the {@link DeckHolderActor} playing it (the source of its first effect) is incremented.
      *
      * @param card the card to play
-     * @throws NullPointerException if the given card is null
+     * @throws NullPointerException  if the given card is null
+     * @throws CancellationException if the card has been cancelled
      */
     public void playCard(Card card) {
         Objects.requireNonNull(card, "Card to play cannot be null.");
         this.cardInResolution = card;
-        card.getEffects().forEach(this::evaluateEffect);
-        this.resolveQueue();
-        this.cardInResolution = null;
+        Set<Effect<?>> queued = Collections.newSetFromMap(new IdentityHashMap<>());
+        queued.addAll(this.resolutionQueue);
+        try {
+            card.getEffects().forEach(this::evaluateEffect);
+            this.resolveQueue();
+            countCardPlayed(card);
+        } catch (CancellationException e) {
+            this.resolutionQueue.removeIf(effect -> {
+                if (queued.contains(effect))
+                    return false;
+                effect.reset();
+                return true;
+            });
+            throw e;
+        } finally {
+            this.cardInResolution = null;
+        }
+    }
+
+    /** @param card the resolved card whose player to count it for */
+    private static void countCardPlayed(Card card) {
+        if (card.getEffects().isEmpty())
+            return;
+        EffectSource player = card.getEffects().get(0).getSource();
+        if (player instanceof DeckHolderActor)
+            ((DeckHolderActor) player).incrementCounter(ActorCounter.CARDS_PLAYED_THIS_TURN, 1);
+    }
+
+    /**
+     * Plays the given {@link Card} on a virtual thread of its own, without blocking the calling
+     * thread (see {@link #playCardAsync(Card, Executor)}). While the card awaits the player's
+     * choice of a target, its virtual thread is unmounted and no platform thread is occupied.
+     *
+     * @param card the card to play
+     * @return a future completed once the card has been resolved (or completed exceptionally if
+     * its resolution fails or is cancelled)
+     * @throws NullPointerException if the card is <code>null</code>
+     */
+    public CompletableFuture<Void> playCardAsync(Card card) {
+        return playCardAsync(card, cardThreads);
+    }
+
+    /**
+     * Plays the given {@link Card} on the given {@link Executor}, without blocking the calling
+     * thread. The returned future is completed once the card has been resolved, so the caller
+     * (e.g. a server handling player input) can keep answering the
+     * {@link TargetingManager.SelectionRequest}s published while the card is played.
+     *
+     * @param card     the card to play
+     * @param executor the executor to play the card on
+     * @return a future completed once the card has been resolved (or completed exceptionally if
+     * its resolution fails or is cancelled)
+     * @throws NullPointerException if the card or executor is <code>null</code>
+     * @see TargetingManager#nextSelectionRequest
+     */
+    public CompletableFuture<Void> playCardAsync(Card card, Executor executor) {
+        Objects.requireNonNull(card, "Card to play cannot be null.");
+        Objects.requireNonNull(executor, "Executor to play card on cannot be null.");
+        return CompletableFuture.runAsync(() -> playCard(card), executor);
+    }
+
+    // ------------------------------------ value preview ----------------------------------- //
+
+    /**
+     * Computes the value the given {@link ValueEffect} would have against the given target if it
+     * were resolved in the current state of the {@link Scene}, without executing it or any other
+     * {@link Effect} (see {@link #preview}).
+     *
+     * @param effect the value effect to preview
+     * @param target the target to preview the effect against
+     * @return the modified value of the effect against the given target
+     * @throws NullPointerException                  if the effect or target is <code>null</code>
+     * @throws TargetSelector.InvalidTargetException if the target is not valid for the effect
+     */
+    public int previewValue(ValueEffect<?> effect, Targetable target) {
+        return preview(effect, target).value();
+    }
+
+    /**
+     * Previews the given {@link ValueEffect} against the given target, computing the value it
+     * would have if it were resolved in the current state of the {@link Scene}, without executing
+     * it or any other {@link Effect}.
+     * <br><br>
+     * The preview is a read-only dry run of the resolution process, performed on a detached copy
+     * of the effect targeting the given target (see {@link Effect#copyFor}): the copy is the
+     * effect in resolution for the duration of the preview and the {@link PersistentEffect}s it
+     * could activate are evaluated in the {@link EffectResolutionStage#MODIFICATION} and
+     * {@link EffectResolutionStage#RESOLUTION} stages. The {@link ValueModifier}s of the
+     * {@link ValueModifierEffect}s stored within the triggered persistent effects are added to the
+     * copy - all other stored effects are ignored.
+     * <br><br>
+     * Neither the previewed effect nor the state of the effect player seen by other threads is
+     * changed - the effects in resolution and evaluation of the preview are only returned by
+     * {@link #getEffectInResolution} and {@link #getEffectInEvaluation} on the previewing thread.
+     *
+     * @param effect the value effect to preview
+     * @param target the target to preview the effect against
+     * @return the preview of the effect against the given target
+     * @throws NullPointerException                  if the effect or target is <code>null</code>
+     * @throws TargetSelector.InvalidTargetException if the target is not valid for the effect
+     */
+    public ValuePreview preview(ValueEffect<?> effect, Targetable target) {
+        Objects.requireNonNull(effect, "Effect to preview cannot be null.");
+        Objects.requireNonNull(target, "Target of previewed effect cannot be null.");
+
+        ValueEffect<?> copy  = effect.copyFor(target);
+        PreviewFrame   outer = this.previewFrames.get();
+        PreviewFrame   frame = new PreviewFrame(copy);
+        this.previewFrames.set(frame);
+
+        try {
+            Set<PersistentEffect> activatable = getPersistentEffects(copy);
+            ScopedEffect.excludeDeployers(activatable, effect);
+            List<PersistentEffect> persistentEffects = this.triggerNetwork != null
+                    ? this.triggerNetwork.filter(activatable, copy)
+                    : new ArrayList<>(activatable);
+
+            for (PersistentEffect persistentEffect :
+                    EffectResolutionStage.sortPersistentEffects(persistentEffects)) {
+                if (persistentEffect.getActivationStage() != EffectResolutionStage.MODIFICATION &&
+                    persistentEffect.getActivationStage() != EffectResolutionStage.RESOLUTION)
+                    continue;
+
+                frame.effectInEvaluation = persistentEffect;
+                if (!persistentEffect.isTriggered())
+                    continue;
+
+                for (Effect<?> storedEffect : persistentEffect.getEffects()) {
+                    if (!(storedEffect instanceof ValueModifierEffect))
+                        continue;
+                    frame.effectInEvaluation = storedEffect;
+                    if (storedEffect.isTriggered())
+                        copy.addValueModifier(
+                                ((ValueModifierEffect) storedEffect).getValueModifier()
+                        );
+                }
+            }
+            return new ValuePreview(copy.getModifiedValue(), copy.isStateDependent());
+        } finally {
+            if (outer != null)
+                this.previewFrames.set(outer);
+            else
+                this.previewFrames.remove();
+        }
     }
 
     /**
@@ -326,6 +538,8 @@ public class EffectPlayer {
      * <br><br>
      * Effects which target individual elements of the scene can activate the environmental
      * effects as well as any persistent effects held by the effect's source and target.
+     * <br><br>
+     * {@link ScopedEffect}s define the set of persistent effects they can activate themselves.
      *
      * @param effectInResolution the effect in resolution
      * @return the set of all persistent effects which could be activated by the given effect
@@ -336,6 +550,8 @@ public class EffectPlayer {
         Objects.requireNonNull(effectInResolution, "Effect in resolution cannot be null.");
         Scene scene = GameStateLocator.getGameState().getScene();
 
+        if (effectInResolution instanceof ScopedEffect)
+            return ((ScopedEffect) effectInResolution).getActivatablePersistentEffects(scene);
         if (effectInResolution.getTarget() instanceof Scene)
             return scene.getAllPersistentEffects();
 
@@ -348,19 +564,80 @@ public class EffectPlayer {
         if (target instanceof PersistentEffectsHolder)
             persistentEffects.addAll(((PersistentEffectsHolder) target).getPersistentEffects());
 
-        if (effectInResolution instanceof PersistentEffect)
-            persistentEffects.remove(effectInResolution);
+        ScopedEffect.excludeDeployers(persistentEffects, effectInResolution);
+        return persistentEffects;
+    }
 
-        persistentEffects.forEach(persistentEffect -> {
-            if (persistentEffect.getEffects().contains(effectInResolution))
-                persistentEffects.remove(persistentEffect);
-        });
+    // --------------------------------- notification dispatch -------------------------------- //
 
-        return persistentEffects;
+    /**
+     * Checks whether a {@link NotificationEffect} with the given {@link Notification} could
+     * activate any {@link PersistentEffect} in the current {@link Scene}. Publishers of
+     * notifications can skip evaluating notification effects for which this method returns
+     * <code>false</code>, as their resolution would have no effect.
+     * <br><br>
+     * Without a {@link TriggerNetwork} every notification is assumed to activate persistent
+     * effects. With a network, a notification no registered persistent effect is subscribed to is
+     * only skipped if the network watches the scene and all of its {@link Actor}s - i.e. if every
+     * persistent effect a notification effect could activate has been registered.
+     *
+     * @param notification the notification to check
+     * @return <code>false</code> if no persistent effect could be activated by the notification,
+     * <code>true</code> otherwise
+     * @throws NullPointerException if the notification is <code>null</code>
+     * @see TriggerNetwork#isSubscribed
+     */
+    public boolean hasSubscribers(Notification notification) {
+        Objects.requireNonNull(notification, "Notification to check cannot be null.");
+        if (this.triggerNetwork == null || this.triggerNetwork.isSubscribed(notification))
+            return true;
+
+        Scene scene = GameStateLocator.getGameState().getScene();
+        if (!this.triggerNetwork.isWatched(scene))
+            return true;
+        for (Actor actor : scene.getActors())
+            if (!this.triggerNetwork.isWatched(actor))
+                return true;
+        return false;
     }
 
     // ------------------------------------ getters ------------------------------------------- //
 
+    /**
+     * Sets the {@link TriggerNetwork} used to discard {@link PersistentEffect}s which cannot be
+     * activated by the {@link Effect} in resolution before their evaluation. The network only
+     * narrows down the persistent effects evaluated - their full triggers are still checked.
+     *
+     * @param triggerNetwork the trigger network to use (or <code>null</code> to evaluate all
+     *                       persistent effects)
+     * @see TriggerNetwork#forScene
+     */
+    public void setTriggerNetwork(TriggerNetwork triggerNetwork) {
+        this.triggerNetwork = triggerNetwork;
+    }
+
+    /**
+     * @return the {@link TriggerNetwork} used by this effect player (or <code>null</code> if none
+     * is used)
+     */
+    public TriggerNetwork getTriggerNetwork() {return this.triggerNetwork;}
+
+    /**
+     * Sets the {@link CombatStats} recording the statistics of the {@link Scene} of this effect
+     * player - the resolved {@link Effect}s and activated {@link PersistentEffect}s, as well as
+     * the damage and healing done while it is set.
+     *
+     * @param combatStats the recorder to use (or <code>null</code> to stop recording)
+     * @see CombatStats#export
+     */
+    public void setCombatStats(CombatStats combatStats) {this.combatStats = combatStats;}
+
+    /**
+     * @return the {@link CombatStats} used by this effect player (or <code>null</code> if no
+     * statistics are recorded)
+     */
+    public CombatStats getCombatStats() {return this.combatStats;}
+
     /**
      * @return the {@link TargetingManager} used by the {@link EffectPlayer} of the current
      * {@link Scene} in the game
@@ -375,13 +652,21 @@ public class EffectPlayer {
 
     /**
      * @return the {@link Effect} currently being resolved (or <code>null</code> if no effect is
-     * being resolved)
+     * being resolved) - the copy of the previewed effect if a value preview is being taken on
+     * the calling thread (see {@link #preview})
      */
-    public Effect<?> getEffectInResolution() {return this.effectInResolution;}
+    public Effect<?> getEffectInResolution() {
+        PreviewFrame frame = this.previewFrames.get();
+        return frame != null ? frame.effectInResolution : this.effectInResolution;
+    }
 
     /**
      * @return the {@link Effect} currently being evaluated (or <code>null</code> if no effect is
-     * being evaluated)
+     * being evaluated) - the effect evaluated by the value preview taken on the calling thread,
+     * if there is one (see {@link #preview})
      */
-    public Effect<?> getEffectInEvaluation() {return this.effectInEvaluation;}
+    public Effect<?> getEffectInEvaluation() {
+        PreviewFrame frame = this.previewFrames.get();
+        return frame != null ? frame.effectInEvaluation : this.effectInEvaluation;
+    }
 }
@@ -0,0 +1,41 @@
+package exchangemage.effects;
+
+import java.util.Set;
+
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.effects.deployers.PersistentEffectsHolder;
+import exchangemage.scenes.Scene;
+
+/**
+ * An interface for {@link Effect}s which define the set of {@link PersistentEffect}s which can be
+ * activated during their resolution themselves, instead of relying on the default rules of the
+ * {@link EffectPlayer} (the environmental effects of the scene and the persistent effects held by
+ * the effect's source and target).
+ *
+ * @see EffectPlayer
+ * @see PersistentEffectsHolder
+ */
+public interface ScopedEffect {
+    /**
+     * @param scene the current {@link Scene}
+     * @return the set of {@link PersistentEffect}s which could be activated by this effect
+     */
+    Set<PersistentEffect> getActivatablePersistentEffects(Scene scene);
+
+    /**
+     * Removes the {@link PersistentEffect}s which cannot be activated by the given {@link Effect}
+     * from the given set - the effect itself (if it is a persistent effect) and the persistent
+     * effects storing it, which would otherwise be activated again by the effect they deploy.
+     * Applied by the {@link EffectPlayer} to the default set of activatable persistent effects
+     * and by scoped effects to their own sets.
+     *
+     * @param persistentEffects the set of persistent effects to remove the excluded ones from
+     * @param effect            the effect in resolution
+     */
+    static void excludeDeployers(Set<PersistentEffect> persistentEffects, Effect<?> effect) {
+        if (effect instanceof PersistentEffect)
+            persistentEffects.remove(effect);
+        persistentEffects.removeIf(persistentEffect -> persistentEffect.getEffects()
+                                                                       .contains(effect));
+    }
+}
@@ -3,6 +3,8 @@ package exchangemage.effects.deployers;
 import java.util.Set;
 
 import exchangemage.actors.Actor;
+import exchangemage.base.Observable;
+import exchangemage.base.Observer;
 import exchangemage.scenes.Scene;
 import exchangemage.effects.EffectSource;
 
@@ -16,6 +18,20 @@ import exchangemage.effects.EffectSource;
  * @see PersistentEffect
  */
 public interface PersistentEffectsHolder extends EffectSource {
+    /**
+     * An enum defining events used by {@link PersistentEffectsHolder}s which are also
+     * {@link Observable} to notify their {@link Observer}s of changes to the set of
+     * {@link PersistentEffect}s assigned to them.
+     *
+     * @see Observable
+     */
+    enum PersistentEffectsHolderEvent implements Observable.Event {
+        /** Event used to notify {@link Observer}s that a persistent effect has been added. */
+        PERSISTENT_EFFECT_ADDED,
+        /** Event used to notify {@link Observer}s that a persistent effect has been removed. */
+        PERSISTENT_EFFECT_REMOVED;
+    }
+
     /**
      * Adds a {@link PersistentEffect} to this {@link PersistentEffectsHolder}.
      *
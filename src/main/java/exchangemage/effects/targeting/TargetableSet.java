@@ -0,0 +1,199 @@
+package exchangemage.effects.targeting;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import exchangemage.base.GameStateLocator;
+import exchangemage.scenes.Scene;
+
+/**
+ * A {@link Set} of {@link Targetable}s backed by a bitset over the dense slots assigned to the
+ * targetables of a {@link Scene} (see {@link Scene#getSlot}). Used by the
+ * {@link TargetingManager} to keep track of forbidden targets, so that membership checks do not
+ * hash the targetables and set operations between a targetable set and the targetables of a
+ * scene (e.g. <i>valid and not forbidden</i>) are performed a word at a time.
+ * <br><br>
+ * The set binds itself to the current scene whenever an element is added to it while it is empty.
+ * Targetables without a slot in the bound scene (e.g. ones which are not present in it) are kept
+ * in a regular hash set instead, so the set behaves like any other {@link Set} regardless of
+ * where its elements come from. The set retains the slots of its elements in the bound scene (see
+ * {@link Scene#retainSlot}) until they are removed, so they are not reused by other targetables
+ * - sets which are no longer used should therefore be {@link #clear cleared}.
+ *
+ * @see Scene#getTargetables(Class, Set)
+ * @see TargetingManager
+ */
+public class TargetableSet extends AbstractSet<Targetable> {
+    /** The slots of the elements of the set present in the {@link #scene}. */
+    private final BitSet slots = new BitSet();
+
+    /** The elements of the set without a slot in the {@link #scene}. */
+    private final Set<Targetable> unslotted = new HashSet<>();
+
+    /** The scene the {@link #slots} refer to (or <code>null</code> if the set is not bound). */
+    private Scene scene = null;
+
+    @Override
+    public boolean add(Targetable targetable) {
+        Objects.requireNonNull(targetable, "Cannot add null targetable to targetable set.");
+        if (isEmpty())
+            this.scene = GameStateLocator.getGameState().getScene();
+
+        int slot = getSlot(targetable);
+        if (slot < 0)
+            return this.unslotted.add(targetable);
+        if (this.slots.get(slot) || containsUnslotted(targetable))
+            return false;
+        this.scene.retainSlot(slot);
+        this.slots.set(slot);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if (!(object instanceof Targetable))
+            return false;
+        int slot = getSlot((Targetable) object);
+        if (slot >= 0 && this.slots.get(slot)) {
+            this.slots.clear(slot);
+            this.scene.releaseSlot(slot);
+            return true;
+        }
+        return this.unslotted.remove(object);
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        if (!(object instanceof Targetable))
+            return false;
+        int slot = getSlot((Targetable) object);
+        return (slot >= 0 && this.slots.get(slot)) || containsUnslotted(object);
+    }
+
+    @Override
+    public int size() {return this.slots.cardinality() + this.unslotted.size();}
+
+    @Override
+    public boolean isEmpty() {return this.slots.isEmpty() && this.unslotted.isEmpty();}
+
+    @Override
+    public void clear() {
+        for (int slot = this.slots.nextSetBit(0); slot >= 0; slot = this.slots.nextSetBit(slot + 1))
+            this.scene.releaseSlot(slot);
+        this.slots.clear();
+        this.unslotted.clear();
+        this.scene = null;
+    }
+
+    @Override
+    public Iterator<Targetable> iterator() {
+        return new Iterator<>() {
+            private int                  nextSlot  = slots.nextSetBit(0);
+            private Iterator<Targetable> remaining = null;
+            private Targetable           last      = null;
+            private boolean              slotted   = false;
+
+            @Override
+            public boolean hasNext() {
+                return this.nextSlot >= 0 || getRemaining().hasNext();
+            }
+
+            @Override
+            public Targetable next() {
+                if (this.nextSlot >= 0) {
+                    this.last = scene.getTargetable(this.nextSlot);
+                    this.slotted = true;
+                    this.nextSlot = slots.nextSetBit(this.nextSlot + 1);
+                    return this.last;
+                }
+                if (!getRemaining().hasNext())
+                    throw new NoSuchElementException();
+                this.last = getRemaining().next();
+                this.slotted = false;
+                return this.last;
+            }
+
+            @Override
+            public void remove() {
+                if (this.last == null)
+                    throw new IllegalStateException("No element to remove.");
+                if (this.slotted) {
+                    int slot = scene.getSlot(this.last);
+                    slots.clear(slot);
+                    scene.releaseSlot(slot);
+                } else
+                    this.remaining.remove();
+                this.last = null;
+            }
+
+            private Iterator<Targetable> getRemaining() {
+                if (this.remaining == null)
+                    this.remaining = unslotted.iterator();
+                return this.remaining;
+            }
+        };
+    }
+
+    /**
+     * Clears the slots of all elements of this set from the given bitset of slots of the given
+     * {@link Scene}. If this set is bound to the scene, the operation is performed a word at a
+     * time.
+     *
+     * @param sceneSlots the bitset of slots to clear the elements of this set from
+     * @param scene      the scene the slots refer to
+     * @throws NullPointerException if the bitset or scene is <code>null</code>
+     */
+    public void removeFrom(BitSet sceneSlots, Scene scene) {
+        Objects.requireNonNull(sceneSlots, "Bitset of slots cannot be null.");
+        Objects.requireNonNull(scene, "Scene of slots cannot be null.");
+
+        if (scene == this.scene)
+            sceneSlots.andNot(this.slots);
+        else
+            for (int slot = this.slots.nextSetBit(0); slot >= 0;
+                 slot = this.slots.nextSetBit(slot + 1))
+                clearSlot(sceneSlots, scene, this.scene.getTargetable(slot));
+
+        for (Targetable targetable : this.unslotted)
+            clearSlot(sceneSlots, scene, targetable);
+    }
+
+    // ------------------------------------ helper methods ------------------------------------ //
+
+    /**
+     * @param targetable the targetable to get the slot of
+     * @return the slot of the targetable in the {@link #scene} (or <code>-1</code> if the set is
+     * not bound or the targetable has no slot in the scene)
+     */
+    private int getSlot(Targetable targetable) {
+        if (this.scene == null)
+            return -1;
+        int slot = this.scene.getSlot(targetable);
+        return slot >= 0 && this.scene.getTargetable(slot) == targetable ? slot : -1;
+    }
+
+    /**
+     * @param sceneSlots the bitset of slots to clear the slot of the targetable from
+     * @param scene      the scene the slots refer to
+     * @param targetable the targetable whose slot should be cleared
+     */
+    private static void clearSlot(BitSet sceneSlots, Scene scene, Targetable targetable) {
+        int slot = scene.getSlot(targetable);
+        if (slot >= 0 && scene.getTargetable(slot) == targetable)
+            sceneSlots.clear(slot);
+    }
+
+    /**
+     * @param object the object to look for
+     * @return <code>true</code> if the object is kept among the elements without a slot (which
+     * may have been assigned one since they were added), <code>false</code> otherwise
+     */
+    private boolean containsUnslotted(Object object) {
+        return !this.unslotted.isEmpty() && this.unslotted.contains(object);
+    }
+}
@@ -1,14 +1,28 @@
 package exchangemage.effects.targeting;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.HashSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import exchangemage.base.GameStateLocator;
+import exchangemage.cards.Card;
 import exchangemage.effects.Effect;
 import exchangemage.effects.EffectPlayer;
 import exchangemage.effects.deployers.EffectDeployer;
 import exchangemage.effects.targeting.selectors.TargetSelector;
+import exchangemage.effects.targeting.selectors.TargetSelector.InvalidTargetException;
+import exchangemage.effects.targeting.selectors.ValidTargetSet;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector;
 
 /**
  * An auxiliary class used by the {@link EffectPlayer} to handle the selection of targets for
@@ -23,8 +37,9 @@ import exchangemage.effects.targeting.selectors.TargetSelector;
  *         another constituent of a deployer effect which forbids reselection).
  *     </li>
  *     <li>
- *         Providing TargetSelectors which require player input with appropriate waiting and
- *         notification methods.
+ *         Providing TargetSelectors which require player input with {@link SelectionRequest}s,
+ *         published to the input side as futures and completed once the player chooses a
+ *         target.
  *     </li>
  * </ul>
  *
@@ -35,16 +50,249 @@ import exchangemage.effects.targeting.selectors.TargetSelector;
 public class TargetingManager {
     /**
      * The set of {@link Targetable}s which cannot be selected as targets for any {@link Effect}s
-     * currently being evaluated.
+     * currently being evaluated. Kept as a bitset over the slots of the targetables of the
+     * current scene.
+     *
+     * @see TargetableSet
      */
-    private final Set<Targetable> forbiddenTargets = new HashSet<>();
+    private final TargetableSet forbiddenTargets = new TargetableSet();
+
+    /**
+     * An enum defining the policies used to select a target when the deadline of a
+     * {@link SelectionRequest} expires before the player chooses one.
+     *
+     * @see TargetingManager#setSelectionDeadline
+     */
+    public enum SelectionFallback {
+        /**
+         * Selects random targets from the active targetables of the selector, using the
+         * {@link VariableTargetSelector.TargetingMode#RANDOM} mode (or the
+         * {@link VariableTargetSelector.TargetingMode#RANDOM_N} mode if the player was asked to
+         * choose multiple targets) and with it the random number generator of the session.
+         */
+        RANDOM {
+            @Override
+            public boolean selectTarget(VariableTargetSelector<?> selector,
+                                        Set<Targetable> forbiddenTargets) {
+                return (selector.getTargetCount() > 1
+                        ? VariableTargetSelector.TargetingMode.RANDOM_N
+                        : VariableTargetSelector.TargetingMode.RANDOM
+                ).selectTarget(selector, forbiddenTargets);
+            }
+        },
+        /**
+         * Selects the first active targetables of the selector (as many as the player was asked
+         * to choose), in slot order.
+         */
+        FIRST_VALID {
+            @Override
+            public boolean selectTarget(VariableTargetSelector<?> selector,
+                                        Set<Targetable> forbiddenTargets) {
+                List<Targetable> targets = new ArrayList<>();
+                for (Targetable targetable : selector.getActiveTargetables(forbiddenTargets)) {
+                    if (targets.size() == selector.getTargetCount())
+                        break;
+                    targets.add(targetable);
+                }
+                if (targets.isEmpty())
+                    return false;
+                selector.setTargets(targets);
+                return true;
+            }
+        },
+        /**
+         * Cancels the selection, along with the rest of the {@link Card} being played (see
+         * {@link EffectPlayer#playCard}).
+         */
+        CANCEL {
+            @Override
+            public boolean selectTarget(VariableTargetSelector<?> selector,
+                                        Set<Targetable> forbiddenTargets) {
+                throw new CancellationException("Target selection deadline expired.");
+            }
+        };
+
+        /**
+         * Selects a target for the given {@link VariableTargetSelector} in place of the player.
+         *
+         * @param selector         the selector whose selection deadline expired
+         * @param forbiddenTargets the set of forbidden targets to exclude from the selection
+         * @return <code>true</code> if a target has been selected, <code>false</code> otherwise
+         * @throws CancellationException if the policy cancels the selection
+         */
+        public abstract boolean selectTarget(VariableTargetSelector<?> selector,
+                                             Set<Targetable> forbiddenTargets);
+    }
 
     /**
-     * The lock used to synchronize the {@link #waitForTarget} and {@link #chooseTarget} methods.
+     * A pending request for the player to choose the target of an {@link Effect}. The request is
+     * published by the {@link TargetingManager} when the effect's {@link TargetSelector} needs
+     * player input and is completed once the player chooses valid targets via the
+     * {@link #chooseTarget} or {@link #chooseTargets} method.
+     *
+     * @see TargetingManager#nextSelectionRequest
      */
-    private final Object targetSelectorLock = new Object();
+    public static final class SelectionRequest {
+        /** The {@link Effect} whose target is being chosen. */
+        private final Effect<?> effect;
+
+        /** The {@link TargetSelector} the targets are chosen for. */
+        private final TargetSelector<?> selector;
+
+        /** The future completed with the targets chosen by the player. */
+        private final CompletableFuture<List<Targetable>> choice = new CompletableFuture<>();
+
+        /**
+         * The future completed by the thread waiting for the request once the targets have been
+         * set (see {@link TargetingManager#waitForTarget(TargetSelector)}).
+         */
+        private final CompletableFuture<Boolean> resolution = new CompletableFuture<>();
+
+        /** The deadline of the selection (or <code>null</code> if it has none). */
+        private final Instant deadline;
 
-    private final Object playerSelectionLock = new Object();
+        /** The policy used to select the targets once the {@link #deadline} expires. */
+        private final SelectionFallback fallback;
+
+        /**
+         * The maintained set of targets which can be chosen (or <code>null</code> if the effect's
+         * selector is not a {@link VariableTargetSelector}).
+         */
+        private final ValidTargetSet<?> validTargets;
+
+        /**
+         * @param effect           the {@link Effect} whose target is being chosen
+         * @param selector         the {@link TargetSelector} the targets are chosen for
+         * @param deadline         the deadline of the selection (or <code>null</code> if it has
+         *                         none)
+         * @param fallback         the policy used to select the targets once the deadline
+         *                         expires
+         * @param forbiddenTargets the forbidden targets to exclude from the valid targets
+         */
+        private SelectionRequest(Effect<?> effect,
+                                 TargetSelector<?> selector,
+                                 Instant deadline,
+                                 SelectionFallback fallback,
+                                 Set<Targetable> forbiddenTargets) {
+            this.effect = effect;
+            this.selector = selector;
+            this.deadline = deadline;
+            this.fallback = fallback;
+            this.validTargets = selector instanceof VariableTargetSelector
+                    ? ((VariableTargetSelector<?>) selector).getValidTargets(forbiddenTargets)
+                    : null;
+        }
+
+        /** @return the {@link Effect} whose target is being chosen */
+        public Effect<?> getEffect() {return this.effect;}
+
+        /**
+         * @return the {@link TargetSelector} the targets are chosen for (usually the selector of
+         * the {@link #effect}, unless the effect chooses targets with an auxiliary selector)
+         */
+        public TargetSelector<?> getTargetSelector() {return this.selector;}
+
+        /**
+         * @return a future completed with the targets chosen by the player (or cancelled if the
+         * selection has been abandoned)
+         */
+        public CompletableFuture<List<Targetable>> getChoice() {return this.choice;}
+
+        /**
+         * @return a future completed by the thread waiting for the request once the targets have
+         * been set - with <code>true</code> if the player has chosen them or the fallback policy
+         * has selected them after the request expired, <code>false</code> if the fallback could
+         * not select any (or completed exceptionally if the selection has been cancelled)
+         */
+        public CompletableFuture<Boolean> getResolution() {return this.resolution;}
+
+        /**
+         * @return the number of distinct targets the player is asked to choose (or fewer, if there
+         * are not enough valid targets)
+         */
+        public int getTargetCount() {
+            return getTargetSelector() instanceof VariableTargetSelector
+                    ? ((VariableTargetSelector<?>) getTargetSelector()).getTargetCount()
+                    : 1;
+        }
+
+        /** @return the deadline of the selection (or <code>null</code> if it has none) */
+        public Instant getDeadline() {return this.deadline;}
+
+        /**
+         * @return the maintained set of targets which can be chosen, activated for the duration
+         * of the selection (or <code>null</code> if the effect's selector is not a
+         * {@link VariableTargetSelector})
+         */
+        public ValidTargetSet<?> getValidTargets() {return this.validTargets;}
+
+        /** @return <code>true</code> if the given targets can be chosen for this request */
+        private boolean isValidChoice(List<? extends Targetable> targets) {
+            int expected = this.validTargets != null
+                    ? Math.min(getTargetCount(), this.validTargets.getTargets().size())
+                    : 1;
+            if (targets.size() != expected || new HashSet<>(targets).size() != expected)
+                return false;
+            for (Targetable target : targets)
+                if (this.validTargets != null ? !this.validTargets.contains(target)
+                                              : !getTargetSelector().isValidTarget(target))
+                    return false;
+            return true;
+        }
+
+        /** Closes the {@link #validTargets}, deactivating them. */
+        private void close() {
+            if (this.validTargets != null)
+                this.validTargets.close();
+        }
+
+        /** @return <code>true</code> if the request is still awaiting a choice */
+        public boolean isPending() {return !this.choice.isDone();}
+    }
+
+    /**
+     * An exception thrown when a thread awaiting the player's choice of a target is interrupted.
+     * The selection is abandoned and the interrupt status of the thread is restored.
+     */
+    public static class TargetSelectionInterruptedException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        public TargetSelectionInterruptedException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * The time the player is given to answer a {@link SelectionRequest} (or <code>null</code> if
+     * selections have no deadline).
+     */
+    private Duration selectionDeadline = null;
+
+    /** The policy used to select a target once the {@link #selectionDeadline} expires. */
+    private SelectionFallback selectionFallback = SelectionFallback.RANDOM;
+
+    /** The default number of candidates a single heuristic target selection previews. */
+    public static final int DEFAULT_SCORING_BUDGET = 16;
+
+    /**
+     * The maximum number of candidates a single
+     * {@link VariableTargetSelector.TargetingMode#HEURISTIC} selection previews and scores.
+     */
+    private int scoringBudget = DEFAULT_SCORING_BUDGET;
+
+    /**
+     * The number of previews left in the current decision window (or <code>-1</code> if no window
+     * is open).
+     *
+     * @see #openDecisionWindow
+     */
+    private int decisionBudget = -1;
+
+    /** The currently pending {@link SelectionRequest} (or <code>null</code> if there is none). */
+    private SelectionRequest pendingRequest = null;
+
+    /** The future completed with the next published {@link SelectionRequest}. */
+    private CompletableFuture<SelectionRequest> nextRequest = new CompletableFuture<>();
 
     /**
      * Selects a target for the given {@link Effect}. If the effect already has a target, this
@@ -84,54 +332,349 @@ public class TargetingManager {
     /** @return the set of {@link #forbiddenTargets}. */
     public Set<Targetable> getForbiddenTargets() {return this.forbiddenTargets;}
 
+    // --------------------------------- player selection ----------------------------------- //
+
+    /**
+     * Publishes a {@link SelectionRequest} for the {@link Effect} currently being evaluated,
+     * completing the future returned by {@link #nextSelectionRequest}. Does not block.
+     * <br><br>
+     * If a {@link #selectionDeadline} is set, the request expires once it passes. Expiry is
+     * scheduled on the timer shared by all {@link CompletableFuture}s rather than on a thread
+     * of its own and only completes the request's {@link SelectionRequest#getChoice choice} - the
+     * chosen targets are set on the selector (or selected by the {@link #selectionFallback} once
+     * the request expires) by the thread waiting for the request in {@link #waitForTarget()},
+     * never by the timer or the input side.
+     *
+     * @return the published selection request
+     * @throws IllegalStateException if there is no effect in evaluation or another selection is
+     *                               already pending
+     */
+    public SelectionRequest requestTarget() {return requestTarget(null);}
+
+    /**
+     * Publishes a {@link SelectionRequest} for the given {@link TargetSelector} of the
+     * {@link Effect} currently being evaluated (see {@link #requestTarget()}).
+     *
+     * @param selector the selector to choose the targets for (or <code>null</code> to use the
+     *                 selector of the effect in evaluation)
+     * @return the published selection request
+     * @throws IllegalStateException if there is no effect in evaluation or another selection is
+     *                               already pending
+     */
+    public synchronized SelectionRequest requestTarget(TargetSelector<?> selector) {
+        Effect<?> effect = GameStateLocator.getGameState().getEffectInEvaluation();
+        if (effect == null)
+            throw new IllegalStateException("Cannot request target with no effect in evaluation.");
+        if (this.pendingRequest != null)
+            throw new IllegalStateException("Another target selection is already pending.");
+
+        SelectionRequest request = new SelectionRequest(
+                effect,
+                selector != null ? selector : effect.getTargetSelector(),
+                this.selectionDeadline != null ? Instant.now().plus(this.selectionDeadline) : null,
+                this.selectionFallback,
+                this.forbiddenTargets
+        );
+        if (this.selectionDeadline != null)
+            request.getChoice().orTimeout(this.selectionDeadline.toMillis(),
+                                          TimeUnit.MILLISECONDS);
+
+        CompletableFuture<SelectionRequest> published = this.nextRequest;
+        this.pendingRequest = request;
+        this.nextRequest = new CompletableFuture<>();
+        published.complete(request);
+        return request;
+    }
+
+    /**
+     * Returns a future completed with the next {@link SelectionRequest} published by this
+     * manager (or with the currently pending one, if there is any). Used by the input side to
+     * await selection requests without blocking a thread.
+     *
+     * @return a future of the next selection request
+     */
+    public synchronized CompletableFuture<SelectionRequest> nextSelectionRequest() {
+        if (getPending() != null)
+            return CompletableFuture.completedFuture(this.pendingRequest);
+        return this.nextRequest;
+    }
+
+    /** @return the currently pending {@link SelectionRequest} (or <code>null</code>) */
+    public synchronized SelectionRequest getPendingRequest() {return getPending();}
+
+    /**
+     * Sets a deadline for the player's selections. Once a {@link SelectionRequest} expires, a
+     * target is selected in place of the player by the given {@link SelectionFallback}.
+     *
+     * @param deadline the time the player is given to answer a selection request
+     * @param fallback the policy used to select a target once the deadline expires
+     * @throws NullPointerException     if the deadline or fallback is <code>null</code>
+     * @throws IllegalArgumentException if the deadline is not positive
+     */
+    public synchronized void setSelectionDeadline(Duration deadline, SelectionFallback fallback) {
+        Objects.requireNonNull(deadline, "Selection deadline cannot be null.");
+        Objects.requireNonNull(fallback, "Selection fallback cannot be null.");
+        if (deadline.isNegative() || deadline.isZero())
+            throw new IllegalArgumentException("Selection deadline must be positive.");
+        this.selectionDeadline = deadline;
+        this.selectionFallback = fallback;
+    }
+
+    /** Removes the deadline of the player's selections. */
+    public synchronized void clearSelectionDeadline() {this.selectionDeadline = null;}
+
+    /** @return the time the player is given to answer a selection (or <code>null</code>) */
+    public synchronized Duration getSelectionDeadline() {return this.selectionDeadline;}
+
+    /** @return the policy used to select a target once a selection deadline expires */
+    public synchronized SelectionFallback getSelectionFallback() {return this.selectionFallback;}
+
+    // -------------------------------- heuristic selection --------------------------------- //
+
+    /**
+     * Sets the maximum number of candidates a single
+     * {@link VariableTargetSelector.TargetingMode#HEURISTIC} selection previews and scores.
+     *
+     * @param scoringBudget the number of candidates a single heuristic selection previews
+     * @throws IllegalArgumentException if the budget is not positive
+     */
+    public synchronized void setScoringBudget(int scoringBudget) {
+        if (scoringBudget <= 0)
+            throw new IllegalArgumentException("Scoring budget must be positive.");
+        this.scoringBudget = scoringBudget;
+    }
+
+    /** @return the number of candidates a single heuristic selection previews */
+    public synchronized int getScoringBudget() {return this.scoringBudget;}
+
+    /**
+     * Opens a decision window, limiting the total number of candidates previewed by all heuristic
+     * selections made until the window is {@link #closeDecisionWindow closed} (e.g. by an
+     * AI-controlled actor during its turn) to the given budget. Once the window's budget is
+     * spent, heuristic selections no longer score their candidates and fall back to a random
+     * candidate drawn from the random generator of the session.
+     *
+     * @param budget the total number of candidates previewed by the decisions made within the
+     *               window
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    public synchronized void openDecisionWindow(int budget) {
+        if (budget < 0)
+            throw new IllegalArgumentException("Decision budget cannot be negative.");
+        this.decisionBudget = budget;
+    }
+
+    /** Closes the current decision window (if there is one). */
+    public synchronized void closeDecisionWindow() {this.decisionBudget = -1;}
+
+    /**
+     * Reserves the previews of a heuristic selection among the given number of candidates,
+     * spending them from the budget of the current decision window (if one is open).
+     *
+     * @param candidates the number of candidates of the selection
+     * @return the number of candidates the selection may preview and score - at most its
+     * {@link #scoringBudget} and the budget left in the current decision window
+     */
+    public synchronized int reservePreviews(int candidates) {
+        int previews = Math.min(candidates, this.scoringBudget);
+        if (this.decisionBudget >= 0) {
+            previews = Math.min(previews, this.decisionBudget);
+            this.decisionBudget -= previews;
+        }
+        return previews;
+    }
+
     /**
      * Called by the {@link TargetSelector} of the currently evaluated {@link Effect} to wait for
-     * the player to choose a target.
-     */
-    public void waitForTarget() {
-        synchronized (this.targetSelectorLock) {
-            while (!GameStateLocator.getGameState().getEffectInEvaluation().hasTarget()) {
-                try {
-                    synchronized (this.playerSelectionLock) {this.playerSelectionLock.notify();}
-                    this.targetSelectorLock.wait();
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-            }
+     * the player to choose a target. Publishes a {@link SelectionRequest} and waits for its
+     * {@link SelectionRequest#getChoice choice} - the chosen target is set once the request is
+     * completed or, if the request expires, selected by the {@link #selectionFallback} as soon
+     * as the deadline passes. Either way, the target is set on the waiting thread, which then
+     * completes the request's {@link SelectionRequest#getResolution resolution}.
+     * <br><br>
+     * Only the thread evaluating the effect waits - no monitors are held while waiting and the
+     * input side is never blocked (see {@link #nextSelectionRequest}). Cards played with
+     * {@link EffectPlayer#playCardAsync(Card)} are evaluated on virtual threads, which are
+     * unmounted while they wait, so a pending selection does not occupy a platform thread.
+     *
+     * @return <code>true</code> if a target has been set, <code>false</code> if the selection
+     * expired and the fallback could not select one
+     * @throws TargetSelectionInterruptedException if the waiting thread is interrupted
+     * @throws CancellationException               if the selection request is cancelled (or
+     *                                             expires with the
+     *                                             {@link SelectionFallback#CANCEL} policy)
+     */
+    public boolean waitForTarget() {return waitForTarget(null);}
+
+    /**
+     * Waits for the player to choose the targets of the given {@link TargetSelector} of the
+     * {@link Effect} currently being evaluated (see {@link #waitForTarget()}).
+     *
+     * @param selector the selector to choose the targets for (or <code>null</code> to use the
+     *                 selector of the effect in evaluation)
+     * @return <code>true</code> if the targets have been set, <code>false</code> if the selection
+     * expired and the fallback could not select any
+     * @throws TargetSelectionInterruptedException if the waiting thread is interrupted
+     * @throws CancellationException               if the selection request is cancelled
+     */
+    public boolean waitForTarget(TargetSelector<?> selector) {
+        SelectionRequest request = requestTarget(selector);
+        List<Targetable> targets = null;
+        Throwable        error   = null;
+        try {
+            targets = request.getChoice().get();
+        } catch (InterruptedException e) {
+            cancelSelection();
+            Thread.currentThread().interrupt();
+            error = new TargetSelectionInterruptedException("Interrupted while waiting for target.",
+                                                            e);
+        } catch (ExecutionException e) {
+            error = e.getCause();
+        } catch (CancellationException e) {
+            error = e;
+        }
+
+        try {
+            boolean resolved = resolveSelection(request, targets, error);
+            request.resolution.complete(resolved);
+            return resolved;
+        } catch (RuntimeException e) {
+            request.resolution.completeExceptionally(e);
+            throw e;
         }
     }
 
-    public void waitAndSelect(Targetable target) {
-        synchronized (this.playerSelectionLock) {
-            try {
-                synchronized (this.targetSelectorLock) {this.targetSelectorLock.notify();}
-                this.playerSelectionLock.wait();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
+    /**
+     * Resolves the given {@link SelectionRequest} once its choice is completed - sets the targets
+     * chosen by the player or, if the request has expired, has its {@link SelectionFallback}
+     * select them. Called by the thread waiting for the request.
+     *
+     * @param request the request to resolve
+     * @param targets the targets chosen by the player (or <code>null</code> if the request has
+     *                not been completed normally)
+     * @param error   the exception the request has been completed with (or <code>null</code>)
+     * @return <code>true</code> if the targets have been set, <code>false</code> if the request
+     * expired and the fallback could not select any
+     * @throws CancellationException               if the request has been cancelled (or expired
+     *                                             with the {@link SelectionFallback#CANCEL}
+     *                                             policy)
+     * @throws TargetSelectionInterruptedException if the waiting thread has been interrupted
+     * @throws IllegalStateException               if the request has failed for any other reason
+     */
+    private boolean resolveSelection(SelectionRequest request,
+                                     List<Targetable> targets,
+                                     Throwable error) {
+        clearPendingRequest(request);
+        request.close();
+
+        if (error == null) {
+            if (request.getTargetSelector() instanceof VariableTargetSelector)
+                ((VariableTargetSelector<?>) request.getTargetSelector()).setTargets(targets);
+            else
+                request.getTargetSelector().setTarget(targets.get(0));
+            return true;
         }
-        chooseTarget(target);
+
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+        if (cause instanceof RuntimeException)
+            throw (RuntimeException) cause;
+        if (!(cause instanceof TimeoutException))
+            throw new IllegalStateException("Target selection failed.", cause);
+        if (!(request.getTargetSelector() instanceof VariableTargetSelector))
+            return false;
+        return request.fallback.selectTarget(
+                (VariableTargetSelector<?>) request.getTargetSelector(), this.forbiddenTargets
+        );
     }
 
     /**
-     * Called when the player chooses a target for the currently evaluated {@link Effect} to notify
-     * the {@link #waitForTarget()} method.
+     * Chooses the given target as soon as the next selection is requested (or immediately if a
+     * selection is pending).
      *
      * @param target the target chosen by the player
+     * @return a future completed once the target has been chosen
      * @throws NullPointerException if the target is <code>null</code>
      */
+    public CompletableFuture<Void> waitAndSelect(Targetable target) {
+        Objects.requireNonNull(target, "Target cannot be null.");
+        return nextSelectionRequest().thenAccept(request -> chooseTarget(target));
+    }
+
+    /**
+     * Called when the player chooses a target for the currently evaluated {@link Effect} to
+     * complete the pending {@link SelectionRequest}. The target is validated by the effect's
+     * {@link TargetSelector} before the request is completed, so an invalid choice leaves the
+     * request pending. The chosen target is set by the thread waiting for the request.
+     *
+     * @param target the target chosen by the player
+     * @throws NullPointerException   if the target is <code>null</code>
+     * @throws IllegalStateException  if no selection is pending (or it has just expired)
+     * @throws InvalidTargetException if the target is not valid for the pending selection
+     */
     public void chooseTarget(Targetable target) {
         Objects.requireNonNull(target, "Target cannot be null.");
-        synchronized (this.targetSelectorLock) {
-            GameStateLocator.getGameState()
-                            .getEffectInEvaluation()
-                            .getTargetSelector()
-                            .setTarget(target);
-            this.targetSelectorLock.notify();
+        chooseTargets(List.of(target));
+    }
+
+    /**
+     * Called when the player chooses the targets of a multi-target selection (see
+     * {@link VariableTargetSelector.TargetingMode#SELECT_N}) to complete the pending
+     * {@link SelectionRequest} in a single interaction. The player must choose as many distinct
+     * valid targets as requested (or all valid targets if there are fewer of them), otherwise the
+     * request is left pending.
+     * <br><br>
+     * The request is completed outside the manager's monitor, so nothing the completion triggers
+     * runs while the monitor is held.
+     *
+     * @param targets the targets chosen by the player
+     * @throws NullPointerException   if the list of targets is <code>null</code>
+     * @throws IllegalStateException  if no selection is pending (or it has just expired)
+     * @throws InvalidTargetException if the targets are not valid for the pending selection
+     * @see SelectionRequest#getTargetCount
+     */
+    public void chooseTargets(List<? extends Targetable> targets) {
+        Objects.requireNonNull(targets, "Targets cannot be null.");
+        SelectionRequest request;
+        synchronized (this) {
+            if (getPending() == null)
+                throw new IllegalStateException("No target selection is pending.");
+            if (!this.pendingRequest.isValidChoice(targets))
+                throw new InvalidTargetException("Chosen targets are not valid for pending " +
+                                                 "selection.");
+
+            request = this.pendingRequest;
+            this.pendingRequest = null;
         }
+        if (!request.getChoice().complete(List.copyOf(targets)))
+            throw new IllegalStateException("Target selection has expired.");
     }
 
-    public Object getTargetSelectorLock() {return this.targetSelectorLock;}
+    /**
+     * Cancels the pending {@link SelectionRequest} (if there is any), causing the thread waiting
+     * for the target to stop waiting.
+     *
+     * @return <code>true</code> if a pending selection has been cancelled, <code>false</code>
+     * otherwise
+     */
+    public boolean cancelSelection() {
+        SelectionRequest request;
+        synchronized (this) {
+            request = this.pendingRequest;
+            this.pendingRequest = null;
+        }
+        return request != null && request.getChoice().cancel(false);
+    }
+
+    /** @return the pending request if it has not been completed yet (or <code>null</code>) */
+    private SelectionRequest getPending() {
+        return this.pendingRequest != null && this.pendingRequest.isPending()
+                ? this.pendingRequest : null;
+    }
 
-    public Object getPlayerSelectionLock() {return this.playerSelectionLock;}
+    /** @param request the request to clear if it is still the pending one */
+    private synchronized void clearPendingRequest(SelectionRequest request) {
+        if (this.pendingRequest == request)
+            this.pendingRequest = null;
+    }
 }
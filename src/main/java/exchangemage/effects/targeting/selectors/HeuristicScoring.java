@@ -0,0 +1,162 @@
+package exchangemage.effects.targeting.selectors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+import exchangemage.base.GameState;
+import exchangemage.base.GameStateLocator;
+import exchangemage.base.RandomService;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.targeting.Targetable;
+import exchangemage.effects.targeting.TargetingManager;
+
+/**
+ * An auxiliary class choosing the target of a
+ * {@link VariableTargetSelector.TargetingMode#HEURISTIC} selection. A selection is made in two
+ * phases:
+ * <ul>
+ *     <li>
+ *         <b>Preview</b> - a {@link TargetPreview} of the candidates is taken on the thread
+ *         evaluating the effect, in the order of the candidates. Previews are read-only (see
+ *         {@link EffectPlayer#preview}), so taking them does not change the state of the effect
+ *         or of the game. The number of candidates previewed is bounded by the budget reserved
+ *         from the {@link TargetingManager} - if it is smaller than the number of candidates,
+ *         the previewed candidates are sampled with the random generator of the session.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>Scoring</b> - the previews are scored in parallel on a shared pool with a bounded
+ *         number of threads and the scores are merged in the order of the candidates.
+ *     </li>
+ * </ul>
+ * The candidate with the highest score is chosen - ties are broken in favour of the candidate
+ * which comes first. If no candidate has been scored (e.g. because the budget has been spent),
+ * a candidate is chosen at random. Since the budget is counted in previews rather than time and
+ * all random choices are drawn from the {@link RandomService} of the session, the choice is the
+ * same in every replay of a seeded session.
+ *
+ * @see TargetScorer
+ * @see TargetingManager#reservePreviews
+ */
+final class HeuristicScoring {
+    /** The number of threads of the {@link #pool}. */
+    static final int PARALLELISM = Math.max(2, Math.min(8, Runtime.getRuntime()
+                                                                  .availableProcessors()));
+
+    /** The pool shared by all heuristic selections, made of daemon threads. */
+    private static final ExecutorService pool = Executors.newFixedThreadPool(PARALLELISM, task -> {
+        Thread thread = new Thread(task, "target-scoring");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private HeuristicScoring() {}
+
+    /**
+     * Chooses the best of the given candidates of the given selector, scoring them with the
+     * selector's {@link TargetScorer}.
+     *
+     * @param selector   the selector to choose the target for
+     * @param candidates the candidates to choose from, in the order of their slots
+     * @param <T>        the type of targetables selected by the selector
+     * @return the chosen candidate
+     * @throws IllegalArgumentException if there are no candidates
+     */
+    static <T extends Targetable> T chooseBest(VariableTargetSelector<T> selector,
+                                               List<T> candidates) {
+        if (candidates.isEmpty())
+            throw new IllegalArgumentException("Cannot choose best target without candidates.");
+        if (candidates.size() == 1)
+            return candidates.get(0);
+
+        GameState state     = GameStateLocator.getGameState();
+        int       budget    = state.getTargetingManager().reservePreviews(candidates.size());
+        Effect<?> effect    = state.getEffectInEvaluation();
+        int[]     previewed = sample(candidates.size(), budget);
+
+        List<TargetPreview> previews = new ArrayList<>(previewed.length);
+        for (int index : previewed)
+            previews.add(TargetPreview.of(effect, selector, candidates.get(index), index,
+                                          state.getEffectPlayer()));
+
+        double[] scores = score(previews, selector.getScorer());
+        int      best   = -1;
+        for (int i = 0; i < scores.length; i++)
+            if (!Double.isNaN(scores[i]) && (best < 0 || scores[i] > scores[best]))
+                best = i;
+        if (best < 0) {
+            RandomGenerator random = VariableTargetSelector.TargetingMode.getRandom();
+            return candidates.get(random.nextInt(candidates.size()));
+        }
+        return candidates.get(previewed[best]);
+    }
+
+    /**
+     * Samples the candidates to preview. If the budget covers all candidates, all of them are
+     * previewed and no random numbers are drawn.
+     *
+     * @param candidates the number of candidates
+     * @param budget     the number of candidates which may be previewed
+     * @return the indexes of the candidates to preview, in ascending order
+     */
+    private static int[] sample(int candidates, int budget) {
+        int[] indexes = new int[candidates];
+        Arrays.setAll(indexes, index -> index);
+        if (budget >= candidates)
+            return indexes;
+
+        RandomGenerator random = VariableTargetSelector.TargetingMode.getRandom();
+        for (int i = 0; i < budget; i++) {
+            int j       = i + random.nextInt(candidates - i);
+            int swapped = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swapped;
+        }
+        int[] sampled = Arrays.copyOf(indexes, budget);
+        Arrays.sort(sampled);
+        return sampled;
+    }
+
+    /**
+     * Scores the given previews in parallel on the {@link #pool}. The scores are collected in the
+     * order of the previews, so the result does not depend on the order in which the scorers
+     * finish.
+     *
+     * @param previews the previews to score
+     * @param scorer   the scorer to score the previews with
+     * @return the scores of the previews ({@link Double#NaN} for the previews whose scoring failed
+     * or which have not been scored because the waiting thread has been interrupted)
+     */
+    static double[] score(List<TargetPreview> previews, TargetScorer scorer) {
+        List<Future<Double>> futures = new ArrayList<>(previews.size());
+        for (TargetPreview preview : previews)
+            futures.add(pool.submit(() -> scorer.score(preview)));
+
+        double[] scores      = new double[previews.size()];
+        boolean  interrupted = false;
+        for (int i = 0; i < scores.length; i++) {
+            Future<Double> future = futures.get(i);
+            scores[i] = Double.NaN;
+            try {
+                if (!interrupted || future.isDone())
+                    scores[i] = future.get();
+            } catch (ExecutionException | CancellationException e) {
+                // failed scores are left unscored
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            future.cancel(true);
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        return scores;
+    }
+}
@@ -0,0 +1,110 @@
+package exchangemage.effects.targeting.selectors;
+
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.targeting.Targetable;
+import exchangemage.effects.value.ValueEffect;
+
+/**
+ * An immutable snapshot of a candidate target of a heuristic target selection, taken on the
+ * thread evaluating the selected {@link Effect}. Previews are the only input of
+ * {@link TargetScorer}s, which keeps scorers from reading (or changing) the state of the game.
+ *
+ * @see VariableTargetSelector.TargetingMode#HEURISTIC
+ * @see TargetScorer
+ */
+public final class TargetPreview {
+    /** The candidate target. */
+    private final Targetable target;
+
+    /** The position of the candidate among all candidates of the selection. */
+    private final int index;
+
+    /** Whether the selected effect's value has been previewed against the candidate. */
+    private final boolean valuePreviewed;
+
+    /** The previewed value of the selected effect against the candidate (or <code>0</code>). */
+    private final int value;
+
+    /** The current health of the candidate (or <code>-1</code> if it has no health). */
+    private final int currentHealth;
+
+    /** The maximum health of the candidate (or <code>-1</code> if it has no health). */
+    private final int maxHealth;
+
+    /**
+     * @param target         the candidate target
+     * @param index          the position of the candidate among all candidates
+     * @param valuePreviewed whether the selected effect's value has been previewed
+     * @param value          the previewed value of the selected effect
+     */
+    private TargetPreview(Targetable target, int index, boolean valuePreviewed, int value) {
+        this.target         = target;
+        this.index          = index;
+        this.valuePreviewed = valuePreviewed;
+        this.value          = value;
+        if (target instanceof DeckHolderActor) {
+            this.currentHealth = ((DeckHolderActor) target).getCurrentHealth();
+            this.maxHealth     = ((DeckHolderActor) target).getMaxHealth();
+        } else {
+            this.currentHealth = -1;
+            this.maxHealth     = -1;
+        }
+    }
+
+    /**
+     * Takes a preview of the given candidate. If the selected effect is a {@link ValueEffect}
+     * targeting through the given selector, its value against the candidate is computed with
+     * {@link EffectPlayer#preview} on a detached copy of the effect, so neither the effect nor
+     * the effect player is changed and no effect is executed.
+     *
+     * @param effect       the effect the target is selected for (or <code>null</code> if unknown)
+     * @param selector     the selector selecting the target
+     * @param target       the candidate target
+     * @param index        the position of the candidate among all candidates
+     * @param effectPlayer the effect player used to preview the effect's value
+     * @return the preview of the candidate
+     */
+    static TargetPreview of(Effect<?> effect,
+                            TargetSelector<?> selector,
+                            Targetable target,
+                            int index,
+                            EffectPlayer effectPlayer) {
+        if (effect instanceof ValueEffect &&
+            effect.getTargetSelector() == selector)
+            return new TargetPreview(target, index, true,
+                                     effectPlayer.preview((ValueEffect<?>) effect, target).value());
+        return new TargetPreview(target, index, false, 0);
+    }
+
+    /** @return the candidate target */
+    public Targetable getTarget() {return this.target;}
+
+    /** @return the position of the candidate among all candidates of the selection */
+    public int getIndex() {return this.index;}
+
+    /**
+     * @return <code>true</code> if the value of the selected effect has been previewed against
+     * the candidate, <code>false</code> otherwise
+     */
+    public boolean isValuePreviewed() {return this.valuePreviewed;}
+
+    /**
+     * @return the previewed value of the selected effect against the candidate, including all
+     * modifiers (or <code>0</code> if it has not been previewed)
+     */
+    public int getValue() {return this.value;}
+
+    /**
+     * @return <code>true</code> if the candidate is a {@link DeckHolderActor}, <code>false</code>
+     * otherwise
+     */
+    public boolean hasHealth() {return this.currentHealth >= 0;}
+
+    /** @return the current health of the candidate (or <code>-1</code> if it has no health) */
+    public int getCurrentHealth() {return this.currentHealth;}
+
+    /** @return the maximum health of the candidate (or <code>-1</code> if it has no health) */
+    public int getMaxHealth() {return this.maxHealth;}
+}
@@ -0,0 +1,250 @@
+package exchangemage.effects.targeting.selectors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import exchangemage.effects.targeting.Targetable;
+import exchangemage.effects.triggers.conditions.ActorHealthCondition;
+import exchangemage.effects.triggers.conditions.AllCondition;
+import exchangemage.effects.triggers.conditions.Condition;
+import exchangemage.effects.triggers.conditions.HeldEffectCondition;
+import exchangemage.effects.triggers.conditions.InstanceCondition;
+import exchangemage.effects.triggers.conditions.NumericValueCondition;
+import exchangemage.effects.triggers.conditions.TypeCondition;
+import exchangemage.scenes.Scene;
+
+/**
+ * A simple query plan of the target filter of a {@link VariableTargetSelector}, used to compute
+ * its active targetables from the secondary indexes of a {@link Scene} instead of evaluating the
+ * filter for every targetable of the selector's target class.
+ * <br><br>
+ * The filter is split into its conjuncts (the conditions of nested {@link AllCondition}s) and
+ * each conjunct is analyzed:
+ * <ul>
+ *     <li>
+ *         <b>Index steps</b> - conjuncts which can be answered by an index of the scene:
+ *         {@link ActorHealthCondition}s comparing against a constant value (with any operator
+ *         other than {@link NumericValueCondition.Operator#NEQ}) use the health index,
+ *         {@link HeldEffectCondition}s use the index of persistent effects,
+ *         {@link TypeCondition}s of targetable types use the class buckets and
+ *         {@link InstanceCondition}s yield their single instance.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>Residual conjuncts</b> - all other conjuncts, evaluated as predicates.
+ *     </li>
+ * </ul>
+ * Upon execution, the smallest candidate set produced by the index steps drives the query - its
+ * candidates are checked against the target class, the forbidden targets, the candidate sets of
+ * the remaining index steps and the residual conjuncts. Filters without any index steps are not
+ * planned and should be evaluated as predicates over the bucket of the target class.
+ *
+ * @param <T> the type of targetables selected by the planned selector
+ * @see VariableTargetSelector#getActiveTargetables
+ */
+final class TargetQuery<T extends Targetable> {
+    /** An index step of a query, producing the set of candidates matching its conjunct. */
+    @FunctionalInterface
+    private interface IndexStep {
+        /**
+         * @param scene the scene to look the candidates up in
+         * @return the candidates matching the conjunct of the step
+         */
+        Set<? extends Targetable> lookup(Scene scene);
+    }
+
+    /** The class of targetables selected by the planned selector. */
+    private final Class<T> targetClass;
+
+    /** The index steps of the plan. */
+    private final List<IndexStep> indexSteps = new ArrayList<>();
+
+    /** The conjuncts of the filter which cannot be answered by an index. */
+    private final List<Condition> residual = new ArrayList<>();
+
+    /**
+     * Plans the given target filter.
+     *
+     * @param targetClass  the class of targetables selected by the planned selector
+     * @param targetFilter the target filter to plan (may be <code>null</code>, in which case the
+     *                     query is not indexed)
+     * @throws NullPointerException if the target class is <code>null</code>
+     */
+    TargetQuery(Class<T> targetClass, Condition targetFilter) {
+        Objects.requireNonNull(targetClass, "Target class of query cannot be null.");
+        this.targetClass = targetClass;
+        if (targetFilter != null)
+            plan(targetFilter);
+    }
+
+    /**
+     * @return <code>true</code> if the plan contains at least one index step, <code>false</code>
+     * if the filter has to be evaluated as a predicate
+     */
+    boolean isIndexed() {return !this.indexSteps.isEmpty();}
+
+    /**
+     * Executes the plan against the given scene.
+     *
+     * @param scene            the scene to select the targetables from
+     * @param forbiddenTargets the forbidden targets to exclude
+     * @return a new set of the targetables of the target class present in the scene which are not
+     * forbidden and match the planned filter, in the order of their slots
+     * @throws IllegalStateException if the query is not indexed
+     */
+    Set<T> execute(Scene scene, Set<Targetable> forbiddenTargets) {
+        if (!isIndexed())
+            throw new IllegalStateException("Cannot execute query without index steps.");
+
+        List<Set<? extends Targetable>> candidateSets = new ArrayList<>(this.indexSteps.size());
+        Set<? extends Targetable>       driver        = null;
+        for (IndexStep step : this.indexSteps) {
+            Set<? extends Targetable> candidates = step.lookup(scene);
+            if (candidates.isEmpty())
+                return new LinkedHashSet<>();
+            if (driver == null || candidates.size() < driver.size())
+                driver = candidates;
+            candidateSets.add(candidates);
+        }
+
+        Set<T>  present = scene.getTargetables(this.targetClass);
+        List<T> result  = new ArrayList<>(driver.size());
+        for (Targetable candidate : driver)
+            if (this.targetClass.isInstance(candidate) &&
+                present.contains(candidate) &&
+                !forbiddenTargets.contains(candidate) &&
+                matches(candidate, candidateSets, driver))
+                result.add(this.targetClass.cast(candidate));
+
+        result.sort(Comparator.comparingInt(scene::getSlot));
+        return new LinkedHashSet<>(result);
+    }
+
+    // ------------------------------------ helper methods ------------------------------------ //
+
+    /**
+     * @param candidate     the candidate to check
+     * @param candidateSets the candidate sets of all index steps
+     * @param driver        the candidate set driving the query
+     * @return <code>true</code> if the candidate is contained in all candidate sets and matches
+     * all {@link #residual} conjuncts, <code>false</code> otherwise
+     */
+    private boolean matches(Targetable candidate,
+                            List<Set<? extends Targetable>> candidateSets,
+                            Set<? extends Targetable> driver) {
+        for (Set<? extends Targetable> candidates : candidateSets)
+            if (candidates != driver && !candidates.contains(candidate))
+                return false;
+        for (Condition condition : this.residual)
+            if (!condition.evaluate(candidate))
+                return false;
+        return true;
+    }
+
+    /**
+     * Splits the given condition into its conjuncts and adds each of them to the plan as either an
+     * index step or a residual conjunct.
+     *
+     * @param condition the condition to plan
+     */
+    private void plan(Condition condition) {
+        if (condition instanceof AllCondition) {
+            ((AllCondition) condition).getConditions().forEach(this::plan);
+            return;
+        }
+        IndexStep step = toIndexStep(condition);
+        if (step != null)
+            this.indexSteps.add(step);
+        else
+            this.residual.add(condition);
+    }
+
+    /**
+     * @param condition the conjunct to analyze
+     * @return the index step answering the conjunct (or <code>null</code> if it cannot be
+     * answered by an index)
+     */
+    @SuppressWarnings("unchecked")
+    private static IndexStep toIndexStep(Condition condition) {
+        if (condition instanceof ActorHealthCondition)
+            return toHealthStep(((ActorHealthCondition) condition).getHealthCondition());
+        if (condition instanceof HeldEffectCondition) {
+            var effectType = ((HeldEffectCondition) condition).getEffectType();
+            return scene -> scene.getActorsHolding(effectType);
+        }
+        if (condition instanceof TypeCondition) {
+            Class<?> type = ((TypeCondition) condition).getTargetType();
+            if (!Targetable.class.isAssignableFrom(type))
+                return null;
+            return scene -> scene.getTargetables((Class<? extends Targetable>) type);
+        }
+        if (condition instanceof InstanceCondition) {
+            var getter = ((InstanceCondition) condition).getTargetGetter();
+            return scene -> {
+                Object instance = getter.getSubject();
+                return instance instanceof Targetable
+                       ? Set.of((Targetable) instance)
+                       : Collections.emptySet();
+            };
+        }
+        return null;
+    }
+
+    /**
+     * Converts a health comparison against a constant value into a lookup of the health range
+     * fulfilling it.
+     *
+     * @param healthCondition the health comparison to convert
+     * @return the index step looking up the range (or <code>null</code> if the comparison does
+     * not compare against a constant value or cannot be expressed as a single range)
+     */
+    private static IndexStep toHealthStep(NumericValueCondition healthCondition) {
+        Number target = healthCondition.getTargetValue();
+        if (target == null)
+            return null;
+        double value = target.doubleValue();
+        if (Double.isNaN(value))
+            return null;
+        value = Math.max(Integer.MIN_VALUE - 1.0, Math.min(Integer.MAX_VALUE + 1.0, value));
+
+        long min;
+        long max;
+        switch (healthCondition.getOperator()) {
+            case EQ -> {
+                if (value != Math.rint(value))
+                    return scene -> Collections.emptySet();
+                min = max = (long) value;
+            }
+            case GT -> {
+                min = (long) Math.floor(value) + 1;
+                max = Integer.MAX_VALUE;
+            }
+            case GTE -> {
+                min = (long) Math.ceil(value);
+                max = Integer.MAX_VALUE;
+            }
+            case LT -> {
+                min = Integer.MIN_VALUE;
+                max = (long) Math.ceil(value) - 1;
+            }
+            case LTE -> {
+                min = Integer.MIN_VALUE;
+                max = (long) Math.floor(value);
+            }
+            default -> {
+                return null;
+            }
+        }
+
+        if (min > Integer.MAX_VALUE || max < Integer.MIN_VALUE)
+            return scene -> Collections.emptySet();
+        int from = (int) Math.max(Integer.MIN_VALUE, min);
+        int to   = (int) Math.min(Integer.MAX_VALUE, max);
+        return scene -> scene.getActorsWithHealth(from, to);
+    }
+}
@@ -0,0 +1,48 @@
+package exchangemage.effects.targeting.selectors;
+
+/**
+ * An evaluation function used by {@link VariableTargetSelector}s using the
+ * {@link VariableTargetSelector.TargetingMode#HEURISTIC} mode to score their candidate targets.
+ * The candidate with the highest score is selected.
+ * <br><br>
+ * Scorers are called in parallel on a shared pool of threads and must only read the given
+ * {@link TargetPreview}, which is immutable. A scorer may return {@link Double#NaN} to leave a
+ * candidate unscored.
+ *
+ * @see TargetPreview
+ */
+@FunctionalInterface
+public interface TargetScorer {
+    /** An enum of commonly used scorers. */
+    enum Standard implements TargetScorer {
+        /**
+         * Scores candidates by the previewed value of the effect against them (e.g. the damage
+         * an attack would deal after all modifiers), preferring the candidates it affects most.
+         */
+        EXPECTED_VALUE {
+            @Override
+            public double score(TargetPreview preview) {return preview.getValue();}
+        },
+        /**
+         * Scores candidates by the portion of their current health the previewed value of the
+         * effect would deplete - <code>1</code> if the effect would kill the candidate - preferring
+         * candidates which are (closest to being) killed.
+         */
+        KILL_CHANCE {
+            @Override
+            public double score(TargetPreview preview) {
+                if (!preview.hasHealth())
+                    return Double.NaN;
+                if (preview.getValue() >= preview.getCurrentHealth())
+                    return 1;
+                return (double) Math.max(0, preview.getValue()) / preview.getCurrentHealth();
+            }
+        }
+    }
+
+    /**
+     * @param preview the preview of the candidate to score
+     * @return the score of the candidate (or {@link Double#NaN} to leave it unscored)
+     */
+    double score(TargetPreview preview);
+}
@@ -86,6 +86,28 @@ public abstract class TargetSelector<T extends Targetable> {
      */
     protected abstract void validateTarget(T target);
 
+    /**
+     * Checks whether the given {@link Targetable} object could be set as this
+     * {@link TargetSelector}'s target, without setting it.
+     *
+     * @param target the target to check.
+     * @return <code>true</code> if the target is of the selector's target class and passes the
+     * {@link #validateTarget} validation, <code>false</code> otherwise.
+     */
+    public boolean isValidTarget(Targetable target) {
+        if (target == null || !targetClass.isInstance(target))
+            return false;
+        try {
+            validateTarget(targetClass.cast(target));
+            return true;
+        } catch (InvalidTargetException e) {
+            return false;
+        }
+    }
+
+    /** @return the class of {@link Targetable} objects selected by this selector */
+    public Class<T> getTargetClass() {return this.targetClass;}
+
     /** @return <code>true</code> if a target has been selected, <code>false</code> otherwise. */
     public boolean hasTarget() {return target != null;}
 
@@ -0,0 +1,223 @@
+package exchangemage.effects.targeting.selectors;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import exchangemage.actors.Actor;
+import exchangemage.base.Observable;
+import exchangemage.base.Observer;
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.effects.targeting.Targetable;
+import exchangemage.effects.targeting.TargetingManager;
+import exchangemage.scenes.Scene;
+
+/**
+ * A maintained set of the targetables a {@link VariableTargetSelector} can currently select -
+ * the targetables of its target class present in a {@link Scene} which are not forbidden and
+ * match its target filter. Used by the {@link TargetingManager} to publish the valid targets of
+ * a player's selection, so that the UI can highlight them without re-running the selector's
+ * filter.
+ * <br><br>
+ * Every targetable entering the set is {@link Targetable#activate activated} and every targetable
+ * leaving it is {@link Targetable#deactivate deactivated}, so only the delta of a change is
+ * published. The set is kept up to date incrementally:
+ * <ul>
+ *     <li>
+ *         <b>Actor changes</b> - a change of an {@link Actor} (e.g. of its health or of the set of
+ *         {@link PersistentEffect}s it holds) re-evaluates only the actor and the targetables it
+ *         holds.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>Scene changes</b> - a change of the scene's environmental effects, or a change of the
+ *         scene's state version detected by {@link #refresh} (e.g. after an actor has been added
+ *         or removed), re-evaluates the whole set.
+ *     </li>
+ * </ul>
+ * The set observes the scene and its actors while open and should be {@link #close closed} once
+ * the selection is over, which deactivates all of its targetables.
+ *
+ * @param <T> the type of targetables selected by the selector
+ * @see VariableTargetSelector#getValidTargets
+ * @see TargetingManager.SelectionRequest#getValidTargets
+ */
+public class ValidTargetSet<T extends Targetable> implements Observer {
+    /** The selector whose valid targets are kept. */
+    private final VariableTargetSelector<T> selector;
+
+    /** The forbidden targets excluded from the set. */
+    private final Set<Targetable> forbiddenTargets;
+
+    /** The scene the targets are chosen from. */
+    private final Scene scene;
+
+    /** The currently valid targets, in the order in which they were activated. */
+    private final Set<T> targets = new LinkedHashSet<>();
+
+    /** The actors of the {@link #scene} currently observed by the set. */
+    private final Set<Actor> observedActors = new HashSet<>();
+
+    /** The state version of the {@link #scene} the set has last been brought up to date with. */
+    private long version;
+
+    /** Whether the set is open (maintained and observing the scene). */
+    private boolean open = true;
+
+    /**
+     * @param selector         the selector whose valid targets should be kept
+     * @param forbiddenTargets the forbidden targets to exclude from the set
+     * @param scene            the scene the targets are chosen from
+     * @throws NullPointerException if any of the arguments is <code>null</code>
+     */
+    private ValidTargetSet(VariableTargetSelector<T> selector,
+                           Set<Targetable> forbiddenTargets,
+                           Scene scene) {
+        Objects.requireNonNull(selector, "Selector of valid target set cannot be null.");
+        Objects.requireNonNull(forbiddenTargets, "Forbidden targets set cannot be null.");
+        Objects.requireNonNull(scene, "Scene of valid target set cannot be null.");
+        this.selector = selector;
+        this.forbiddenTargets = forbiddenTargets;
+        this.scene = scene;
+    }
+
+    /**
+     * Creates an open set, activating all currently valid targets, and starts observing the
+     * scene and its actors. The set is only registered as an observer once it has been fully
+     * constructed.
+     *
+     * @param selector         the selector whose valid targets should be kept
+     * @param forbiddenTargets the forbidden targets to exclude from the set
+     * @param scene            the scene the targets are chosen from
+     * @param <T>              the type of targetables selected by the selector
+     * @return the created set
+     * @throws NullPointerException if any of the arguments is <code>null</code>
+     */
+    public static <T extends Targetable> ValidTargetSet<T> open(
+            VariableTargetSelector<T> selector,
+            Set<Targetable> forbiddenTargets,
+            Scene scene
+    ) {
+        ValidTargetSet<T> set = new ValidTargetSet<>(selector, forbiddenTargets, scene);
+        set.scene.addObserver(set);
+        set.recompute();
+        return set;
+    }
+
+    /**
+     * Re-evaluates the whole set if the state version of the {@link #scene} has changed since the
+     * set was last brought up to date. Does nothing if the set is closed.
+     */
+    public void refresh() {
+        if (this.open && this.scene.getStateVersion() != this.version)
+            recompute();
+    }
+
+    /** Deactivates all targets of the set, clears it and stops observing the scene. */
+    public void close() {
+        if (!this.open)
+            return;
+        this.open = false;
+        this.scene.removeObserver(this);
+        this.observedActors.forEach(actor -> actor.removeObserver(this));
+        this.observedActors.clear();
+        this.targets.forEach(Targetable::deactivate);
+        this.targets.clear();
+    }
+
+    /** @return <code>true</code> if the set is still maintained, <code>false</code> otherwise */
+    public boolean isOpen() {return this.open;}
+
+    /**
+     * @param targetable the targetable to check
+     * @return <code>true</code> if the targetable is currently a valid target, <code>false</code>
+     * otherwise
+     */
+    public boolean contains(Targetable targetable) {return this.targets.contains(targetable);}
+
+    /** @return an unmodifiable, live view of the currently valid targets */
+    public Set<T> getTargets() {return Collections.unmodifiableSet(this.targets);}
+
+    // ---------------------------------- observer methods ------------------------------------ //
+
+    /**
+     * Brings the set up to date after the observed event - re-evaluating the whole set if the
+     * event has been published by the {@link #scene}, or only the publishing {@link Actor} and the
+     * targetables it holds otherwise. Activation events of the targetables themselves are
+     * ignored.
+     *
+     * @param publisher the {@link Observable} object that called this method
+     * @param event     the event to notify this observer of
+     */
+    @Override
+    public void update(Observable publisher, Observable.Event event) {
+        if (!this.open || event instanceof Targetable.TargetableEvent)
+            return;
+        if (publisher == this.scene) {
+            recompute();
+            return;
+        }
+        if (!(publisher instanceof Actor))
+            return;
+
+        Actor           actor      = (Actor) publisher;
+        Set<Targetable> candidates = new LinkedHashSet<>();
+        candidates.add(actor);
+        candidates.addAll(actor.getTargetables());
+        for (T target : this.targets)
+            if (!this.scene.getTargetables(this.selector.targetClass).contains(target))
+                candidates.add(target);
+
+        for (Targetable candidate : candidates)
+            if (this.selector.targetClass.isInstance(candidate))
+                updateTarget(this.selector.targetClass.cast(candidate));
+        this.version = this.scene.getStateVersion();
+    }
+
+    // ------------------------------------ helper methods ------------------------------------ //
+
+    /** Re-evaluates the whole set and synchronizes the observed actors with the scene. */
+    private void recompute() {
+        Set<Actor> actors = new HashSet<>();
+        for (Actor actor : this.scene.getActors())
+            if (actor != null)
+                actors.add(actor);
+        for (Actor actor : this.observedActors)
+            if (!actors.contains(actor))
+                actor.removeObserver(this);
+        for (Actor actor : actors)
+            if (!this.observedActors.contains(actor))
+                actor.addObserver(this);
+        this.observedActors.clear();
+        this.observedActors.addAll(actors);
+
+        Set<T> valid = this.selector.getActiveTargetables(this.forbiddenTargets);
+        this.targets.removeIf(target -> {
+            if (valid.contains(target))
+                return false;
+            target.deactivate();
+            return true;
+        });
+        for (T target : valid)
+            if (this.targets.add(target))
+                target.activate();
+        this.version = this.scene.getStateVersion();
+    }
+
+    /**
+     * Adds or removes the given target depending on whether it is currently valid, activating or
+     * deactivating it if its membership changes.
+     *
+     * @param target the target to re-evaluate
+     */
+    private void updateTarget(T target) {
+        boolean valid = this.scene.getTargetables(this.selector.targetClass).contains(target) &&
+                        this.selector.isActive(target, this.forbiddenTargets);
+        if (valid && this.targets.add(target))
+            target.activate();
+        else if (!valid && this.targets.remove(target))
+            target.deactivate();
+    }
+}
@@ -1,23 +1,37 @@
 package exchangemage.effects.targeting.selectors;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
+import exchangemage.base.GameState;
 import exchangemage.base.GameStateLocator;
 import exchangemage.effects.Effect;
 import exchangemage.effects.targeting.Targetable;
 import exchangemage.effects.targeting.TargetingManager;
+import exchangemage.effects.triggers.conditions.ActorHealthCondition;
 import exchangemage.effects.triggers.conditions.Condition;
+import exchangemage.scenes.Scene;
 
 public class VariableTargetSelector<T extends Targetable> extends TargetSelector<T> {
     /**
      * An enum used to specify the mode of target selection used by {@link VariableTargetSelector}s.
-     * Depending on the mode, the selector will either wait for the player to select a target or
-     * select a random target. Targets are chosen from the set of active targetables provided by
-     * the {@link #getActiveTargetables} method.
+     * Depending on the mode, the selector will either wait for the player to select its targets
+     * or select them on its own. Targets are chosen from the active targetables of the selector -
+     * the targetables of the scene of its target class which are not forbidden and match its
+     * {@link #targetFilter}.
+     * <br><br>
+     * The {@link #SELECT}, {@link #RANDOM} and {@link #HEURISTIC} modes select a single target,
+     * while the {@link #ALL}, {@link #RANDOM_N} and {@link #SELECT_N} modes select multiple
+     * distinct targets at once (see {@link #getTargets}), computing the active targetables only
+     * once.
      *
      * @see VariableTargetSelector
      * @see Targetable
@@ -34,12 +48,15 @@ public class VariableTargetSelector<T extends Targetable> extends TargetSelector
          */
         SELECT {
             /**
-             * Waits for the player to select a target from the set of active targetables. If the
-             * set is empty, returns <code>false</code> without waiting.
+             * Waits for the player to select a target from the set of active targetables provided
+             * by the {@link #getActiveTargetables} method. If there are none (see
+             * {@link #hasActiveTargetables}), returns
+             * <code>false</code> without waiting. If the selection deadline of the
+             * {@link TargetingManager} expires, the target is selected by its fallback policy.
              *
-             * @param activeTargetables the set of active {@link Targetable}s to choose the target
-             *                          from
-             * @param selector          the {@link VariableTargetSelector} to set the target for
+             * @param selector         the {@link VariableTargetSelector} to set the target for
+             * @param forbiddenTargets the set of forbidden targets to exclude from the selection
+             *                         process
              * @return <code>true</code> if the target selection was successful, <code>false</code>
              *         otherwise
              * @param <T> the type of the {@link Targetable} objects selected by the target selector
@@ -50,14 +67,14 @@ public class VariableTargetSelector<T extends Targetable> extends TargetSelector
              */
             @Override
             public <T extends Targetable> boolean selectTarget(
-                    Set<T> activeTargetables,
-                    VariableTargetSelector<T> selector
+                    VariableTargetSelector<T> selector,
+                    Set<Targetable> forbiddenTargets
             ) {
-                if (activeTargetables.isEmpty())
+                if (!selector.hasActiveTargetables(forbiddenTargets) ||
+                    !GameStateLocator.getGameState().getTargetingManager()
+                                    .waitForTarget(selector))
                     return false;
 
-                GameStateLocator.getGameState().getTargetingManager().waitForTarget();
-
                 if (!selector.hasTarget())
                     throw new RuntimeException("Wait for target ended without a target being" +
                                                " selected.");
@@ -67,12 +84,20 @@ public class VariableTargetSelector<T extends Targetable> extends TargetSelector
         },
         RANDOM {
             /**
-             * Selects a random target from the set of active targetables. If the set is empty,
-             * returns <code>false</code>.
+             * Selects a random target from the active targetables with uniform probability. The
+             * target is chosen by reservoir sampling in a single pass over the targetables of the
+             * scene indexed under the selector's target class, without building the set of active
+             * targetables - unless the selector's filter can be answered by the indexes of the
+             * scene, in which case the target is drawn from the (usually much smaller) set of
+             * active targetables computed by its {@link TargetQuery}. If there are no active
+             * targetables, returns <code>false</code>.
+             * <br><br>
+             * Random numbers are drawn from the generator of the current session provided by the
+             * {@link GameState#getRandom} method.
              *
-             * @param activeTargetables the set of active {@link Targetable}s to choose the target
-             *                          from
-             * @param selector          the {@link VariableTargetSelector} to set the target for
+             * @param selector         the {@link VariableTargetSelector} to set the target for
+             * @param forbiddenTargets the set of forbidden targets to exclude from the selection
+             *                         process
              * @return <code>true</code> if the target selection was successful, <code>false</code>
              *         otherwise
              * @param <T> the type of the {@link Targetable} objects selected by the target selector
@@ -82,14 +107,29 @@ public class VariableTargetSelector<T extends Targetable> extends TargetSelector
              */
             @Override
             public <T extends Targetable> boolean selectTarget(
-                    Set<T> activeTargetables,
-                    VariableTargetSelector<T> selector
+                    VariableTargetSelector<T> selector,
+                    Set<Targetable> forbiddenTargets
             ) {
-                if (activeTargetables.isEmpty())
+                RandomGenerator random     = getRandom();
+                T               chosen     = null;
+                int             candidates = 0;
+
+                if (selector.targetQuery.isIndexed()) {
+                    List<T> active = new ArrayList<>();
+                    selector.addActiveTargetables(forbiddenTargets, active);
+                    if (!active.isEmpty())
+                        chosen = active.get(random.nextInt(active.size()));
+                } else
+                    for (T candidate : GameStateLocator.getGameState().getScene()
+                                                       .getTargetables(selector.targetClass))
+                        if (selector.isActive(candidate, forbiddenTargets) &&
+                            random.nextInt(++candidates) == 0)
+                            chosen = candidate;
+
+                if (chosen == null)
                     return false;
 
-                int randomIndex = new Random().nextInt(activeTargetables.size());
-                selector.setTarget(activeTargetables.stream().toList().get(randomIndex));
+                selector.setTarget(chosen);
 
                 if (!selector.hasTarget())
                     throw new RuntimeException("Random target selection ended without a target" +
@@ -97,26 +137,163 @@ public class VariableTargetSelector<T extends Targetable> extends TargetSelector
 
                 return true;
             }
+        },
+        /**
+         * This selection mode selects all active targetables at once. The first of them becomes
+         * the selector's target, while all of them are available through {@link #getTargets}.
+         */
+        ALL {
+            /**
+             * Selects all active targetables, collected once by the
+             * {@link #addActiveTargetables} method. If there are none, returns <code>false</code>.
+             *
+             * @param selector         the {@link VariableTargetSelector} to set the targets for
+             * @param forbiddenTargets the set of forbidden targets to exclude from the selection
+             *                         process
+             * @return <code>true</code> if the target selection was successful, <code>false</code>
+             *         otherwise
+             * @param <T> the type of the {@link Targetable} objects selected by the target selector
+             */
+            @Override
+            public <T extends Targetable> boolean selectTarget(
+                    VariableTargetSelector<T> selector,
+                    Set<Targetable> forbiddenTargets
+            ) {
+                List<T> candidates = new ArrayList<>();
+                selector.addActiveTargetables(forbiddenTargets, candidates);
+                if (candidates.isEmpty())
+                    return false;
+                selector.setTargets(candidates);
+                return true;
+            }
+        },
+        /**
+         * This selection mode selects {@link #getTargetCount} distinct random targets (or all
+         * active targetables if there are fewer of them) with uniform probability.
+         */
+        RANDOM_N {
+            /**
+             * Selects distinct random targets by a partial Fisher-Yates shuffle over the active
+             * targetables, collected once by the {@link #addActiveTargetables} method - only as
+             * many positions are shuffled as there are targets to select. If there are no active
+             * targetables, returns <code>false</code>.
+             *
+             * @param selector         the {@link VariableTargetSelector} to set the targets for
+             * @param forbiddenTargets the set of forbidden targets to exclude from the selection
+             *                         process
+             * @return <code>true</code> if the target selection was successful, <code>false</code>
+             *         otherwise
+             * @param <T> the type of the {@link Targetable} objects selected by the target selector
+             */
+            @Override
+            public <T extends Targetable> boolean selectTarget(
+                    VariableTargetSelector<T> selector,
+                    Set<Targetable> forbiddenTargets
+            ) {
+                List<T> candidates = new ArrayList<>();
+                selector.addActiveTargetables(forbiddenTargets, candidates);
+                if (candidates.isEmpty())
+                    return false;
+
+                RandomGenerator random = getRandom();
+                int             count  = Math.min(selector.targetCount, candidates.size());
+                for (int i = 0; i < count; i++)
+                    Collections.swap(candidates, i, i + random.nextInt(candidates.size() - i));
+                selector.setTargets(candidates.subList(0, count));
+                return true;
+            }
+        },
+        /**
+         * This selection mode relies on player input. The selector will wait for the player to
+         * choose {@link #getTargetCount} distinct targets (or all active targetables if there are
+         * fewer of them) in a single interaction, unless there are no active targetables.
+         */
+        SELECT_N {
+            /**
+             * Waits for the player to choose the targets from the set of active targetables. If
+             * the set is empty, returns <code>false</code> without waiting.
+             *
+             * @param selector         the {@link VariableTargetSelector} to set the targets for
+             * @param forbiddenTargets the set of forbidden targets to exclude from the selection
+             *                         process
+             * @return <code>true</code> if the target selection was successful, <code>false</code>
+             *         otherwise
+             * @param <T> the type of the {@link Targetable} objects selected by the target selector
+             * @see TargetingManager#chooseTargets
+             */
+            @Override
+            public <T extends Targetable> boolean selectTarget(
+                    VariableTargetSelector<T> selector,
+                    Set<Targetable> forbiddenTargets
+            ) {
+                return SELECT.selectTarget(selector, forbiddenTargets);
+            }
+        },
+        /**
+         * This selection mode is used by AI-controlled actors. The selector scores every active
+         * targetable with its {@link TargetScorer} and selects the one with the highest score.
+         */
+        HEURISTIC {
+            /**
+             * Selects the active targetable with the highest score. The candidates are previewed
+             * on the calling thread without changing the state of the game and scored in
+             * parallel, as many as the budget reserved from the {@link TargetingManager} allows -
+             * if the budget does not cover all candidates, the scored candidates are sampled with
+             * the random generator of the session. Ties are resolved in favour of the candidate
+             * with the lowest slot and selections in which no candidate has been scored choose a
+             * candidate at random. If there are no active targetables, returns <code>false</code>.
+             *
+             * @param selector         the {@link VariableTargetSelector} to set the target for
+             * @param forbiddenTargets the set of forbidden targets to exclude from the selection
+             *                         process
+             * @return <code>true</code> if the target selection was successful, <code>false</code>
+             *         otherwise
+             * @param <T> the type of the {@link Targetable} objects selected by the target selector
+             * @see TargetScorer
+             * @see TargetingManager#reservePreviews
+             */
+            @Override
+            public <T extends Targetable> boolean selectTarget(
+                    VariableTargetSelector<T> selector,
+                    Set<Targetable> forbiddenTargets
+            ) {
+                List<T> candidates = new ArrayList<>();
+                selector.addActiveTargetables(forbiddenTargets, candidates);
+                if (candidates.isEmpty())
+                    return false;
+                selector.setTarget(HeuristicScoring.chooseBest(selector, candidates));
+                return true;
+            }
         };
 
         /**
-         * Selects a target from the given set of active targetables and sets it for the given
-         * {@link VariableTargetSelector}. The logic of the selection process depends on the
+         * Selects a target from the active targetables of the given {@link VariableTargetSelector}
+         * and sets it for the selector. The logic of the selection process depends on the
          * implementation of this method by the concrete targeting mode.
          *
-         * @param activeTargetables the set of active {@link Targetable}s to choose the target from
-         * @param selector          the {@link VariableTargetSelector} to set the target for
-         * @param <T>               the type of the {@link Targetable} objects selected by the
-         *                          target selector
+         * @param selector         the {@link VariableTargetSelector} to set the target for
+         * @param forbiddenTargets the set of forbidden targets to exclude from the selection
+         *                         process
+         * @param <T>              the type of the {@link Targetable} objects selected by the
+         *                         target selector
          * @return <code>true</code> if the target selection was successful, <code>false</code>
          * otherwise
          * @see VariableTargetSelector
          * @see Targetable
          */
         public abstract <T extends Targetable> boolean selectTarget(
-                Set<T> activeTargetables,
-                VariableTargetSelector<T> selector
+                VariableTargetSelector<T> selector,
+                Set<Targetable> forbiddenTargets
         );
+
+        /**
+         * @return the random number generator of the current session (or the generator of the
+         * current thread if the session does not provide one)
+         */
+        static RandomGenerator getRandom() {
+            RandomGenerator random = GameStateLocator.getGameState().getRandom();
+            return random != null ? random : ThreadLocalRandom.current();
+        }
     }
 
     /**
@@ -128,6 +305,24 @@ public class VariableTargetSelector<T extends Targetable> extends TargetSelector
     /** The {@link TargetingMode} used by this {@link VariableTargetSelector} to select a target. */
     private final TargetingMode targetingMode;
 
+    /**
+     * The number of targets selected by the {@link TargetingMode#RANDOM_N} and
+     * {@link TargetingMode#SELECT_N} modes (ignored by the other modes).
+     */
+    private final int targetCount;
+
+    /**
+     * All targets selected by this selector (or an empty list if only a single {@link #target}
+     * has been selected).
+     */
+    private final List<T> targets = new ArrayList<>();
+
+    /** The {@link TargetScorer} used by the {@link TargetingMode#HEURISTIC} mode. */
+    private final TargetScorer scorer;
+
+    /** The query plan of the {@link #targetFilter}, used to compute the active targetables. */
+    private final TargetQuery<T> targetQuery;
+
     /**
      * @param targetClass   the class of {@link Targetable} objects selected by this selector
      * @param targetFilter  the {@link Condition} used to filter the set of active targetables
@@ -138,10 +333,53 @@ public class VariableTargetSelector<T extends Targetable> extends TargetSelector
     public VariableTargetSelector(Class<T> targetClass,
                                   Condition targetFilter,
                                   TargetingMode targetingMode) {
+        this(targetClass, targetFilter, targetingMode, 1);
+    }
+
+    /**
+     * @param targetClass   the class of {@link Targetable} objects selected by this selector
+     * @param targetFilter  the {@link Condition} used to filter the set of active targetables
+     * @param targetingMode the {@link TargetingMode} used by the variable target selector to
+     *                      select its targets
+     * @param targetCount   the number of targets selected by the {@link TargetingMode#RANDOM_N}
+     *                      and {@link TargetingMode#SELECT_N} modes
+     * @throws NullPointerException     if the given target class or targeting mode is
+     *                                  <code>null</code>
+     * @throws IllegalArgumentException if the target count is not positive
+     */
+    public VariableTargetSelector(Class<T> targetClass,
+                                  Condition targetFilter,
+                                  TargetingMode targetingMode,
+                                  int targetCount) {
         super(targetClass);
         Objects.requireNonNull(targetingMode, "Targeting mode cannot be null.");
+        if (targetCount < 1)
+            throw new IllegalArgumentException("Target count must be positive.");
         this.targetFilter = targetFilter;
         this.targetingMode = targetingMode;
+        this.targetCount = targetCount;
+        this.scorer = TargetScorer.Standard.EXPECTED_VALUE;
+        this.targetQuery = new TargetQuery<>(targetClass, targetFilter);
+    }
+
+    /**
+     * Creates a selector using the {@link TargetingMode#HEURISTIC} mode.
+     *
+     * @param targetClass  the class of {@link Targetable} objects selected by this selector
+     * @param targetFilter the {@link Condition} used to filter the set of active targetables
+     * @param scorer       the {@link TargetScorer} used to score the active targetables
+     * @throws NullPointerException if the given target class or scorer is <code>null</code>
+     */
+    public VariableTargetSelector(Class<T> targetClass,
+                                  Condition targetFilter,
+                                  TargetScorer scorer) {
+        super(targetClass);
+        Objects.requireNonNull(scorer, "Target scorer cannot be null.");
+        this.targetFilter = targetFilter;
+        this.targetingMode = TargetingMode.HEURISTIC;
+        this.targetCount = 1;
+        this.scorer = scorer;
+        this.targetQuery = new TargetQuery<>(targetClass, targetFilter);
     }
 
     /**
@@ -156,33 +394,100 @@ public class VariableTargetSelector<T extends Targetable> extends TargetSelector
     }
 
     /**
-     * Returns a set of {@link Targetable}s from which a valid target can be selected. The set is
-     * filtered by the {@link #targetFilter} if the selector has one (and against the set of
-     * forbidden targets).
+     * Returns a set of {@link Targetable}s from which a valid target can be selected, collected
+     * by the {@link #addActiveTargetables} method. Callers which only need to visit the active
+     * targetables once should use that method (or {@link #hasActiveTargetables}) instead, which
+     * do not build a set.
      *
      * @param forbiddenTargets the set of forbidden targets to exclude from the selection process
      *                         (provided by the {@link TargetingManager})
-     * @return a set of targetables from which a valid target can be selected
+     * @return a new set of targetables from which a valid target can be selected, in the order of
+     * their slots
      * @throws NullPointerException if the given set of forbidden targets is <code>null</code>
      * @see Targetable
      * @see TargetingManager
      */
     public Set<T> getActiveTargetables(Set<Targetable> forbiddenTargets) {
+        Set<T> activeTargetables = new LinkedHashSet<>();
+        addActiveTargetables(forbiddenTargets, activeTargetables);
+        return activeTargetables;
+    }
+
+    /**
+     * Adds the {@link Targetable}s from which a valid target can be selected to the given
+     * collection. The targetables of the scene indexed under the selector's target class are
+     * visited in place, in the order of their slots (see {@link Scene#nextSlot}), and added if
+     * they are not forbidden and match the {@link #targetFilter} (if the selector has one).
+     * <br><br>
+     * If any conjunct of the filter can be answered by the secondary indexes of the scene (e.g.
+     * the health index for an {@link ActorHealthCondition}), the targetables are computed by the
+     * {@link TargetQuery} planned from the filter instead, starting from the smallest index
+     * lookup and evaluating only the remaining conjuncts.
+     *
+     * @param forbiddenTargets the set of forbidden targets to exclude from the selection process
+     * @param result           the collection to add the active targetables to
+     * @throws NullPointerException if the given set of forbidden targets or collection is
+     *                              <code>null</code>
+     */
+    public void addActiveTargetables(Set<Targetable> forbiddenTargets,
+                                     Collection<? super T> result) {
+        Objects.requireNonNull(forbiddenTargets, "Forbidden targets set cannot be null.");
+        Objects.requireNonNull(result, "Result collection cannot be null.");
+        Scene scene = GameStateLocator.getGameState().getScene();
+        if (this.targetQuery.isIndexed()) {
+            result.addAll(this.targetQuery.execute(scene, forbiddenTargets));
+            return;
+        }
+
+        for (int slot = scene.nextSlot(targetClass, 0); slot >= 0;
+             slot = scene.nextSlot(targetClass, slot + 1)) {
+            T candidate = targetClass.cast(scene.getTargetable(slot));
+            if (isActive(candidate, forbiddenTargets))
+                result.add(candidate);
+        }
+    }
+
+    /**
+     * Checks whether a valid target can be selected, stopping at the first active targetable
+     * without collecting the others.
+     *
+     * @param forbiddenTargets the set of forbidden targets to exclude from the selection process
+     * @return <code>true</code> if at least one targetable is active, <code>false</code> otherwise
+     * @throws NullPointerException if the given set of forbidden targets is <code>null</code>
+     * @see #addActiveTargetables
+     */
+    public boolean hasActiveTargetables(Set<Targetable> forbiddenTargets) {
         Objects.requireNonNull(forbiddenTargets, "Forbidden targets set cannot be null.");
-        Stream<T> activeTargetables = GameStateLocator
-                .getGameState().getScene().getTargetables().stream()
-                .filter(targetClass::isInstance)
-                .filter(target -> !forbiddenTargets.contains(target))
-                .map(targetClass::cast);
+        Scene scene = GameStateLocator.getGameState().getScene();
+        if (this.targetQuery.isIndexed())
+            return !this.targetQuery.execute(scene, forbiddenTargets).isEmpty();
+
+        for (int slot = scene.nextSlot(targetClass, 0); slot >= 0;
+             slot = scene.nextSlot(targetClass, slot + 1))
+            if (isActive(targetClass.cast(scene.getTargetable(slot)), forbiddenTargets))
+                return true;
+        return false;
+    }
 
-        if (targetFilter != null)
-            return activeTargetables.filter(targetFilter::evaluate).collect(Collectors.toSet());
-        return activeTargetables.collect(Collectors.toSet());
+    /**
+     * Returns a {@link ValidTargetSet} of the active targetables of this selector in the current
+     * scene, activating them. Unlike {@link #getActiveTargetables}, the returned set is kept up
+     * to date as the scene changes, activating and deactivating only the targetables whose
+     * validity has changed, until it is closed.
+     *
+     * @param forbiddenTargets the set of forbidden targets to exclude from the set
+     * @return a maintained set of the active targetables of this selector
+     * @throws NullPointerException if the given set of forbidden targets is <code>null</code>
+     * @see ValidTargetSet
+     */
+    public ValidTargetSet<T> getValidTargets(Set<Targetable> forbiddenTargets) {
+        return ValidTargetSet.open(this, forbiddenTargets,
+                                   GameStateLocator.getGameState().getScene());
     }
 
     /**
-     * Selects a target from the set of active targetables provided by the
-     * {@link #getActiveTargetables} method using this selector's {@link #targetingMode}.
+     * Selects a target from the active targetables of this selector using its
+     * {@link #targetingMode}.
      * <br><br>
      * This method is called by the {@link TargetingManager} during the evaluation of this
      * selector's {@link Effect}.
@@ -197,8 +502,93 @@ public class VariableTargetSelector<T extends Targetable> extends TargetSelector
     @Override
     public boolean selectTarget(Set<Targetable> forbiddenTargets) {
         Objects.requireNonNull(forbiddenTargets, "Forbidden targets set cannot be null.");
-        return this.targetingMode.selectTarget(getActiveTargetables(forbiddenTargets),
-                                               this);
+        return this.targetingMode.selectTarget(this, forbiddenTargets);
+    }
+
+    // ---------------------------------- multiple targets ------------------------------------ //
+
+    /**
+     * Sets the given {@link Targetable}s as the targets of this selector. The first of them
+     * becomes the selector's {@link #target}. All targets are validated before any of them is
+     * set, so an invalid list leaves the selector's targets unchanged.
+     *
+     * @param targets the targets to set
+     * @throws InvalidTargetException if the list is <code>null</code> or empty, contains
+     *                                duplicates or any of its targets is invalid
+     */
+    public void setTargets(List<? extends Targetable> targets) {
+        if (targets == null || targets.isEmpty())
+            throw new InvalidTargetException("Targets cannot be empty.");
+        if (new HashSet<>(targets).size() != targets.size())
+            throw new InvalidTargetException("Targets must be distinct.");
+
+        List<T> validated = new ArrayList<>(targets.size());
+        for (Targetable target : targets) {
+            if (!isValidTarget(target))
+                throw new InvalidTargetException("Targets must all be valid for the selector.");
+            validated.add(this.targetClass.cast(target));
+        }
+        this.target = validated.get(0);
+        this.targets.clear();
+        this.targets.addAll(validated);
+    }
+
+    /**
+     * @return an unmodifiable list of all targets selected by this selector (a single-element list
+     * for the single-target modes, or an empty list if no target has been selected)
+     */
+    public List<T> getTargets() {
+        if (!this.targets.isEmpty())
+            return Collections.unmodifiableList(this.targets);
+        return hasTarget() ? List.of(this.target) : List.of();
+    }
+
+    /**
+     * @return the number of targets the player is asked to choose by this selector - the
+     * {@link #targetCount} for the {@link TargetingMode#SELECT_N} mode and <code>1</code>
+     * otherwise
+     */
+    public int getTargetCount() {
+        return this.targetingMode == TargetingMode.SELECT_N ? this.targetCount : 1;
+    }
+
+    /** @return the {@link TargetingMode} of this selector */
+    public TargetingMode getTargetingMode() {return this.targetingMode;}
+
+    /**
+     * @return the {@link TargetScorer} used by the {@link TargetingMode#HEURISTIC} mode
+     * ({@link TargetScorer.Standard#EXPECTED_VALUE} unless specified upon construction)
+     */
+    public TargetScorer getScorer() {return this.scorer;}
+
+    /**
+     * Sets the given {@link Targetable} as the single target of this selector.
+     *
+     * @param target the target to set
+     * @throws InvalidTargetException if the target is invalid
+     */
+    @Override
+    public void setTarget(Targetable target) {
+        super.setTarget(target);
+        this.targets.clear();
+    }
+
+    /** Clears all targets of this selector. */
+    @Override
+    public void clearTarget() {
+        super.clearTarget();
+        this.targets.clear();
+    }
+
+    /**
+     * @param target           the targetable to check
+     * @param forbiddenTargets the set of forbidden targets
+     * @return <code>true</code> if the targetable is not forbidden and matches the
+     * {@link #targetFilter} (if the selector has one), <code>false</code> otherwise
+     */
+    boolean isActive(T target, Set<Targetable> forbiddenTargets) {
+        return !forbiddenTargets.contains(target) &&
+               (this.targetFilter == null || this.targetFilter.evaluate(target));
     }
 
     /**
@@ -0,0 +1,308 @@
+package exchangemage.effects.triggers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
+import exchangemage.actors.Actor;
+import exchangemage.base.GameState;
+import exchangemage.base.GameStateLocator;
+import exchangemage.effects.Effect;
+import exchangemage.effects.value.ValueEffect;
+import exchangemage.scenes.Scene;
+
+/**
+ * A decorator {@link Trigger} which caches the result of the trigger it wraps for as long as none
+ * of the state read by the wrapped trigger changes. Only triggers which do not read any
+ * resolution-scoped {@link StateDependency}s can be cached - use the {@link #of} method to wrap a
+ * trigger only if its dependencies allow it.
+ * <br><br>
+ * A cached result is identified by a stamp of the versions of the state actually read while it
+ * was computed:
+ * <ul>
+ *     <li>the {@link Actor#getStateVersion state versions} of the actors whose state was read
+ *     (see {@link #recordRead}),</li>
+ *     <li>the {@link Scene#getStateVersion state version} of the current {@link Scene} (if its
+ *     state was read or the wrapped trigger declares {@link StateDependency#SCENE_STATE}),</li>
+ *     <li>the {@link ValueEffect#getValueVersion value version} of the effect in resolution (if
+ *     the wrapped trigger reads {@link StateDependency#EFFECT_VALUE}),</li>
+ * </ul>
+ * so a change to the state of one actor only invalidates the results which have read it. Results
+ * are stored separately for every effect in evaluation if the wrapped trigger reads
+ * {@link StateDependency#EFFECT_IN_EVALUATION}, so that a trigger shared between the
+ * {@link exchangemage.effects.deployers.PersistentEffect}s of multiple holders can be cached for
+ * each of them.
+ * <br><br>
+ * Cached triggers are interned and shared between game sessions, so the cached results are not
+ * kept by the triggers themselves but by the {@link TriggerCache} of the scene they were computed
+ * in.
+ *
+ * @see StateDependency
+ * @see ShareableNode
+ * @see TriggerCache
+ */
+public final class CachedTrigger implements Trigger, ShareableNode {
+    /**
+     * A cached result of the wrapped trigger along with the stamp of the state it was computed in.
+     *
+     * @param actors        the actors whose state was read by the wrapped trigger
+     * @param actorVersions the state versions of the {@link #actors} at the time of computation
+     * @param sceneVersion  the state version of the scene at the time of computation (or
+     *                      {@link #NOT_READ} if not read)
+     * @param valueVersion  the value version of the effect in resolution at the time of
+     *                      computation (or <code>0</code> if not read)
+     * @param result        the cached result
+     */
+    record Stamp(Actor[] actors,
+                 long[] actorVersions,
+                 long sceneVersion,
+                 long valueVersion,
+                 boolean result) {
+        /**
+         * @param scene        the scene the stamp is checked in
+         * @param valueVersion the current value version of the effect in resolution (or
+         *                     <code>0</code> if not read)
+         * @return <code>true</code> if none of the state read while the stamp was computed has
+         * changed since, <code>false</code> otherwise
+         */
+        boolean matches(Scene scene, long valueVersion) {
+            if (this.valueVersion != valueVersion)
+                return false;
+            if (this.sceneVersion != NOT_READ && this.sceneVersion != scene.getStateVersion())
+                return false;
+            for (int i = 0; i < this.actors.length; i++)
+                if (this.actors[i].getStateVersion() != this.actorVersions[i])
+                    return false;
+            return true;
+        }
+    }
+
+    /**
+     * The state read by the wrapped trigger of a cached trigger during a single evaluation, along
+     * with the versions of the state at the time it was read.
+     */
+    private static final class Reads {
+        /** The actors whose state was read. */
+        private Actor[] actors = new Actor[2];
+
+        /** The state versions of the {@link #actors}. */
+        private long[] actorVersions = new long[2];
+
+        /** The number of {@link #actors}. */
+        private int count = 0;
+
+        /** The state version of the scene (or {@link #NOT_READ} if not read). */
+        private long sceneVersion = NOT_READ;
+
+        /** Whether state which is not versioned has been read. */
+        private boolean unversioned = false;
+
+        /**
+         * @param actor   the actor whose state was read
+         * @param version the state version of the actor at the time it was read
+         */
+        void add(Actor actor, long version) {
+            for (int i = 0; i < this.count; i++)
+                if (this.actors[i] == actor)
+                    return;
+            if (this.count == this.actors.length) {
+                this.actors        = Arrays.copyOf(this.actors, this.count * 2);
+                this.actorVersions = Arrays.copyOf(this.actorVersions, this.count * 2);
+            }
+            this.actors[this.count]        = actor;
+            this.actorVersions[this.count] = version;
+            this.count++;
+        }
+
+        /** @param scene the scene whose state was read */
+        void add(Scene scene) {
+            if (this.sceneVersion == NOT_READ)
+                this.sceneVersion = scene.getStateVersion();
+        }
+
+        /** @param stamp the stamp whose reads to add to these reads */
+        void addAll(Stamp stamp) {
+            for (int i = 0; i < stamp.actors().length; i++)
+                add(stamp.actors()[i], stamp.actorVersions()[i]);
+            if (this.sceneVersion == NOT_READ)
+                this.sceneVersion = stamp.sceneVersion();
+        }
+
+        /** @param reads the reads to add to these reads */
+        void addAll(Reads reads) {
+            for (int i = 0; i < reads.count; i++)
+                add(reads.actors[i], reads.actorVersions[i]);
+            if (this.sceneVersion == NOT_READ)
+                this.sceneVersion = reads.sceneVersion;
+            this.unversioned |= reads.unversioned;
+        }
+
+        /**
+         * @param valueVersion the value version of the effect in resolution (or <code>0</code>)
+         * @param result       the result of the wrapped trigger
+         * @return a stamp of these reads
+         */
+        Stamp toStamp(long valueVersion, boolean result) {
+            return new Stamp(Arrays.copyOf(this.actors, this.count),
+                             Arrays.copyOf(this.actorVersions, this.count),
+                             this.sceneVersion, valueVersion, result);
+        }
+    }
+
+    /** The version stamped for state which has not been read. */
+    private static final long NOT_READ = -1;
+
+    /** Key under which stamps are stored for triggers independent of the effect in evaluation. */
+    private static final Object COMMON_KEY = new Object();
+
+    /** The reads of the cached trigger currently evaluating its wrapped trigger on each thread. */
+    private static final ThreadLocal<Reads> currentReads = new ThreadLocal<>();
+
+    /** The wrapped {@link Trigger}. */
+    private final Trigger trigger;
+
+    /** The dependencies of the wrapped {@link Trigger}. */
+    private final Set<StateDependency> dependencies;
+
+    /**
+     * @param trigger      the trigger to wrap
+     * @param dependencies the dependencies of the trigger
+     */
+    private CachedTrigger(Trigger trigger, Set<StateDependency> dependencies) {
+        this.trigger = trigger;
+        this.dependencies = Collections.unmodifiableSet(dependencies);
+    }
+
+    /**
+     * Wraps the given {@link Trigger} in a shared {@link CachedTrigger} if none of its
+     * {@link StateDependency}s are resolution-scoped.
+     *
+     * @param trigger the trigger to wrap
+     * @return a cached trigger wrapping the given trigger or the trigger itself if its results
+     * cannot be cached (or if it is <code>null</code> or already cached)
+     */
+    public static Trigger of(Trigger trigger) {
+        if (trigger == null || trigger instanceof CachedTrigger)
+            return trigger;
+
+        Set<StateDependency> dependencies = StateDependency.of(trigger);
+        if (!StateDependency.areCacheable(dependencies))
+            return trigger;
+
+        return TriggerInterner.intern(new CachedTrigger(trigger, dependencies));
+    }
+
+    /**
+     * Records that the state of the given {@link Actor} or {@link Scene} has been read by the
+     * trigger tree node being evaluated, so that the results of the cached triggers the node is
+     * a part of are invalidated once the state changes. Must be called by every node declaring
+     * the {@link StateDependency#ACTOR_STATE} dependency for each holder whose state it reads.
+     * Reading the state of any other object prevents the results from being cached.
+     * <br><br>
+     * Does nothing if no cached trigger is being evaluated on the current thread.
+     *
+     * @param holder the actor or scene whose state has been read (ignored if <code>null</code>)
+     */
+    public static void recordRead(Object holder) {
+        Reads reads = currentReads.get();
+        if (reads == null || holder == null)
+            return;
+        if (holder instanceof Actor)
+            reads.add((Actor) holder, ((Actor) holder).getStateVersion());
+        else if (holder instanceof Scene)
+            reads.add((Scene) holder);
+        else
+            reads.unversioned = true;
+    }
+
+    /**
+     * Returns the cached result of the wrapped trigger if the state it has read has not changed
+     * since it was computed, otherwise evaluates the wrapped trigger and caches the result in the
+     * {@link TriggerCache} of the current {@link Scene}. If there is no current scene the wrapped
+     * trigger is evaluated directly.
+     *
+     * @return <code>true</code> if the wrapped trigger is activated, <code>false</code> otherwise
+     */
+    @Override
+    public boolean isActivated() {
+        GameState gameState = GameStateLocator.getGameState();
+        Scene     scene     = gameState.getScene();
+
+        if (scene == null)
+            return this.trigger.isActivated();
+
+        long valueVersion = 0;
+        if (this.dependencies.contains(StateDependency.EFFECT_VALUE)) {
+            Effect<?> effect = gameState.getEffectInResolution();
+            if (!(effect instanceof ValueEffect))
+                return this.trigger.isActivated();
+            valueVersion = ((ValueEffect<?>) effect).getValueVersion();
+        }
+
+        Object key = COMMON_KEY;
+        if (this.dependencies.contains(StateDependency.EFFECT_IN_EVALUATION)) {
+            key = gameState.getEffectInEvaluation();
+            if (key == null)
+                return this.trigger.isActivated();
+        }
+
+        TriggerCache cache = scene.getTriggerCache();
+        Stamp        stamp = cache.get(this, key);
+        Reads        outer = currentReads.get();
+
+        if (stamp != null && stamp.matches(scene, valueVersion)) {
+            if (outer != null)
+                outer.addAll(stamp);
+            return stamp.result();
+        }
+
+        Reads reads = new Reads();
+        if (this.dependencies.contains(StateDependency.SCENE_STATE))
+            reads.add(scene);
+
+        boolean result;
+        currentReads.set(reads);
+        try {
+            result = this.trigger.isActivated();
+        } finally {
+            if (outer != null)
+                currentReads.set(outer);
+            else
+                currentReads.remove();
+        }
+
+        if (outer != null)
+            outer.addAll(reads);
+        if (!reads.unversioned)
+            cache.put(this, key, reads.toStamp(valueVersion, result));
+        return result;
+    }
+
+    /** @return the wrapped {@link Trigger} */
+    public Trigger getTrigger() {return this.trigger;}
+
+    /** @return the dependencies of the wrapped {@link Trigger} */
+    @Override
+    public Set<StateDependency> getDependencies() {return this.dependencies;}
+
+    /** @return <code>true</code> if the wrapped {@link Trigger} is shareable */
+    @Override
+    public boolean isShareable() {return TriggerInterner.isShareable(this.trigger);}
+
+    /**
+     * @return <code>true</code> if the given object is a {@link CachedTrigger} wrapping an equal
+     * {@link Trigger}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        return this.trigger.equals(((CachedTrigger) o).trigger);
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.trigger);}
+}
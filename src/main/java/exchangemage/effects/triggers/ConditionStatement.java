@@ -2,6 +2,7 @@ package exchangemage.effects.triggers;
 
 import java.util.Objects;
 import java.util.List;
+import java.util.Set;
 
 /**
  * A wrapper {@link Trigger} which represents a logical statement composed of other triggers. Used
@@ -11,7 +12,7 @@ import java.util.List;
  * @see ConditionalTrigger
  * @see ConditionStatement.Operator
  */
-public class ConditionStatement implements Trigger {
+public class ConditionStatement implements Trigger, ShareableNode {
     /**
      * An enum of logical operators which can be used to combine multiple {@link Trigger}s into a
      * single {@link ConditionStatement}.
@@ -106,10 +107,51 @@ public class ConditionStatement implements Trigger {
             throw new IllegalArgumentException("Condition statement operands cannot be empty.");
 
         this.operator = operator;
-        this.operands = operands;
+        this.operands = operands.stream()
+                                .map(TriggerInterner::intern)
+                                .map(CachedTrigger::of)
+                                .toList();
     }
 
     /** @return <code>true</code> if the statement is fulfilled, <code>false</code> otherwise */
     @Override
     public boolean isActivated() {return this.operator.eval(operands);}
+
+    /** @return the {@link #operator} of this statement */
+    public Operator getOperator() {return this.operator;}
+
+    /** @return the unmodifiable list of {@link #operands} of this statement */
+    public List<Trigger> getOperands() {return this.operands;}
+
+    /** @return <code>true</code> if all the {@link #operands} are shareable */
+    @Override
+    public boolean isShareable() {
+        for (Trigger operand : this.operands)
+            if (!TriggerInterner.isShareable(operand))
+                return false;
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if the given object is a {@link ConditionStatement} of the same
+     * class using the same {@link #operator} on equal {@link #operands}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ConditionStatement other = (ConditionStatement) o;
+        return this.operator == other.operator && this.operands.equals(other.operands);
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.operator, this.operands);}
+
+    /** @return the union of the dependencies of all the {@link #operands} */
+    @Override
+    public Set<StateDependency> getDependencies() {
+        return StateDependency.ofAll(this.operands.toArray());
+    }
 }
@@ -1,6 +1,7 @@
 package exchangemage.effects.triggers;
 
 import java.util.Objects;
+import java.util.Set;
 
 import exchangemage.actors.Player;
 import exchangemage.actors.Actor;
@@ -25,7 +26,7 @@ import exchangemage.effects.triggers.getters.SubjectGetter;
  * @see SubjectGetter
  * @see Condition
  */
-public class ConditionalTrigger implements Trigger {
+public class ConditionalTrigger implements Trigger, ShareableNode {
     /** The {@link SubjectGetter} used to retrieve the subject of the condition. */
     private final SubjectGetter<?> subjectGetter;
 
@@ -43,8 +44,8 @@ public class ConditionalTrigger implements Trigger {
     public ConditionalTrigger(SubjectGetter<?> subjectGetter,
                               Condition condition) {
         Objects.requireNonNull(subjectGetter, "SubjectGetter cannot be null.");
-        this.subjectGetter = subjectGetter;
-        this.condition     = condition;
+        this.subjectGetter = TriggerInterner.intern(subjectGetter);
+        this.condition     = TriggerInterner.intern(condition);
     }
 
     /**
@@ -63,4 +64,40 @@ public class ConditionalTrigger implements Trigger {
 
         return this.condition.evaluate(subject);
     }
+
+    /**
+     * @return <code>true</code> if both the {@link #subjectGetter} and the {@link #condition} (if
+     * present) are shareable, <code>false</code> otherwise
+     */
+    @Override
+    public boolean isShareable() {
+        return TriggerInterner.isShareable(this.subjectGetter)
+               && (this.condition == null || TriggerInterner.isShareable(this.condition));
+    }
+
+    /**
+     * @return <code>true</code> if the given object is a {@link ConditionalTrigger} of the same
+     * class with an equal {@link #subjectGetter} and {@link #condition}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ConditionalTrigger other = (ConditionalTrigger) o;
+        return this.subjectGetter.equals(other.subjectGetter)
+               && Objects.equals(this.condition, other.condition);
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.subjectGetter, this.condition);}
+
+    /**
+     * @return the union of the dependencies of the {@link #subjectGetter} and {@link #condition}
+     */
+    @Override
+    public Set<StateDependency> getDependencies() {
+        return StateDependency.ofAll(this.subjectGetter, this.condition);
+    }
 }
@@ -7,6 +7,7 @@ import exchangemage.effects.triggers.getters.EffectInEvaluationGetter;
 import exchangemage.effects.triggers.getters.EffectInResolutionGetter;
 
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * A {@link Trigger} which activates only if the {@link Effect} returned by the specified
@@ -18,7 +19,7 @@ import java.util.Objects;
  * @see Effect
  */
 @SuppressWarnings("rawtypes")
-public class EffectTypeTrigger implements Trigger {
+public class EffectTypeTrigger implements Trigger, ShareableNode {
     /** The {@link SubjectGetter} used to retrieve the {@link Effect} to check. */
     private final SubjectGetter<Effect<?>> effectGetter;
 
@@ -37,7 +38,7 @@ public class EffectTypeTrigger implements Trigger {
                              Class<? extends Effect> type) {
         Objects.requireNonNull(effectGetter, "Effect getter cannot be null.");
         Objects.requireNonNull(type, "Effect type cannot be null.");
-        this.effectGetter = effectGetter;
+        this.effectGetter = TriggerInterner.intern(effectGetter);
         this.type = type;
     }
 
@@ -47,4 +48,29 @@ public class EffectTypeTrigger implements Trigger {
      */
     @Override
     public boolean isActivated() {return this.type.isInstance(this.effectGetter.getSubject());}
+
+    /** @return <code>true</code> if the {@link #effectGetter} is shareable */
+    @Override
+    public boolean isShareable() {return TriggerInterner.isShareable(this.effectGetter);}
+
+    /**
+     * @return <code>true</code> if the given object is an {@link EffectTypeTrigger} with an equal
+     * {@link #effectGetter} and the same {@link #type}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        EffectTypeTrigger other = (EffectTypeTrigger) o;
+        return this.type == other.type && this.effectGetter.equals(other.effectGetter);
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.effectGetter, this.type);}
+
+    /** @return the dependencies of the {@link #effectGetter} */
+    @Override
+    public Set<StateDependency> getDependencies() {return StateDependency.of(this.effectGetter);}
 }
@@ -41,8 +41,10 @@ public class HoldersTurnTrigger extends ConditionStatement {
      * currently in resolution represents the appropriate {@link TurnPlayer.TurnPlayerEvent}
      */
     private static NotificationTrigger getTurnNotificationTrigger(boolean turnStart) {
-        return new NotificationTrigger(turnStart ? TurnPlayer.TurnPlayerEvent.TURN_STARTED
-                                                 : TurnPlayer.TurnPlayerEvent.TURN_ENDED);
+        return TriggerInterner.intern(new NotificationTrigger(
+                turnStart ? TurnPlayer.TurnPlayerEvent.TURN_STARTED
+                          : TurnPlayer.TurnPlayerEvent.TURN_ENDED
+        ));
     }
 
     /**
@@ -60,7 +62,9 @@ public class HoldersTurnTrigger extends ConditionStatement {
                 new EffectInEvaluationGetter()
         );
 
-        return new ConditionalTrigger(sourceInResolutionGetter,
-                                      new InstanceCondition(sourceInEvaluationGetter));
+        return TriggerInterner.intern(new ConditionalTrigger(
+                sourceInResolutionGetter,
+                new InstanceCondition(sourceInEvaluationGetter)
+        ));
     }
 }
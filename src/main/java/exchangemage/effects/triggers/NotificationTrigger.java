@@ -12,6 +12,9 @@ import exchangemage.effects.triggers.conditions.ValueCondition;
  * @see Notification
  */
 public class NotificationTrigger extends ConditionalTrigger {
+    /** The target {@link Notification} of this trigger. */
+    private final Notification notification;
+
     /**
      * @param notification the target {@link Notification} whose equality with the notification
      *                     carried by the {@link NotificationEffect} currently in resolution
@@ -19,5 +22,9 @@ public class NotificationTrigger extends ConditionalTrigger {
      */
     public NotificationTrigger(Notification notification) {
         super(new NotificationGetter(), new ValueCondition(notification));
+        this.notification = notification;
     }
+
+    /** @return the target {@link Notification} of this trigger */
+    public Notification getNotification() {return this.notification;}
 }
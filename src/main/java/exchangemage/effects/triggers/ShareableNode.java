@@ -0,0 +1,35 @@
+package exchangemage.effects.triggers;
+
+import java.util.Set;
+
+import exchangemage.effects.triggers.conditions.Condition;
+import exchangemage.effects.triggers.getters.SubjectGetter;
+
+/**
+ * An interface for the stateless building blocks of trigger trees ({@link Trigger}s,
+ * {@link Condition}s and {@link SubjectGetter}s) which define structural <code>equals</code> and
+ * <code>hashCode</code> methods. Structurally equal shareable nodes are interchangeable and can be
+ * replaced with a single, shared instance by the {@link TriggerInterner}.
+ * <br><br>
+ * Nodes wrapping other nodes (e.g. a {@link ConditionalTrigger} wrapping a subject getter and a
+ * condition) should override the {@link #isShareable} method so that they are only shared if all
+ * of their descendants are shareable as well.
+ * <br><br>
+ * Shareable nodes also declare the {@link StateDependency}s they read, which is used to determine
+ * whether their results can be cached between evaluations.
+ *
+ * @see TriggerInterner
+ * @see StateDependency
+ */
+public interface ShareableNode {
+    /**
+     * @return <code>true</code> if this node and all of its descendants are stateless and
+     * comparable by structure, <code>false</code> otherwise
+     */
+    default boolean isShareable() {return true;}
+
+    /**
+     * @return the set of {@link StateDependency}s read by this node and all of its descendants
+     */
+    Set<StateDependency> getDependencies();
+}
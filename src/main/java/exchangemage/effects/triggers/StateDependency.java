@@ -0,0 +1,128 @@
+package exchangemage.effects.triggers;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import exchangemage.actors.ActorCounter;
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.NotificationEffect;
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.effects.triggers.conditions.Condition;
+import exchangemage.effects.triggers.getters.SubjectGetter;
+import exchangemage.effects.value.ValueEffect;
+import exchangemage.scenes.Scene;
+
+/**
+ * An enum of the elements of the game state which can be read by the nodes of a trigger tree
+ * ({@link Trigger}s, {@link Condition}s and {@link SubjectGetter}s). Each {@link ShareableNode}
+ * declares the set of dependencies it reads through the {@link ShareableNode#getDependencies}
+ * method, which allows for static analysis of entire trigger trees.
+ * <br><br>
+ * Dependencies are divided into two groups:
+ * <ul>
+ *     <li>
+ *         <b>Resolution-scoped</b> - state which changes with every {@link Effect} resolved by
+ *         the {@link EffectPlayer} (e.g. the effect in resolution or its value). Nodes reading
+ *         such state must be re-evaluated each time they are checked.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>Versioned</b> - state whose modifications are published through the version
+ *         counters of {@link DeckHolderActor}s, {@link Scene}s and {@link ValueEffect}s (or, in
+ *         the case of the effect in evaluation, which is identified by the effect itself). Nodes
+ *         reading only such state can have their results cached by a {@link CachedTrigger}.
+ *     </li>
+ * </ul>
+ *
+ * @see ShareableNode
+ * @see CachedTrigger
+ */
+public enum StateDependency {
+    /** The {@link Effect} currently in resolution (including its source and target). */
+    EFFECT_IN_RESOLUTION(true),
+    /**
+     * The {@link Effect} currently in evaluation (most commonly the {@link PersistentEffect} whose
+     * trigger is being checked) and the holder it is assigned to.
+     */
+    EFFECT_IN_EVALUATION(false),
+    /**
+     * The value carried by the {@link ValueEffect} currently in resolution, versioned through
+     * {@link ValueEffect#getValueVersion}.
+     */
+    EFFECT_VALUE(false),
+    /** The notification carried by the {@link NotificationEffect} currently in resolution. */
+    NOTIFICATION(true),
+    /**
+     * The state (health, persistent effects) of the actors present in the current scene, versioned
+     * through {@link DeckHolderActor#getStateVersion}. Nodes reading it record the actors they
+     * read through {@link CachedTrigger#recordRead}.
+     */
+    ACTOR_STATE(false),
+    /**
+     * The {@link ActorCounter}s of the actors present in the current scene. Counters are reset
+     * lazily, without any version counter being incremented, so nodes reading them cannot have
+     * their results cached.
+     */
+    ACTOR_COUNTERS(true),
+    /**
+     * The state (actors, environmental effects) of the current {@link Scene}, versioned through
+     * {@link Scene#getStateVersion}.
+     */
+    SCENE_STATE(false),
+    /** Any state which cannot be determined statically (e.g. read by a lambda expression). */
+    UNKNOWN(true);
+
+    /** Whether the dependency has to be re-read every time a node is evaluated. */
+    private final boolean resolutionScoped;
+
+    StateDependency(boolean resolutionScoped) {this.resolutionScoped = resolutionScoped;}
+
+    /**
+     * @return <code>true</code> if nodes reading this dependency have to be re-evaluated each
+     * time they are checked, <code>false</code> if their results can be cached
+     */
+    public boolean isResolutionScoped() {return this.resolutionScoped;}
+
+    /**
+     * Returns the set of dependencies read by the given trigger tree node. Nodes which do not
+     * implement the {@link ShareableNode} interface are assumed to have {@link #UNKNOWN}
+     * dependencies.
+     *
+     * @param node the node to analyze (may be <code>null</code>, in which case an empty set is
+     *             returned)
+     * @return the set of dependencies read by the node
+     */
+    public static Set<StateDependency> of(Object node) {
+        if (node == null)
+            return Collections.emptySet();
+        if (node instanceof ShareableNode)
+            return ((ShareableNode) node).getDependencies();
+        return EnumSet.of(UNKNOWN);
+    }
+
+    /**
+     * @param nodes the nodes to analyze
+     * @return the union of the dependencies read by all the given nodes
+     */
+    public static Set<StateDependency> ofAll(Object... nodes) {
+        Set<StateDependency> dependencies = EnumSet.noneOf(StateDependency.class);
+        for (Object node : nodes)
+            dependencies.addAll(of(node));
+        return dependencies;
+    }
+
+    /**
+     * @param dependencies the set of dependencies to check
+     * @return <code>true</code> if none of the given dependencies is resolution-scoped,
+     * <code>false</code> otherwise
+     */
+    public static boolean areCacheable(Set<StateDependency> dependencies) {
+        for (StateDependency dependency : dependencies)
+            if (dependency.isResolutionScoped())
+                return false;
+        return true;
+    }
+}
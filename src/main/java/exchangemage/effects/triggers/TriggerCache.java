@@ -0,0 +1,46 @@
+package exchangemage.effects.triggers;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import exchangemage.scenes.Scene;
+
+/**
+ * The results cached by the {@link CachedTrigger}s evaluated in a single {@link Scene}. Cached
+ * triggers are interned and shared between all game sessions, so each scene keeps its own cache
+ * and the results computed in one session are never seen by another.
+ * <br><br>
+ * The results of every cached trigger are keyed by the effect in evaluation they were computed
+ * for (held weakly, so that the results of discarded effects are released along with them).
+ *
+ * @see CachedTrigger
+ * @see Scene#getTriggerCache
+ */
+public final class TriggerCache {
+    /** The cached results of each trigger, keyed by the effect in evaluation. */
+    private final Map<CachedTrigger, Map<Object, CachedTrigger.Stamp>> stamps =
+            new IdentityHashMap<>();
+
+    /**
+     * @param trigger the trigger whose result to return
+     * @param key     the key the result is stored under
+     * @return the result cached for the given trigger and key (or <code>null</code> if none)
+     */
+    synchronized CachedTrigger.Stamp get(CachedTrigger trigger, Object key) {
+        Map<Object, CachedTrigger.Stamp> results = this.stamps.get(trigger);
+        return results != null ? results.get(key) : null;
+    }
+
+    /**
+     * @param trigger the trigger whose result to store
+     * @param key     the key to store the result under
+     * @param stamp   the result to store
+     */
+    synchronized void put(CachedTrigger trigger, Object key, CachedTrigger.Stamp stamp) {
+        this.stamps.computeIfAbsent(trigger, t -> new WeakHashMap<>()).put(key, stamp);
+    }
+
+    /** Drops all cached results. */
+    public synchronized void clear() {this.stamps.clear();}
+}
@@ -103,7 +103,7 @@ public class TriggerFactory implements Factory<Trigger> {
                                             + "field.");
 
         if (this.triggerTypes.containsKey(type))
-            return this.triggerTypes.get(type).createFromJson(sourceJson);
+            return TriggerInterner.intern(this.triggerTypes.get(type).createFromJson(sourceJson));
 
         throw new SourceFormatException(String.format(
                 "Trigger definition has an invalid \"type\" field value: %s", type
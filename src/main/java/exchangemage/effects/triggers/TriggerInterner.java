@@ -0,0 +1,89 @@
+package exchangemage.effects.triggers;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import exchangemage.effects.triggers.conditions.Condition;
+import exchangemage.effects.triggers.getters.SubjectGetter;
+
+/**
+ * An auxiliary class used to share structurally identical, stateless {@link Trigger},
+ * {@link Condition} and {@link SubjectGetter} instances between all the effects which use them
+ * (e.g. the {@link NotificationTrigger}s of every copy of the same card or status).
+ * <br><br>
+ * Only nodes implementing the {@link ShareableNode} interface (and reporting themselves as
+ * shareable) are interned. All other nodes (e.g. triggers defined with lambda expressions) are
+ * returned unchanged. Nodes may only report themselves as shareable if all of their fields are
+ * values (see {@link #isValue}), classes or other shareable nodes - a node holding an arbitrary
+ * object could otherwise share (and keep alive) state specific to a single game session.
+ * <br><br>
+ * The pool of shared nodes is global and thread-safe, so the same instances can be used by any
+ * number of concurrently played games. The nodes are held weakly: once no effect references a
+ * shared node it is dropped from the pool, so the pool does not grow across sessions.
+ *
+ * @see ShareableNode
+ */
+public final class TriggerInterner {
+    /** The immutable value types whose instances can be held by shareable nodes. */
+    private static final Set<Class<?>> VALUE_TYPES = Set.of(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class,
+            Long.class, Float.class, Double.class
+    );
+
+    /** The pool of canonical node instances, keyed by their structure and held weakly. */
+    private static final Map<Object, WeakReference<Object>> nodes = new WeakHashMap<>();
+
+    private TriggerInterner() {}
+
+    /**
+     * Returns the canonical instance structurally equal to the given node. If the node is not
+     * shareable it is returned as is.
+     *
+     * @param node the node to intern
+     * @param <N>  the type of the node
+     * @return the shared instance structurally equal to the given node (or the node itself if it
+     * cannot be shared or is <code>null</code>)
+     */
+    @SuppressWarnings("unchecked")
+    public static <N> N intern(N node) {
+        if (!isShareable(node))
+            return node;
+        synchronized (nodes) {
+            WeakReference<Object> reference = nodes.get(node);
+            Object                shared    = reference != null ? reference.get() : null;
+            if (shared != null)
+                return (N) shared;
+            nodes.put(node, new WeakReference<>(node));
+            return node;
+        }
+    }
+
+    /**
+     * @param node the node to check
+     * @return <code>true</code> if the given node is a {@link ShareableNode} which reports
+     * itself as shareable, <code>false</code> otherwise
+     */
+    public static boolean isShareable(Object node) {
+        return node instanceof ShareableNode && ((ShareableNode) node).isShareable();
+    }
+
+    /**
+     * @param value the field value to check
+     * @return <code>true</code> if the given object is an immutable value (a string, a boxed
+     * primitive, an enum constant or a class) which a shareable node can hold without capturing
+     * session-specific state, <code>false</code> otherwise
+     */
+    public static boolean isValue(Object value) {
+        return value instanceof Enum || value instanceof Class
+               || value != null && VALUE_TYPES.contains(value.getClass());
+    }
+
+    /** @return the number of distinct nodes currently held in the pool */
+    public static int size() {
+        synchronized (nodes) {
+            return nodes.size();
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package exchangemage.effects.triggers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import exchangemage.actors.Actor;
+import exchangemage.base.Notification;
+import exchangemage.base.Observable;
+import exchangemage.base.Observer;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.NotificationEffect;
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.effects.deployers.PersistentEffectsHolder;
+import exchangemage.effects.deployers.PersistentEffectsHolder.PersistentEffectsHolderEvent;
+import exchangemage.scenes.Scene;
+
+/**
+ * A discrimination network built from the {@link Trigger}s of registered
+ * {@link PersistentEffect}s, used by the {@link EffectPlayer} to discard persistent effects which
+ * cannot be activated by the {@link Effect} in resolution without evaluating their full triggers.
+ * <br><br>
+ * The trigger of each registered persistent effect is split into its conjuncts (the operands of
+ * nested {@link ConditionStatement.Operator#AND} statements). Conjuncts which depend only on the
+ * effect in resolution and its notification (see {@link StateDependency}) do not change for the
+ * whole resolution of an effect and become <b>alpha tests</b>:
+ * <ul>
+ *     <li>
+ *         {@link NotificationTrigger}s are checked by comparing their target notification with
+ *         the notification of the effect in resolution, without evaluating the trigger.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         All other alpha tests are shared between the persistent effects using them (thanks to
+ *         the {@link TriggerInterner}) and evaluated at most once per resolved effect.
+ *     </li>
+ * </ul>
+ * A persistent effect failing any of its alpha tests cannot be activated during the resolution.
+ * The remaining conjuncts (e.g. comparisons with the holder of the persistent effect or with the
+ * value of the effect in resolution) depend on the resolution stage and are checked by the
+ * effect player when it evaluates the full trigger.
+ * <br><br>
+ * The network also counts the registered persistent effects which could be activated by each
+ * {@link Notification}, letting the publishers of notifications skip the
+ * {@link NotificationEffect}s no persistent effect is subscribed to (see
+ * {@link #isSubscribed}).
+ * <br><br>
+ * The network is maintained incrementally - it observes the watched
+ * {@link PersistentEffectsHolder}s and registers or unregisters their persistent effects as they
+ * are added or removed.
+ *
+ * @see EffectPlayer#setTriggerNetwork
+ * @see StateDependency
+ * @see TriggerInterner
+ */
+public class TriggerNetwork implements Observer {
+    /** The dependencies which can be read by alpha tests. */
+    private static final Set<StateDependency> ALPHA_DEPENDENCIES = EnumSet.of(
+            StateDependency.EFFECT_IN_RESOLUTION, StateDependency.NOTIFICATION
+    );
+
+    /**
+     * The alpha tests of a registered {@link PersistentEffect}.
+     *
+     * @param notificationTrigger the {@link NotificationTrigger} conjunct of the effect's trigger
+     *                            (or <code>null</code> if there is none)
+     * @param alphaTests          the remaining alpha tests of the effect's trigger
+     */
+    private record Entry(NotificationTrigger notificationTrigger, List<Trigger> alphaTests) {}
+
+    /** The alpha tests of all registered {@link PersistentEffect}s. */
+    private final Map<PersistentEffect, Entry> entries = new HashMap<>();
+
+    /** The number of registered {@link PersistentEffect}s using each distinct alpha test. */
+    private final Map<Trigger, Integer> alphaTests = new HashMap<>();
+
+    /** The number of registered {@link PersistentEffect}s triggered by each notification. */
+    private final Map<Notification, Integer> subscriptions = new HashMap<>();
+
+    /**
+     * The number of registered {@link PersistentEffect}s triggered by a notification of each
+     * class.
+     */
+    private final Map<Class<?>, Integer> subscribedClasses = new HashMap<>();
+
+    /** The number of registered {@link PersistentEffect}s triggered by any notification. */
+    private int subscribedEffects = 0;
+
+    /**
+     * The number of registered {@link PersistentEffect}s without a {@link NotificationTrigger}
+     * alpha test, which could be activated by any notification.
+     */
+    private int unfilteredEffects = 0;
+
+    /** The watched holders along with the {@link PersistentEffect}s registered from them. */
+    private final Map<PersistentEffectsHolder, Set<PersistentEffect>> watchedHolders =
+            new HashMap<>();
+
+    /**
+     * Creates a {@link TriggerNetwork} watching the given {@link Scene} and all the
+     * {@link Actor}s present in it.
+     *
+     * @param scene the scene to build the network for
+     * @return the created network
+     * @throws NullPointerException if the scene is <code>null</code>
+     */
+    public static TriggerNetwork forScene(Scene scene) {
+        Objects.requireNonNull(scene, "Cannot build trigger network for null scene.");
+        TriggerNetwork network = new TriggerNetwork();
+        network.watch(scene);
+        scene.getActors().forEach(actor -> {
+            if (actor != null)
+                network.watch(actor);
+        });
+        return network;
+    }
+
+    // ---------------------------------- network maintenance --------------------------------- //
+
+    /**
+     * Registers all {@link PersistentEffect}s of the given holder and starts observing it, so
+     * that persistent effects added to or removed from it later are registered or unregistered
+     * as well.
+     *
+     * @param holder the holder to watch
+     * @param <H>    the type of the holder
+     * @throws NullPointerException     if the holder is <code>null</code>
+     * @throws IllegalArgumentException if the holder is already watched
+     */
+    public <H extends PersistentEffectsHolder & Observable> void watch(H holder) {
+        Objects.requireNonNull(holder, "Cannot watch null holder.");
+        if (this.watchedHolders.containsKey(holder))
+            throw new IllegalArgumentException("Cannot watch holder that is already watched.");
+        this.watchedHolders.put(holder, new HashSet<>());
+        holder.addObserver(this);
+        synchronize(holder);
+    }
+
+    /**
+     * Stops observing the given holder and unregisters all of its {@link PersistentEffect}s.
+     *
+     * @param holder the holder to stop watching
+     * @param <H>    the type of the holder
+     * @throws NullPointerException     if the holder is <code>null</code>
+     * @throws IllegalArgumentException if the holder is not watched
+     */
+    public <H extends PersistentEffectsHolder & Observable> void unwatch(H holder) {
+        Objects.requireNonNull(holder, "Cannot unwatch null holder.");
+        Set<PersistentEffect> registered = this.watchedHolders.remove(holder);
+        if (registered == null)
+            throw new IllegalArgumentException("Cannot unwatch holder that is not watched.");
+        holder.removeObserver(this);
+        registered.forEach(this::unregisterIfUnwatched);
+    }
+
+    /**
+     * Synchronizes the network with a watched holder when notified of a
+     * {@link PersistentEffectsHolderEvent}.
+     *
+     * @param publisher the {@link Observable} object that called this method
+     * @param event     the event to notify this observer of
+     */
+    @Override
+    public void update(Observable publisher, Observable.Event event) {
+        if (event instanceof PersistentEffectsHolderEvent
+            && this.watchedHolders.containsKey(publisher))
+            synchronize((PersistentEffectsHolder) publisher);
+    }
+
+    /**
+     * Registers the given {@link PersistentEffect}, splitting its trigger into alpha tests. Does
+     * nothing if the effect is already registered.
+     *
+     * @param effect the persistent effect to register
+     * @throws NullPointerException if the effect is <code>null</code>
+     */
+    public void register(PersistentEffect effect) {
+        Objects.requireNonNull(effect, "Cannot register null persistent effect.");
+        if (this.entries.containsKey(effect))
+            return;
+
+        NotificationTrigger notificationTrigger = null;
+        List<Trigger>       tests               = new ArrayList<>();
+
+        for (Trigger conjunct : getConjuncts(effect.getTrigger())) {
+            if (!ALPHA_DEPENDENCIES.containsAll(StateDependency.of(conjunct)))
+                continue;
+            if (notificationTrigger == null && conjunct instanceof NotificationTrigger) {
+                notificationTrigger = (NotificationTrigger) conjunct;
+                continue;
+            }
+            tests.add(conjunct);
+            this.alphaTests.merge(conjunct, 1, Integer::sum);
+        }
+
+        this.entries.put(effect, new Entry(notificationTrigger, List.copyOf(tests)));
+        countSubscription(notificationTrigger, 1);
+    }
+
+    /**
+     * Unregisters the given {@link PersistentEffect}. Does nothing if the effect is not
+     * registered.
+     *
+     * @param effect the persistent effect to unregister
+     * @throws NullPointerException if the effect is <code>null</code>
+     */
+    public void unregister(PersistentEffect effect) {
+        Objects.requireNonNull(effect, "Cannot unregister null persistent effect.");
+        Entry entry = this.entries.remove(effect);
+        if (entry == null)
+            return;
+        entry.alphaTests().forEach(test -> this.alphaTests.computeIfPresent(
+                test, (key, count) -> count > 1 ? count - 1 : null
+        ));
+        countSubscription(entry.notificationTrigger(), -1);
+    }
+
+    /**
+     * Updates the subscription counters with a registered or unregistered persistent effect.
+     *
+     * @param notificationTrigger the notification trigger alpha test of the persistent effect
+     *                            (or <code>null</code> if there is none)
+     * @param delta               <code>1</code> if the effect has been registered,
+     *                            <code>-1</code> if it has been unregistered
+     */
+    private void countSubscription(NotificationTrigger notificationTrigger, int delta) {
+        if (notificationTrigger == null) {
+            this.unfilteredEffects += delta;
+            return;
+        }
+        Notification notification = notificationTrigger.getNotification();
+        this.subscribedEffects += delta;
+        this.subscriptions.merge(notification, delta, TriggerNetwork::addCounts);
+        this.subscribedClasses.merge(notification.getClass(), delta, TriggerNetwork::addCounts);
+    }
+
+    /**
+     * @return the sum of the given counts (or <code>null</code> if it is zero, removing the
+     * counter)
+     */
+    private static Integer addCounts(Integer count, Integer change) {
+        return count + change != 0 ? count + change : null;
+    }
+
+    /**
+     * Registers the persistent effects added to the given holder and unregisters the ones
+     * removed from it since the last synchronization.
+     *
+     * @param holder the watched holder to synchronize with
+     */
+    private void synchronize(PersistentEffectsHolder holder) {
+        Set<PersistentEffect> registered = this.watchedHolders.get(holder);
+        Set<PersistentEffect> current    = holder.getPersistentEffects();
+        List<PersistentEffect> removed   = new ArrayList<>();
+
+        registered.removeIf(effect -> !current.contains(effect) && removed.add(effect));
+        removed.forEach(this::unregisterIfUnwatched);
+
+        for (PersistentEffect effect : current)
+            if (registered.add(effect))
+                register(effect);
+    }
+
+    /**
+     * Unregisters the given {@link PersistentEffect} unless it is held by another watched holder
+     * (e.g. if it has been moved from one holder to another).
+     *
+     * @param effect the persistent effect to unregister
+     */
+    private void unregisterIfUnwatched(PersistentEffect effect) {
+        for (Set<PersistentEffect> registered : this.watchedHolders.values())
+            if (registered.contains(effect))
+                return;
+        unregister(effect);
+    }
+
+    /**
+     * Splits the given {@link Trigger} into its conjuncts, unwrapping {@link CachedTrigger}s and
+     * flattening nested {@link ConditionStatement.Operator#AND} statements.
+     *
+     * @param trigger the trigger to split
+     * @return the list of conjuncts of the trigger
+     */
+    private static List<Trigger> getConjuncts(Trigger trigger) {
+        if (trigger instanceof CachedTrigger)
+            return getConjuncts(((CachedTrigger) trigger).getTrigger());
+
+        if (!(trigger instanceof ConditionStatement)
+            || ((ConditionStatement) trigger).getOperator() != ConditionStatement.Operator.AND)
+            return List.of(trigger);
+
+        List<Trigger> conjuncts = new ArrayList<>();
+        for (Trigger operand : ((ConditionStatement) trigger).getOperands())
+            conjuncts.addAll(getConjuncts(operand));
+        return conjuncts;
+    }
+
+    // ----------------------------------------- matching ------------------------------------- //
+
+    /**
+     * Returns the {@link PersistentEffect}s from the given collection which pass all of their
+     * alpha tests against the {@link Effect} currently in resolution. Persistent effects which
+     * have not been registered in the network are always returned. The order of the candidates is
+     * preserved.
+     * <br><br>
+     * An alpha test which throws an exception is treated as passed, so that the exception is
+     * raised (or not) exactly as it would be during the evaluation of the full trigger.
+     *
+     * @param candidates         the persistent effects to filter
+     * @param effectInResolution the effect currently in resolution
+     * @return the list of persistent effects which can be activated by the effect in resolution
+     * @throws NullPointerException if the candidates or the effect in resolution are
+     *                              <code>null</code>
+     */
+    public List<PersistentEffect> filter(Collection<PersistentEffect> candidates,
+                                         Effect<?> effectInResolution) {
+        Objects.requireNonNull(candidates, "Candidates to filter cannot be null.");
+        Objects.requireNonNull(effectInResolution, "Effect in resolution cannot be null.");
+
+        Notification notification = effectInResolution instanceof NotificationEffect
+                                    ? ((NotificationEffect) effectInResolution).getNotification()
+                                    : null;
+        Map<Trigger, Boolean>  results = new HashMap<>();
+        List<PersistentEffect> passed  = new ArrayList<>();
+
+        for (PersistentEffect candidate : candidates) {
+            Entry entry = this.entries.get(candidate);
+            if (entry == null || passes(entry, notification, results))
+                passed.add(candidate);
+        }
+
+        return passed;
+    }
+
+    /**
+     * @param entry        the alpha tests of a persistent effect
+     * @param notification the notification of the effect in resolution (or <code>null</code>)
+     * @param results      the results of the alpha tests evaluated so far
+     * @return <code>true</code> if all the alpha tests of the entry pass, <code>false</code>
+     * otherwise
+     */
+    private static boolean passes(Entry entry,
+                                  Notification notification,
+                                  Map<Trigger, Boolean> results) {
+        NotificationTrigger notificationTrigger = entry.notificationTrigger();
+
+        if (notificationTrigger != null) {
+            Notification required = notificationTrigger.getNotification();
+            if (notification == null)
+                return false;
+            if (notification.getClass() == required.getClass()) {
+                if (!required.equals(notification))
+                    return false;
+            } else if (!test(notificationTrigger, results)) {
+                return false;
+            }
+        }
+
+        for (Trigger test : entry.alphaTests())
+            if (!test(test, results))
+                return false;
+        return true;
+    }
+
+    /**
+     * @param test    the alpha test to evaluate
+     * @param results the results of the alpha tests evaluated so far
+     * @return the (possibly previously computed) result of the alpha test
+     */
+    private static boolean test(Trigger test, Map<Trigger, Boolean> results) {
+        Boolean result = results.get(test);
+        if (result == null) {
+            try {
+                result = test.isActivated();
+            } catch (RuntimeException e) {
+                result = true;
+            }
+            results.put(test, result);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether any registered {@link PersistentEffect} could be activated by a
+     * {@link NotificationEffect} with the given {@link Notification}. Persistent effects whose
+     * notification trigger requires a notification of another class, as well as persistent effects
+     * without a notification trigger, count as subscribed to every notification.
+     * <br><br>
+     * The result only covers the registered persistent effects - see {@link #isWatched}.
+     *
+     * @param notification the notification to check
+     * @return <code>true</code> if a registered persistent effect could be activated by the
+     * notification, <code>false</code> otherwise
+     * @throws NullPointerException if the notification is <code>null</code>
+     */
+    public boolean isSubscribed(Notification notification) {
+        Objects.requireNonNull(notification, "Notification to check cannot be null.");
+        return this.unfilteredEffects > 0
+               || this.subscriptions.containsKey(notification)
+               || this.subscribedEffects > this.subscribedClasses.getOrDefault(
+                       notification.getClass(), 0);
+    }
+
+    // ----------------------------------------- getters -------------------------------------- //
+
+    /**
+     * @param holder the holder to check
+     * @return <code>true</code> if the holder is watched by the network, <code>false</code>
+     * otherwise
+     */
+    public boolean isWatched(PersistentEffectsHolder holder) {
+        return this.watchedHolders.containsKey(holder);
+    }
+
+    /**
+     * @param effect the persistent effect to check
+     * @return <code>true</code> if the effect is registered in the network, <code>false</code>
+     * otherwise
+     */
+    public boolean contains(PersistentEffect effect) {return this.entries.containsKey(effect);}
+
+    /** @return an unmodifiable view of the set of registered {@link PersistentEffect}s */
+    public Set<PersistentEffect> getRegisteredEffects() {
+        return Collections.unmodifiableSet(this.entries.keySet());
+    }
+
+    /** @return the number of distinct alpha tests shared by the registered persistent effects */
+    public int getAlphaTestCount() {return this.alphaTests.size();}
+}
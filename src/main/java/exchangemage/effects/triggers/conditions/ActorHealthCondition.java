@@ -0,0 +1,88 @@
+package exchangemage.effects.triggers.conditions;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector;
+import exchangemage.effects.triggers.CachedTrigger;
+import exchangemage.effects.triggers.ConditionalTrigger;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
+import exchangemage.effects.triggers.TriggerInterner;
+
+/**
+ * A {@link Condition} fulfilled if the subject is a {@link DeckHolderActor} whose current health
+ * matches the specified {@link NumericValueCondition}. Used mainly as (a part of) the target
+ * filter of a {@link VariableTargetSelector} - if the health condition compares against a
+ * constant value, the selector answers it from the health index of the scene instead of
+ * evaluating the condition for every candidate.
+ *
+ * @see ConditionalTrigger
+ * @see VariableTargetSelector
+ */
+public class ActorHealthCondition implements Condition, ShareableNode {
+    /** The condition the current health of the subject is compared against. */
+    private final NumericValueCondition healthCondition;
+
+    /**
+     * @param healthCondition the condition the current health of the subject is compared against
+     * @throws NullPointerException if the health condition is <code>null</code>
+     */
+    public ActorHealthCondition(NumericValueCondition healthCondition) {
+        Objects.requireNonNull(healthCondition,
+                               "Health condition of ActorHealthCondition cannot be null.");
+        this.healthCondition = TriggerInterner.intern(healthCondition);
+    }
+
+    /**
+     * Evaluates the subject, recording the read of its health for the {@link CachedTrigger}s
+     * being evaluated (see {@link CachedTrigger#recordRead}).
+     *
+     * @param subject the subject to be evaluated
+     * @return <code>true</code> if the subject is a {@link DeckHolderActor} whose current health
+     * matches the {@link #healthCondition}, <code>false</code> otherwise
+     */
+    @Override
+    public boolean evaluate(Object subject) {
+        if (!(subject instanceof DeckHolderActor))
+            return false;
+        CachedTrigger.recordRead(subject);
+        return this.healthCondition.evaluate(((DeckHolderActor) subject).getCurrentHealth());
+    }
+
+    /** @return the condition the current health of the subject is compared against */
+    public NumericValueCondition getHealthCondition() {return this.healthCondition;}
+
+    /** @return <code>true</code> if the {@link #healthCondition} is shareable */
+    @Override
+    public boolean isShareable() {return this.healthCondition.isShareable();}
+
+    /**
+     * @return <code>true</code> if the given object is an {@link ActorHealthCondition} with an
+     * equal {@link #healthCondition}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        return this.healthCondition.equals(((ActorHealthCondition) o).healthCondition);
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.healthCondition);}
+
+    /**
+     * @return the {@link StateDependency#ACTOR_STATE} dependency along with the dependencies of
+     * the {@link #healthCondition}
+     */
+    @Override
+    public Set<StateDependency> getDependencies() {
+        Set<StateDependency> dependencies = EnumSet.of(StateDependency.ACTOR_STATE);
+        dependencies.addAll(this.healthCondition.getDependencies());
+        return dependencies;
+    }
+}
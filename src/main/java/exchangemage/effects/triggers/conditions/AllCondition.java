@@ -0,0 +1,88 @@
+package exchangemage.effects.triggers.conditions;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import exchangemage.effects.targeting.selectors.VariableTargetSelector;
+import exchangemage.effects.triggers.ConditionalTrigger;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
+import exchangemage.effects.triggers.TriggerInterner;
+
+/**
+ * A {@link Condition} fulfilled if the subject fulfills all of the specified conditions. Used to
+ * build target filters of {@link VariableTargetSelector}s which can be split into separately
+ * planned conjuncts.
+ *
+ * @see ConditionalTrigger
+ * @see VariableTargetSelector
+ */
+public class AllCondition implements Condition, ShareableNode {
+    /** The conditions the subject has to fulfill, in the order in which they are evaluated. */
+    private final List<Condition> conditions;
+
+    /**
+     * @param conditions the conditions the subject has to fulfill
+     * @throws NullPointerException     if the conditions or any of them are <code>null</code>
+     * @throws IllegalArgumentException if no conditions are given
+     */
+    public AllCondition(Condition... conditions) {
+        Objects.requireNonNull(conditions, "Conditions of AllCondition cannot be null.");
+        if (conditions.length == 0)
+            throw new IllegalArgumentException("AllCondition requires at least one condition.");
+        Condition[] interned = new Condition[conditions.length];
+        for (int i = 0; i < conditions.length; i++) {
+            Objects.requireNonNull(conditions[i], "Conditions of AllCondition cannot be null.");
+            interned[i] = TriggerInterner.intern(conditions[i]);
+        }
+        this.conditions = List.of(interned);
+    }
+
+    /**
+     * @param subject the subject to be evaluated
+     * @return <code>true</code> if the subject fulfills all of the {@link #conditions},
+     * <code>false</code> otherwise
+     */
+    @Override
+    public boolean evaluate(Object subject) {
+        for (Condition condition : this.conditions)
+            if (!condition.evaluate(subject))
+                return false;
+        return true;
+    }
+
+    /** @return an unmodifiable list of the conditions the subject has to fulfill */
+    public List<Condition> getConditions() {return this.conditions;}
+
+    /** @return <code>true</code> if all of the {@link #conditions} are shareable */
+    @Override
+    public boolean isShareable() {
+        for (Condition condition : this.conditions)
+            if (!TriggerInterner.isShareable(condition))
+                return false;
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if the given object is an {@link AllCondition} with equal
+     * {@link #conditions} in the same order
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        return this.conditions.equals(((AllCondition) o).conditions);
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.conditions);}
+
+    /** @return the union of the dependencies of all of the {@link #conditions} */
+    @Override
+    public Set<StateDependency> getDependencies() {
+        return StateDependency.ofAll(this.conditions.toArray());
+    }
+}
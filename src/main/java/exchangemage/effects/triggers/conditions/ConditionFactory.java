@@ -8,6 +8,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 
 import exchangemage.base.factory.Factory;
 import exchangemage.base.factory.FactoryLocator;
+import exchangemage.effects.triggers.TriggerInterner;
 import exchangemage.effects.triggers.getters.SubjectGetter;
 import exchangemage.effects.triggers.conditions.NumericValueCondition.Operator;
 
@@ -94,6 +95,51 @@ public class ConditionFactory implements Factory<Condition> {
 
             @Override
             public String val() {return "ofType";}
+        },
+        HEALTH {
+            @Override
+            public Condition createFromJson(JsonNode sourceJson) {
+                JsonNode conditionNode = sourceJson.get("condition");
+
+                if (conditionNode == null)
+                    throw new SourceFormatException("Health condition definition is missing the "
+                                                    + "required \"condition\" field.");
+
+                Condition condition = FactoryLocator.getConditionFactory()
+                                                    .createFromJson(conditionNode);
+
+                if (!(condition instanceof NumericValueCondition))
+                    throw new SourceFormatException(String.format(
+                            "Health condition definition has an invalid \"condition\" field "
+                            + "value: %s", conditionNode
+                    ));
+
+                return new ActorHealthCondition((NumericValueCondition) condition);
+            }
+
+            @Override
+            public String val() {return "health";}
+        },
+        ALL {
+            @Override
+            public Condition createFromJson(JsonNode sourceJson) {
+                JsonNode conditionsNode = sourceJson.get("conditions");
+
+                if (conditionsNode == null || !conditionsNode.isArray() ||
+                    conditionsNode.isEmpty())
+                    throw new SourceFormatException("All condition definition is missing the "
+                                                    + "required non-empty \"conditions\" array.");
+
+                Condition[] conditions = new Condition[conditionsNode.size()];
+                for (int i = 0; i < conditions.length; i++)
+                    conditions[i] = FactoryLocator.getConditionFactory()
+                                                  .createFromJson(conditionsNode.get(i));
+
+                return new AllCondition(conditions);
+            }
+
+            @Override
+            public String val() {return "all";}
         }
     }
 
@@ -118,7 +164,9 @@ public class ConditionFactory implements Factory<Condition> {
                                             + "field.");
 
         if (this.conditionTypes.containsKey(type))
-            return this.conditionTypes.get(type).createFromJson(sourceJson);
+            return TriggerInterner.intern(
+                    this.conditionTypes.get(type).createFromJson(sourceJson)
+            );
 
         throw new SourceFormatException(String.format(
                 "Trigger definition has an invalid \"type\" field value: %s", type
@@ -0,0 +1,79 @@
+package exchangemage.effects.triggers.conditions;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.effects.deployers.PersistentEffectsHolder;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector;
+import exchangemage.effects.triggers.CachedTrigger;
+import exchangemage.effects.triggers.ConditionalTrigger;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
+
+/**
+ * A {@link Condition} fulfilled if the subject is a {@link PersistentEffectsHolder} holding at
+ * least one {@link PersistentEffect} of the specified type. Used mainly as (a part of) the target
+ * filter of a {@link VariableTargetSelector} - the selector answers it from the index of the
+ * persistent effects present in the scene instead of evaluating the condition for every
+ * candidate.
+ *
+ * @see ConditionalTrigger
+ * @see VariableTargetSelector
+ */
+public class HeldEffectCondition implements Condition, ShareableNode {
+    /** The type of persistent effect the subject has to hold. */
+    private final Class<? extends PersistentEffect> effectType;
+
+    /**
+     * @param effectType the type of persistent effect the subject has to hold
+     * @throws NullPointerException if the effect type is <code>null</code>
+     */
+    public HeldEffectCondition(Class<? extends PersistentEffect> effectType) {
+        Objects.requireNonNull(effectType, "Effect type of HeldEffectCondition cannot be null.");
+        this.effectType = effectType;
+    }
+
+    /**
+     * Evaluates the subject, recording the read of its persistent effects for the
+     * {@link CachedTrigger}s being evaluated (see {@link CachedTrigger#recordRead}).
+     *
+     * @param subject the subject to be evaluated
+     * @return <code>true</code> if the subject is a {@link PersistentEffectsHolder} holding a
+     * persistent effect of the {@link #effectType}, <code>false</code> otherwise
+     */
+    @Override
+    public boolean evaluate(Object subject) {
+        if (!(subject instanceof PersistentEffectsHolder))
+            return false;
+        CachedTrigger.recordRead(subject);
+        for (PersistentEffect effect : ((PersistentEffectsHolder) subject).getPersistentEffects())
+            if (this.effectType.isInstance(effect))
+                return true;
+        return false;
+    }
+
+    /** @return the type of persistent effect the subject has to hold */
+    public Class<? extends PersistentEffect> getEffectType() {return this.effectType;}
+
+    /**
+     * @return <code>true</code> if the given object is a {@link HeldEffectCondition} with the same
+     * {@link #effectType}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        return this.effectType == ((HeldEffectCondition) o).effectType;
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.effectType);}
+
+    /** @return the {@link StateDependency#ACTOR_STATE} dependency */
+    @Override
+    public Set<StateDependency> getDependencies() {return EnumSet.of(StateDependency.ACTOR_STATE);}
+}
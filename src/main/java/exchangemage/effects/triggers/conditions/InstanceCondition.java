@@ -1,8 +1,12 @@
 package exchangemage.effects.triggers.conditions;
 
 import java.util.Objects;
+import java.util.Set;
 
 import exchangemage.effects.triggers.ConditionalTrigger;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
+import exchangemage.effects.triggers.TriggerInterner;
 import exchangemage.effects.triggers.getters.SubjectGetter;
 
 /**
@@ -11,7 +15,7 @@ import exchangemage.effects.triggers.getters.SubjectGetter;
  *
  * @see ConditionalTrigger
  */
-public class InstanceCondition implements Condition {
+public class InstanceCondition implements Condition, ShareableNode {
     /** A {@link SubjectGetter} used to get the instance the subject is compared to. */
     private final SubjectGetter<?> targetGetter;
 
@@ -23,7 +27,7 @@ public class InstanceCondition implements Condition {
     public InstanceCondition(SubjectGetter<?> targetGetter) {
         Objects.requireNonNull(targetGetter,
                                "Target getter of InstanceCondition cannot be null.");
-        this.targetGetter = targetGetter;
+        this.targetGetter = TriggerInterner.intern(targetGetter);
     }
 
     /**
@@ -37,4 +41,31 @@ public class InstanceCondition implements Condition {
             return false;
         return subject == targetGetter.getSubject();
     }
+
+    /** @return the {@link SubjectGetter} used to get the instance the subject is compared to */
+    public SubjectGetter<?> getTargetGetter() {return this.targetGetter;}
+
+    /** @return <code>true</code> if the {@link #targetGetter} is shareable */
+    @Override
+    public boolean isShareable() {return TriggerInterner.isShareable(this.targetGetter);}
+
+    /**
+     * @return <code>true</code> if the given object is an {@link InstanceCondition} with an equal
+     * {@link #targetGetter}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        return this.targetGetter.equals(((InstanceCondition) o).targetGetter);
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.targetGetter);}
+
+    /** @return the dependencies of the {@link #targetGetter} */
+    @Override
+    public Set<StateDependency> getDependencies() {return StateDependency.of(this.targetGetter);}
 }
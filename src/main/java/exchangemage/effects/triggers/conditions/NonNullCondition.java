@@ -1,13 +1,18 @@
 package exchangemage.effects.triggers.conditions;
 
+import java.util.Collections;
+import java.util.Set;
+
 import exchangemage.effects.triggers.ConditionalTrigger;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
 
 /**
  * A simple {@link Condition} fulfilled if the provided subject is not <code>null</code>.
  *
  * @see ConditionalTrigger
  */
-public class NonNullCondition implements Condition {
+public class NonNullCondition implements Condition, ShareableNode {
     /**
      * @param subject the subject to be compared
      * @return <code>true</code> if the subject is not <code>null</code>, <code>false</code>
@@ -15,4 +20,15 @@ public class NonNullCondition implements Condition {
      */
     @Override
     public boolean evaluate(Object subject) {return subject != null;}
+
+    /** @return <code>true</code> if the given object is also a {@link NonNullCondition} */
+    @Override
+    public boolean equals(Object o) {return o != null && o.getClass() == getClass();}
+
+    @Override
+    public int hashCode() {return getClass().hashCode();}
+
+    /** @return an empty set, as the condition only reads the evaluated subject */
+    @Override
+    public Set<StateDependency> getDependencies() {return Collections.emptySet();}
 }
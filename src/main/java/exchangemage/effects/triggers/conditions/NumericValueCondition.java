@@ -1,8 +1,13 @@
 package exchangemage.effects.triggers.conditions;
 
 import java.util.Objects;
+import java.util.Collections;
+import java.util.Set;
 
 import exchangemage.effects.triggers.ConditionalTrigger;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
+import exchangemage.effects.triggers.TriggerInterner;
 import exchangemage.effects.triggers.getters.SubjectGetter;
 
 /**
@@ -11,7 +16,7 @@ import exchangemage.effects.triggers.getters.SubjectGetter;
  *
  * @see ConditionalTrigger
  */
-public class NumericValueCondition implements Condition {
+public class NumericValueCondition implements Condition, ShareableNode {
     /** An enum of operators used to compare the subject to the target value. */
     public enum Operator {
         /** Equal to operator. */
@@ -107,6 +112,12 @@ public class NumericValueCondition implements Condition {
     /** The {@link SubjectGetter} used to retrieve the value the subject value is compared to. */
     private final SubjectGetter<Number> targetValueGetter;
 
+    /**
+     * The constant value the subject is compared to (or <code>null</code> if the target value is
+     * retrieved by a {@link SubjectGetter}).
+     */
+    private final Number targetValue;
+
     /** The operator used to compare the subject to the target value. */
     private final Operator operator;
 
@@ -121,6 +132,7 @@ public class NumericValueCondition implements Condition {
         Objects.requireNonNull(targetValue, "Target value cannot be null.");
         Objects.requireNonNull(operator, "Operator cannot be null.");
         this.targetValueGetter = () -> targetValue;
+        this.targetValue       = targetValue;
         this.operator          = operator;
     }
 
@@ -135,7 +147,8 @@ public class NumericValueCondition implements Condition {
                                  Operator operator) {
         Objects.requireNonNull(targetValueGetter, "Target value getter cannot be null.");
         Objects.requireNonNull(operator, "Operator of cannot be null.");
-        this.targetValueGetter = targetValueGetter;
+        this.targetValueGetter = TriggerInterner.intern(targetValueGetter);
+        this.targetValue       = null;
         this.operator          = operator;
     }
 
@@ -153,4 +166,59 @@ public class NumericValueCondition implements Condition {
             throw new SubjectMismatchException();
         return operator.compare((Number) subject, targetValueGetter.getSubject());
     }
+
+    /** @return the {@link Operator} used to compare the subject to the target value */
+    public Operator getOperator() {return this.operator;}
+
+    /**
+     * @return the constant value the subject is compared to (or <code>null</code> if the target
+     * value is retrieved by a {@link SubjectGetter})
+     */
+    public Number getTargetValue() {return this.targetValue;}
+
+    /**
+     * @return <code>true</code> if the condition compares against a constant value of an immutable
+     * type or its {@link #targetValueGetter} is shareable, <code>false</code> otherwise
+     * @see TriggerInterner#isValue
+     */
+    @Override
+    public boolean isShareable() {
+        return this.targetValue != null ? TriggerInterner.isValue(this.targetValue)
+                                        : TriggerInterner.isShareable(this.targetValueGetter);
+    }
+
+    /**
+     * @return <code>true</code> if the given object is a {@link NumericValueCondition} using the
+     * same {@link Operator} and comparing against an equal constant value or value getter
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        NumericValueCondition other = (NumericValueCondition) o;
+        if (this.operator != other.operator)
+            return false;
+        if (this.targetValue != null || other.targetValue != null)
+            return Objects.equals(this.targetValue, other.targetValue);
+        return this.targetValueGetter.equals(other.targetValueGetter);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), this.operator,
+                            this.targetValue != null ? this.targetValue : this.targetValueGetter);
+    }
+
+    /**
+     * @return an empty set if the condition compares against a constant {@link #targetValue}, the
+     * dependencies of the {@link #targetValueGetter} otherwise
+     */
+    @Override
+    public Set<StateDependency> getDependencies() {
+        if (this.targetValue != null)
+            return Collections.emptySet();
+        return StateDependency.of(this.targetValueGetter);
+    }
 }
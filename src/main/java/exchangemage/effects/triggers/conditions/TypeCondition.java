@@ -1,15 +1,19 @@
 package exchangemage.effects.triggers.conditions;
 
 import java.util.Objects;
+import java.util.Collections;
+import java.util.Set;
 
 import exchangemage.effects.triggers.ConditionalTrigger;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
 
 /**
  * A {@link Condition} fulfilled if the subject is an instance of the specified type.
  *
  * @see ConditionalTrigger
  */
-public class TypeCondition implements Condition {
+public class TypeCondition implements Condition, ShareableNode {
     /** The class the subject's type is compared against. */
     Class<?> targetType;
 
@@ -38,6 +42,9 @@ public class TypeCondition implements Condition {
         return targetType.isInstance(subject);
     }
 
+    /** @return the class the subject's type is compared against */
+    public Class<?> getTargetType() {return this.targetType;}
+
     /**
      * @param a the first class to be compared
      * @param b the second class to be compared
@@ -53,4 +60,24 @@ public class TypeCondition implements Condition {
             return true;
         return commonSuperclass(a.getSuperclass(), b.getSuperclass());
     }
+
+    /**
+     * @return <code>true</code> if the given object is a {@link TypeCondition} with the same
+     * {@link #targetType}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        return this.targetType == ((TypeCondition) o).targetType;
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.targetType);}
+
+    /** @return an empty set, as the condition only reads the evaluated subject */
+    @Override
+    public Set<StateDependency> getDependencies() {return Collections.emptySet();}
 }
@@ -1,15 +1,20 @@
 package exchangemage.effects.triggers.conditions;
 
 import java.util.Objects;
+import java.util.Collections;
+import java.util.Set;
 
 import exchangemage.effects.triggers.ConditionalTrigger;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
+import exchangemage.effects.triggers.TriggerInterner;
 
 /**
  * A {@link Condition} fulfilled if the subject is equal to the target value.
  *
  * @see ConditionalTrigger
  */
-public class ValueCondition implements Condition {
+public class ValueCondition implements Condition, ShareableNode {
     /** The value the subject is compared to. */
     private final Object targetValue;
 
@@ -37,4 +42,32 @@ public class ValueCondition implements Condition {
             throw new SubjectMismatchException();
         return subject.equals(targetValue);
     }
+
+    /**
+     * @return <code>true</code> if the given object is a {@link ValueCondition} with an equal
+     * {@link #targetValue}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        return this.targetValue.equals(((ValueCondition) o).targetValue);
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.targetValue);}
+
+    /**
+     * @return <code>true</code> if the {@link #targetValue} is a value which can be shared between
+     * game sessions
+     * @see TriggerInterner#isValue
+     */
+    @Override
+    public boolean isShareable() {return TriggerInterner.isValue(this.targetValue);}
+
+    /** @return an empty set, as the condition only reads the evaluated subject */
+    @Override
+    public Set<StateDependency> getDependencies() {return Collections.emptySet();}
 }
@@ -0,0 +1,92 @@
+package exchangemage.effects.triggers.getters;
+
+import java.util.Objects;
+import java.util.Set;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.ActorCounter;
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.effects.triggers.ConditionalTrigger;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
+import exchangemage.effects.triggers.TriggerInterner;
+import exchangemage.effects.triggers.conditions.NumericValueCondition;
+
+/**
+ * A {@link SubjectGetter} which returns the value of an {@link ActorCounter} of the {@link Actor}
+ * retrieved by another subject getter. Combined with a {@link NumericValueCondition} it can be
+ * used to build {@link ConditionalTrigger}s such as <i>"holder has taken at least 10 damage this
+ * turn"</i>.
+ *
+ * @see ActorCounter
+ * @see DeckHolderActor#getCounter
+ */
+public class ActorCounterGetter implements SubjectGetter<Number>, ShareableNode {
+    /** The {@link SubjectGetter} used to retrieve the {@link Actor} whose counter to read. */
+    private final SubjectGetter<? extends Actor> actorGetter;
+
+    /** The {@link ActorCounter} to read. */
+    private final ActorCounter counter;
+
+    /**
+     * @param actorGetter the {@link SubjectGetter} used to retrieve the {@link Actor} whose
+     *                    counter to read
+     * @param counter     the {@link ActorCounter} to read
+     * @throws NullPointerException if the actor getter or the counter is <code>null</code>
+     * @see EffectSourceGetter
+     * @see EffectTargetGetter
+     */
+    public ActorCounterGetter(SubjectGetter<? extends Actor> actorGetter, ActorCounter counter) {
+        Objects.requireNonNull(actorGetter, "Actor getter cannot be null.");
+        Objects.requireNonNull(counter, "Actor counter cannot be null.");
+        this.actorGetter = TriggerInterner.intern(actorGetter);
+        this.counter = counter;
+    }
+
+    /**
+     * @return the value of the {@link #counter} of the retrieved actor or <code>null</code> if no
+     * {@link DeckHolderActor} could be retrieved
+     */
+    @Override
+    public Number getSubject() {
+        Actor actor = this.actorGetter.getSubject();
+        if (actor instanceof DeckHolderActor)
+            return ((DeckHolderActor) actor).getCounter(this.counter);
+        return null;
+    }
+
+    /** @return the {@link ActorCounter} read by this getter */
+    public ActorCounter getCounter() {return this.counter;}
+
+    /** @return <code>true</code> if the {@link #actorGetter} is shareable */
+    @Override
+    public boolean isShareable() {return TriggerInterner.isShareable(this.actorGetter);}
+
+    /**
+     * @return the dependencies of the {@link #actorGetter} along with
+     * {@link StateDependency#ACTOR_COUNTERS}
+     */
+    @Override
+    public Set<StateDependency> getDependencies() {
+        Set<StateDependency> dependencies = StateDependency.ofAll(this.actorGetter);
+        dependencies.add(StateDependency.ACTOR_COUNTERS);
+        return dependencies;
+    }
+
+    /**
+     * @return <code>true</code> if the given object is an {@link ActorCounterGetter} with an equal
+     * {@link #actorGetter} reading the same {@link ActorCounter}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ActorCounterGetter other = (ActorCounterGetter) o;
+        return this.counter == other.counter && this.actorGetter.equals(other.actorGetter);
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.actorGetter, this.counter);}
+}
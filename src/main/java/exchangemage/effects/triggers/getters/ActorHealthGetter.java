@@ -0,0 +1,118 @@
+package exchangemage.effects.triggers.getters;
+
+import java.util.Objects;
+import java.util.Set;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.effects.triggers.CachedTrigger;
+import exchangemage.effects.triggers.ConditionalTrigger;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
+import exchangemage.effects.triggers.TriggerInterner;
+import exchangemage.effects.triggers.conditions.NumericValueCondition;
+
+/**
+ * A {@link SubjectGetter} which returns a value describing the health of the {@link Actor}
+ * retrieved by another subject getter. Combined with a {@link NumericValueCondition} it can be
+ * used to build {@link ConditionalTrigger}s such as <i>"holder is below half health"</i>.
+ *
+ * @see HealthValue
+ * @see DeckHolderActor
+ */
+public class ActorHealthGetter implements SubjectGetter<Number>, ShareableNode {
+    /** An enum of the values describing the health of a {@link DeckHolderActor}. */
+    public enum HealthValue {
+        /** The actor's current health. */
+        CURRENT {
+            @Override
+            public Number getValue(DeckHolderActor actor) {return actor.getCurrentHealth();}
+        },
+        /** The actor's maximum health. */
+        MAX {
+            @Override
+            public Number getValue(DeckHolderActor actor) {return actor.getMaxHealth();}
+        },
+        /** The ratio of the actor's current health to its maximum health. */
+        FRACTION {
+            @Override
+            public Number getValue(DeckHolderActor actor) {
+                return (double) actor.getCurrentHealth() / actor.getMaxHealth();
+            }
+        };
+
+        /**
+         * @param actor the actor to describe
+         * @return the value describing the health of the given actor
+         */
+        public abstract Number getValue(DeckHolderActor actor);
+    }
+
+    /** The {@link SubjectGetter} used to retrieve the {@link Actor} to describe. */
+    private final SubjectGetter<? extends Actor> actorGetter;
+
+    /** The {@link HealthValue} to return. */
+    private final HealthValue value;
+
+    /**
+     * @param actorGetter the {@link SubjectGetter} used to retrieve the {@link Actor} to describe
+     * @param value       the {@link HealthValue} to return
+     * @throws NullPointerException if the actor getter or the value is <code>null</code>
+     * @see EffectSourceGetter
+     * @see EffectTargetGetter
+     */
+    public ActorHealthGetter(SubjectGetter<? extends Actor> actorGetter, HealthValue value) {
+        Objects.requireNonNull(actorGetter, "Actor getter cannot be null.");
+        Objects.requireNonNull(value, "Health value cannot be null.");
+        this.actorGetter = TriggerInterner.intern(actorGetter);
+        this.value = value;
+    }
+
+    /**
+     * Returns the specified {@link HealthValue} of the retrieved actor, recording the read for the
+     * {@link CachedTrigger}s being evaluated (see {@link CachedTrigger#recordRead}).
+     *
+     * @return the specified {@link HealthValue} of the retrieved actor or <code>null</code> if no
+     * {@link DeckHolderActor} could be retrieved
+     */
+    @Override
+    public Number getSubject() {
+        Actor actor = this.actorGetter.getSubject();
+        CachedTrigger.recordRead(actor);
+        if (actor instanceof DeckHolderActor)
+            return this.value.getValue((DeckHolderActor) actor);
+        return null;
+    }
+
+    /** @return <code>true</code> if the {@link #actorGetter} is shareable */
+    @Override
+    public boolean isShareable() {return TriggerInterner.isShareable(this.actorGetter);}
+
+    /**
+     * @return the dependencies of the {@link #actorGetter} along with
+     * {@link StateDependency#ACTOR_STATE}
+     */
+    @Override
+    public Set<StateDependency> getDependencies() {
+        Set<StateDependency> dependencies = StateDependency.ofAll(this.actorGetter);
+        dependencies.add(StateDependency.ACTOR_STATE);
+        return dependencies;
+    }
+
+    /**
+     * @return <code>true</code> if the given object is an {@link ActorHealthGetter} with an equal
+     * {@link #actorGetter} returning the same {@link HealthValue}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ActorHealthGetter other = (ActorHealthGetter) o;
+        return this.value == other.value && this.actorGetter.equals(other.actorGetter);
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.actorGetter, this.value);}
+}
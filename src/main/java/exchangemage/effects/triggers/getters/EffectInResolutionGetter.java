@@ -1,9 +1,14 @@
 package exchangemage.effects.triggers.getters;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import exchangemage.base.GameStateLocator;
 import exchangemage.effects.Effect;
 import exchangemage.effects.EffectPlayer;
 import exchangemage.effects.triggers.ConditionalTrigger;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
 
 /**
  * A {@link SubjectGetter} which returns the {@link Effect} currently in resolution as the subject
@@ -13,8 +18,21 @@ import exchangemage.effects.triggers.ConditionalTrigger;
  * @see Effect
  * @see EffectPlayer
  */
-public class EffectInResolutionGetter implements SubjectGetter<Effect<?>> {
+public class EffectInResolutionGetter implements SubjectGetter<Effect<?>>, ShareableNode {
     /** @return the {@link Effect} currently being resolved by the {@link EffectPlayer} */
     @Override
     public Effect<?> getSubject() {return GameStateLocator.getGameState().getEffectInResolution();}
+
+    /** @return <code>true</code> if the given object is also a {@link EffectInResolutionGetter} */
+    @Override
+    public boolean equals(Object o) {return o != null && o.getClass() == getClass();}
+
+    @Override
+    public int hashCode() {return getClass().hashCode();}
+
+    /** @return a set containing {@link StateDependency#EFFECT_IN_RESOLUTION} */
+    @Override
+    public Set<StateDependency> getDependencies() {
+        return EnumSet.of(StateDependency.EFFECT_IN_RESOLUTION);
+    }
 }
@@ -14,6 +14,9 @@ import exchangemage.effects.EffectSource;
  * @see EffectSource
  */
 public class EffectSourceGetter<S extends EffectSource> extends SubclassGetter<EffectSource, S> {
+    /** The {@link SubjectGetter} used to retrieve the effect whose source is returned. */
+    private final SubjectGetter<? extends Effect<?>> effectGetter;
+
     /**
      * @param effectSourceSubclass the class of {@link EffectSource} which can be returned by this
      *                             getter
@@ -24,5 +27,10 @@ public class EffectSourceGetter<S extends EffectSource> extends SubclassGetter<E
     public EffectSourceGetter(Class<S> effectSourceSubclass,
                               SubjectGetter<? extends Effect<?>> effectGetter) {
         super(() -> effectGetter.getSubject().getSource(), effectSourceSubclass);
+        this.effectGetter = effectGetter;
     }
+
+    /** @return the {@link SubjectGetter} used to retrieve the effect whose source is returned */
+    @Override
+    protected SubjectGetter<?> getDecoratedGetter() {return this.effectGetter;}
 }
@@ -15,6 +15,9 @@ import exchangemage.effects.triggers.ConditionalTrigger;
  */
 @SuppressWarnings("rawtypes")
 public class EffectSubclassGetter<S extends Effect> extends SubclassGetter<Effect, S> {
+    /** The {@link SubjectGetter} used to retrieve the effect returned by this getter. */
+    private final SubjectGetter<? extends Effect> effectGetter;
+
     /**
      * @param effectSubclass the class of {@link Effect}s which can be returned by this getter
      * @param effectGetter   the {@link SubjectGetter} used to retrieve the effect which is returned
@@ -24,5 +27,10 @@ public class EffectSubclassGetter<S extends Effect> extends SubclassGetter<Effec
     public EffectSubclassGetter(Class<S> effectSubclass,
                                 SubjectGetter<? extends Effect> effectGetter) {
         super(effectGetter::getSubject, effectSubclass);
+        this.effectGetter = effectGetter;
     }
+
+    /** @return the {@link SubjectGetter} used to retrieve the effect returned by this getter */
+    @Override
+    protected SubjectGetter<?> getDecoratedGetter() {return this.effectGetter;}
 }
@@ -14,6 +14,9 @@ import exchangemage.effects.targeting.Targetable;
  * @see Targetable
  */
 public class EffectTargetGetter<S extends Targetable> extends SubclassGetter<Targetable, S> {
+    /** The {@link SubjectGetter} used to retrieve the effect whose target is returned. */
+    private final SubjectGetter<? extends Effect<?>> effectGetter;
+
     /**
      * @param targetableSubclass the class of {@link Targetable}s which can be returned by this
      *                           getter
@@ -24,6 +27,10 @@ public class EffectTargetGetter<S extends Targetable> extends SubclassGetter<Tar
     public EffectTargetGetter(Class<S> targetableSubclass,
                               SubjectGetter<? extends Effect<?>> effectGetter) {
         super(() -> effectGetter.getSubject().getTarget(), targetableSubclass);
-
+        this.effectGetter = effectGetter;
     }
+
+    /** @return the {@link SubjectGetter} used to retrieve the effect whose target is returned */
+    @Override
+    protected SubjectGetter<?> getDecoratedGetter() {return this.effectGetter;}
 }
@@ -1,9 +1,14 @@
 package exchangemage.effects.triggers.getters;
 
 import java.util.Objects;
+import java.util.EnumSet;
+import java.util.Set;
 
 import exchangemage.base.GameStateLocator;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
 import exchangemage.effects.value.ValueEffect;
+import exchangemage.effects.value.ValueGenerator;
 
 /**
  * A {@link SubjectGetter} which returns the value carried by the {@link ValueEffect} currently in
@@ -11,7 +16,7 @@ import exchangemage.effects.value.ValueEffect;
  *
  * @see ValueEffect
  */
-public class EffectValueGetter implements SubjectGetter<Integer> {
+public class EffectValueGetter implements SubjectGetter<Integer>, ShareableNode {
     /**
      * The state in which to retrieve the value of the {@link ValueEffect} currently in resolution.
      */
@@ -36,4 +41,32 @@ public class EffectValueGetter implements SubjectGetter<Integer> {
         var effect = GameStateLocator.getGameState().getEffectInResolution();
         return effect instanceof ValueEffect ? state.getValue((ValueEffect<?>) effect) : null;
     }
+
+    /**
+     * @return <code>true</code> if the given object is an {@link EffectValueGetter} retrieving
+     * the value in the same {@link ValueEffect.ValueState}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        return this.state == ((EffectValueGetter) o).state;
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.state);}
+
+    /**
+     * @return a set containing {@link StateDependency#EFFECT_VALUE} and, unless the getter reads
+     * the {@link ValueEffect.ValueState#ORIGINAL} value, {@link StateDependency#UNKNOWN} (as the
+     * value is then regenerated by an arbitrary {@link ValueGenerator})
+     */
+    @Override
+    public Set<StateDependency> getDependencies() {
+        if (this.state == ValueEffect.ValueState.ORIGINAL)
+            return EnumSet.of(StateDependency.EFFECT_VALUE);
+        return EnumSet.of(StateDependency.EFFECT_VALUE, StateDependency.UNKNOWN);
+    }
 }
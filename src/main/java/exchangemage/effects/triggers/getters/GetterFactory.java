@@ -7,12 +7,15 @@ import java.util.HashMap;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import exchangemage.actors.Actor;
+import exchangemage.actors.ActorCounter;
 import exchangemage.actors.Enemy;
 import exchangemage.actors.Player;
 import exchangemage.base.factory.Factory;
+import exchangemage.base.factory.FactoryLocator;
 import exchangemage.effects.Effect;
 import exchangemage.effects.EffectSource;
 import exchangemage.effects.targeting.Targetable;
+import exchangemage.effects.triggers.TriggerInterner;
 import exchangemage.effects.value.ValueEffect;
 import exchangemage.scenes.Encounter;
 import exchangemage.scenes.Scene;
@@ -156,6 +159,91 @@ public class GetterFactory implements Factory<SubjectGetter<?>> {
 
             @Override
             public String val() {return "notification";}
+        },
+        ACTOR_HEALTH {
+            @Override
+            @SuppressWarnings("unchecked")
+            public SubjectGetter<?> createFromJson(JsonNode sourceJson) {
+                JsonNode actorNode = sourceJson.get("actor");
+                JsonNode valueNode = sourceJson.get("value");
+                String   value     = valueNode != null ? valueNode.asText() : "current";
+
+                if (actorNode == null)
+                    throw new SourceFormatException("Actor health getter definition is missing "
+                                                    + "the required \"actor\" field.");
+
+                ActorHealthGetter.HealthValue healthValue;
+
+                switch (value) {
+                    case "current" -> healthValue = ActorHealthGetter.HealthValue.CURRENT;
+                    case "max" -> healthValue = ActorHealthGetter.HealthValue.MAX;
+                    case "fraction" -> healthValue = ActorHealthGetter.HealthValue.FRACTION;
+                    default -> throw new SourceFormatException(String.format(
+                            "Actor health getter definition has an invalid \"value\" field "
+                            + "value: %s", value
+                    ));
+                }
+
+                SubjectGetter<? extends Actor> actorGetter;
+
+                try {
+                    actorGetter = (SubjectGetter<? extends Actor>) FactoryLocator
+                            .getGetterFactory().createFromJson(actorNode);
+                } catch (ClassCastException e) {
+                    throw new SourceFormatException(String.format(
+                            "Actor health getter definition has an invalid \"actor\" field "
+                            + "value: %s", actorNode
+                    ));
+                }
+
+                return new ActorHealthGetter(actorGetter, healthValue);
+            }
+
+            @Override
+            public String val() {return "actorHealth";}
+        },
+        ACTOR_COUNTER {
+            @Override
+            @SuppressWarnings("unchecked")
+            public SubjectGetter<?> createFromJson(JsonNode sourceJson) {
+                JsonNode actorNode   = sourceJson.get("actor");
+                JsonNode counterNode = sourceJson.get("counter");
+
+                if (actorNode == null)
+                    throw new SourceFormatException("Actor counter getter definition is missing "
+                                                    + "the required \"actor\" field.");
+                if (counterNode == null)
+                    throw new SourceFormatException("Actor counter getter definition is missing "
+                                                    + "the required \"counter\" field.");
+
+                ActorCounter counter;
+
+                try {
+                    counter = ActorCounter.get(counterNode.asText());
+                } catch (IllegalArgumentException e) {
+                    throw new SourceFormatException(String.format(
+                            "Actor counter getter definition has an invalid \"counter\" field "
+                            + "value: %s", counterNode.asText()
+                    ));
+                }
+
+                SubjectGetter<? extends Actor> actorGetter;
+
+                try {
+                    actorGetter = (SubjectGetter<? extends Actor>) FactoryLocator
+                            .getGetterFactory().createFromJson(actorNode);
+                } catch (ClassCastException e) {
+                    throw new SourceFormatException(String.format(
+                            "Actor counter getter definition has an invalid \"actor\" field "
+                            + "value: %s", actorNode
+                    ));
+                }
+
+                return new ActorCounterGetter(actorGetter, counter);
+            }
+
+            @Override
+            public String val() {return "actorCounter";}
         }
     }
 
@@ -181,7 +269,7 @@ public class GetterFactory implements Factory<SubjectGetter<?>> {
                                             + "field.");
 
         if (this.getterTypes.containsKey(type))
-            return this.getterTypes.get(type).createFromJson(sourceJson);
+            return TriggerInterner.intern(this.getterTypes.get(type).createFromJson(sourceJson));
 
         throw new SourceFormatException(String.format(
                 "Trigger definition has an invalid \"type\" field value: %s", type
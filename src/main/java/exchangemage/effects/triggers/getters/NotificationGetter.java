@@ -1,8 +1,13 @@
 package exchangemage.effects.triggers.getters;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import exchangemage.base.GameStateLocator;
 import exchangemage.base.Notification;
 import exchangemage.effects.NotificationEffect;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
 
 /**
  * A {@link SubjectGetter} which returns the {@link Notification} carried by the
@@ -10,7 +15,7 @@ import exchangemage.effects.NotificationEffect;
  *
  * @see Notification
  */
-public class NotificationGetter implements SubjectGetter<Notification> {
+public class NotificationGetter implements SubjectGetter<Notification>, ShareableNode {
     /**
      * @return the {@link Notification} carried by the {@link NotificationEffect} currently in
      * resolution or <code>null</code> if no such effect is in resolution.
@@ -22,4 +27,15 @@ public class NotificationGetter implements SubjectGetter<Notification> {
             return ((NotificationEffect) effect).getNotification();
         return null;
     }
+
+    /** @return <code>true</code> if the given object is also a {@link NotificationGetter} */
+    @Override
+    public boolean equals(Object o) {return o != null && o.getClass() == getClass();}
+
+    @Override
+    public int hashCode() {return getClass().hashCode();}
+
+    /** @return a set containing {@link StateDependency#NOTIFICATION} */
+    @Override
+    public Set<StateDependency> getDependencies() {return EnumSet.of(StateDependency.NOTIFICATION);}
 }
@@ -1,8 +1,12 @@
 package exchangemage.effects.triggers.getters;
 
 import java.util.Objects;
+import java.util.Set;
 
 import exchangemage.effects.triggers.ConditionalTrigger;
+import exchangemage.effects.triggers.ShareableNode;
+import exchangemage.effects.triggers.StateDependency;
+import exchangemage.effects.triggers.TriggerInterner;
 import exchangemage.effects.triggers.conditions.Condition;
 
 /**
@@ -20,7 +24,7 @@ import exchangemage.effects.triggers.conditions.Condition;
  * @see Condition
  * @see ConditionalTrigger
  */
-public class SubclassGetter<T, S extends T> implements SubjectGetter<S> {
+public class SubclassGetter<T, S extends T> implements SubjectGetter<S>, ShareableNode {
     /** The superclass getter decorated by this {@link SubclassGetter}. */
     private final SubjectGetter<T> superclassGetter;
 
@@ -55,4 +59,42 @@ public class SubclassGetter<T, S extends T> implements SubjectGetter<S> {
         else
             return null;
     }
+
+    /**
+     * @return the {@link SubjectGetter} whose structure identifies this getter. By default, the
+     * decorated {@link #superclassGetter}. Subclasses which decorate a getter derived from another
+     * one should override this method to return the getter they were created with.
+     */
+    protected SubjectGetter<?> getDecoratedGetter() {return this.superclassGetter;}
+
+    /**
+     * @return <code>true</code> if the {@link SubjectGetter} returned by the
+     * {@link #getDecoratedGetter} method is shareable, <code>false</code> otherwise
+     */
+    @Override
+    public boolean isShareable() {return TriggerInterner.isShareable(getDecoratedGetter());}
+
+    /**
+     * @return <code>true</code> if the given object is a {@link SubclassGetter} of the same class
+     * returning the same {@link #subclass} and decorating an equal getter
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        SubclassGetter<?, ?> other = (SubclassGetter<?, ?>) o;
+        return this.subclass == other.subclass
+               && getDecoratedGetter().equals(other.getDecoratedGetter());
+    }
+
+    @Override
+    public int hashCode() {return Objects.hash(getClass(), this.subclass, getDecoratedGetter());}
+
+    /** @return the dependencies of the decorated getter */
+    @Override
+    public Set<StateDependency> getDependencies() {
+        return StateDependency.of(getDecoratedGetter());
+    }
 }
@@ -0,0 +1,126 @@
+package exchangemage.effects.value;
+
+import java.util.Set;
+
+import exchangemage.actors.Actor;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.ScopedEffect;
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.effects.targeting.selectors.ConstantTargetSelector;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector;
+import exchangemage.effects.triggers.Trigger;
+import exchangemage.effects.triggers.conditions.Condition;
+import exchangemage.scenes.Scene;
+
+/**
+ * An {@link AreaValueEffect} which heals all affected {@link Actor}s.
+ *
+ * @param <T> the type of {@link Actor}s affected by the effect
+ * @see Actor#heal
+ * @see HealEffect
+ */
+public class AreaHealEffect<T extends Actor> extends AreaValueEffect<T> {
+    /**
+     * A single-target portion of an {@link AreaHealEffect}, activating only the persistent
+     * effects held by its target.
+     *
+     * @param <T> the type of the target
+     */
+    private static final class Portion<T extends Actor> extends HealEffect<T>
+            implements ScopedEffect {
+        /** The area effect this portion is a part of. */
+        private final AreaHealEffect<T> area;
+
+        /**
+         * @param area   the area effect this portion is a part of
+         * @param target the target of the portion
+         * @param value  the shared modified value of the area effect
+         */
+        @SuppressWarnings("unchecked")
+        Portion(AreaHealEffect<T> area, T target, int value) {
+            super(area.getDescription(),
+                  value,
+                  new ConstantTargetSelector<>(() -> target, (Class<T>) target.getClass()),
+                  ResolutionMode.IMMEDIATE);
+            setSource(area.getSource());
+            this.area = area;
+        }
+
+        @Override
+        public Set<PersistentEffect> getActivatablePersistentEffects(Scene scene) {
+            Set<PersistentEffect> persistentEffects = this.area.getTargetPersistentEffects(
+                    getTarget()
+            );
+            ScopedEffect.excludeDeployers(persistentEffects, this);
+            return persistentEffects;
+        }
+    }
+
+    /**
+     * @param description    the effect's description
+     * @param valueGenerator the effect's {@link ValueGenerator}
+     * @param trigger        the effect's {@link Trigger}, used by the {@link EffectPlayer} to
+     *                       determine whether it should be resolved
+     * @param targetClass    the type of {@link Actor}s affected by the effect
+     * @param targetFilter   the condition the affected actors must fulfill (or <code>null</code>)
+     * @param resolutionMode the effect's {@link ResolutionMode}, used by the effect player to
+     *                       determine how the effect should be resolved
+     * @throws NullPointerException if the value generator, trigger, target class or resolution
+     *                              mode is <code>null</code>
+     */
+    public AreaHealEffect(String description,
+                            ValueGenerator valueGenerator,
+                            Trigger trigger,
+                            Class<T> targetClass,
+                            Condition targetFilter,
+                            ResolutionMode resolutionMode) {
+        super(description, valueGenerator, trigger, targetClass, targetFilter, resolutionMode);
+    }
+
+    /**
+     * @param description    the effect's description
+     * @param value          the healing received by each affected actor
+     * @param targetClass    the type of {@link Actor}s affected by the effect
+     * @param resolutionMode the effect's {@link ResolutionMode}, used by the
+     *                       {@link EffectPlayer} to determine how the effect should be resolved
+     */
+    public AreaHealEffect(String description,
+                            int value,
+                            Class<T> targetClass,
+                            ResolutionMode resolutionMode) {
+        this(description, ValueGenerator.constant(value), () -> true, targetClass, null,
+             resolutionMode);
+    }
+
+    /**
+     * @param description     the effect's description
+     * @param value           the healing received by each affected actor
+     * @param targetsSelector the {@link VariableTargetSelector} used to choose the affected
+     *                        actors
+     * @param resolutionMode  the effect's {@link ResolutionMode}, used by the
+     *                        {@link EffectPlayer} to determine how the effect should be resolved
+     * @throws NullPointerException if the targets selector or resolution mode is
+     *                              <code>null</code>
+     */
+    public AreaHealEffect(String description,
+                          int value,
+                          VariableTargetSelector<T> targetsSelector,
+                          ResolutionMode resolutionMode) {
+        super(description, ValueGenerator.constant(value), () -> true, targetsSelector,
+              resolutionMode);
+    }
+
+    /**
+     * Heals the target, recording it in the current {@link exchangemage.stats.CombatStats} (if
+     * any).
+     *
+     * @see HealEffect#heal
+     */
+    @Override
+    protected void applyValue(T target, int value) {HealEffect.heal(this, target, value);}
+
+    @Override
+    protected ValueEffect<T> createPortion(T target, int value) {
+        return new Portion<>(this, target, value);
+    }
+}
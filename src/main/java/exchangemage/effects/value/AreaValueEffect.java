@@ -0,0 +1,213 @@
+package exchangemage.effects.value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import exchangemage.actors.Actor;
+import exchangemage.base.GameStateLocator;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.ScopedEffect;
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.effects.deployers.PersistentEffectsHolder;
+import exchangemage.effects.targeting.Targetable;
+import exchangemage.effects.targeting.selectors.SceneSelector;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector;
+import exchangemage.effects.triggers.Trigger;
+import exchangemage.effects.triggers.conditions.Condition;
+import exchangemage.scenes.Scene;
+
+/**
+ * Abstract base class for {@link ValueEffect}s applied to a whole set of {@link Actor}s at once
+ * (e.g. <i>deal 3 damage to all enemies</i>). An area value effect targets the {@link Scene} and
+ * chooses the set of affected actors with a {@link VariableTargetSelector}, which makes its
+ * resolution cost close to that of a single-target effect, regardless of the number of targets:
+ * <ul>
+ *     <li>
+ *         <b>Shared resolution</b> - the effect itself is resolved once, activating only the
+ *         environmental {@link PersistentEffect}s of the scene and the ones held by its source.
+ *         The resulting modified value is shared by all targets.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>Per-target portions</b> - upon execution, the shared value is applied directly to
+ *         every target which does not hold any persistent effects of its own. For the remaining
+ *         targets a single-target <i>portion</i> of the effect carrying the shared value is
+ *         resolved, activating only the persistent effects held by that target.
+ *     </li>
+ * </ul>
+ * Note that the persistent effects held by a target are always evaluated after all the shared
+ * persistent effects, regardless of their {@link EffectPlayer.EffectResolutionStage}.
+ *
+ * @param <T> the type of {@link Actor}s affected by the effect
+ * @see AreaDamageEffect
+ * @see AreaHealEffect
+ * @see ScopedEffect
+ */
+public abstract class AreaValueEffect<T extends Actor> extends ValueEffect<Scene>
+        implements ScopedEffect {
+    /** The {@link VariableTargetSelector} used to choose the set of affected actors. */
+    private final VariableTargetSelector<T> targetsSelector;
+
+    /** The actors affected by the effect during its current resolution. */
+    private final List<T> targets = new ArrayList<>();
+
+    /**
+     * @param description    the effect's description
+     * @param valueGenerator the effect's {@link ValueGenerator}
+     * @param trigger        the effect's {@link Trigger}, used by the {@link EffectPlayer} to
+     *                       determine whether it should be resolved
+     * @param targetClass    the type of {@link Actor}s affected by the effect
+     * @param targetFilter   the {@link Condition} the affected actors must fulfill (or
+     *                       <code>null</code> if all actors of the given type are affected)
+     * @param resolutionMode the effect's {@link ResolutionMode}, used by the effect player to
+     *                       determine how the effect should be resolved
+     * @throws NullPointerException if the value generator, trigger, target class or resolution
+     *                              mode is <code>null</code>
+     */
+    public AreaValueEffect(String description,
+                           ValueGenerator valueGenerator,
+                           Trigger trigger,
+                           Class<T> targetClass,
+                           Condition targetFilter,
+                           ResolutionMode resolutionMode) {
+        this(description,
+             valueGenerator,
+             trigger,
+             new VariableTargetSelector<>(targetClass,
+                                          targetFilter,
+                                          VariableTargetSelector.TargetingMode.ALL),
+             resolutionMode);
+    }
+
+    /**
+     * @param description     the effect's description
+     * @param valueGenerator  the effect's {@link ValueGenerator}
+     * @param trigger         the effect's {@link Trigger}, used by the {@link EffectPlayer} to
+     *                        determine whether it should be resolved
+     * @param targetsSelector the {@link VariableTargetSelector} used to choose the affected actors
+     *                        (e.g. with the {@link VariableTargetSelector.TargetingMode#RANDOM_N}
+     *                        mode to affect a number of random actors)
+     * @param resolutionMode  the effect's {@link ResolutionMode}, used by the effect player to
+     *                        determine how the effect should be resolved
+     * @throws NullPointerException if the value generator, trigger, targets selector or resolution
+     *                              mode is <code>null</code>
+     */
+    public AreaValueEffect(String description,
+                           ValueGenerator valueGenerator,
+                           Trigger trigger,
+                           VariableTargetSelector<T> targetsSelector,
+                           ResolutionMode resolutionMode) {
+        super(description, valueGenerator, trigger, new SceneSelector(), resolutionMode);
+        Objects.requireNonNull(targetsSelector, "Targets selector cannot be null.");
+        this.targetsSelector = targetsSelector;
+    }
+
+    /**
+     * Chooses the set of affected actors with the {@link #targetsSelector} and, if it is not
+     * empty, selects the {@link Scene} as the target of the effect and saves its original value.
+     *
+     * @param forbiddenTargets the set of forbidden targets to exclude from the selection process
+     * @return <code>true</code> if at least one actor is affected, <code>false</code> otherwise
+     */
+    @Override
+    public boolean selectTarget(Set<Targetable> forbiddenTargets) {
+        Objects.requireNonNull(forbiddenTargets, "Forbidden targets set cannot be null.");
+        this.targets.clear();
+        if (this.targetsSelector.selectTarget(forbiddenTargets))
+            this.targets.addAll(this.targetsSelector.getTargets());
+        this.targetsSelector.clearTarget();
+
+        if (this.targets.isEmpty() || !super.selectTarget(forbiddenTargets)) {
+            this.targets.clear();
+            return false;
+        }
+        return true;
+    }
+
+    /** Clears the effect's target, affected actors and value modifiers. */
+    @Override
+    public void reset() {
+        super.reset();
+        this.targets.clear();
+    }
+
+    /**
+     * Applies the shared modified value directly to all affected actors which do not hold any
+     * persistent effects of their own and resolves a portion of the effect for each of the
+     * remaining ones.
+     *
+     * @see #createPortion
+     */
+    @Override
+    public void execute() {
+        int         value        = getModifiedValue();
+        EffectPlayer effectPlayer = GameStateLocator.getGameState().getEffectPlayer();
+
+        for (T target : List.copyOf(this.targets)) {
+            if (getTargetPersistentEffects(target).isEmpty())
+                applyValue(target, value);
+            else
+                effectPlayer.evaluateEffect(createPortion(target, value));
+        }
+    }
+
+    /**
+     * @param scene the current {@link Scene}
+     * @return the environmental effects of the scene and the persistent effects held by the
+     * source of this effect, excluding the persistent effects storing this effect (see
+     * {@link ScopedEffect#excludeDeployers})
+     */
+    @Override
+    public Set<PersistentEffect> getActivatablePersistentEffects(Scene scene) {
+        Set<PersistentEffect> persistentEffects = new HashSet<>(scene.getPersistentEffects());
+        if (getSource() instanceof PersistentEffectsHolder && getSource() != scene)
+            persistentEffects.addAll(((PersistentEffectsHolder) getSource())
+                                             .getPersistentEffects());
+        ScopedEffect.excludeDeployers(persistentEffects, this);
+        return persistentEffects;
+    }
+
+    /**
+     * @return an unmodifiable view of the actors affected by the effect during its current
+     * resolution
+     */
+    public List<T> getTargets() {return Collections.unmodifiableList(this.targets);}
+
+    /**
+     * Applies the given value to a target which does not hold any persistent effects.
+     *
+     * @param target the target to apply the value to
+     * @param value  the shared modified value of the effect
+     */
+    protected abstract void applyValue(T target, int value);
+
+    /**
+     * Creates a single-target portion of this effect carrying the given value. Portions should
+     * be {@link ScopedEffect}s resolved immediately, activating only the persistent effects
+     * returned by {@link #getTargetPersistentEffects} for their target.
+     *
+     * @param target the target of the portion
+     * @param value  the shared modified value of the effect
+     * @return the portion of the effect
+     */
+    protected abstract ValueEffect<T> createPortion(T target, int value);
+
+    /**
+     * @param target the target of a portion
+     * @return the persistent effects held by the target, excluding the ones held by the source
+     * (which have already been activated during the shared resolution) and the ones storing this
+     * effect (see {@link ScopedEffect#excludeDeployers})
+     */
+    Set<PersistentEffect> getTargetPersistentEffects(Actor target) {
+        if (target == getSource())
+            return new HashSet<>();
+        Set<PersistentEffect> persistentEffects = new HashSet<>(target.getPersistentEffects());
+        ScopedEffect.excludeDeployers(persistentEffects, this);
+        return persistentEffects;
+    }
+}
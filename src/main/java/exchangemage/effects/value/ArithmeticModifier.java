@@ -0,0 +1,45 @@
+package exchangemage.effects.value;
+
+import exchangemage.effects.value.ValueModifier.Kind;
+
+/**
+ * A {@link ValueModifier} adding a constant to the modified value or multiplying it by a
+ * constant. Instances are compared by identity (like any other modifier), so the same delta can
+ * be added to a {@link ValueEffect} by multiple modifiers.
+ *
+ * @see ValueModifier#additive
+ * @see ValueModifier#multiplicative
+ */
+final class ArithmeticModifier implements ValueModifier {
+    /** The {@link Kind} of the modifier, either additive or multiplicative. */
+    private final Kind kind;
+
+    /** The constant delta or factor of the modifier. */
+    private final int operand;
+
+    /**
+     * @param kind    the {@link Kind} of the modifier, either {@link Kind#ADDITIVE} or
+     *                {@link Kind#MULTIPLICATIVE}
+     * @param operand the constant delta or factor of the modifier
+     */
+    ArithmeticModifier(Kind kind, int operand) {
+        this.kind = kind;
+        this.operand = operand;
+    }
+
+    /**
+     * @param value the value to be modified
+     * @return the value with the {@link #operand} added to it or multiplied by it, depending on
+     * the {@link #kind} of the modifier
+     */
+    @Override
+    public int modify(int value) {
+        return this.kind == Kind.ADDITIVE ? value + this.operand : value * this.operand;
+    }
+
+    @Override
+    public Kind getKind() {return this.kind;}
+
+    @Override
+    public int getOperand() {return this.operand;}
+}
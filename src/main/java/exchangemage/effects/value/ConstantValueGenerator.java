@@ -0,0 +1,16 @@
+package exchangemage.effects.value;
+
+/**
+ * A {@link ValueGenerator} always generating the same value.
+ *
+ * @param value the generated value
+ * @see ValueGenerator#constant
+ */
+record ConstantValueGenerator(int value) implements ValueGenerator {
+    @Override
+    public int generate() {return this.value;}
+
+    /** @return <code>true</code> */
+    @Override
+    public boolean isConstant() {return true;}
+}
@@ -1,9 +1,12 @@
 package exchangemage.effects.value;
 
 import exchangemage.actors.Actor;
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.effects.Effect;
 import exchangemage.effects.EffectPlayer;
 import exchangemage.effects.targeting.selectors.TargetSelector;
 import exchangemage.effects.triggers.Trigger;
+import exchangemage.stats.CombatStats;
 
 /**
  * A {@link ValueEffect} which deals damage to its target.
@@ -46,7 +49,7 @@ public class DamageEffect<T extends Actor> extends ValueEffect<T> {
                         Trigger trigger,
                         TargetSelector<T> targetSelector,
                         ResolutionMode resolutionMode) {
-        this(description, () -> value, trigger, targetSelector, resolutionMode);
+        this(description, ValueGenerator.constant(value), trigger, targetSelector, resolutionMode);
     }
 
     /**
@@ -64,10 +67,27 @@ public class DamageEffect<T extends Actor> extends ValueEffect<T> {
     }
 
     /**
-     * Deals damage to the target equal to the modified value of the effect.
+     * Deals damage to the target equal to the modified value of the effect, recording it in the
+     * current {@link CombatStats} (if any).
      *
      * @see Actor#receiveDamage
      */
     @Override
-    public void execute() {getTarget().receiveDamage(getModifiedValue());}
+    public void execute() {dealDamage(this, getTarget(), getModifiedValue());}
+
+    /**
+     * Deals the given damage to the target on behalf of the given effect, recording it in the
+     * current {@link CombatStats} (if any). Used by damage effects and by the
+     * {@link AreaDamageEffect}s applying their value directly to their targets.
+     *
+     * @param effect the effect dealing the damage
+     * @param target the actor receiving the damage
+     * @param damage the damage dealt
+     */
+    static void dealDamage(Effect<?> effect, Actor target, int damage) {
+        CombatStats stats = CombatStats.current();
+        if (stats != null && target instanceof DeckHolderActor)
+            stats.recordDamage(effect, damage, ((DeckHolderActor) target).getCurrentHealth());
+        target.receiveDamage(damage);
+    }
 }
@@ -1,9 +1,12 @@
 package exchangemage.effects.value;
 
 import exchangemage.actors.Actor;
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.effects.Effect;
 import exchangemage.effects.EffectPlayer;
 import exchangemage.effects.targeting.selectors.TargetSelector;
 import exchangemage.effects.triggers.Trigger;
+import exchangemage.stats.CombatStats;
 
 /**
  * A {@link ValueEffect} which heals its target.
@@ -46,7 +49,7 @@ public class HealEffect<T extends Actor> extends ValueEffect<T> {
                       Trigger trigger,
                       TargetSelector<T> targetSelector,
                       ResolutionMode resolutionMode) {
-        this(description, () -> value, trigger, targetSelector, resolutionMode);
+        this(description, ValueGenerator.constant(value), trigger, targetSelector, resolutionMode);
     }
 
     /**
@@ -64,10 +67,30 @@ public class HealEffect<T extends Actor> extends ValueEffect<T> {
     }
 
     /**
-     * Heals the target by an amount equal to the modified value of the effect.
+     * Heals the target by an amount equal to the modified value of the effect, recording it in
+     * the current {@link CombatStats} (if any).
      *
      * @see Actor#heal
      */
     @Override
-    public void execute() {getTarget().heal(getModifiedValue());}
+    public void execute() {heal(this, getTarget(), getModifiedValue());}
+
+    /**
+     * Heals the target by the given amount on behalf of the given effect, recording it in the
+     * current {@link CombatStats} (if any). Used by heal effects and by the
+     * {@link AreaHealEffect}s applying their value directly to their targets.
+     *
+     * @param effect  the effect healing the target
+     * @param target  the actor healed
+     * @param healing the healing done
+     */
+    static void heal(Effect<?> effect, Actor target, int healing) {
+        CombatStats stats = CombatStats.current();
+        if (stats != null && target instanceof DeckHolderActor) {
+            DeckHolderActor actor = (DeckHolderActor) target;
+            stats.recordHealing(effect, actor, healing,
+                                actor.getMaxHealth() - actor.getCurrentHealth());
+        }
+        target.heal(healing);
+    }
 }
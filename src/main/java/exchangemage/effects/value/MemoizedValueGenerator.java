@@ -0,0 +1,70 @@
+package exchangemage.effects.value;
+
+import exchangemage.base.GameStateLocator;
+import exchangemage.scenes.Scene;
+
+/**
+ * A decorator {@link ValueGenerator} reusing the value generated by the wrapped generator for the
+ * rest of the resolution of the {@link ValueEffect} using it. The memoized value is discarded
+ * when the effect is reset and whenever the {@link Scene#getStateVersion state version} of the
+ * current scene changes (e.g. when an actor is damaged or a persistent effect is added).
+ * <br><br>
+ * The wrapped generator should only read state published through the scene's state version.
+ * If there is no current scene, the wrapped generator is called every time.
+ *
+ * @see ValueGenerator#memoized
+ */
+final class MemoizedValueGenerator implements ValueGenerator {
+    /**
+     * A memoized value along with the stamp of the state it was generated in.
+     *
+     * @param scene        the scene in which the value was generated
+     * @param sceneVersion the state version of the scene at the time of generation
+     * @param value        the generated value
+     */
+    private record Memo(Scene scene, long sceneVersion, int value) {}
+
+    /** The wrapped {@link ValueGenerator}. */
+    private final ValueGenerator generator;
+
+    /** The memoized value (or <code>null</code> if none has been generated yet). */
+    private volatile Memo memo = null;
+
+    /** @param generator the generator to wrap */
+    MemoizedValueGenerator(ValueGenerator generator) {this.generator = generator;}
+
+    /**
+     * @return the memoized value if it was generated in the current state of the current scene,
+     * otherwise the newly generated value of the wrapped generator
+     */
+    @Override
+    public int generate() {
+        Scene scene = GameStateLocator.getGameState().getScene();
+
+        if (scene == null)
+            return this.generator.generate();
+
+        long sceneVersion = scene.getStateVersion();
+        Memo memo         = this.memo;
+
+        if (memo != null && memo.scene() == scene && memo.sceneVersion() == sceneVersion)
+            return memo.value();
+
+        int value = this.generator.generate();
+        this.memo = new Memo(scene, sceneVersion, value);
+        return value;
+    }
+
+    /**
+     * @return a new memoized generator wrapping the same generator, with no memoized value (used
+     * by copies of the {@link ValueEffect} using this generator, see {@link ValueEffect#copyFor})
+     */
+    MemoizedValueGenerator copy() {return new MemoizedValueGenerator(this.generator);}
+
+    /** Discards the memoized value and resets the wrapped generator. */
+    @Override
+    public void reset() {
+        this.memo = null;
+        this.generator.reset();
+    }
+}
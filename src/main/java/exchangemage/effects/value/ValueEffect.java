@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import exchangemage.effects.Effect;
 import exchangemage.effects.EffectPlayer;
@@ -73,21 +74,55 @@ public abstract class ValueEffect<T extends Targetable> extends Effect<T> {
         public abstract int getValue(ValueEffect<?> effect);
     }
 
+    /** The source of the {@link #valueVersion}s of all value effects. */
+    private static final AtomicLong valueVersions = new AtomicLong();
+
     /** The {@link ValueGenerator} used to generate the value of the effect. */
     ValueGenerator valueGenerator;
 
     /** The list of {@link ValueModifier}s applied to the value of the effect. */
     List<ValueModifier> valueModifiers = new ArrayList<>();
 
+    /** The {@link #valueModifiers} compiled into a pipeline with arithmetic modifiers folded. */
+    private ValueModifierPipeline modifierPipeline = new ValueModifierPipeline();
+
+    /**
+     * The last value computed by {@link #getModifiedValue}, along with the unmodified value and
+     * the {@link #valueVersion} it was computed for.
+     *
+     * @param version    the value version at the time of computation
+     * @param unmodified the unmodified value passed through the modifiers
+     * @param modified   the resulting modified value
+     */
+    private record ModifiedValue(long version, int unmodified, int modified) {}
+
+    /** The cached result of {@link #getModifiedValue} (or <code>null</code> if not computed). */
+    private volatile ModifiedValue modifiedValue = null;
+
+    /**
+     * Whether the last value computed by {@link #getModifiedValue} could depend on the state of
+     * the game - that is, whether the {@link #valueGenerator} is not constant or an
+     * {@link ValueModifier.Kind#ARBITRARY} modifier has been applied.
+     */
+    private volatile boolean stateDependent = false;
+
     /**
      * The initial value generated by the {@link #valueGenerator} at the start of the effect's
      * resolution.
      */
     int originalValue;
 
+    /**
+     * Version of the value carried by the effect, replaced every time the {@link #originalValue}
+     * or the {@link #valueModifiers} change. Versions are drawn from a shared counter, so they are
+     * unique across all value effects.
+     */
+    private volatile long valueVersion = valueVersions.incrementAndGet();
+
     /**
      * @param description    the effect's description
-     * @param valueGenerator the effect's {@link ValueGenerator}
+     * @param valueGenerator the effect's {@link ValueGenerator}, evaluated once upon construction
+     *                       if it declares itself constant
      * @param trigger        the effect's {@link Trigger}, used by the {@link EffectPlayer} to
      *                       determine whether it should be resolved
      * @param targetSelector the effect's {@link TargetSelector}, used to choose its target
@@ -103,7 +138,9 @@ public abstract class ValueEffect<T extends Targetable> extends Effect<T> {
                        ResolutionMode resolutionMode) {
         super(description, trigger, targetSelector, resolutionMode);
         Objects.requireNonNull(valueGenerator, "Value generator cannot be null");
-        this.valueGenerator = valueGenerator;
+        this.valueGenerator = valueGenerator.isConstant()
+                              ? ValueGenerator.constant(valueGenerator.generate())
+                              : valueGenerator;
     }
 
     /**
@@ -120,17 +157,65 @@ public abstract class ValueEffect<T extends Targetable> extends Effect<T> {
     @Override
     public boolean selectTarget(Set<Targetable> forbiddenTargets) {
         if (super.selectTarget(forbiddenTargets)) {
-            this.originalValue = valueGenerator.generate();
+            this.valueGenerator.reset();
+            this.originalValue = this.valueGenerator.generate();
+            this.valueVersion = valueVersions.incrementAndGet();
             return true;
         }
         return false;
     }
 
-    /** Clears the effect's target and {@link #valueModifiers} list. */
+    /**
+     * Sets the given target for the value effect through its {@link TargetSelector} (bypassing
+     * the standard selection process) and saves the value generated by the
+     * {@link #valueGenerator}, the same way {@link #selectTarget} does.
+     *
+     * @param target the target to set
+     * @throws TargetSelector.InvalidTargetException if the target is not valid for the effect
+     */
+    public void setTarget(Targetable target) {
+        getTargetSelector().setTarget(target);
+        this.valueGenerator.reset();
+        this.originalValue = this.valueGenerator.generate();
+        this.valueVersion = valueVersions.incrementAndGet();
+    }
+
+    /**
+     * Clears the effect's target and {@link #valueModifiers} list and resets the
+     * {@link #valueGenerator}.
+     */
     @Override
     public void reset() {
         super.reset();
+        this.valueGenerator.reset();
         this.valueModifiers.clear();
+        this.modifierPipeline.clear();
+        this.valueVersion = valueVersions.incrementAndGet();
+    }
+
+    /**
+     * Creates a detached copy of the value effect targeting the given target (see
+     * {@link Effect#copyFor}). The copy has no {@link #valueModifiers} of its own and its
+     * {@link #originalValue} is generated anew - a memoized {@link #valueGenerator} is replaced
+     * with a fresh one, so generating the copy's value does not change the state of this effect.
+     *
+     * @param target the target of the copy
+     * @return the copy of the effect
+     * @throws TargetSelector.InvalidTargetException if the target is not valid for the effect
+     * @see EffectPlayer#preview
+     */
+    @Override
+    public ValueEffect<T> copyFor(Targetable target) {
+        ValueEffect<T> copy = (ValueEffect<T>) super.copyFor(target);
+        if (this.valueGenerator instanceof MemoizedValueGenerator)
+            copy.valueGenerator = ((MemoizedValueGenerator) this.valueGenerator).copy();
+        copy.valueModifiers   = new ArrayList<>();
+        copy.modifierPipeline = new ValueModifierPipeline();
+        copy.modifiedValue    = null;
+        copy.stateDependent   = false;
+        copy.originalValue    = copy.valueGenerator.generate();
+        copy.valueVersion     = valueVersions.incrementAndGet();
+        return copy;
     }
 
     /**
@@ -146,11 +231,30 @@ public abstract class ValueEffect<T extends Targetable> extends Effect<T> {
             throw new IllegalArgumentException("Cannot add value modifier that has already " +
                                                "been added.");
         this.valueModifiers.add(valueModifier);
+        this.modifierPipeline.add(valueModifier);
+        this.valueVersion = valueVersions.incrementAndGet();
     }
 
     // --------------------------------- value getter methods --------------------------------- //
 
 
+    /**
+     * @return the effect's {@link #valueVersion}, identifying the current state of its
+     * {@link #originalValue} and {@link #valueModifiers}
+     */
+    public long getValueVersion() {return this.valueVersion;}
+
+    /**
+     * Returns whether the last value computed by {@link #getModifiedValue} could depend on the
+     * state of the game beyond the modifiers applied to it.
+     *
+     * @return <code>true</code> if the {@link #valueGenerator} is not constant or an
+     * {@link ValueModifier.Kind#ARBITRARY} modifier has been applied to the last modified value,
+     * <code>false</code> otherwise
+     * @see ValuePreview
+     */
+    public boolean isStateDependent() {return this.stateDependent;}
+
     /** @return the effect's {@link #originalValue} */
     public int getOriginalValue() {return this.originalValue;}
 
@@ -161,13 +265,30 @@ public abstract class ValueEffect<T extends Targetable> extends Effect<T> {
     public int getUnmodifiedValue() {return this.valueGenerator.generate();}
 
     /**
-     * @return the current value returned by the {@link #valueGenerator} after applying all
-     * {@link ValueModifier}s
+     * Returns the current value returned by the {@link #valueGenerator} after applying all
+     * {@link ValueModifier}s. The modifiers are applied through a pipeline in which consecutive
+     * additive and multiplicative modifiers are folded into a single operation. If all modifiers
+     * are arithmetic, the result is cached until the generated value or the {@link #valueVersion}
+     * changes - {@link ValueModifier.Kind#ARBITRARY} modifiers may read the state of the game, so
+     * they are applied anew every time.
+     *
+     * @return the current modified value of the effect
      */
     public int getModifiedValue() {
         int value = this.valueGenerator.generate();
-        for (ValueModifier modifier : this.valueModifiers)
-            value = modifier.modify(value);
-        return value;
+        this.stateDependent = !this.valueGenerator.isConstant() ||
+                              !this.modifierPipeline.isPure();
+        if (!this.modifierPipeline.isPure())
+            return this.modifierPipeline.apply(value);
+
+        long          version = this.valueVersion;
+        ModifiedValue cached  = this.modifiedValue;
+
+        if (cached != null && cached.version() == version && cached.unmodified() == value)
+            return cached.modified();
+
+        int modified = this.modifierPipeline.apply(value);
+        this.modifiedValue = new ModifiedValue(version, value, modified);
+        return modified;
     }
 }
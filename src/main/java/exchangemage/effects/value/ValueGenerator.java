@@ -4,6 +4,11 @@ package exchangemage.effects.value;
  * A functional interface used by {@link ValueEffect}s to generate values. The use of this
  * interface allows for creating value effects with non-deterministic values, generated at the
  * time of resolution.
+ * <br><br>
+ * Generators whose value never changes should declare themselves constant (see
+ * {@link #isConstant} and {@link #constant}) - value effects evaluate such generators only once,
+ * upon construction. Expensive dynamic generators can be wrapped with {@link #memoized} to reuse
+ * their value for the rest of a resolution as long as the state of the scene does not change.
  *
  * @see ValueEffect
  * @see ValueModifier
@@ -12,4 +17,42 @@ package exchangemage.effects.value;
 public interface ValueGenerator {
     /** @return a value to be used by a {@link ValueEffect} */
     int generate();
+
+    /**
+     * @return <code>true</code> if this generator always generates the same value,
+     * <code>false</code> otherwise (default)
+     */
+    default boolean isConstant() {return false;}
+
+    /**
+     * Called by the {@link ValueEffect} using this generator at the start and at the end of each
+     * of its resolutions. Generators keeping resolution-scoped state (e.g. memoized values)
+     * should clear it. Does nothing by default.
+     */
+    default void reset() {}
+
+    /**
+     * @param value the value to generate
+     * @return a constant generator always generating the given value
+     */
+    static ValueGenerator constant(int value) {return new ConstantValueGenerator(value);}
+
+    /**
+     * Wraps the given generator so that its value is computed at most once per resolution of the
+     * {@link ValueEffect} using it, for as long as the state version of the current scene does not
+     * change.
+     *
+     * @param generator the generator to memoize
+     * @return the memoized generator (or the given generator if it is constant or already
+     * memoized)
+     * @throws NullPointerException if the generator is <code>null</code>
+     * @see MemoizedValueGenerator
+     */
+    static ValueGenerator memoized(ValueGenerator generator) {
+        if (generator == null)
+            throw new NullPointerException("Generator to memoize cannot be null.");
+        if (generator.isConstant() || generator instanceof MemoizedValueGenerator)
+            return generator;
+        return new MemoizedValueGenerator(generator);
+    }
 }
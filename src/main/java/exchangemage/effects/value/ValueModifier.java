@@ -7,15 +7,57 @@ import exchangemage.effects.Effect;
  * {@link ValueEffect}s. During effect resolution the value held by a value effect affected by
  * modifier(s) is passed through all of them, in the order they were added to the effect, before
  * being used.
+ * <br><br>
+ * Modifiers which simply add a constant to the value or multiply it by a constant should be
+ * created with the {@link #additive} and {@link #multiplicative} methods, which allows value
+ * effects to fold consecutive modifiers of this kind into a single operation and to cache the
+ * modified value. {@link Kind#ARBITRARY} modifiers may depend on the state of the game and are
+ * applied every time the modified value is read.
  *
  * @see ValueEffect
  * @see ValueGenerator
+ * @see Kind
  */
 @FunctionalInterface
 public interface ValueModifier {
+    /** An enum of the kinds of operations a {@link ValueModifier} can perform on a value. */
+    enum Kind {
+        /** Adds a constant delta to the value. */
+        ADDITIVE,
+        /** Multiplies the value by a constant factor. */
+        MULTIPLICATIVE,
+        /** Performs an arbitrary operation, defined by the {@link ValueModifier#modify} method. */
+        ARBITRARY
+    }
+
     /**
      * @param value the value to be modified
      * @return a modified value to be used by a {@link ValueEffect}
      */
     int modify(int value);
+
+    /** @return the {@link Kind} of this modifier, {@link Kind#ARBITRARY} by default */
+    default Kind getKind() {return Kind.ARBITRARY;}
+
+    /**
+     * @return the constant delta of an {@link Kind#ADDITIVE} modifier or the constant factor of a
+     * {@link Kind#MULTIPLICATIVE} one (ignored for {@link Kind#ARBITRARY} modifiers)
+     */
+    default int getOperand() {return 0;}
+
+    /**
+     * @param delta the constant to add to the modified value
+     * @return a new {@link Kind#ADDITIVE} modifier
+     */
+    static ValueModifier additive(int delta) {
+        return new ArithmeticModifier(Kind.ADDITIVE, delta);
+    }
+
+    /**
+     * @param factor the constant to multiply the modified value by
+     * @return a new {@link Kind#MULTIPLICATIVE} modifier
+     */
+    static ValueModifier multiplicative(int factor) {
+        return new ArithmeticModifier(Kind.MULTIPLICATIVE, factor);
+    }
 }
@@ -4,6 +4,7 @@ import java.util.Objects;
 
 import exchangemage.effects.Effect;
 import exchangemage.effects.targeting.selectors.ConstantTargetSelector;
+import exchangemage.effects.triggers.TriggerInterner;
 import exchangemage.effects.triggers.getters.EffectSubclassGetter;
 import exchangemage.effects.triggers.getters.EffectInResolutionGetter;
 
@@ -26,7 +27,9 @@ public class ValueModifierEffect extends Effect<ValueEffect> {
         super(description,
               () -> true,
               new ConstantTargetSelector<>(
-                      new EffectSubclassGetter<>(ValueEffect.class, new EffectInResolutionGetter()),
+                      TriggerInterner.intern(new EffectSubclassGetter<>(
+                              ValueEffect.class, new EffectInResolutionGetter()
+                      )),
                       ValueEffect.class
               ),
               ResolutionMode.IMMEDIATE);
@@ -39,9 +42,12 @@ public class ValueModifierEffect extends Effect<ValueEffect> {
      * @param valueDelta  the delta to apply to the value of the effect in resolution
      */
     public ValueModifierEffect(String description, int valueDelta) {
-        this(description, value -> value + valueDelta);
+        this(description, ValueModifier.additive(valueDelta));
     }
 
+    /** @return the {@link ValueModifier} applied by this effect */
+    public ValueModifier getValueModifier() {return this.valueModifier;}
+
     /** adds the {@link #valueModifier} to the {@link ValueEffect} in resolution */
     @Override
     public void execute() {getTarget().addValueModifier(this.valueModifier);}
@@ -0,0 +1,88 @@
+package exchangemage.effects.value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import exchangemage.effects.value.ValueModifier.Kind;
+
+/**
+ * The compiled form of the list of {@link ValueModifier}s applied to a {@link ValueEffect}.
+ * Consecutive {@link Kind#ADDITIVE} and {@link Kind#MULTIPLICATIVE} modifiers are folded into a
+ * single affine stage (<code>value * scale + offset</code>) as they are added, so applying the
+ * pipeline takes time proportional only to the number of {@link Kind#ARBITRARY} modifiers.
+ * <br><br>
+ * Folding uses the same wrapping <code>int</code> arithmetic as applying the modifiers one by one,
+ * so the result is identical even if intermediate values overflow.
+ *
+ * @see ValueEffect#getModifiedValue
+ */
+final class ValueModifierPipeline {
+    /** An affine stage of the pipeline, representing a run of arithmetic modifiers. */
+    private record Affine(int scale, int offset) implements ValueModifier {
+        @Override
+        public int modify(int value) {return value * this.scale + this.offset;}
+
+        /**
+         * @param modifier the arithmetic modifier to apply after this stage
+         * @return an affine stage equivalent to this stage followed by the given modifier
+         */
+        Affine then(ValueModifier modifier) {
+            int operand = modifier.getOperand();
+            if (modifier.getKind() == Kind.ADDITIVE)
+                return new Affine(this.scale, this.offset + operand);
+            return new Affine(this.scale * operand, this.offset * operand);
+        }
+    }
+
+    /** The stages of the pipeline - affine stages and arbitrary modifiers. */
+    private final List<ValueModifier> stages = new ArrayList<>();
+
+    /** The number of {@link Kind#ARBITRARY} stages of the pipeline. */
+    private int arbitraryStages = 0;
+
+    /**
+     * Appends the given modifier to the pipeline, folding it into the last stage if both are
+     * arithmetic.
+     *
+     * @param modifier the modifier to append
+     */
+    void add(ValueModifier modifier) {
+        if (modifier.getKind() == Kind.ARBITRARY) {
+            this.stages.add(modifier);
+            this.arbitraryStages++;
+            return;
+        }
+
+        int last = this.stages.size() - 1;
+        if (last >= 0 && this.stages.get(last) instanceof Affine)
+            this.stages.set(last, ((Affine) this.stages.get(last)).then(modifier));
+        else
+            this.stages.add(new Affine(1, 0).then(modifier));
+    }
+
+    /**
+     * @param value the value to modify
+     * @return the value after passing through all stages of the pipeline
+     */
+    int apply(int value) {
+        for (ValueModifier stage : this.stages)
+            value = stage.modify(value);
+        return value;
+    }
+
+    /**
+     * @return <code>true</code> if the pipeline consists of arithmetic stages only, so its result
+     * depends on nothing but the value passed to it, <code>false</code> if it contains an
+     * {@link Kind#ARBITRARY} modifier (which may read the state of the game)
+     */
+    boolean isPure() {return this.arbitraryStages == 0;}
+
+    /** Removes all stages of the pipeline. */
+    void clear() {
+        this.stages.clear();
+        this.arbitraryStages = 0;
+    }
+
+    /** @return the number of stages of the pipeline */
+    int size() {return this.stages.size();}
+}
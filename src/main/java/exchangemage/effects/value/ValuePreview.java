@@ -0,0 +1,17 @@
+package exchangemage.effects.value;
+
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.targeting.Targetable;
+
+/**
+ * The result of a preview of a {@link ValueEffect} against a target, computed by
+ * {@link EffectPlayer#preview} without executing the effect or changing its state.
+ *
+ * @param value          the modified value the effect would have against the target
+ * @param stateDependent whether the value could depend on the state of the game beyond the
+ *                       persistent effects of the preview (see
+ *                       {@link ValueEffect#isStateDependent})
+ * @see EffectPlayer#previewValue(ValueEffect, Targetable)
+ * @see ValuePreviewMatrix
+ */
+public record ValuePreview(int value, boolean stateDependent) {}
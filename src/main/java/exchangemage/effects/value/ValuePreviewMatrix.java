@@ -0,0 +1,363 @@
+package exchangemage.effects.value;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.base.Observable;
+import exchangemage.base.Observer;
+import exchangemage.cards.Card;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.ScopedEffect;
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.effects.deployers.PersistentEffectsHolder;
+import exchangemage.effects.deployers.PersistentEffectsHolder.PersistentEffectsHolderEvent;
+import exchangemage.effects.targeting.Targetable;
+import exchangemage.scenes.Scene;
+import exchangemage.scenes.Scene.SceneEvent;
+
+/**
+ * An {@link Observer} keeping a matrix of the previewed values of a set of {@link ValueEffect}s
+ * (e.g. the effects of the {@link Card}s in the player's hand) against every {@link Actor} of a
+ * {@link Scene} they can target, as computed by {@link EffectPlayer#preview}.
+ * <br><br>
+ * Cells of the matrix are computed lazily, when first requested, and kept until a change which
+ * could affect them is observed:
+ * <ul>
+ *     <li>
+ *         <b>Actor changes</b> - a change of an actor's health or of the set of
+ *         {@link PersistentEffect}s it holds invalidates the actor's column, as well as the
+ *         rows of all effects whose source is that actor. A change of the persistent effects
+ *         also invalidates the rows of all {@link ScopedEffect}s, which can activate the
+ *         persistent effects of holders other than their source and target.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>Scene changes</b> - a change of the scene's environmental effects invalidates the
+ *         whole matrix. Adding an actor to the scene only starts observing it, while removing
+ *         one drops its column and the rows of the effects it is the source of.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>Row changes</b> - adding or removing an effect (or a card) only adds or removes its
+ *         row.
+ *     </li>
+ * </ul>
+ * Cells whose value could depend on the state of any actor - computed with a dynamic
+ * {@link ValueGenerator} or an {@link ValueModifier.Kind#ARBITRARY} modifier - are additionally
+ * stamped with the {@link Scene#getStateVersion state version} of the scene and recomputed once
+ * it changes.
+ * <br><br>
+ * Redrawing the matrix therefore only recomputes the cells invalidated since the last redraw.
+ * The matrix observes the scene and the actors present in it (following the
+ * {@link SceneEvent}s published as actors enter and leave it) and should be
+ * {@link #dispose disposed} when no longer used.
+ *
+ * @see EffectPlayer#preview
+ * @see DeckHolderActor
+ * @see PersistentEffectsHolder
+ */
+public class ValuePreviewMatrix implements Observer {
+    /**
+     * A cached cell of the matrix.
+     *
+     * @param value   the previewed value (or <code>null</code> if the actor is not a valid target
+     *                for the row's effect)
+     * @param version the state version of the scene the value was computed at, if the value
+     *                could depend on the state of any actor (or {@link #STABLE} otherwise)
+     */
+    private record Cell(Integer value, long version) {}
+
+    /** The version of {@link Cell}s invalidated only by observed events (see {@link #update}). */
+    private static final long STABLE = -1;
+
+    /** The {@link Scene} whose actors form the columns of the matrix. */
+    private final Scene scene;
+
+    /**
+     * The cached cells of the matrix, keyed by row effect and target. A <code>null</code> cell
+     * value marks an actor which is not a valid target for the row's effect.
+     */
+    private final Map<ValueEffect<?>, Map<Actor, Cell>> cells = new LinkedHashMap<>();
+
+    /** The actors of the {@link #scene} currently observed by the matrix. */
+    private final Set<Actor> observedActors = new HashSet<>();
+
+    /**
+     * @param scene the {@link Scene} whose actors form the columns of the matrix
+     * @throws NullPointerException if the scene is <code>null</code>
+     */
+    private ValuePreviewMatrix(Scene scene) {
+        Objects.requireNonNull(scene, "Scene of value preview matrix cannot be null.");
+        this.scene = scene;
+    }
+
+    /**
+     * Creates a matrix of the actors of the given {@link Scene} and starts observing the scene
+     * and its actors. The matrix is only registered as an observer once it has been fully
+     * constructed.
+     *
+     * @param scene the {@link Scene} whose actors form the columns of the matrix
+     * @return the created matrix
+     * @throws NullPointerException if the scene is <code>null</code>
+     */
+    public static ValuePreviewMatrix observe(Scene scene) {
+        ValuePreviewMatrix matrix = new ValuePreviewMatrix(scene);
+        matrix.scene.addObserver(matrix);
+        matrix.syncActors();
+        return matrix;
+    }
+
+    /** Stops observing the {@link #scene} and its actors and clears the matrix. */
+    public void dispose() {
+        this.scene.removeObserver(this);
+        this.observedActors.forEach(actor -> actor.removeObserver(this));
+        this.observedActors.clear();
+        this.cells.clear();
+    }
+
+    // ------------------------------------- row methods -------------------------------------- //
+
+    /**
+     * Adds a row for the given {@link ValueEffect}. Its cells are computed once requested.
+     *
+     * @param effect the effect to add
+     * @throws NullPointerException     if the effect is <code>null</code>
+     * @throws IllegalArgumentException if the effect has already been added
+     */
+    public void addEffect(ValueEffect<?> effect) {
+        Objects.requireNonNull(effect, "Cannot add null effect to value preview matrix.");
+        if (this.cells.containsKey(effect))
+            throw new IllegalArgumentException("Cannot add duplicate effect to value preview " +
+                                               "matrix.");
+        this.cells.put(effect, new HashMap<>());
+    }
+
+    /**
+     * Removes the row of the given {@link ValueEffect}.
+     *
+     * @param effect the effect to remove
+     * @throws NullPointerException     if the effect is <code>null</code>
+     * @throws IllegalArgumentException if the effect has not been added
+     */
+    public void removeEffect(ValueEffect<?> effect) {
+        Objects.requireNonNull(effect, "Cannot remove null effect from value preview matrix.");
+        if (this.cells.remove(effect) == null)
+            throw new IllegalArgumentException("Cannot remove effect not present in value " +
+                                               "preview matrix.");
+    }
+
+    /**
+     * Adds a row for every {@link ValueEffect} of the given {@link Card}.
+     *
+     * @param card the card to add
+     * @throws NullPointerException if the card is <code>null</code>
+     */
+    public void addCard(Card card) {
+        Objects.requireNonNull(card, "Cannot add null card to value preview matrix.");
+        getValueEffects(card).forEach(this::addEffect);
+    }
+
+    /**
+     * Removes the rows of all {@link ValueEffect}s of the given {@link Card}.
+     *
+     * @param card the card to remove
+     * @throws NullPointerException if the card is <code>null</code>
+     */
+    public void removeCard(Card card) {
+        Objects.requireNonNull(card, "Cannot remove null card from value preview matrix.");
+        getValueEffects(card).forEach(this::removeEffect);
+    }
+
+    // ------------------------------------ value getters ------------------------------------- //
+
+    /**
+     * Returns the previewed value of the given {@link ValueEffect} against the given
+     * {@link Actor}, computing it only if the cell has been invalidated since its last request
+     * (see {@link #isCached}).
+     *
+     * @param effect the row effect
+     * @param target the target actor
+     * @return the previewed value (or <code>null</code> if the actor is not a valid target for
+     * the effect)
+     * @throws NullPointerException     if the effect or target is <code>null</code>
+     * @throws IllegalArgumentException if the effect has not been added to the matrix
+     */
+    public Integer getValue(ValueEffect<?> effect, Actor target) {
+        Objects.requireNonNull(target, "Target of value preview cannot be null.");
+        Map<Actor, Cell> row  = getRow(effect);
+        Cell             cell = row.get(target);
+        if (!isFresh(cell)) {
+            cell = computeCell(effect, target);
+            row.put(target, cell);
+        }
+        return cell.value();
+    }
+
+    /**
+     * @param effect the row effect
+     * @return the previewed values of the given {@link ValueEffect} against all actors of the
+     * scene which are valid targets for it
+     * @throws NullPointerException     if the effect is <code>null</code>
+     * @throws IllegalArgumentException if the effect has not been added to the matrix
+     */
+    public Map<Actor, Integer> getValues(ValueEffect<?> effect) {
+        Map<Actor, Integer> values = new LinkedHashMap<>();
+        for (Actor actor : this.scene.getActors()) {
+            Integer value = actor != null ? getValue(effect, actor) : null;
+            if (value != null)
+                values.put(actor, value);
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * @param effect the row effect
+     * @param target the target actor
+     * @return <code>true</code> if the cell of the given effect and target is currently cached
+     * and has not been invalidated by a change of the state of the scene, <code>false</code>
+     * otherwise
+     */
+    public boolean isCached(ValueEffect<?> effect, Actor target) {
+        Map<Actor, Cell> row = this.cells.get(effect);
+        return row != null && isFresh(row.get(target));
+    }
+
+    // ---------------------------------- observer methods ------------------------------------ //
+
+    /**
+     * Invalidates the cells which could be affected by the observed event:
+     * <ul>
+     *     <li>
+     *         <b>Scene events</b> - the observed actors are synchronized with the
+     *         {@link #scene} if its set of actors has changed, otherwise the whole matrix is
+     *         invalidated.
+     *     </li>
+     *     <br>
+     *     <li>
+     *         <b>Actor events</b> - the column of the publishing {@link Actor} and the rows of
+     *         the effects it is the source of are invalidated, along with the rows of all
+     *         {@link ScopedEffect}s if the set of persistent effects held by the actor has
+     *         changed.
+     *     </li>
+     * </ul>
+     * Activation events of targetables are ignored, as they do not affect previewed values.
+     *
+     * @param publisher the {@link Observable} object that called this method
+     * @param event     the event to notify this observer of
+     */
+    @Override
+    public void update(Observable publisher, Observable.Event event) {
+        if (event instanceof Targetable.TargetableEvent)
+            return;
+        if (publisher == this.scene) {
+            if (event instanceof SceneEvent)
+                syncActors();
+            else
+                this.cells.values().forEach(Map::clear);
+            return;
+        }
+        if (!(publisher instanceof Actor))
+            return;
+
+        boolean effectsChanged = event instanceof PersistentEffectsHolderEvent;
+        this.cells.forEach((effect, row) -> {
+            if (effect.getSource() == publisher || effectsChanged && effect instanceof ScopedEffect)
+                row.clear();
+            else
+                row.remove(publisher);
+        });
+    }
+
+    // ------------------------------------ helper methods ------------------------------------ //
+
+    /**
+     * Synchronizes the observed actors with the actors present in the {@link #scene}, dropping
+     * the column of every actor which has left the scene along with the rows of the effects it
+     * is the source of.
+     */
+    private void syncActors() {
+        Set<Actor> actors = new HashSet<>();
+        for (Actor actor : this.scene.getActors())
+            if (actor != null)
+                actors.add(actor);
+
+        for (Actor actor : this.observedActors) {
+            if (actors.contains(actor))
+                continue;
+            actor.removeObserver(this);
+            this.cells.forEach((effect, row) -> {
+                if (effect.getSource() == actor)
+                    row.clear();
+                else
+                    row.remove(actor);
+            });
+        }
+        for (Actor actor : actors)
+            if (!this.observedActors.contains(actor))
+                actor.addObserver(this);
+        this.observedActors.clear();
+        this.observedActors.addAll(actors);
+    }
+
+    /**
+     * @param effect the row effect
+     * @return the cached cells of the effect's row
+     * @throws NullPointerException     if the effect is <code>null</code>
+     * @throws IllegalArgumentException if the effect has not been added to the matrix
+     */
+    private Map<Actor, Cell> getRow(ValueEffect<?> effect) {
+        Objects.requireNonNull(effect, "Effect of value preview cannot be null.");
+        Map<Actor, Cell> row = this.cells.get(effect);
+        if (row == null)
+            throw new IllegalArgumentException("Effect not present in value preview matrix.");
+        return row;
+    }
+
+    /**
+     * @param cell the cell to check (or <code>null</code> if not cached)
+     * @return <code>true</code> if the cell is cached and either {@link #STABLE} or computed at
+     * the current state version of the {@link #scene}, <code>false</code> otherwise
+     */
+    private boolean isFresh(Cell cell) {
+        return cell != null &&
+               (cell.version() == STABLE || cell.version() == this.scene.getStateVersion());
+    }
+
+    /**
+     * @param effect the row effect
+     * @param target the target actor
+     * @return a cell holding the value previewed by the {@link EffectPlayer} of the
+     * {@link #scene} (or <code>null</code> if the actor is not a valid target for the effect),
+     * stamped with the current state version of the scene if the value could depend on it
+     */
+    private Cell computeCell(ValueEffect<?> effect, Actor target) {
+        if (!effect.getTargetSelector().isValidTarget(target))
+            return new Cell(null, STABLE);
+        long         version = this.scene.getStateVersion();
+        ValuePreview preview = this.scene.getEffectPlayer().preview(effect, target);
+        return new Cell(preview.value(), preview.stateDependent() ? version : STABLE);
+    }
+
+    /**
+     * @param card the card to get the value effects of
+     * @return the {@link ValueEffect}s among the effects of the given card
+     */
+    private static Set<ValueEffect<?>> getValueEffects(Card card) {
+        Set<ValueEffect<?>> valueEffects = new LinkedHashSet<>();
+        if (card.getEffects() == null)
+            return valueEffects;
+        for (Effect<?> effect : card.getEffects())
+            if (effect instanceof ValueEffect)
+                valueEffects.add((ValueEffect<?>) effect);
+        return valueEffects;
+    }
+}
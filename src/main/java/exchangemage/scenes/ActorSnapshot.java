@@ -0,0 +1,84 @@
+package exchangemage.scenes;
+
+import java.util.Set;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.effects.deployers.PersistentEffect;
+
+/**
+ * An immutable snapshot of the state of an {@link Actor}, taken as a part of an
+ * {@link EncounterSnapshot}. Snapshots can be read from any thread, while the actor they were
+ * taken of keeps changing.
+ *
+ * @see EncounterSnapshot
+ */
+public final class ActorSnapshot {
+    /** The actor the snapshot was taken of. */
+    private final Actor actor;
+
+    /** The state version of the actor when the snapshot was taken. */
+    private final long stateVersion;
+
+    /** Whether the actor was dead when the snapshot was taken. */
+    private final boolean dead;
+
+    /** The current health of the actor (or <code>-1</code> if it has no health). */
+    private final int currentHealth;
+
+    /** The maximum health of the actor (or <code>-1</code> if it has no health). */
+    private final int maxHealth;
+
+    /** The persistent effects held by the actor when the snapshot was taken. */
+    private final Set<PersistentEffect> persistentEffects;
+
+    /** @param actor the actor to take the snapshot of */
+    ActorSnapshot(Actor actor) {
+        this.actor             = actor;
+        this.stateVersion      = actor.getStateVersion();
+        this.dead              = actor.isDead();
+        this.persistentEffects = Set.copyOf(actor.getPersistentEffects());
+        if (actor instanceof DeckHolderActor) {
+            this.currentHealth = ((DeckHolderActor) actor).getCurrentHealth();
+            this.maxHealth     = ((DeckHolderActor) actor).getMaxHealth();
+        } else {
+            this.currentHealth = -1;
+            this.maxHealth     = -1;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the state of the actor has not changed since the snapshot was
+     * taken, <code>false</code> otherwise
+     */
+    boolean isCurrent() {return this.actor.getStateVersion() == this.stateVersion;}
+
+    /**
+     * Returns the actor the snapshot was taken of. Its state should not be read while the
+     * snapshot is used off the thread running the encounter.
+     *
+     * @return the actor the snapshot was taken of
+     */
+    public Actor getActor() {return this.actor;}
+
+    /** @return the state version of the actor when the snapshot was taken */
+    public long getStateVersion() {return this.stateVersion;}
+
+    /** @return <code>true</code> if the actor was dead, <code>false</code> otherwise */
+    public boolean isDead() {return this.dead;}
+
+    /**
+     * @return <code>true</code> if the actor is a {@link DeckHolderActor}, <code>false</code>
+     * otherwise
+     */
+    public boolean hasHealth() {return this.currentHealth >= 0;}
+
+    /** @return the current health of the actor (or <code>-1</code> if it has no health) */
+    public int getCurrentHealth() {return this.currentHealth;}
+
+    /** @return the maximum health of the actor (or <code>-1</code> if it has no health) */
+    public int getMaxHealth() {return this.maxHealth;}
+
+    /** @return an unmodifiable set of the persistent effects held by the actor */
+    public Set<PersistentEffect> getPersistentEffects() {return this.persistentEffects;}
+}
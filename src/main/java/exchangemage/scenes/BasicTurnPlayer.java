@@ -1,20 +1,31 @@
 package exchangemage.scenes;
 
-import java.util.List;
-import java.util.ArrayList;
-
 import exchangemage.actors.Actor;
+import exchangemage.actors.Player;
 import exchangemage.base.GameStateLocator;
 
+/**
+ * A {@link TurnPlayer} in which the {@link Player} and the enemies of the {@link Encounter} take
+ * their turns in a fixed order - the player first, followed by the enemies in the order in which
+ * they were added to the encounter. Rounds are played for as long as any enemies are alive.
+ * <br><br>
+ * The turn order is kept in a {@link TurnQueue}. Actors found dead when their turn comes are
+ * removed from it, while actors added to or removed from the encounter in the middle of a round
+ * are added to or removed from it immediately - spawned actors take their first turn at the end of
+ * the round in which they were spawned.
+ *
+ * @see TurnQueue
+ */
 public class BasicTurnPlayer implements TurnPlayer {
     private Encounter encounter;
-    private final List<Actor> queue = new ArrayList<>();
+    private final TurnQueue queue = new TurnQueue();
 
     @Override
     public void init(Encounter encounter) {
         this.encounter = encounter;
+        queue.clear();
         queue.add(GameStateLocator.getGameState().getPlayer());
-        queue.addAll(encounter.getEnemies());
+        encounter.getEnemies().forEach(queue::add);
     }
 
     @Override
@@ -22,7 +33,8 @@ public class BasicTurnPlayer implements TurnPlayer {
         while (encounter.enemiesAlive()) {
             notifyRoundStarted();
 
-            for (Actor actor : queue) {
+            queue.beginRound();
+            for (Actor actor = queue.next(); actor != null; actor = queue.next()) {
                 if (actor.isDead()) {
                     queue.remove(actor);
                     continue;
@@ -36,4 +48,24 @@ public class BasicTurnPlayer implements TurnPlayer {
             notifyRoundEnded();
         }
     }
+
+    /**
+     * Adds the given {@link Actor} at the end of the turn order, if the turn player has been
+     * initialized and the actor is not already a part of it.
+     *
+     * @param actor the actor added to the encounter
+     */
+    @Override
+    public void actorAdded(Actor actor) {
+        if (encounter != null && !queue.contains(actor))
+            queue.add(actor);
+    }
+
+    /**
+     * Removes the given {@link Actor} from the turn order.
+     *
+     * @param actor the actor removed from the encounter
+     */
+    @Override
+    public void actorRemoved(Actor actor) {queue.remove(actor);}
 }
@@ -1,14 +1,21 @@
 package exchangemage.scenes;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import exchangemage.base.Notification;
 import exchangemage.base.Observer;
 import exchangemage.base.Observable;
 import exchangemage.actors.Enemy;
 import exchangemage.actors.Actor;
+import exchangemage.actors.ActorCounter;
+import exchangemage.actors.Actor.ActorEvent;
+import exchangemage.actors.Actor.ActorEventSet;
+import exchangemage.actors.CounterScope;
+import exchangemage.actors.DeckHolderActor;
 import exchangemage.actors.Player;
 import exchangemage.cards.Card;
 import exchangemage.effects.NotificationEffect;
@@ -18,6 +25,12 @@ import exchangemage.effects.deployers.PersistentEffect;
  * A {@link Scene} used to represent an encounter between the {@link Player} and a set of
  * {@link Enemy}s. Encounters use a {@link TurnPlayer} to manage the flow of turns during which
  * {@link Actor}s can perform actions (most commonly playing {@link Card}s).
+ * <br><br>
+ * Encounters keep typed views of their enemies and players, maintained as actors are added and
+ * removed, along with a counter of the enemies which are alive. The counter is updated from the
+ * {@link ActorEvent}s published by the enemies whenever they die or are brought back to life
+ * (e.g. healed or have their health set), so checking whether any enemies are alive does not
+ * iterate over the actors of the encounter.
  *
  * @see Scene
  * @see TurnPlayer
@@ -41,6 +54,30 @@ public class Encounter extends Scene {
     /** The {@link TurnPlayer} used to manage the flow of turns during the encounter. */
     private final TurnPlayer turnPlayer;
 
+    /** The enemies present in the encounter, in the order in which they were added. */
+    private final Set<Enemy> enemies = new LinkedHashSet<>();
+
+    /** The unmodifiable view of the {@link #enemies} returned by {@link #getEnemies}. */
+    private final Set<Enemy> enemiesView = Collections.unmodifiableSet(this.enemies);
+
+    /** The players present in the encounter. */
+    private final Set<Player> players = new LinkedHashSet<>();
+
+    /** The unmodifiable view of the {@link #players} returned by {@link #getPlayers}. */
+    private final Set<Player> playersView = Collections.unmodifiableSet(this.players);
+
+    /** The {@link #enemies} which are currently dead. */
+    private final Set<Enemy> deadEnemies = new HashSet<>();
+
+    /**
+     * The {@link Observer} of the {@link #enemies}, keeping the {@link #deadEnemies} up to date
+     * with the {@link ActorEvent}s they publish.
+     */
+    private final Observer lifeTracker = (publisher, event) -> {
+        if (event instanceof ActorEventSet && this.enemies.contains(publisher))
+            trackLife((Enemy) publisher);
+    };
+
     /**
      * @param turnPlayer           the {@link TurnPlayer} used to manage the flow of turns during
      *                             the encounter
@@ -53,11 +90,14 @@ public class Encounter extends Scene {
     public Encounter(TurnPlayer turnPlayer,
                      Set<PersistentEffect> environmentalEffects,
                      Set<Enemy> enemies) {
-        super(environmentalEffects);
+        super(environmentalEffects, Objects.requireNonNull(enemies, "Enemies cannot be null"));
         Objects.requireNonNull(turnPlayer, "Turn player cannot be null");
-        Objects.requireNonNull(enemies, "Enemies cannot be null");
         this.turnPlayer = turnPlayer;
-        this.actors.addAll(enemies);
+        for (Actor actor : this.actors)
+            if (actor instanceof Player)
+                this.players.add((Player) actor);
+        for (Enemy enemy : enemies)
+            observeEnemy(enemy);
     }
 
     /**
@@ -72,29 +112,102 @@ public class Encounter extends Scene {
         this(turnPlayer, null, enemies);
     }
 
-    /** Starts the encounter by initializing and starting the {@link #turnPlayer}. */
+    /**
+     * Starts the encounter by initializing and starting the {@link #turnPlayer}. Advances the
+     * epoch of the {@link CounterScope#ENCOUNTER} scope beforehand, resetting all
+     * {@link ActorCounter}s of the actors taking part in the encounter.
+     */
     @Override
     public void start() {
+        CounterScope.ENCOUNTER.advance();
         turnPlayer.init(this);
         turnPlayer.start();
     }
 
     /**
-     * @return the enemies present in the {@link Encounter}
-     * @see Enemy
+     * Adds the specified {@link Actor} to the encounter, adding it to the typed view of its kind.
+     * Enemies are observed by the encounter for as long as they are present in it. The
+     * {@link #turnPlayer} is informed of the added actor.
+     *
+     * @param actor actor to add
+     * @throws NullPointerException     if the actor is <code>null</code>
+     * @throws IllegalArgumentException if the actor has already been added to the encounter
      */
-    public Set<Enemy> getEnemies() {
-        return actors.stream()
-                     .filter(actor -> actor instanceof Enemy)
-                     .map(actor -> (Enemy) actor)
-                     .collect(Collectors.toSet());
+    @Override
+    public void addActor(Actor actor) {
+        super.addActor(actor);
+        if (actor instanceof Player)
+            this.players.add((Player) actor);
+        if (actor instanceof Enemy)
+            observeEnemy((Enemy) actor);
+        this.turnPlayer.actorAdded(actor);
     }
 
+    /**
+     * Removes the specified {@link Actor} from the encounter, removing it from the typed view of
+     * its kind. The {@link #turnPlayer} is informed of the removed actor.
+     *
+     * @param actor actor to remove
+     * @throws NullPointerException     if the actor is <code>null</code>
+     * @throws IllegalArgumentException if the actor has not been added to the encounter
+     */
+    @Override
+    public void removeActor(Actor actor) {
+        super.removeActor(actor);
+        this.players.remove(actor);
+        if (this.enemies.remove(actor)) {
+            this.deadEnemies.remove(actor);
+            actor.removeObserver(this.lifeTracker);
+        }
+        this.turnPlayer.actorRemoved(actor);
+    }
+
+    /** @return the {@link TurnPlayer} used to manage the flow of turns during the encounter */
+    public TurnPlayer getTurnPlayer() {return this.turnPlayer;}
+
+    /**
+     * @return an unmodifiable, live view of the enemies present in the {@link Encounter}, in the
+     * order in which they were added
+     * @see Enemy
+     */
+    public Set<Enemy> getEnemies() {return this.enemiesView;}
+
+    /** @return an unmodifiable, live view of the players present in the {@link Encounter} */
+    public Set<Player> getPlayers() {return this.playersView;}
+
     /**
      * @return <code>true</code> if any enemies are alive, <code>false</code> otherwise
      * @see Enemy
      */
-    public boolean enemiesAlive() {
-        return getEnemies().stream().anyMatch(actor -> !actor.isDead());
+    public boolean enemiesAlive() {return getAliveEnemyCount() > 0;}
+
+    /** @return the number of enemies present in the encounter which are alive */
+    public int getAliveEnemyCount() {return this.enemies.size() - this.deadEnemies.size();}
+
+    /**
+     * Adds the given enemy to the {@link #enemies} and observes it with the {@link #lifeTracker}
+     * for as long as it is present in the encounter.
+     *
+     * @param enemy the enemy added to the encounter
+     */
+    private void observeEnemy(Enemy enemy) {
+        this.enemies.add(enemy);
+        if (enemy.isDead())
+            this.deadEnemies.add(enemy);
+        enemy.addObserver(this.lifeTracker);
+    }
+
+    /**
+     * Updates the set of {@link #deadEnemies} if the given enemy has died or has been brought
+     * back to life since it was last tracked.
+     *
+     * @param enemy the enemy whose state has changed
+     * @see DeckHolderActor#isDead
+     */
+    private void trackLife(Enemy enemy) {
+        if (enemy.isDead())
+            this.deadEnemies.add(enemy);
+        else
+            this.deadEnemies.remove(enemy);
     }
 }
@@ -0,0 +1,102 @@
+package exchangemage.scenes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.Enemy;
+import exchangemage.actors.Player;
+
+/**
+ * An immutable, consistent snapshot of the {@link Actor}s of an {@link Encounter}, taken on the
+ * thread running the encounter. Snapshots are the input of {@link IntentPlanner}s, which lets the
+ * intents of enemies be planned in parallel without reading the (non thread-safe) state of the
+ * game.
+ *
+ * @see ActorSnapshot
+ * @see PlanningTurnPlayer
+ */
+public final class EncounterSnapshot {
+    /** The snapshots of the actors of the encounter. */
+    private final Map<Actor, ActorSnapshot> actors;
+
+    /** The snapshots of the players, in the order of the encounter's typed view. */
+    private final List<ActorSnapshot> players;
+
+    /** The snapshots of the enemies, in the order of the encounter's typed view. */
+    private final List<ActorSnapshot> enemies;
+
+    /**
+     * @param encounter the encounter to take the snapshot of
+     * @param previous  the snapshot whose current actor snapshots are reused (or
+     *                  <code>null</code>)
+     */
+    private EncounterSnapshot(Encounter encounter, EncounterSnapshot previous) {
+        Map<Actor, ActorSnapshot> actors  = new HashMap<>();
+        List<ActorSnapshot>       players = new ArrayList<>(encounter.getPlayers().size());
+        List<ActorSnapshot>       enemies = new ArrayList<>(encounter.getEnemies().size());
+        for (Actor actor : encounter.getActors()) {
+            ActorSnapshot snapshot = previous != null ? previous.actors.get(actor) : null;
+            if (snapshot == null || !snapshot.isCurrent())
+                snapshot = new ActorSnapshot(actor);
+            actors.put(actor, snapshot);
+        }
+        for (Player player : encounter.getPlayers())
+            players.add(actors.get(player));
+        for (Enemy enemy : encounter.getEnemies())
+            enemies.add(actors.get(enemy));
+        this.actors  = Collections.unmodifiableMap(actors);
+        this.players = Collections.unmodifiableList(players);
+        this.enemies = Collections.unmodifiableList(enemies);
+    }
+
+    /**
+     * @param encounter the encounter to take the snapshot of
+     * @return a snapshot of the current state of the actors of the given encounter
+     */
+    static EncounterSnapshot take(Encounter encounter) {
+        return new EncounterSnapshot(encounter, null);
+    }
+
+    /**
+     * Takes a new snapshot of the given encounter, reusing the snapshots of the actors whose state
+     * has not changed since this snapshot was taken.
+     *
+     * @param encounter the encounter to take the snapshot of
+     * @return a snapshot of the current state of the actors of the given encounter
+     */
+    EncounterSnapshot refresh(Encounter encounter) {return new EncounterSnapshot(encounter, this);}
+
+    /**
+     * Checks whether the given {@link Intent} is still valid - i.e. whether every actor it depends
+     * on is still present in the encounter and its state has not changed since this snapshot was
+     * taken.
+     *
+     * @param intent the intent planned against this snapshot
+     * @return <code>true</code> if the intent is valid, <code>false</code> otherwise
+     */
+    boolean isValid(Intent intent) {
+        for (Actor actor : intent.getDependencies()) {
+            ActorSnapshot snapshot = this.actors.get(actor);
+            if (snapshot == null || !snapshot.isCurrent())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param actor the actor whose snapshot to return
+     * @return the snapshot of the given actor (or <code>null</code> if it was not present in the
+     * encounter)
+     */
+    public ActorSnapshot get(Actor actor) {return this.actors.get(actor);}
+
+    /** @return an unmodifiable list of the snapshots of the players of the encounter */
+    public List<ActorSnapshot> getPlayers() {return this.players;}
+
+    /** @return an unmodifiable list of the snapshots of the enemies of the encounter */
+    public List<ActorSnapshot> getEnemies() {return this.enemies;}
+}
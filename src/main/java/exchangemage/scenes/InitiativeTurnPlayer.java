@@ -0,0 +1,440 @@
+package exchangemage.scenes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+import exchangemage.actors.Actor;
+import exchangemage.base.GameStateLocator;
+import exchangemage.effects.deployers.PersistentEffect;
+
+/**
+ * A {@link TurnPlayer} in which {@link Actor}s take their turns in the order given by their
+ * speed. Turns are scheduled on a virtual timeline measured in ticks - an actor with the speed of
+ * {@link #BASE_SPEED} takes one turn every {@link #ROUND_LENGTH} ticks, an actor twice as fast
+ * takes two, and an actor half as fast takes one every other round. Turns scheduled at the same
+ * tick are taken in the order in which they were scheduled.
+ * <br><br>
+ * The scheduled turns are kept in an indexed binary heap ordered by their tick, so taking the
+ * next turn and rescheduling an actor take logarithmic time, without re-sorting the actors each
+ * round. The speed of an actor and its place on the timeline can be changed at any point of the
+ * encounter (e.g. by {@link PersistentEffect}s, through {@link Encounter#getTurnPlayer}):
+ * <ul>
+ *     <li>
+ *         <b>{@link #setSpeed}</b> - changes the speed of an actor, scaling the time left until
+ *         its next turn by the ratio of its old and new speed.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>{@link #delayTurn}</b> - moves the next turn of an actor further down the timeline.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>{@link #grantExtraTurn}</b> - schedules a one-time turn of an actor, taken in
+ *         addition to its regular turns.
+ *     </li>
+ * </ul>
+ * Rounds span consecutive intervals of {@link #ROUND_LENGTH} ticks of the timeline. The turn player
+ * emits the same {@link TurnPlayerEvent}s as other turn players - rounds in which no actor takes a
+ * turn are still started and ended, so effects counting rounds are not affected by the speed of
+ * the actors. Rounds are played for as long as any enemies are alive. Actors found dead when their
+ * turn comes are removed from the timeline, while actors added to the encounter take their first
+ * turn once a full interval of their speed has passed.
+ *
+ * @see TurnPlayer
+ * @see BasicTurnPlayer
+ */
+public class InitiativeTurnPlayer implements TurnPlayer {
+    /** The speed of an actor taking exactly one turn per round. */
+    public static final int BASE_SPEED = 100;
+
+    /** The number of ticks of the timeline making up a single round. */
+    public static final long ROUND_LENGTH = 720_720L;
+
+    /** A turn scheduled on the timeline. */
+    private static final class Entry {
+        /** The actor taking the turn. */
+        private final Actor actor;
+
+        /**
+         * The regular entry of the actor this extra turn was granted to (or <code>null</code> if
+         * this is the regular entry of the actor). An extra turn is discarded if the actor's
+         * regular entry has changed - i.e. the actor has been removed from the timeline.
+         */
+        private final Entry owner;
+
+        /** The speed of the actor (only used by regular entries). */
+        private int speed;
+
+        /** The tick at which the turn is taken. */
+        private long time;
+
+        /** The order in which the turn has been scheduled, breaking ties between equal ticks. */
+        private long sequence;
+
+        /** The position of the entry in the {@link #heap} (or <code>-1</code> if not in it). */
+        private int position = -1;
+
+        private Entry(Actor actor, Entry owner, int speed) {
+            this.actor = actor;
+            this.owner = owner;
+            this.speed = speed;
+        }
+    }
+
+    /** The function providing the speeds of actors when they are added to the timeline. */
+    private final ToIntFunction<Actor> initialSpeed;
+
+    /** The regular entries of the actors on the timeline. */
+    private final Map<Actor, Entry> entries = new HashMap<>();
+
+    /** The scheduled turns, ordered as a binary min-heap by tick and scheduling order. */
+    private Entry[] heap = new Entry[16];
+
+    /** The number of scheduled turns. */
+    private int size = 0;
+
+    /** The counter used to assign {@link Entry#sequence}s. */
+    private long sequence = 0;
+
+    /** The current tick of the timeline. */
+    private long time = 0;
+
+    /** The current round (or <code>-1</code> if no round has started yet). */
+    private long round = -1;
+
+    private Encounter encounter;
+
+    /** Creates a turn player in which all actors start with the {@link #BASE_SPEED}. */
+    public InitiativeTurnPlayer() {this(actor -> BASE_SPEED);}
+
+    /**
+     * @param initialSpeed the function providing the speeds of actors when they are added to the
+     *                     timeline
+     * @throws NullPointerException if the function is <code>null</code>
+     */
+    public InitiativeTurnPlayer(ToIntFunction<Actor> initialSpeed) {
+        Objects.requireNonNull(initialSpeed, "Initial speed function cannot be null.");
+        this.initialSpeed = initialSpeed;
+    }
+
+    @Override
+    public void init(Encounter encounter) {
+        this.encounter = encounter;
+        this.entries.clear();
+        Arrays.fill(this.heap, 0, this.size, null);
+        this.size     = 0;
+        this.sequence = 0;
+        this.time     = 0;
+        this.round    = -1;
+        schedule(GameStateLocator.getGameState().getPlayer());
+        encounter.getEnemies().forEach(this::schedule);
+    }
+
+    @Override
+    public void start() {
+        while (encounter.enemiesAlive() && this.size > 0) {
+            Entry entry = this.heap[0];
+            if (roundOf(entry.time) > this.round) {
+                if (this.round >= 0)
+                    notifyRoundEnded();
+                this.round++;
+                notifyRoundStarted();
+                continue;
+            }
+
+            poll();
+            this.time = Math.max(this.time, entry.time);
+            Actor actor = entry.actor;
+            if (entry.owner != null && this.entries.get(actor) != entry.owner)
+                continue;
+            if (actor.isDead()) {
+                remove(actor);
+                continue;
+            }
+            if (entry.owner == null) {
+                entry.time += interval(entry.speed);
+                offer(entry);
+            }
+
+            notifyTurnStarted(actor);
+            actor.takeTurn();
+            notifyTurnEnded(actor);
+        }
+
+        if (this.round >= 0)
+            notifyRoundEnded();
+    }
+
+    /**
+     * Schedules the given {@link Actor} on the timeline, if the turn player has been initialized
+     * and the actor is not already on it.
+     *
+     * @param actor the actor added to the encounter
+     */
+    @Override
+    public void actorAdded(Actor actor) {
+        if (this.encounter != null && !this.entries.containsKey(actor))
+            schedule(actor);
+    }
+
+    /**
+     * Removes the given {@link Actor} from the timeline, discarding all of its scheduled turns.
+     *
+     * @param actor the actor removed from the encounter
+     */
+    @Override
+    public void actorRemoved(Actor actor) {remove(actor);}
+
+    // ----------------------------------- timeline control ----------------------------------- //
+
+    /**
+     * Changes the speed of the given {@link Actor}. The time left until the actor's next turn is
+     * scaled by the ratio of its old and new speed, so an actor halfway to its next turn remains
+     * halfway to it.
+     *
+     * @param actor the actor whose speed to change
+     * @param speed the new speed of the actor
+     * @throws IllegalArgumentException if the actor is not on the timeline or the speed is not
+     *                                  positive
+     */
+    public void setSpeed(Actor actor, int speed) {
+        Entry entry = getEntry(actor);
+        validateSpeed(speed);
+        long remaining = entry.time - this.time;
+        entry.time  = this.time + ceilDiv(remaining * entry.speed, speed);
+        entry.speed = speed;
+        reschedule(entry);
+    }
+
+    /**
+     * @param actor the actor whose speed to return
+     * @return the speed of the given actor
+     * @throws IllegalArgumentException if the actor is not on the timeline
+     */
+    public int getSpeed(Actor actor) {return getEntry(actor).speed;}
+
+    /**
+     * Moves the next regular turn of the given {@link Actor} by the given number of ticks down the
+     * timeline. The turns following it are scheduled relative to the delayed turn.
+     *
+     * @param actor the actor whose turn to delay
+     * @param delay the number of ticks to delay the turn by
+     * @throws IllegalArgumentException if the actor is not on the timeline or the delay is
+     *                                  negative
+     */
+    public void delayTurn(Actor actor, long delay) {
+        Entry entry = getEntry(actor);
+        if (delay < 0)
+            throw new IllegalArgumentException("Turn delay cannot be negative.");
+        entry.time += delay;
+        reschedule(entry);
+    }
+
+    /**
+     * Schedules a one-time turn of the given {@link Actor}, taken the given number of ticks from
+     * the current tick, in addition to its regular turns. Extra turns are discarded if the actor
+     * is removed from the timeline before taking them.
+     *
+     * @param actor the actor to grant the extra turn to
+     * @param delay the number of ticks after which the extra turn is taken
+     * @throws IllegalArgumentException if the actor is not on the timeline or the delay is
+     *                                  negative
+     */
+    public void grantExtraTurn(Actor actor, long delay) {
+        Entry owner = getEntry(actor);
+        if (delay < 0)
+            throw new IllegalArgumentException("Extra turn delay cannot be negative.");
+        Entry extra = new Entry(actor, owner, owner.speed);
+        extra.time = this.time + delay;
+        offer(extra);
+    }
+
+    /**
+     * Schedules a one-time turn of the given {@link Actor}, taken after all other turns scheduled
+     * at the current tick.
+     *
+     * @param actor the actor to grant the extra turn to
+     * @throws IllegalArgumentException if the actor is not on the timeline
+     * @see #grantExtraTurn(Actor, long)
+     */
+    public void grantExtraTurn(Actor actor) {grantExtraTurn(actor, 0);}
+
+    /**
+     * @param actor the actor whose next turn to return
+     * @return the tick at which the given actor takes its next regular turn
+     * @throws IllegalArgumentException if the actor is not on the timeline
+     */
+    public long getNextTurnTime(Actor actor) {return getEntry(actor).time;}
+
+    /**
+     * @param actor the actor to check
+     * @return <code>true</code> if the given actor is on the timeline, <code>false</code>
+     * otherwise
+     */
+    public boolean isScheduled(Actor actor) {return this.entries.containsKey(actor);}
+
+    /** @return the current tick of the timeline */
+    public long getTime() {return this.time;}
+
+    /** @return the current round (or <code>-1</code> if no round has started yet) */
+    public long getRound() {return this.round;}
+
+    // ------------------------------------ entry handling ------------------------------------ //
+
+    /**
+     * Adds the given {@link Actor} to the timeline, scheduling its first turn a full interval of
+     * its initial speed from the current tick.
+     *
+     * @param actor the actor to schedule
+     * @throws NullPointerException     if the actor is <code>null</code>
+     * @throws IllegalArgumentException if the initial speed of the actor is not positive
+     */
+    private void schedule(Actor actor) {
+        Objects.requireNonNull(actor, "Cannot schedule null actor.");
+        int speed = this.initialSpeed.applyAsInt(actor);
+        validateSpeed(speed);
+        Entry entry = new Entry(actor, null, speed);
+        entry.time = this.time + interval(speed);
+        this.entries.put(actor, entry);
+        offer(entry);
+    }
+
+    /**
+     * Removes the given {@link Actor} from the timeline. Its extra turns are discarded once they
+     * reach the top of the heap.
+     *
+     * @param actor the actor to remove
+     */
+    private void remove(Actor actor) {
+        Entry entry = this.entries.remove(actor);
+        if (entry != null && entry.position >= 0)
+            removeAt(entry.position);
+    }
+
+    /**
+     * @param actor the actor whose regular entry to return
+     * @return the regular entry of the given actor
+     * @throws IllegalArgumentException if the actor is not on the timeline
+     */
+    private Entry getEntry(Actor actor) {
+        Entry entry = this.entries.get(actor);
+        if (entry == null)
+            throw new IllegalArgumentException("Actor is not scheduled on the timeline.");
+        return entry;
+    }
+
+    /**
+     * Moves the given entry to its place in the heap after its tick has changed. Changing the tick
+     * of an entry counts as scheduling it anew - it is placed after the turns already scheduled at
+     * the same tick.
+     *
+     * @param entry the entry whose tick has changed
+     */
+    private void reschedule(Entry entry) {
+        if (entry.position < 0)
+            return;
+        removeAt(entry.position);
+        offer(entry);
+    }
+
+    /**
+     * @param speed the speed of an actor
+     * @return the number of ticks between the turns of an actor with the given speed
+     */
+    private static long interval(int speed) {return ceilDiv(ROUND_LENGTH * BASE_SPEED, speed);}
+
+    /**
+     * @param time a tick of the timeline
+     * @return the round the given tick belongs to
+     */
+    private static long roundOf(long time) {return Math.max(0, time - 1) / ROUND_LENGTH;}
+
+    /**
+     * @param speed the speed to validate
+     * @throws IllegalArgumentException if the speed is not positive
+     */
+    private static void validateSpeed(int speed) {
+        if (speed <= 0)
+            throw new IllegalArgumentException("Speed must be positive.");
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    // ------------------------------------ heap operations ----------------------------------- //
+
+    /** @param entry the entry to add to the heap, assigning it the next sequence number */
+    private void offer(Entry entry) {
+        entry.sequence = this.sequence++;
+        if (this.size == this.heap.length)
+            this.heap = Arrays.copyOf(this.heap, this.size * 2);
+        this.heap[this.size] = entry;
+        entry.position       = this.size++;
+        siftUp(entry.position);
+    }
+
+    /** Removes the entry at the top of the heap. */
+    private void poll() {removeAt(0);}
+
+    /** @param position the position of the entry to remove from the heap */
+    private void removeAt(int position) {
+        Entry removed = this.heap[position];
+        Entry last    = this.heap[--this.size];
+        this.heap[this.size] = null;
+        removed.position     = -1;
+        if (position == this.size)
+            return;
+        this.heap[position] = last;
+        last.position       = position;
+        siftDown(position);
+        siftUp(last.position);
+    }
+
+    private void siftUp(int position) {
+        Entry entry = this.heap[position];
+        while (position > 0) {
+            int   parentPosition = (position - 1) / 2;
+            Entry parent         = this.heap[parentPosition];
+            if (!precedes(entry, parent))
+                break;
+            place(parent, position);
+            position = parentPosition;
+        }
+        place(entry, position);
+    }
+
+    private void siftDown(int position) {
+        Entry entry = this.heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= this.size)
+                break;
+            if (child + 1 < this.size && precedes(this.heap[child + 1], this.heap[child]))
+                child++;
+            if (!precedes(this.heap[child], entry))
+                break;
+            place(this.heap[child], position);
+            position = child;
+        }
+        place(entry, position);
+    }
+
+    private void place(Entry entry, int position) {
+        this.heap[position] = entry;
+        entry.position      = position;
+    }
+
+    /**
+     * @return <code>true</code> if the first entry's turn is taken before the second's,
+     * <code>false</code> otherwise
+     */
+    private static boolean precedes(Entry first, Entry second) {
+        if (first.time != second.time)
+            return first.time < second.time;
+        return first.sequence < second.sequence;
+    }
+}
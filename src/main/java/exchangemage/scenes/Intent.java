@@ -0,0 +1,94 @@
+package exchangemage.scenes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.Enemy;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.targeting.Targetable;
+
+/**
+ * The planned turn of an {@link Enemy} - an ordered list of {@link Effect}s along with the
+ * targets chosen for them, computed by an {@link IntentPlanner} against an
+ * {@link EncounterSnapshot}. An intent is committed by setting the planned targets and
+ * evaluating the effects through the {@link EffectPlayer}.
+ * <br><br>
+ * Every intent declares the {@link Actor}s whose state it was planned on. The actor targets of
+ * its steps are always among them. An intent is invalidated once the state of any of these actors
+ * changes, in which case it is planned again before being committed.
+ *
+ * @see IntentPlanner
+ * @see PlanningTurnPlayer
+ */
+public final class Intent {
+    /** A single planned effect of an intent, along with its target. */
+    public static final class Step {
+        /** The effect to evaluate. */
+        private final Effect<?> effect;
+
+        /** The target planned for the effect. */
+        private final Targetable target;
+
+        /**
+         * @param effect the effect to evaluate
+         * @param target the target planned for the effect
+         * @throws NullPointerException if the effect or target is <code>null</code>
+         */
+        public Step(Effect<?> effect, Targetable target) {
+            Objects.requireNonNull(effect, "Effect of intent step cannot be null.");
+            Objects.requireNonNull(target, "Target of intent step cannot be null.");
+            this.effect = effect;
+            this.target = target;
+        }
+
+        /** @return the effect to evaluate */
+        public Effect<?> getEffect() {return this.effect;}
+
+        /** @return the target planned for the effect */
+        public Targetable getTarget() {return this.target;}
+    }
+
+    /** An intent with no steps and no dependencies, i.e. an enemy passing its turn. */
+    public static final Intent PASS = new Intent(List.of(), Set.of());
+
+    /** The steps of the intent, in the order in which they are committed. */
+    private final List<Step> steps;
+
+    /** The actors whose state the intent was planned on. */
+    private final Set<Actor> dependencies;
+
+    /**
+     * @param steps        the steps of the intent, in the order in which they are committed
+     * @param dependencies the actors whose state the intent was planned on (the actor targets of
+     *                     the steps are added to them)
+     * @throws NullPointerException if the steps, dependencies or any of them are
+     *                              <code>null</code>
+     */
+    public Intent(List<Step> steps, Set<? extends Actor> dependencies) {
+        Objects.requireNonNull(steps, "Steps of intent cannot be null.");
+        Objects.requireNonNull(dependencies, "Dependencies of intent cannot be null.");
+        List<Step>           stepList      = new ArrayList<>(steps.size());
+        LinkedHashSet<Actor> dependencySet = new LinkedHashSet<>();
+        for (Actor actor : dependencies)
+            dependencySet.add(Objects.requireNonNull(actor, "Dependency cannot be null."));
+        for (Step step : steps) {
+            stepList.add(Objects.requireNonNull(step, "Step of intent cannot be null."));
+            if (step.getTarget() instanceof Actor)
+                dependencySet.add((Actor) step.getTarget());
+        }
+        this.steps        = Collections.unmodifiableList(stepList);
+        this.dependencies = Collections.unmodifiableSet(dependencySet);
+    }
+
+    /** @return an unmodifiable list of the steps of the intent */
+    public List<Step> getSteps() {return this.steps;}
+
+    /** @return an unmodifiable set of the actors whose state the intent was planned on */
+    public Set<Actor> getDependencies() {return this.dependencies;}
+}
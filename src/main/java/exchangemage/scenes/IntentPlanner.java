@@ -0,0 +1,23 @@
+package exchangemage.scenes;
+
+import exchangemage.actors.Enemy;
+
+/**
+ * A function planning the turns of {@link Enemy}s for a {@link PlanningTurnPlayer}. At the start
+ * of each round the planner is called concurrently for all enemies, on the threads of a shared
+ * planning pool - it should only read the given {@link PlanningRequest}, never the live state of
+ * the game. Planners relying on randomness should draw only from the
+ * {@link PlanningRequest#getRandom random generator} of the request.
+ *
+ * @see Intent
+ * @see PlanningRequest
+ * @see PlanningTurnPlayer
+ */
+@FunctionalInterface
+public interface IntentPlanner {
+    /**
+     * @param request the request holding the snapshots and actions to plan the turn with
+     * @return the planned intent of the enemy (or {@link Intent#PASS} to pass its turn)
+     */
+    Intent plan(PlanningRequest request);
+}
@@ -0,0 +1,68 @@
+package exchangemage.scenes;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+import exchangemage.actors.Enemy;
+import exchangemage.base.RandomService;
+import exchangemage.effects.Effect;
+
+/**
+ * The input of an {@link IntentPlanner} planning the turn of an {@link Enemy}, prepared on the
+ * thread running the encounter. A request holds only data which can be read from any thread - a
+ * snapshot of the encounter and of the enemy, an immutable copy of the enemy's actions and a
+ * random number generator of its own - so planners never read the live state of the game.
+ *
+ * @see IntentPlanner
+ * @see PlanningTurnPlayer
+ */
+public final class PlanningRequest {
+    /** The snapshot of the enemy whose turn to plan. */
+    private final ActorSnapshot enemy;
+
+    /** The effects evaluated by the enemy during its turns, in order. */
+    private final List<Effect<?>> actions;
+
+    /** The snapshot of the encounter to plan against. */
+    private final EncounterSnapshot snapshot;
+
+    /** The random number generator of the planner, confined to the planning thread. */
+    private final RandomGenerator random;
+
+    /**
+     * @param enemy    the snapshot of the enemy whose turn to plan
+     * @param snapshot the snapshot of the encounter to plan against
+     * @param random   the random number generator of the planner, forked from the
+     *                 {@link RandomService} of the session
+     * @throws NullPointerException if any of the arguments is <code>null</code>
+     */
+    PlanningRequest(ActorSnapshot enemy, EncounterSnapshot snapshot, RandomGenerator random) {
+        Objects.requireNonNull(enemy, "Enemy of planning request cannot be null.");
+        Objects.requireNonNull(snapshot, "Snapshot of planning request cannot be null.");
+        Objects.requireNonNull(random, "Random generator of planning request cannot be null.");
+        this.enemy    = enemy;
+        this.actions  = List.copyOf(((Enemy) enemy.getActor()).getActions());
+        this.snapshot = snapshot;
+        this.random   = random;
+    }
+
+    /** @return the snapshot of the enemy whose turn to plan */
+    public ActorSnapshot getEnemy() {return this.enemy;}
+
+    /**
+     * @return an immutable list of the effects evaluated by the enemy during its turns, copied
+     * when the request was prepared
+     */
+    public List<Effect<?>> getActions() {return this.actions;}
+
+    /** @return the snapshot of the encounter to plan against */
+    public EncounterSnapshot getSnapshot() {return this.snapshot;}
+
+    /**
+     * @return the random number generator of the planner - a stream forked from the
+     * {@link RandomService} of the session for this request only, so the planned intents do not
+     * depend on the order in which the planning threads run
+     */
+    public RandomGenerator getRandom() {return this.random;}
+}
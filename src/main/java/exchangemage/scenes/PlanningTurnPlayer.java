@@ -0,0 +1,266 @@
+package exchangemage.scenes;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.Enemy;
+import exchangemage.actors.Player;
+import exchangemage.base.GameStateLocator;
+import exchangemage.base.RandomService;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.targeting.TargetingManager;
+import exchangemage.effects.targeting.selectors.TargetSelector;
+
+/**
+ * A {@link TurnPlayer} which plans the turns of all {@link Enemy}s in parallel at the start of each
+ * round and commits them one by one, in turn order. The turn order is the same as in the
+ * {@link BasicTurnPlayer} - the {@link Player} first, followed by the enemies in the order in
+ * which they were added to the encounter.
+ * <br><br>
+ * Each round is played in two phases:
+ * <ul>
+ *     <li>
+ *         <b>Planning</b> - once the round has started, an {@link EncounterSnapshot} of the
+ *         encounter is taken and the {@link IntentPlanner} is called for every enemy alive, on
+ *         a shared pool with a bounded number of threads. All intents of a round are planned
+ *         against the same snapshot. Planners are given {@link PlanningRequest}s holding only
+ *         snapshot data, each with a random generator forked from the {@link RandomService} of
+ *         the session in turn order.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>Commit</b> - the actors take their turns in order, on the thread running the
+ *         encounter. Players take their turns as usual, while the turn of an enemy commits its
+ *         {@link Intent} through the {@link EffectPlayer} instead of calling
+ *         {@link Enemy#takeTurn}. An intent invalidated by the turns committed before it (i.e.
+ *         one of the actors it depends on has changed) is planned again, against a refreshed
+ *         snapshot, before being committed. Enemies added in the middle of a round are planned
+ *         the same way when their turn comes.
+ *     </li>
+ * </ul>
+ * Since the intents are committed in turn order, only valid intents are committed and every
+ * planner draws from its own random stream, the outcome of a round does not depend on the order
+ * in which the planning threads run or finish.
+ *
+ * @see IntentPlanner
+ * @see Intent
+ */
+public class PlanningTurnPlayer implements TurnPlayer {
+    /** The number of threads of the {@link #pool}. */
+    static final int PARALLELISM = Math.max(2, Math.min(8, Runtime.getRuntime()
+                                                                  .availableProcessors()));
+
+    /** The pool shared by all planning turn players, made of daemon threads. */
+    private static final ExecutorService pool = Executors.newFixedThreadPool(PARALLELISM, task -> {
+        Thread thread = new Thread(task, "intent-planning");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** The planner computing the intents of the enemies. */
+    private final IntentPlanner planner;
+
+    /** The turn order of the actors of the encounter. */
+    private final TurnQueue queue = new TurnQueue();
+
+    /** The intents of the current round which have not been committed yet. */
+    private final Map<Enemy, Future<Intent>> intents = new HashMap<>();
+
+    /** The number of intents planned on the thread running the encounter. */
+    private long replanCount = 0;
+
+    private Encounter encounter;
+
+    /**
+     * @param planner the planner computing the intents of the enemies
+     * @throws NullPointerException if the planner is <code>null</code>
+     */
+    public PlanningTurnPlayer(IntentPlanner planner) {
+        Objects.requireNonNull(planner, "Intent planner cannot be null.");
+        this.planner = planner;
+    }
+
+    @Override
+    public void init(Encounter encounter) {
+        this.encounter = encounter;
+        this.replanCount = 0;
+        queue.clear();
+        queue.add(GameStateLocator.getGameState().getPlayer());
+        encounter.getEnemies().forEach(queue::add);
+    }
+
+    @Override
+    public void start() {
+        while (encounter.enemiesAlive()) {
+            notifyRoundStarted();
+
+            queue.beginRound();
+            EncounterSnapshot snapshot = planRound();
+            try {
+                for (Actor actor = queue.next(); actor != null; actor = queue.next()) {
+                    if (actor.isDead()) {
+                        queue.remove(actor);
+                        continue;
+                    }
+
+                    notifyTurnStarted(actor);
+                    if (actor instanceof Enemy)
+                        commit((Enemy) actor, snapshot);
+                    else
+                        actor.takeTurn();
+                    notifyTurnEnded(actor);
+                }
+            } finally {
+                intents.values().forEach(intent -> intent.cancel(true));
+                intents.clear();
+            }
+
+            notifyRoundEnded();
+        }
+    }
+
+    /**
+     * Adds the given {@link Actor} at the end of the turn order, if the turn player has been
+     * initialized and the actor is not already a part of it.
+     *
+     * @param actor the actor added to the encounter
+     */
+    @Override
+    public void actorAdded(Actor actor) {
+        if (encounter != null && !queue.contains(actor))
+            queue.add(actor);
+    }
+
+    /**
+     * Removes the given {@link Actor} from the turn order.
+     *
+     * @param actor the actor removed from the encounter
+     */
+    @Override
+    public void actorRemoved(Actor actor) {queue.remove(actor);}
+
+    /**
+     * @return the number of intents planned on the thread running the encounter since the turn
+     * player was initialized - either because they were invalidated by earlier turns or because
+     * their enemy was added in the middle of a round
+     */
+    public long getReplanCount() {return this.replanCount;}
+
+    // -------------------------------------- planning --------------------------------------- //
+
+    /**
+     * Takes a snapshot of the encounter and submits the planning of the intents of all queued
+     * enemies alive to the {@link #pool}.
+     *
+     * @return the snapshot the intents are planned against
+     */
+    private EncounterSnapshot planRound() {
+        EncounterSnapshot snapshot = EncounterSnapshot.take(encounter);
+        for (ActorSnapshot enemySnapshot : snapshot.getEnemies()) {
+            Enemy enemy = (Enemy) enemySnapshot.getActor();
+            if (enemySnapshot.isDead() || !queue.contains(enemy))
+                continue;
+            PlanningRequest request = new PlanningRequest(enemySnapshot, snapshot, forkRandom());
+            intents.put(enemy, pool.submit(() -> planner.plan(request)));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Commits the intent of the given {@link Enemy}, planning it again against a refreshed
+     * snapshot if it has been invalidated since the round started (or if it has not been planned
+     * at all).
+     *
+     * @param enemy    the enemy whose turn to commit
+     * @param snapshot the snapshot the intents of the round have been planned against
+     * @throws IllegalStateException if the planning of the intent has failed
+     */
+    private void commit(Enemy enemy, EncounterSnapshot snapshot) {
+        Intent intent = await(intents.remove(enemy));
+        if (intent == null || !snapshot.isValid(intent)) {
+            EncounterSnapshot refreshed = snapshot.refresh(encounter);
+            PlanningRequest   request   = new PlanningRequest(refreshed.get(enemy), refreshed,
+                                                              forkRandom());
+            intent = Objects.requireNonNull(planner.plan(request),
+                                            "Planned intent cannot be null.");
+            replanCount++;
+        }
+        execute(enemy, intent);
+    }
+
+    /**
+     * Forks a random number generator for a single {@link PlanningRequest} from the
+     * {@link RandomService} of the session. Generators are forked on the thread running the
+     * encounter, in turn order, so every planner is given the same stream in every replay of a
+     * seeded session.
+     *
+     * @return the forked generator (or an unseeded generator if the session does not provide a
+     * random service)
+     */
+    private static RandomGenerator forkRandom() {
+        RandomService randomService = GameStateLocator.getGameState().getRandomService();
+        if (randomService == null)
+            return new SplittableRandom();
+        return randomService.fork().getStream(RandomService.StreamType.ACTOR, 0);
+    }
+
+    /**
+     * @param future the future of a planned intent (or <code>null</code>)
+     * @return the planned intent (or <code>null</code> if it has not been planned or the waiting
+     * has been interrupted)
+     * @throws IllegalStateException if the planning of the intent has failed
+     */
+    private static Intent await(Future<Intent> future) {
+        if (future == null)
+            return null;
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Intent planning failed.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Evaluates the steps of the given {@link Intent} in order, with the planned targets set,
+     * and resolves the effects they enqueue. Steps whose target is no longer valid for their
+     * effect are skipped. All decisions made during the commit share a decision window of the
+     * {@link TargetingManager}, limited to the enemy's turn budget.
+     *
+     * @param enemy  the enemy whose intent to execute
+     * @param intent the intent to execute
+     */
+    private static void execute(Enemy enemy, Intent intent) {
+        if (intent.getSteps().isEmpty())
+            return;
+
+        EffectPlayer     effectPlayer     = GameStateLocator.getGameState().getEffectPlayer();
+        TargetingManager targetingManager = effectPlayer.getTargetingManager();
+        targetingManager.openDecisionWindow(enemy.getTurnBudget());
+        try {
+            for (Intent.Step step : intent.getSteps()) {
+                Effect<?>         effect   = step.getEffect();
+                TargetSelector<?> selector = effect.getTargetSelector();
+                if (effect.hasTarget() || !selector.isValidTarget(step.getTarget()))
+                    continue;
+                selector.setTarget(step.getTarget());
+                effectPlayer.evaluateEffect(effect);
+            }
+            effectPlayer.resolveQueue();
+        } finally {
+            targetingManager.closeDecisionWindow();
+            intent.getSteps().forEach(step -> step.getEffect().reset());
+        }
+    }
+}
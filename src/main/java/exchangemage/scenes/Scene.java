@@ -1,10 +1,13 @@
 package exchangemage.scenes;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
 import exchangemage.actors.Actor;
+import exchangemage.actors.DeckHolderActor;
 import exchangemage.actors.Player;
 import exchangemage.base.GameState;
 import exchangemage.base.GameStateLocator;
@@ -15,6 +18,9 @@ import exchangemage.effects.EffectPlayer;
 import exchangemage.effects.deployers.PersistentEffect;
 import exchangemage.effects.deployers.PersistentEffectsHolder;
 import exchangemage.effects.targeting.Targetable;
+import exchangemage.effects.targeting.TargetableSet;
+import exchangemage.effects.triggers.CachedTrigger;
+import exchangemage.effects.triggers.TriggerCache;
 
 /**
  * Base class for all scenes in the game. A scene is a container for {@link Actor}s and
@@ -30,21 +36,73 @@ import exchangemage.effects.targeting.Targetable;
  * @see Encounter
  */
 public abstract class Scene implements Targetable, PersistentEffectsHolder, Observable {
-    /** The set of {@link Actor}s present in the scene, including the {@link Player}. */
+    /**
+     * An enum defining events published by all {@link Scene}s to their {@link Observer}s when the
+     * set of {@link Actor}s present in them changes.
+     */
+    public enum SceneEvent implements Observable.Event {
+        /** Event used to notify {@link Observer}s that an actor has been added to the scene. */
+        ACTOR_ADDED,
+        /** Event used to notify {@link Observer}s that an actor has left the scene. */
+        ACTOR_REMOVED
+    }
+
+    /**
+     * The set of {@link Actor}s present in the scene, including the {@link Player}. Should only be
+     * modified through the {@link #addActor} and {@link #removeActor} methods so that the
+     * {@link #targetableIndex} remains up to date.
+     */
     protected final Set<Actor> actors = new HashSet<>();
 
+    /** The index of all {@link Targetable}s present in the scene, bucketed by class. */
+    private final TargetableIndex targetableIndex = new TargetableIndex();
+
     /** The {@link EffectPlayer} used to evaluate and resolve {@link Effect}s in the scene. */
     private final EffectPlayer effectPlayer = new EffectPlayer();
 
     /** The set of {@link PersistentEffect}s active in the scene. */
     private final Set<PersistentEffect> environmentalEffects = new HashSet<>();
 
+    /** The results of the {@link CachedTrigger}s evaluated in the scene. */
+    private final TriggerCache triggerCache = new TriggerCache();
+
     /** The set of {@link Observer}s observing the scene. */
     private final Set<Observer> observers = new HashSet<>();
 
+    /**
+     * Counter incremented every time the set of {@link Actor}s or {@link #environmentalEffects}
+     * of the scene changes.
+     *
+     * @see #getStateVersion
+     */
+    private long stateVersion = 0;
+
     /** @param environmentalEffects the set of {@link PersistentEffect}s active in the scene. */
     public Scene(Set<PersistentEffect> environmentalEffects) {
-        this.actors.add(GameStateLocator.getGameState().getPlayer());
+        this(environmentalEffects, Set.of());
+    }
+
+    /**
+     * Creates a scene in which the given {@link Actor}s are present from the start, along with
+     * the {@link Player}. The actors are added without notifying the {@link Observer}s of the
+     * scene, as no observer can have been added yet, which lets inheriting classes pass their
+     * initial actors here instead of calling the overridable {@link #addActor} method from their
+     * constructors.
+     *
+     * @param environmentalEffects the set of {@link PersistentEffect}s active in the scene
+     * @param actors               the actors present in the scene from the start
+     * @throws NullPointerException     if the actors or any of them are <code>null</code>
+     * @throws IllegalArgumentException if an actor is given more than once
+     */
+    protected Scene(Set<PersistentEffect> environmentalEffects,
+                    Collection<? extends Actor> actors) {
+        Objects.requireNonNull(actors, "Actors cannot be null.");
+        Player player = GameStateLocator.getGameState().getPlayer();
+        this.actors.add(player);
+        if (player != null)
+            this.targetableIndex.addActor(player);
+        for (Actor actor : actors)
+            indexActor(actor);
 
         if (environmentalEffects != null)
             environmentalEffects.forEach(this::addPersistentEffect);
@@ -57,7 +115,37 @@ public abstract class Scene implements Targetable, PersistentEffectsHolder, Obse
     public abstract void start();
 
     /**
-     * Removes the specified {@link Actor} from the scene.
+     * Adds the specified {@link Actor} to the scene and notifies the {@link Observer}s of the
+     * scene of the {@link SceneEvent#ACTOR_ADDED} event.
+     *
+     * @param actor actor to add
+     * @throws NullPointerException     if the actor is <code>null</code>
+     * @throws IllegalArgumentException if the actor has already been added to the scene
+     */
+    public void addActor(Actor actor) {
+        indexActor(actor);
+        this.stateVersion++;
+        notifyObservers(SceneEvent.ACTOR_ADDED);
+    }
+
+    /**
+     * Adds the specified {@link Actor} to the {@link #actors} and the {@link #targetableIndex}.
+     *
+     * @param actor actor to add
+     * @throws NullPointerException     if the actor is <code>null</code>
+     * @throws IllegalArgumentException if the actor has already been added to the scene
+     */
+    private void indexActor(Actor actor) {
+        Objects.requireNonNull(actor, "Cannot add null actor.");
+        if (this.actors.contains(actor))
+            throw new IllegalArgumentException("Cannot add actor that has already been added.");
+        this.actors.add(actor);
+        this.targetableIndex.addActor(actor);
+    }
+
+    /**
+     * Removes the specified {@link Actor} from the scene and notifies the {@link Observer}s of the
+     * scene of the {@link SceneEvent#ACTOR_REMOVED} event.
      *
      * @param actor actor to remove
      * @throws NullPointerException     if the actor is <code>null</code>
@@ -68,24 +156,167 @@ public abstract class Scene implements Targetable, PersistentEffectsHolder, Obse
         if (!this.actors.contains(actor))
             throw new IllegalArgumentException("Cannot remove actor that has not been added.");
         this.actors.remove(actor);
+        this.targetableIndex.removeActor(actor);
+        this.stateVersion++;
+        notifyObservers(SceneEvent.ACTOR_REMOVED);
     }
 
     // ------------------------------------ getter methods ------------------------------------ //
 
+    /** @return an unmodifiable view of the set of {@link Actor}s present in the scene */
+    public Set<Actor> getActors() {return Collections.unmodifiableSet(this.actors);}
+
     /**
-     * @return all {@link Targetable}s present in the scene, including the ones held by the
-     * {@link Actor}s present
+     * @return an unmodifiable view of all {@link Targetable}s present in the scene, including the
+     * ones held by the {@link Actor}s present
+     * @see #getTargetables(Class)
+     */
+    public Set<Targetable> getTargetables() {return getTargetables(Targetable.class);}
+
+    /**
+     * Returns the {@link Targetable}s present in the scene which are instances of the given class
+     * (or interface). The targetables are kept in an incrementally maintained index, so the
+     * returned view is neither allocated nor filtered upon calling this method.
+     *
+     * @param targetClass the class of targetables to return
+     * @param <T>         the type of targetables to return
+     * @return an unmodifiable, live view of the targetables present in the scene which are
+     * instances of the given class
+     * @throws NullPointerException if the class is <code>null</code>
      */
-    public Set<Targetable> getTargetables() {
-        Set<Targetable> targetables = new HashSet<>();
-        this.actors.forEach(actor -> {
-            targetables.addAll(actor.getTargetables());
-            targetables.add(actor);
-        });
-        targetables.addAll(this.environmentalEffects);
-        return targetables;
+    public <T extends Targetable> Set<T> getTargetables(Class<T> targetClass) {
+        return this.targetableIndex.getTargetables(targetClass);
     }
 
+    /**
+     * Returns a new set of the {@link Targetable}s present in the scene which are instances of
+     * the given class and are not among the excluded targetables. The set is computed on the
+     * slots of the targetables - if the excluded targetables are a {@link TargetableSet}, they are
+     * removed from the candidates a word at a time.
+     *
+     * @param targetClass the class of targetables to return
+     * @param excluded    the targetables to exclude (e.g. the forbidden targets)
+     * @param <T>         the type of targetables to return
+     * @return a new set of the targetables present in the scene which are instances of the given
+     * class and are not excluded
+     * @throws NullPointerException if the class or the excluded targetables are <code>null</code>
+     * @see #getSlot
+     */
+    public <T extends Targetable> Set<T> getTargetables(Class<T> targetClass,
+                                                        Set<Targetable> excluded) {
+        Objects.requireNonNull(targetClass, "Target class cannot be null.");
+        Objects.requireNonNull(excluded, "Excluded targetables cannot be null.");
+        return this.targetableIndex.getTargetables(targetClass, excluded, this);
+    }
+
+    /**
+     * Returns the dense integer slot assigned to the given {@link Targetable} when it was added to
+     * the scene. A targetable keeps its slot for as long as it is present in the scene or its slot
+     * is retained (see {@link #retainSlot}) - once neither holds, the slot is freed and reused by
+     * the next targetable added to the scene.
+     *
+     * @param targetable the targetable to get the slot of
+     * @return the slot of the targetable (or <code>-1</code> if it is neither present in the scene
+     * nor retained)
+     * @see TargetableSet
+     */
+    public int getSlot(Targetable targetable) {return this.targetableIndex.getSlot(targetable);}
+
+    /**
+     * Retains the given slot, so that it stays assigned to its {@link Targetable} (even after the
+     * targetable is removed from the scene) until it is released. Used by {@link TargetableSet}s
+     * to keep the slots of their elements from being reused by other targetables.
+     *
+     * @param slot the slot to retain
+     * @throws IllegalArgumentException if the slot is not assigned to any targetable
+     * @see #releaseSlot
+     */
+    public void retainSlot(int slot) {this.targetableIndex.retainSlot(slot);}
+
+    /**
+     * Releases a retention of the given slot (see {@link #retainSlot}).
+     *
+     * @param slot the slot to release
+     * @throws IllegalArgumentException if the slot is not retained
+     */
+    public void releaseSlot(int slot) {this.targetableIndex.releaseSlot(slot);}
+
+    /**
+     * Returns the next slot of a {@link Targetable} present in the scene which is an instance of
+     * the given class. Iterating over the slots with this method and {@link #getTargetable(int)}
+     * visits the targetables of the class in the order of their slots without allocating a new
+     * collection:
+     * <pre>{@code
+     * for (int slot = scene.nextSlot(type, 0); slot >= 0; slot = scene.nextSlot(type, slot + 1))
+     *     visit(scene.getTargetable(slot));
+     * }</pre>
+     *
+     * @param targetClass the class of targetables to look for
+     * @param fromSlot    the slot to start looking from (inclusive)
+     * @return the lowest slot greater than or equal to the given one assigned to a targetable
+     * present in the scene which is an instance of the given class (or <code>-1</code> if there
+     * is none)
+     * @throws NullPointerException if the class is <code>null</code>
+     * @see #getSlot
+     */
+    public int nextSlot(Class<? extends Targetable> targetClass, int fromSlot) {
+        Objects.requireNonNull(targetClass, "Target class cannot be null.");
+        return this.targetableIndex.nextSlot(targetClass, fromSlot);
+    }
+
+    /**
+     * @param slot the slot to get the targetable of
+     * @return the {@link Targetable} assigned the given slot (or <code>null</code> if the slot is
+     * free)
+     * @see #getSlot
+     */
+    public Targetable getTargetable(int slot) {return this.targetableIndex.getTargetable(slot);}
+
+    /**
+     * Returns the {@link DeckHolderActor}s present in the scene whose current health is within
+     * the given range. The actors are kept in an index sorted by health, so only the actors within
+     * the range are visited.
+     *
+     * @param minHealth the minimum current health (inclusive)
+     * @param maxHealth the maximum current health (inclusive)
+     * @return a new set of the actors whose current health is within the range, in ascending order
+     * of health (or an empty set if the range is empty)
+     */
+    public Set<DeckHolderActor> getActorsWithHealth(int minHealth, int maxHealth) {
+        return this.targetableIndex.getActorsWithHealth(minHealth, maxHealth);
+    }
+
+    /**
+     * Returns the {@link Actor}s present in the scene holding at least one
+     * {@link PersistentEffect} of the given type, looked up through the index of the persistent
+     * effects present in the scene.
+     *
+     * @param effectType the type of persistent effect
+     * @return a new set of the actors holding a persistent effect of the given type
+     * @throws NullPointerException if the effect type is <code>null</code>
+     */
+    public Set<Actor> getActorsHolding(Class<? extends PersistentEffect> effectType) {
+        Objects.requireNonNull(effectType, "Effect type cannot be null.");
+        return this.targetableIndex.getActorsHolding(effectType);
+    }
+
+    /**
+     * Returns the state version of the scene, which changes every time the set of {@link Actor}s
+     * present, the {@link #environmentalEffects} or the state of any of the actors present
+     * changes. The version is the sum of the scene's own {@link #stateVersion} and the number of
+     * updates published by the actors present, counted by the {@link #targetableIndex} observing
+     * them, so it is computed in constant time.
+     *
+     * @return the current state version of the scene
+     * @see Actor#getStateVersion
+     */
+    public long getStateVersion() {
+        return this.stateVersion + this.targetableIndex.getActorUpdates();
+    }
+
+    /** @return the results of the {@link CachedTrigger}s evaluated in the scene */
+    public TriggerCache getTriggerCache() {return this.triggerCache;}
+
     /**
      * @return the {@link EffectPlayer} used to evaluate and resolve {@link Effect}s in the scene
      */
@@ -112,6 +343,9 @@ public abstract class Scene implements Targetable, PersistentEffectsHolder, Obse
                                                "been added.");
         effect.setSource(this);
         this.environmentalEffects.add(effect);
+        this.targetableIndex.add(effect);
+        this.stateVersion++;
+        notifyObservers(PersistentEffectsHolderEvent.PERSISTENT_EFFECT_ADDED);
     }
 
     @Override
@@ -121,6 +355,9 @@ public abstract class Scene implements Targetable, PersistentEffectsHolder, Obse
             throw new IllegalArgumentException("Cannot remove persistent effect that has not " +
                                                "been added.");
         this.environmentalEffects.remove(effect);
+        this.targetableIndex.remove(effect);
+        this.stateVersion++;
+        notifyObservers(PersistentEffectsHolderEvent.PERSISTENT_EFFECT_REMOVED);
     }
 
     /**
@@ -0,0 +1,450 @@
+package exchangemage.scenes;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.Actor.ActorEvent;
+import exchangemage.actors.Actor.ActorEventSet;
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.base.Observable;
+import exchangemage.base.Observer;
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.effects.deployers.PersistentEffectsHolder.PersistentEffectsHolderEvent;
+import exchangemage.effects.targeting.Targetable;
+import exchangemage.effects.targeting.TargetableSet;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector;
+
+/**
+ * An auxiliary class used by {@link Scene}s to keep an index of all {@link Targetable}s present
+ * in them, bucketed by every class and interface they are an instance of. The index lets
+ * {@link VariableTargetSelector}s iterate only over the targetables of their target class instead
+ * of gathering and filtering all targetables of the scene on every selection.
+ * <br><br>
+ * The index is maintained incrementally - the scene registers and unregisters its
+ * {@link Actor}s and environmental {@link PersistentEffect}s as they are added and removed, while
+ * the index observes the registered actors and re-indexes the targetables of an actor whenever
+ * the set of persistent effects it holds changes.
+ * <br><br>
+ * Every targetable indexed by the scene is also assigned a dense integer slot. Each bucket is
+ * mirrored by a bitset of the slots of its targetables, so filtering a bucket against a
+ * {@link TargetableSet} is performed a word at a time. A targetable keeps its slot for as long as
+ * it is indexed or its slot is retained by a targetable set (see {@link #retainSlot}) - once
+ * neither holds, the index drops its reference to the targetable and the slot is reused by the
+ * next targetable indexed, lowest free slot first. Retaining the slots of the elements of a
+ * targetable set guarantees that its bits never refer to a different targetable.
+ * <br><br>
+ * Aside from the buckets, the index keeps the following secondary indexes used by the target
+ * query planner of {@link VariableTargetSelector}s:
+ * <ul>
+ *     <li>
+ *         <b>Health index</b> - the registered {@link DeckHolderActor}s sorted by their current
+ *         health, re-read whenever an actor publishes an {@link ActorEvent}.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>Holder lookup</b> - the registered actors holding a persistent effect of a given
+ *         type, answered from the bucket of the effect type.
+ *     </li>
+ * </ul>
+ *
+ * @see Scene#getTargetables(Class)
+ * @see Scene#getSlot
+ * @see Scene#getActorsWithHealth
+ * @see Scene#getActorsHolding
+ */
+final class TargetableIndex implements Observer {
+    /**
+     * The classes and interfaces extending {@link Targetable} which instances of a given class are
+     * instances of, shared by all indexes.
+     */
+    private static final Map<Class<?>, List<Class<?>>> targetableTypes = new ConcurrentHashMap<>();
+
+    /** The indexed targetables, bucketed by class and interface. */
+    private final Map<Class<?>, Set<Targetable>> buckets = new HashMap<>();
+
+    /** The unmodifiable views of the {@link #buckets} returned by {@link #getTargetables}. */
+    private final Map<Class<?>, Set<Targetable>> views = new HashMap<>();
+
+    /** The slots of the targetables of each bucket, mirroring the {@link #buckets}. */
+    private final Map<Class<?>, BitSet> bucketSlots = new HashMap<>();
+
+    /** The slots assigned to the indexed targetables and the ones whose slots are retained. */
+    private final Map<Targetable, Integer> slots = new HashMap<>();
+
+    /** The targetables assigned each slot, by slot (<code>null</code> for free slots). */
+    private final List<Targetable> targetables = new ArrayList<>();
+
+    /** The free slots, reused by the targetables indexed next. */
+    private final BitSet freeSlots = new BitSet();
+
+    /** The number of retentions of each retained slot (see {@link #retainSlot}). */
+    private final Map<Integer, Integer> retentions = new HashMap<>();
+
+    /** The number of registrations of each indexed targetable. */
+    private final Map<Targetable, Integer> references = new HashMap<>();
+
+    /** The registered actors, along with the targetables indexed on their behalf. */
+    private final Map<Actor, Set<Targetable>> actors = new HashMap<>();
+
+    /** The registered {@link DeckHolderActor}s, bucketed and sorted by their current health. */
+    private final NavigableMap<Integer, Set<DeckHolderActor>> healthIndex = new TreeMap<>();
+
+    /** The health each registered {@link DeckHolderActor} is indexed under. */
+    private final Map<DeckHolderActor, Integer> indexedHealth = new HashMap<>();
+
+    /** The number of updates published by the registered actors. */
+    private long actorUpdates = 0;
+
+    /**
+     * Registers the given {@link Actor}, indexing it along with the targetables it holds, and
+     * starts observing it.
+     *
+     * @param actor the actor to register
+     * @throws NullPointerException     if the actor is <code>null</code>
+     * @throws IllegalArgumentException if the actor has already been registered
+     */
+    void addActor(Actor actor) {
+        Objects.requireNonNull(actor, "Cannot index null actor.");
+        if (this.actors.containsKey(actor))
+            throw new IllegalArgumentException("Cannot index actor that is already indexed.");
+
+        Set<Targetable> targetables = getActorTargetables(actor);
+        this.actors.put(actor, targetables);
+        targetables.forEach(this::add);
+        if (actor instanceof DeckHolderActor)
+            indexHealth((DeckHolderActor) actor);
+        actor.addObserver(this);
+    }
+
+    /**
+     * Unregisters the given {@link Actor}, removing it along with the targetables indexed on its
+     * behalf, and stops observing it.
+     *
+     * @param actor the actor to unregister
+     * @throws NullPointerException     if the actor is <code>null</code>
+     * @throws IllegalArgumentException if the actor has not been registered
+     */
+    void removeActor(Actor actor) {
+        Objects.requireNonNull(actor, "Cannot remove null actor from index.");
+        Set<Targetable> targetables = this.actors.remove(actor);
+        if (targetables == null)
+            throw new IllegalArgumentException("Cannot remove actor that is not indexed.");
+
+        targetables.forEach(this::remove);
+        if (actor instanceof DeckHolderActor)
+            unindexHealth((DeckHolderActor) actor);
+        actor.removeObserver(this);
+    }
+
+    /**
+     * Adds a registration of the given {@link Targetable} to the index.
+     *
+     * @param targetable the targetable to add
+     * @throws NullPointerException if the targetable is <code>null</code>
+     */
+    void add(Targetable targetable) {
+        Objects.requireNonNull(targetable, "Cannot index null targetable.");
+        if (this.references.merge(targetable, 1, Integer::sum) > 1)
+            return;
+
+        int slot = this.slots.computeIfAbsent(targetable, this::assignSlot);
+        for (Class<?> type : getTargetableTypes(targetable.getClass())) {
+            this.buckets.computeIfAbsent(type, key -> new LinkedHashSet<>()).add(targetable);
+            this.bucketSlots.computeIfAbsent(type, key -> new BitSet()).set(slot);
+        }
+    }
+
+    /**
+     * Removes a registration of the given {@link Targetable} from the index. The targetable is
+     * removed from its buckets once no registrations of it remain, and its slot is freed unless
+     * it is retained.
+     *
+     * @param targetable the targetable to remove
+     * @throws NullPointerException if the targetable is <code>null</code>
+     */
+    void remove(Targetable targetable) {
+        Objects.requireNonNull(targetable, "Cannot remove null targetable from index.");
+        Integer count = this.references.get(targetable);
+        if (count == null)
+            return;
+        if (count > 1) {
+            this.references.put(targetable, count - 1);
+            return;
+        }
+        this.references.remove(targetable);
+        int slot = this.slots.get(targetable);
+        for (Class<?> type : getTargetableTypes(targetable.getClass())) {
+            this.buckets.get(type).remove(targetable);
+            this.bucketSlots.get(type).clear(slot);
+        }
+        if (!this.retentions.containsKey(slot))
+            freeSlot(slot);
+    }
+
+    /**
+     * Retains the given slot, so that it stays assigned to its targetable (even after the
+     * targetable is removed from the index) until it is {@link #releaseSlot released}.
+     *
+     * @param slot the slot to retain
+     * @throws IllegalArgumentException if no targetable is assigned the slot
+     */
+    void retainSlot(int slot) {
+        if (getTargetable(slot) == null)
+            throw new IllegalArgumentException("Cannot retain free slot.");
+        this.retentions.merge(slot, 1, Integer::sum);
+    }
+
+    /**
+     * Releases a retention of the given slot. The slot is freed once it is neither retained nor
+     * assigned to an indexed targetable.
+     *
+     * @param slot the slot to release
+     * @throws IllegalArgumentException if the slot is not retained
+     */
+    void releaseSlot(int slot) {
+        Integer count = this.retentions.get(slot);
+        if (count == null)
+            throw new IllegalArgumentException("Cannot release slot that is not retained.");
+        if (count > 1) {
+            this.retentions.put(slot, count - 1);
+            return;
+        }
+        this.retentions.remove(slot);
+        if (!this.references.containsKey(this.targetables.get(slot)))
+            freeSlot(slot);
+    }
+
+    /**
+     * @param targetClass the class of targetables to return
+     * @param <T>         the type of targetables to return
+     * @return an unmodifiable, live view of all indexed targetables which are instances of the
+     * given class
+     * @throws NullPointerException if the class is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Targetable> Set<T> getTargetables(Class<T> targetClass) {
+        Objects.requireNonNull(targetClass, "Target class cannot be null.");
+        return (Set<T>) this.views.computeIfAbsent(
+                targetClass,
+                key -> Collections.unmodifiableSet(
+                        this.buckets.computeIfAbsent(key, type -> new LinkedHashSet<>())
+                )
+        );
+    }
+
+    /**
+     * @param targetClass the class of targetables to return
+     * @param excluded    the targetables to exclude
+     * @param scene       the scene the index belongs to
+     * @param <T>         the type of targetables to return
+     * @return a new set of the indexed targetables which are instances of the given class and
+     * are not excluded, in the order of their slots
+     */
+    <T extends Targetable> Set<T> getTargetables(Class<T> targetClass,
+                                                 Set<Targetable> excluded,
+                                                 Scene scene) {
+        Set<T> result = new LinkedHashSet<>();
+        BitSet bucket = this.bucketSlots.get(targetClass);
+        if (bucket == null)
+            return result;
+
+        BitSet active = (BitSet) bucket.clone();
+        if (excluded instanceof TargetableSet)
+            ((TargetableSet) excluded).removeFrom(active, scene);
+        else
+            for (Targetable targetable : excluded) {
+                Integer slot = this.slots.get(targetable);
+                if (slot != null)
+                    active.clear(slot);
+            }
+
+        for (int slot = active.nextSetBit(0); slot >= 0; slot = active.nextSetBit(slot + 1))
+            result.add(targetClass.cast(this.targetables.get(slot)));
+        return result;
+    }
+
+    /**
+     * @param targetClass the class of targetables to look for
+     * @param fromSlot    the slot to start looking from (inclusive)
+     * @return the lowest slot greater than or equal to the given one assigned to an indexed
+     * targetable which is an instance of the given class (or <code>-1</code> if there is none)
+     */
+    int nextSlot(Class<? extends Targetable> targetClass, int fromSlot) {
+        BitSet bucket = this.bucketSlots.get(targetClass);
+        return bucket != null ? bucket.nextSetBit(fromSlot) : -1;
+    }
+
+    /**
+     * @param targetable the targetable to get the slot of
+     * @return the slot assigned to the targetable (or <code>-1</code> if it is neither indexed
+     * nor retained)
+     */
+    int getSlot(Targetable targetable) {
+        Integer slot = this.slots.get(targetable);
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * @param slot the slot to get the targetable of
+     * @return the targetable assigned the given slot (or <code>null</code> if the slot is free)
+     */
+    Targetable getTargetable(int slot) {
+        return slot >= 0 && slot < this.targetables.size() ? this.targetables.get(slot) : null;
+    }
+
+    /**
+     * @param minHealth the minimum current health (inclusive)
+     * @param maxHealth the maximum current health (inclusive)
+     * @return a new set of the registered {@link DeckHolderActor}s whose current health is within
+     * the given range, in ascending order of health
+     */
+    Set<DeckHolderActor> getActorsWithHealth(int minHealth, int maxHealth) {
+        Set<DeckHolderActor> result = new LinkedHashSet<>();
+        if (minHealth > maxHealth)
+            return result;
+        for (Set<DeckHolderActor> bucket : this.healthIndex.subMap(minHealth, true,
+                                                                   maxHealth, true).values())
+            result.addAll(bucket);
+        return result;
+    }
+
+    /**
+     * @param effectType the type of persistent effect
+     * @return a new set of the registered {@link Actor}s holding at least one indexed
+     * {@link PersistentEffect} of the given type
+     */
+    Set<Actor> getActorsHolding(Class<? extends PersistentEffect> effectType) {
+        Set<Actor> result = new LinkedHashSet<>();
+        for (PersistentEffect effect : getTargetables(effectType))
+            if (effect.getSource() instanceof Actor && this.actors.containsKey(effect.getSource()))
+                result.add((Actor) effect.getSource());
+        return result;
+    }
+
+    /** @return the number of updates published by the registered actors so far */
+    long getActorUpdates() {return this.actorUpdates;}
+
+    /**
+     * Re-indexes the targetables of a registered {@link Actor} whenever the set of
+     * {@link PersistentEffect}s it holds changes, and re-reads the health of a registered
+     * {@link DeckHolderActor} whenever it publishes an {@link ActorEvent}. Every update is
+     * counted towards the {@link #actorUpdates}.
+     *
+     * @param publisher the {@link Observable} object that called this method
+     * @param event     the event to notify this observer of
+     */
+    @Override
+    public void update(Observable publisher, Observable.Event event) {
+        this.actorUpdates++;
+        if (event instanceof ActorEventSet && this.indexedHealth.containsKey(publisher)) {
+            DeckHolderActor actor = (DeckHolderActor) publisher;
+            if (this.indexedHealth.get(actor) != actor.getCurrentHealth()) {
+                unindexHealth(actor);
+                indexHealth(actor);
+            }
+            return;
+        }
+        if (!(event instanceof PersistentEffectsHolderEvent))
+            return;
+        Set<Targetable> indexed = this.actors.get(publisher);
+        if (indexed == null)
+            return;
+
+        Actor           actor   = (Actor) publisher;
+        Set<Targetable> current = getActorTargetables(actor);
+        for (Targetable targetable : indexed)
+            if (!current.contains(targetable))
+                remove(targetable);
+        for (Targetable targetable : current)
+            if (!indexed.contains(targetable))
+                add(targetable);
+        this.actors.put(actor, current);
+    }
+
+    /**
+     * @param targetable the targetable to assign a slot to
+     * @return the lowest free slot (or a new slot if there are no free slots)
+     */
+    private int assignSlot(Targetable targetable) {
+        int slot = this.freeSlots.nextSetBit(0);
+        if (slot < 0) {
+            this.targetables.add(targetable);
+            return this.targetables.size() - 1;
+        }
+        this.freeSlots.clear(slot);
+        this.targetables.set(slot, targetable);
+        return slot;
+    }
+
+    /** @param slot the slot to free, dropping the reference to its targetable */
+    private void freeSlot(int slot) {
+        this.slots.remove(this.targetables.get(slot));
+        this.targetables.set(slot, null);
+        this.freeSlots.set(slot);
+    }
+
+    /** @param actor the actor to add to the {@link #healthIndex} under its current health */
+    private void indexHealth(DeckHolderActor actor) {
+        int health = actor.getCurrentHealth();
+        this.indexedHealth.put(actor, health);
+        this.healthIndex.computeIfAbsent(health, key -> new LinkedHashSet<>()).add(actor);
+    }
+
+    /** @param actor the actor to remove from the {@link #healthIndex} */
+    private void unindexHealth(DeckHolderActor actor) {
+        Integer health = this.indexedHealth.remove(actor);
+        if (health == null)
+            return;
+        Set<DeckHolderActor> bucket = this.healthIndex.get(health);
+        bucket.remove(actor);
+        if (bucket.isEmpty())
+            this.healthIndex.remove(health);
+    }
+
+    /**
+     * @param actor the actor to get the targetables of
+     * @return the actor along with all the targetables it holds
+     */
+    private static Set<Targetable> getActorTargetables(Actor actor) {
+        Set<Targetable> targetables = new LinkedHashSet<>();
+        targetables.add(actor);
+        targetables.addAll(actor.getTargetables());
+        return targetables;
+    }
+
+    /**
+     * @param type the class to get the targetable types of
+     * @return the given class along with all its superclasses and interfaces which extend
+     * {@link Targetable}
+     */
+    private static List<Class<?>> getTargetableTypes(Class<?> type) {
+        return targetableTypes.computeIfAbsent(type, key -> {
+            Set<Class<?>> types = new LinkedHashSet<>();
+            collectTargetableTypes(key, types);
+            return List.copyOf(types);
+        });
+    }
+
+    /**
+     * @param type  the class to collect the targetable types of
+     * @param types the set to add the collected types to
+     */
+    private static void collectTargetableTypes(Class<?> type, Set<Class<?>> types) {
+        if (type == null || !Targetable.class.isAssignableFrom(type) || !types.add(type))
+            return;
+        collectTargetableTypes(type.getSuperclass(), types);
+        for (Class<?> implemented : type.getInterfaces())
+            collectTargetableTypes(implemented, types);
+    }
+}
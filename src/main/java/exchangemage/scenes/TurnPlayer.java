@@ -5,6 +5,8 @@ import exchangemage.base.Notification;
 import exchangemage.base.Observable;
 import exchangemage.base.Observer;
 import exchangemage.actors.Actor;
+import exchangemage.actors.ActorCounter;
+import exchangemage.actors.CounterScope;
 import exchangemage.effects.EffectPlayer;
 import exchangemage.effects.EffectSource;
 import exchangemage.effects.NotificationEffect;
@@ -55,16 +57,36 @@ public interface TurnPlayer {
      */
     void start();
 
+    /**
+     * Called by the {@link Encounter} the turn player manages whenever an {@link Actor} is added
+     * to it, e.g. when an actor is spawned in the middle of a round. Does nothing by default.
+     *
+     * @param actor the actor added to the encounter
+     * @see Encounter#addActor
+     */
+    default void actorAdded(Actor actor) {}
+
+    /**
+     * Called by the {@link Encounter} the turn player manages whenever an {@link Actor} is removed
+     * from it. Does nothing by default.
+     *
+     * @param actor the actor removed from the encounter
+     * @see Encounter#removeActor
+     */
+    default void actorRemoved(Actor actor) {}
+
     // ----------------------------- default notification methods ----------------------------- //
 
     /**
-     * Notifies {@link Observer}s of the current {@link Encounter} of the
-     * {@link TurnPlayerEvent#TURN_STARTED} event and plays a {@link NotificationEffect} with the
-     * {@link Actor} whose turn has started as the {@link EffectSource}.
+     * Advances the epoch of the {@link CounterScope#TURN} scope, resetting all turn-scoped
+     * {@link ActorCounter}s, then notifies {@link Observer}s of the current {@link Encounter} of
+     * the {@link TurnPlayerEvent#TURN_STARTED} event and plays a {@link NotificationEffect} with
+     * the {@link Actor} whose turn has started as the {@link EffectSource}.
      *
      * @param actor the actor whose turn has started
      */
     default void notifyTurnStarted(Actor actor) {
+        CounterScope.TURN.advance();
         notifyTurnPlayerEvent(TurnPlayerEvent.TURN_STARTED, actor);
     }
 
@@ -80,10 +102,12 @@ public interface TurnPlayer {
     }
 
     /**
-     * Notifies {@link Observer}s of the current {@link Encounter} of the
-     * {@link TurnPlayerEvent#ROUND_STARTED} event and plays a {@link NotificationEffect}.
+     * Advances the epoch of the {@link CounterScope#ROUND} scope, resetting all round-scoped
+     * {@link ActorCounter}s, then notifies {@link Observer}s of the current {@link Encounter} of
+     * the {@link TurnPlayerEvent#ROUND_STARTED} event and plays a {@link NotificationEffect}.
      */
     default void notifyRoundStarted() {
+        CounterScope.ROUND.advance();
         notifyTurnPlayerEvent(TurnPlayerEvent.ROUND_STARTED,
                               GameStateLocator.getGameState().getScene());
     }
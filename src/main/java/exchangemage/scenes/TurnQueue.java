@@ -0,0 +1,180 @@
+package exchangemage.scenes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import exchangemage.actors.Actor;
+
+/**
+ * A turn order of {@link Actor}s used by {@link TurnPlayer}s to iterate over the actors taking
+ * their turns during the rounds of an {@link Encounter}, while actors die, are removed or are
+ * spawned in the middle of a round.
+ * <br><br>
+ * The actors are kept in an array of slots, in the order in which they were added. Removing an
+ * actor only clears (tombstones) its slot, which takes constant time and leaves the slots of the
+ * other actors untouched, so actors can be removed at any point of a round - including the actor
+ * whose turn is in progress. The tombstones are compacted away once they make up at least half of
+ * the used slots, at the start of a round or when the array would otherwise have to grow, so the
+ * cost of compaction is amortized over the removals which caused it.
+ * <br><br>
+ * The ordering of the actors is well-defined:
+ * <ul>
+ *     <li>
+ *         <b>Rounds</b> - during a round, actors take their turns in the order in which they were
+ *         added to the queue.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>Removal</b> - an actor removed before its turn in the current round is skipped.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>Insertion</b> - an actor added while a round is in progress is placed after all
+ *         other actors and takes its first turn at the end of that round. An actor removed and
+ *         added again is placed as if it was added for the first time.
+ *     </li>
+ * </ul>
+ * Iterating over a round is performed with {@link #beginRound} and {@link #next}, which do not
+ * allocate - the queue only allocates when its array grows or an actor is added.
+ *
+ * @see TurnPlayer
+ * @see BasicTurnPlayer
+ */
+public final class TurnQueue {
+    /** The initial number of slots of the queue. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The slots of the queue, <code>null</code> for tombstones and unused slots. */
+    private Actor[] slots = new Actor[INITIAL_CAPACITY];
+
+    /** The number of slots used by the queue, both by actors and by tombstones. */
+    private int used = 0;
+
+    /** The number of tombstones among the used slots. */
+    private int tombstones = 0;
+
+    /** The slot of the next actor of the current round to be returned by {@link #next}. */
+    private int cursor = 0;
+
+    /** The slots of the queued actors. */
+    private final Map<Actor, Integer> positions = new HashMap<>();
+
+    /**
+     * Adds the given {@link Actor} at the end of the queue. If a round is in progress, the actor
+     * takes its turn at the end of it.
+     *
+     * @param actor the actor to add
+     * @throws NullPointerException     if the actor is <code>null</code>
+     * @throws IllegalArgumentException if the actor is already queued
+     */
+    public void add(Actor actor) {
+        Objects.requireNonNull(actor, "Cannot add null actor to turn queue.");
+        if (this.positions.containsKey(actor))
+            throw new IllegalArgumentException("Actor is already queued.");
+
+        if (this.used == this.slots.length) {
+            if (this.tombstones * 2 >= this.used)
+                compact();
+            else
+                this.slots = Arrays.copyOf(this.slots, this.slots.length * 2);
+        }
+        this.positions.put(actor, this.used);
+        this.slots[this.used++] = actor;
+    }
+
+    /**
+     * Removes the given {@link Actor} from the queue by tombstoning its slot. If the actor has not
+     * taken its turn in the current round yet, it is skipped.
+     *
+     * @param actor the actor to remove
+     * @return <code>true</code> if the actor was queued, <code>false</code> otherwise
+     */
+    public boolean remove(Actor actor) {
+        Integer position = this.positions.remove(actor);
+        if (position == null)
+            return false;
+        this.slots[position] = null;
+        this.tombstones++;
+        return true;
+    }
+
+    /**
+     * @param actor the actor to check
+     * @return <code>true</code> if the given actor is queued, <code>false</code> otherwise
+     */
+    public boolean contains(Actor actor) {return this.positions.containsKey(actor);}
+
+    /** @return the number of queued actors */
+    public int size() {return this.positions.size();}
+
+    /** @return <code>true</code> if no actors are queued, <code>false</code> otherwise */
+    public boolean isEmpty() {return this.positions.isEmpty();}
+
+    /** Removes all actors from the queue and resets the current round. */
+    public void clear() {
+        Arrays.fill(this.slots, 0, this.used, null);
+        this.positions.clear();
+        this.used       = 0;
+        this.tombstones = 0;
+        this.cursor     = 0;
+    }
+
+    /**
+     * Starts a new round, after which {@link #next} returns the queued actors from the first one.
+     * Compacts the queue if tombstones make up at least half of its used slots.
+     */
+    public void beginRound() {
+        if (this.tombstones > 0 && this.tombstones * 2 >= this.used)
+            compact();
+        this.cursor = 0;
+    }
+
+    /**
+     * Returns the next actor taking its turn in the current round, skipping tombstones.
+     *
+     * @return the next actor of the current round (or <code>null</code> if all queued actors have
+     * been returned in the current round)
+     * @see #beginRound
+     */
+    public Actor next() {
+        while (this.cursor < this.used) {
+            Actor actor = this.slots[this.cursor++];
+            if (actor != null)
+                return actor;
+        }
+        return null;
+    }
+
+    /** @return the number of tombstones left by removed actors which have not been compacted */
+    int getTombstoneCount() {return this.tombstones;}
+
+    /**
+     * Removes all tombstones from the queue, moving the actors towards its start while keeping
+     * their order. The cursor of the current round is moved along with the actors, so the round
+     * continues from the same actor.
+     */
+    private void compact() {
+        int live   = 0;
+        int cursor = 0;
+        for (int i = 0; i < this.used; i++) {
+            if (i == this.cursor)
+                cursor = live;
+            Actor actor = this.slots[i];
+            if (actor == null)
+                continue;
+            if (live != i) {
+                this.slots[live] = actor;
+                this.positions.put(actor, live);
+            }
+            live++;
+        }
+        if (this.cursor >= this.used)
+            cursor = live;
+        Arrays.fill(this.slots, live, this.used, null);
+        this.used       = live;
+        this.tombstones = 0;
+        this.cursor     = cursor;
+    }
+}
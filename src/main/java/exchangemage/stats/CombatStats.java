@@ -0,0 +1,174 @@
+package exchangemage.stats;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.base.GameState;
+import exchangemage.base.GameStateLocator;
+import exchangemage.cards.Card;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.EffectSource;
+import exchangemage.effects.NotificationEffect;
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.effects.value.DamageEffect;
+import exchangemage.effects.value.HealEffect;
+import exchangemage.scenes.Encounter;
+
+/**
+ * A recorder of per-actor and per-card statistics of an {@link Encounter}, used for balancing.
+ * Recording is enabled by assigning the recorder to the {@link EffectPlayer} of the encounter
+ * (see {@link EffectPlayer#setCombatStats}) and is fed by:
+ * <ul>
+ *     <li>
+ *         <b>{@link DamageEffect}s and {@link HealEffect}s</b> (including the area effects
+ *         applying their value directly) - record the damage and healing done (and the overkill)
+ *         for the {@link Actor} which is the source of the effect and the {@link Card} in
+ *         resolution.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>{@link DeckHolderActor}s</b> - record the health they lose, whatever its cause.
+ *     </li>
+ *     <br>
+ *     <li>
+ *         <b>The effect player</b> - records every resolved {@link Effect} and every activated
+ *         {@link PersistentEffect} for their source actor and the card in resolution.
+ *     </li>
+ * </ul>
+ * The statistics are kept in primitive {@link StripedCounters}, one for actors and one for cards,
+ * under dense ids assigned in the order in which the actors and cards are first recorded. When
+ * no recorder is assigned, the hooks only look it up (see {@link #current}) and record nothing.
+ * <br><br>
+ * Once the encounter has ended, the statistics can be exported as a {@link StatsReport}, after
+ * which the recorder can be {@link #clear cleared} and reused for the next encounter. Recorders
+ * are not thread-safe - they are meant to be written by the thread running the encounter.
+ *
+ * @see Stat
+ * @see StatsReport
+ */
+public final class CombatStats {
+    /** The counters of the actors. */
+    private final StripedCounters actors = new StripedCounters();
+
+    /** The counters of the cards. */
+    private final StripedCounters cards = new StripedCounters();
+
+    /**
+     * @return the recorder assigned to the {@link EffectPlayer} of the current game state (or
+     * <code>null</code> if there is none)
+     */
+    public static CombatStats current() {
+        GameState gameState = GameStateLocator.getGameState();
+        if (gameState == null)
+            return null;
+        EffectPlayer effectPlayer = gameState.getEffectPlayer();
+        return effectPlayer != null ? effectPlayer.getCombatStats() : null;
+    }
+
+    // --------------------------------------- recording -------------------------------------- //
+
+    /**
+     * Records damage about to be dealt by the given effect to a target with the given remaining
+     * health.
+     *
+     * @param effect the damage effect
+     * @param damage the damage dealt
+     * @param health the remaining health of the target before the damage is dealt
+     */
+    public void recordDamage(Effect<?> effect, int damage, int health) {
+        if (damage <= 0)
+            return;
+        int  dealt = Math.min(damage, health);
+        Card card  = cardInResolution();
+        add(effect.getSource(), card, Stat.DAMAGE_DEALT, dealt);
+        add(effect.getSource(), card, Stat.OVERKILL, damage - dealt);
+    }
+
+    /**
+     * Records healing about to be done by the given effect to a target missing the given amount
+     * of health.
+     *
+     * @param effect  the heal effect
+     * @param target  the actor healed
+     * @param healing the healing done
+     * @param missing the health missing from the target before the healing is done
+     */
+    public void recordHealing(Effect<?> effect, Actor target, int healing, int missing) {
+        if (healing <= 0)
+            return;
+        int restored = Math.min(healing, missing);
+        add(effect.getSource(), cardInResolution(), Stat.HEALING_DONE, restored);
+        this.actors.add(target, Stat.HEALING_RECEIVED, restored);
+    }
+
+    /**
+     * @param actor the actor which has lost health
+     * @param lost  the health lost
+     */
+    public void recordDamageTaken(Actor actor, int lost) {
+        this.actors.add(actor, Stat.DAMAGE_TAKEN, lost);
+    }
+
+    /**
+     * Records the resolution of the given {@link Effect} as an activation if it is a
+     * {@link PersistentEffect} or as a triggered effect otherwise. {@link NotificationEffect}s
+     * are not recorded.
+     *
+     * @param effect the resolved effect
+     * @param card   the card in resolution (or <code>null</code>)
+     */
+    public void recordResolution(Effect<?> effect, Card card) {
+        if (effect instanceof NotificationEffect)
+            return;
+        Stat stat = effect instanceof PersistentEffect ? Stat.PERSISTENT_ACTIVATIONS
+                                                       : Stat.EFFECTS_TRIGGERED;
+        add(effect.getSource(), card, stat, 1);
+    }
+
+    // ---------------------------------------- export ---------------------------------------- //
+
+    /**
+     * @param actor the actor whose statistic to return
+     * @param stat  the statistic to return
+     * @return the value of the statistic recorded for the actor
+     */
+    public long get(Actor actor, Stat stat) {return this.actors.get(actor, stat);}
+
+    /**
+     * @param card the card whose statistic to return
+     * @param stat the statistic to return
+     * @return the value of the statistic recorded for the card
+     */
+    public long get(Card card, Stat stat) {return this.cards.get(card, stat);}
+
+    /**
+     * @return a report of the statistics recorded so far, independent of any further recording
+     */
+    public StatsReport export() {return new StatsReport(this.actors, this.cards);}
+
+    /** Drops all recorded statistics, keeping the counters for reuse. */
+    public void clear() {
+        this.actors.clear();
+        this.cards.clear();
+    }
+
+    // ------------------------------------ helper methods ------------------------------------ //
+
+    /**
+     * @param source the source to record the amount for if it is an actor
+     * @param card   the card to record the amount for (or <code>null</code>)
+     * @param stat   the statistic to increment
+     * @param amount the amount to add
+     */
+    private void add(EffectSource source, Card card, Stat stat, long amount) {
+        if (source instanceof Actor)
+            this.actors.add(source, stat, amount);
+        if (card != null)
+            this.cards.add(card, stat, amount);
+    }
+
+    /** @return the card in resolution by the current effect player (or <code>null</code>) */
+    private static Card cardInResolution() {
+        return GameStateLocator.getGameState().getEffectPlayer().getCardInResolution();
+    }
+}
@@ -0,0 +1,33 @@
+package exchangemage.stats;
+
+import exchangemage.actors.Actor;
+import exchangemage.cards.Card;
+import exchangemage.effects.deployers.PersistentEffect;
+
+/**
+ * An enum of the statistics recorded by {@link CombatStats} for every {@link Actor} and
+ * {@link Card}. Statistics describing what an actor receives are only recorded for actors - the
+ * rows of cards keep them at zero.
+ *
+ * @see CombatStats
+ * @see StatsReport
+ */
+public enum Stat {
+    /** The damage dealt, not counting the damage exceeding the remaining health of the target. */
+    DAMAGE_DEALT,
+    /** The health lost by an actor. */
+    DAMAGE_TAKEN,
+    /** The damage dealt in excess of the remaining health of the target. */
+    OVERKILL,
+    /** The healing done, not counting the healing exceeding the missing health of the target. */
+    HEALING_DONE,
+    /** The health restored to an actor. */
+    HEALING_RECEIVED,
+    /** The number of effects resolved (other than persistent and notification effects). */
+    EFFECTS_TRIGGERED,
+    /** The number of {@link PersistentEffect}s activated. */
+    PERSISTENT_ACTIVATIONS;
+
+    /** The number of statistics, i.e. the length of a stripe of {@link StripedCounters}. */
+    static final int COUNT = values().length;
+}
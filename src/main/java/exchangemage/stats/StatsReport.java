@@ -0,0 +1,101 @@
+package exchangemage.stats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import exchangemage.actors.Actor;
+import exchangemage.cards.Card;
+
+/**
+ * An immutable export of the statistics recorded by {@link CombatStats}, taken once an encounter
+ * has ended. The actors and cards of the report are listed in the order in which they were first
+ * recorded.
+ *
+ * @see CombatStats#export
+ * @see Stat
+ */
+public final class StatsReport {
+    /** The actors of the report, in the order in which they were first recorded. */
+    private final List<Actor> actors;
+
+    /** The cards of the report, in the order in which they were first recorded. */
+    private final List<Card> cards;
+
+    /** The statistics of the actors and cards, indexed by {@link Stat#ordinal}. */
+    private final Map<Object, long[]> rows = new IdentityHashMap<>();
+
+    /**
+     * @param actors the counters of the actors
+     * @param cards  the counters of the cards
+     */
+    StatsReport(StripedCounters actors, StripedCounters cards) {
+        this.actors = Collections.unmodifiableList(copyKeys(actors, Actor.class));
+        this.cards  = Collections.unmodifiableList(copyKeys(cards, Card.class));
+    }
+
+    /** @return an unmodifiable list of the actors of the report */
+    public List<Actor> getActors() {return this.actors;}
+
+    /** @return an unmodifiable list of the cards of the report */
+    public List<Card> getCards() {return this.cards;}
+
+    /**
+     * @param actor the actor whose statistic to return
+     * @param stat  the statistic to return
+     * @return the value of the statistic recorded for the actor (or <code>0</code> if the actor is
+     * not a part of the report)
+     * @throws NullPointerException if the statistic is <code>null</code>
+     */
+    public long get(Actor actor, Stat stat) {return getRow(actor, stat);}
+
+    /**
+     * @param card the card whose statistic to return
+     * @param stat the statistic to return
+     * @return the value of the statistic recorded for the card (or <code>0</code> if the card is
+     * not a part of the report)
+     * @throws NullPointerException if the statistic is <code>null</code>
+     */
+    public long get(Card card, Stat stat) {return getRow(card, stat);}
+
+    /**
+     * @param stat the statistic to sum
+     * @return the sum of the statistic over all actors of the report
+     * @throws NullPointerException if the statistic is <code>null</code>
+     */
+    public long getActorTotal(Stat stat) {
+        Objects.requireNonNull(stat, "Statistic cannot be null.");
+        long total = 0;
+        for (Actor actor : this.actors)
+            total += this.rows.get(actor)[stat.ordinal()];
+        return total;
+    }
+
+    // ------------------------------------ helper methods ------------------------------------ //
+
+    private long getRow(Object key, Stat stat) {
+        Objects.requireNonNull(stat, "Statistic cannot be null.");
+        long[] row = this.rows.get(key);
+        return row != null ? row[stat.ordinal()] : 0;
+    }
+
+    /**
+     * Copies the keys of the given counters along with their stripes into the {@link #rows}.
+     *
+     * @param counters the counters to copy
+     * @param type     the type of the keys
+     * @return the keys of the counters, in the order of their ids
+     */
+    private <K> List<K> copyKeys(StripedCounters counters, Class<K> type) {
+        List<K> keys = new ArrayList<>(counters.size());
+        for (int id = 0; id < counters.size(); id++) {
+            K key = type.cast(counters.getKey(id));
+            keys.add(key);
+            this.rows.put(key, counters.copyStripe(id));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,107 @@
+package exchangemage.stats;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A table of primitive counters of every {@link Stat}, keyed by objects identified by reference.
+ * Each key is assigned a dense id the first time it is recorded, and its counters are laid out
+ * in a contiguous stripe of {@link Stat#COUNT} longs of a single array, starting at
+ * <code>id * Stat.COUNT</code>.
+ * <br><br>
+ * Consecutive events are most often recorded for the same key (e.g. all damage dealt by a card),
+ * so the id of the last key is kept aside and reused without a map lookup.
+ */
+final class StripedCounters {
+    /** The initial number of keys the table can hold. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The dense ids of the keys. */
+    private final Map<Object, Integer> ids = new IdentityHashMap<>();
+
+    /** The keys of the table, indexed by id. */
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+
+    /** The counters of all keys, in stripes of {@link Stat#COUNT} longs indexed by id. */
+    private long[] counters = new long[INITIAL_CAPACITY * Stat.COUNT];
+
+    /** The number of keys in the table. */
+    private int size = 0;
+
+    /** The last key recorded (or <code>null</code>). */
+    private Object lastKey = null;
+
+    /** The id of the {@link #lastKey}. */
+    private int lastId = -1;
+
+    /**
+     * @param key    the key to record the amount for
+     * @param stat   the statistic to increment
+     * @param amount the amount to add
+     */
+    void add(Object key, Stat stat, long amount) {
+        this.counters[idOf(key) * Stat.COUNT + stat.ordinal()] += amount;
+    }
+
+    /**
+     * @param key  the key whose counter to return
+     * @param stat the statistic to return
+     * @return the counter of the given statistic of the given key (or <code>0</code> if the key
+     * has not been recorded)
+     */
+    long get(Object key, Stat stat) {
+        Integer id = this.ids.get(key);
+        return id != null ? this.counters[id * Stat.COUNT + stat.ordinal()] : 0;
+    }
+
+    /** @return the number of keys in the table */
+    int size() {return this.size;}
+
+    /**
+     * @param id the id of the key to return
+     * @return the key with the given id
+     */
+    Object getKey(int id) {return this.keys[id];}
+
+    /**
+     * @param id the id of the key whose stripe to return
+     * @return a copy of the stripe of counters of the key with the given id
+     */
+    long[] copyStripe(int id) {
+        return Arrays.copyOfRange(this.counters, id * Stat.COUNT, (id + 1) * Stat.COUNT);
+    }
+
+    /** Removes all keys from the table, keeping its arrays for reuse. */
+    void clear() {
+        this.ids.clear();
+        Arrays.fill(this.keys, 0, this.size, null);
+        Arrays.fill(this.counters, 0, this.size * Stat.COUNT, 0);
+        this.size    = 0;
+        this.lastKey = null;
+        this.lastId  = -1;
+    }
+
+    /**
+     * @param key the key whose id to return
+     * @return the id of the given key, assigned if the key has not been recorded yet
+     */
+    private int idOf(Object key) {
+        if (key == this.lastKey)
+            return this.lastId;
+
+        Integer id = this.ids.get(key);
+        if (id == null) {
+            if (this.size == this.keys.length) {
+                this.keys     = Arrays.copyOf(this.keys, this.size * 2);
+                this.counters = Arrays.copyOf(this.counters, this.size * 2 * Stat.COUNT);
+            }
+            id = this.size++;
+            this.keys[id] = key;
+            this.ids.put(key, id);
+        }
+        this.lastKey = key;
+        this.lastId  = id;
+        return id;
+    }
+}
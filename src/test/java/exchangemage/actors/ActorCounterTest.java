@@ -0,0 +1,147 @@
+package exchangemage.actors;
+
+import java.util.Set;
+
+import exchangemage.base.BaseGameState;
+import exchangemage.base.Game;
+import exchangemage.base.GameLocator;
+import exchangemage.base.GameState;
+import exchangemage.base.GameStateLocator;
+import exchangemage.cards.Deck;
+import exchangemage.effects.triggers.StateDependency;
+import exchangemage.effects.triggers.getters.ActorCounterGetter;
+import exchangemage.scenes.BasicTurnPlayer;
+import exchangemage.scenes.Encounter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActorCounterTest {
+    private Enemy enemy;
+
+    @BeforeEach
+    void setUp() {
+        Game mockGame = Mockito.mock(Game.class);
+        GameLocator.init(mockGame);
+        GameStateLocator.init(new BaseGameState());
+        Mockito.when(mockGame.getPlayer()).thenReturn(new Player(Mockito.mock(Deck.class), 100));
+        enemy = new Enemy(Mockito.mock(Deck.class), 100);
+        Mockito.when(mockGame.getScene()).thenReturn(new Encounter(new BasicTurnPlayer(),
+                                                                   Set.of(enemy)));
+        CounterScope.ENCOUNTER.advance();
+    }
+
+    /**
+     * Tests if the counters of an actor are reset once a new period of their scope begins, and
+     * only then.
+     */
+    @Test
+    void testLazyReset() {
+        enemy.receiveDamage(3);
+        enemy.receiveDamage(4);
+        enemy.heal(2);
+        assertEquals(7, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_TURN));
+        assertEquals(7, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_ROUND));
+        assertEquals(2, enemy.getCounter(ActorCounter.HEALING_THIS_ENCOUNTER));
+
+        CounterScope.TURN.advance();
+        assertEquals(0, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_TURN));
+        assertEquals(7, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_ROUND));
+        enemy.receiveDamage(1);
+        assertEquals(1, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_TURN));
+
+        CounterScope.ROUND.advance();
+        assertEquals(0, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_TURN));
+        assertEquals(0, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_ROUND));
+        assertEquals(8, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_ENCOUNTER));
+
+        CounterScope.ENCOUNTER.advance();
+        assertEquals(0, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_ENCOUNTER));
+        assertEquals(0, enemy.getCounter(ActorCounter.HEALING_THIS_ENCOUNTER));
+        assertEquals(0, enemy.incrementCounter(ActorCounter.HEALING_THIS_ENCOUNTER, 5));
+        assertEquals(5, enemy.getCounter(ActorCounter.HEALING_THIS_ENCOUNTER));
+        assertThrows(IllegalArgumentException.class,
+                     () -> enemy.incrementCounter(ActorCounter.HEALING_THIS_ENCOUNTER, -1));
+    }
+
+    /**
+     * Tests if the epochs of the counter scopes are kept per game state - beginning a new turn
+     * in another session does not reset the counters read in the current one, and a counter
+     * written in one session is not carried over to a new one.
+     */
+    @Test
+    void testEpochsPerGameState() {
+        GameState session = GameStateLocator.getGameState();
+        enemy.receiveDamage(3);
+
+        GameStateLocator.init(new BaseGameState());
+        assertEquals(0, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_TURN));
+        CounterScope.TURN.advance();
+        CounterScope.ENCOUNTER.advance();
+
+        GameStateLocator.init(session);
+        assertEquals(3, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_TURN));
+        assertEquals(3, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_ENCOUNTER));
+        assertNotEquals(session.getCounterEpochs().get(CounterScope.TURN),
+                        new CounterEpochs().get(CounterScope.TURN));
+    }
+
+    /**
+     * Tests if the damage and healing counters count the health actually lost and restored,
+     * excluding overkill damage and overhealing.
+     */
+    @Test
+    void testActualHealthChange() {
+        enemy.receiveDamage(10);
+        enemy.heal(25);
+        assertEquals(10, enemy.getCounter(ActorCounter.HEALING_THIS_ENCOUNTER));
+
+        enemy.receiveDamage(150);
+        enemy.receiveDamage(5);
+        assertEquals(110, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_TURN));
+        assertEquals(110, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_ROUND));
+        assertEquals(110, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_ENCOUNTER));
+    }
+
+    /** Tests if counters registered by designers are kept and read like the built-in ones. */
+    @Test
+    void testRegisteredCounter() {
+        ActorCounter counter = ActorCounter.register("testShieldsThisRound", CounterScope.ROUND);
+        assertSame(counter, ActorCounter.get("testShieldsThisRound"));
+        assertThrows(IllegalArgumentException.class,
+                     () -> ActorCounter.register("testShieldsThisRound", CounterScope.TURN));
+        assertThrows(IllegalArgumentException.class, () -> ActorCounter.get("testUnknown"));
+
+        assertEquals(0, enemy.getCounter(counter));
+        enemy.incrementCounter(counter, 2);
+        enemy.incrementCounter(counter, 2);
+        assertEquals(4, enemy.getCounter(counter));
+        CounterScope.TURN.advance();
+        assertEquals(4, enemy.getCounter(counter));
+        CounterScope.ROUND.advance();
+        assertEquals(0, enemy.getCounter(counter));
+    }
+
+    /**
+     * Tests if an {@link ActorCounterGetter} reads the current value of the counter and declares
+     * a dependency which prevents its results from being cached.
+     */
+    @Test
+    void testCounterGetter() {
+        ActorCounterGetter getter = new ActorCounterGetter(() -> enemy,
+                                                           ActorCounter.DAMAGE_TAKEN_THIS_TURN);
+        assertEquals(0, getter.getSubject().intValue());
+        enemy.receiveDamage(6);
+        assertEquals(6, getter.getSubject().intValue());
+        CounterScope.TURN.advance();
+        assertEquals(0, getter.getSubject().intValue());
+
+        assertTrue(getter.getDependencies().contains(StateDependency.ACTOR_COUNTERS));
+        assertFalse(StateDependency.areCacheable(getter.getDependencies()));
+        assertNull(new ActorCounterGetter(() -> null, ActorCounter.DAMAGE_TAKEN_THIS_TURN)
+                           .getSubject());
+    }
+}
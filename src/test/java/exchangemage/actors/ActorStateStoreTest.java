@@ -0,0 +1,136 @@
+package exchangemage.actors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import exchangemage.base.BaseGameState;
+import exchangemage.base.Game;
+import exchangemage.base.GameLocator;
+import exchangemage.base.GameStateLocator;
+import exchangemage.base.Observable;
+import exchangemage.cards.Deck;
+import exchangemage.scenes.BasicTurnPlayer;
+import exchangemage.scenes.Encounter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActorStateStoreTest {
+    private ActorStateStore store;
+
+    @BeforeEach
+    void setUp() {
+        Game mockGame = Mockito.mock(Game.class);
+        GameLocator.init(mockGame);
+        GameStateLocator.init(new BaseGameState());
+        Mockito.when(mockGame.getPlayer()).thenReturn(new Player(Mockito.mock(Deck.class), 100));
+        Mockito.when(mockGame.getScene()).thenReturn(new Encounter(new BasicTurnPlayer(),
+                                                                   Set.of()));
+        store = new ActorStateStore(4);
+    }
+
+    /**
+     * Tests if an actor attached to an {@link ActorStateStore} keeps its state and reads and
+     * writes it through the store.
+     */
+    @Test
+    void testAttachedView() {
+        Enemy enemy = new Enemy(Mockito.mock(Deck.class), 10);
+        enemy.receiveDamage(3);
+        long version = enemy.getStateVersion();
+
+        assertEquals(0, store.attach(enemy));
+        assertSame(store, enemy.getStateStore());
+        assertSame(enemy, store.getActor(0));
+        assertEquals(7, enemy.getCurrentHealth());
+        assertEquals(version, enemy.getStateVersion());
+        assertEquals(3, enemy.getCounter(ActorCounter.DAMAGE_TAKEN_THIS_ENCOUNTER));
+        assertThrows(IllegalArgumentException.class, () -> store.attach(enemy));
+
+        enemy.receiveDamage(2);
+        assertEquals(5, store.sumCurrentHealth());
+        enemy.heal(10);
+        assertEquals(10, enemy.getCurrentHealth());
+        enemy.setCurrentHealth(0);
+        assertTrue(enemy.isDead());
+        assertEquals(0, store.countAlive());
+        assertEquals(version + 3, enemy.getStateVersion());
+    }
+
+    /**
+     * Tests if the bulk operations of an {@link ActorStateStore} cover all attached actors and if
+     * starting a new round makes the attached actors report their first damage of the turn again.
+     */
+    @Test
+    void testBulkOperations() {
+        List<Enemy>            enemies = new ArrayList<>();
+        List<Observable.Event> events  = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Enemy enemy = new Enemy(Mockito.mock(Deck.class), 10);
+            enemy.addObserver((publisher, event) -> events.add(event));
+            store.attach(enemy);
+            enemies.add(enemy);
+        }
+        for (int i = 0; i < 100; i += 2)
+            enemies.get(i).receiveDamage(i % 4 == 0 ? 10 : 4);
+
+        assertEquals(100, store.size());
+        assertEquals(1000, store.sumMaxHealth());
+        assertEquals(1000 - 25 * 10 - 25 * 4, store.sumCurrentHealth());
+        assertEquals(75, store.countAlive());
+
+        CounterScope.ROUND.advance();
+        events.clear();
+        enemies.get(98).receiveDamage(1);
+        Actor.ActorEventSet update = (Actor.ActorEventSet) events.get(0);
+        assertTrue(update.contains(Actor.ActorEvent.FIRST_DAMAGE_THIS_TURN_RECEIVED));
+        assertFalse(update.contains(Actor.ActorEvent.FIRST_DAMAGE_THIS_ENCOUNTER_RECEIVED));
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertEquals(0, store.sumCurrentHealth());
+    }
+
+    /**
+     * Tests if actors detached from an {@link ActorStateStore} (one at a time or all at once by
+     * clearing the store) get their state back and no longer share it with the actors attached
+     * to the store after them.
+     */
+    @Test
+    void testDetach() {
+        List<Enemy> enemies = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Enemy enemy = new Enemy(Mockito.mock(Deck.class), 10);
+            store.attach(enemy);
+            enemy.receiveDamage(i + 1);
+            enemies.add(enemy);
+        }
+        long version = enemies.get(0).getStateVersion();
+
+        store.detach(enemies.get(0));
+        assertNull(enemies.get(0).getStateStore());
+        assertEquals(9, enemies.get(0).getCurrentHealth());
+        assertEquals(version, enemies.get(0).getStateVersion());
+        assertEquals(2, store.size());
+        assertSame(enemies.get(2), store.getActor(0));
+        assertEquals(7, enemies.get(2).getCurrentHealth());
+        assertEquals(15, store.sumCurrentHealth());
+        assertThrows(IllegalArgumentException.class, () -> store.detach(enemies.get(0)));
+
+        store.clear();
+        Enemy reused = new Enemy(Mockito.mock(Deck.class), 20);
+        assertEquals(0, store.attach(reused));
+        reused.receiveDamage(5);
+        enemies.get(1).receiveDamage(1);
+        for (Enemy enemy : enemies)
+            assertNull(enemy.getStateStore());
+        assertEquals(7, enemies.get(1).getCurrentHealth());
+        assertEquals(7, enemies.get(2).getCurrentHealth());
+        assertEquals(15, reused.getCurrentHealth());
+        assertEquals(15, store.sumCurrentHealth());
+    }
+}
@@ -0,0 +1,107 @@
+package exchangemage.actors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import exchangemage.actors.Actor.ActorEvent;
+import exchangemage.actors.Actor.ActorEventMask;
+import exchangemage.actors.Actor.ActorEventSet;
+import exchangemage.base.BaseGameState;
+import exchangemage.base.Game;
+import exchangemage.base.GameLocator;
+import exchangemage.base.GameStateLocator;
+import exchangemage.base.Observable;
+import exchangemage.cards.Deck;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer.EffectResolutionStage;
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.effects.targeting.selectors.SceneSelector;
+import exchangemage.effects.triggers.NotificationTrigger;
+import exchangemage.effects.triggers.TriggerNetwork;
+import exchangemage.scenes.BasicTurnPlayer;
+import exchangemage.scenes.Encounter;
+import exchangemage.scenes.Scene;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeckHolderActorTest {
+    private final List<Observable.Event> updates   = new ArrayList<>();
+    private final List<ActorEvent>       reactions = new ArrayList<>();
+
+    private Encounter encounter;
+    private Enemy     enemy;
+
+    @BeforeEach
+    void setUp() {
+        Game mockGame = Mockito.mock(Game.class);
+        GameLocator.init(mockGame);
+        GameStateLocator.init(new BaseGameState());
+        Mockito.when(mockGame.getPlayer()).thenReturn(new Player(Mockito.mock(Deck.class), 100));
+        enemy     = new Enemy(Mockito.mock(Deck.class), 10);
+        encounter = new Encounter(new BasicTurnPlayer(), Set.of(enemy));
+        Mockito.when(mockGame.getScene()).thenReturn(encounter);
+        enemy.addObserver((publisher, event) -> updates.add(event));
+    }
+
+    /** Creates an environmental effect recording its activations by the given event. */
+    private void react(ActorEvent event) {
+        Effect<Scene> record = new Effect<>("Record " + event, () -> true, new SceneSelector(),
+                                            Effect.ResolutionMode.IMMEDIATE) {
+            @Override
+            public void execute() {reactions.add(event);}
+        };
+        encounter.addPersistentEffect(new PersistentEffect("On " + event, List.of(record),
+                                                           EffectResolutionStage.RESPONSE,
+                                                           new NotificationTrigger(event)));
+    }
+
+    /**
+     * Tests if the events caused by a single transition of a {@link DeckHolderActor} are delivered
+     * to its observers as one update, while a transition with a single event delivers the event
+     * itself.
+     */
+    @Test
+    void testCoalescedUpdate() {
+        enemy.receiveDamage(10);
+        assertEquals(1, updates.size());
+        ActorEventSet update = (ActorEventSet) updates.get(0);
+        assertInstanceOf(ActorEventMask.class, update);
+        assertTrue(update.contains(ActorEvent.DAMAGE_RECEIVED));
+        assertTrue(update.contains(ActorEvent.FIRST_DAMAGE_THIS_ENCOUNTER_RECEIVED));
+        assertTrue(update.contains(ActorEvent.FIRST_DAMAGE_THIS_TURN_RECEIVED));
+        assertTrue(update.contains(ActorEvent.DEATH));
+        assertFalse(update.contains(ActorEvent.HEALING_RECEIVED));
+
+        updates.clear();
+        enemy.heal(3);
+        assertEquals(List.of(ActorEvent.HEALING_RECEIVED), updates);
+    }
+
+    /**
+     * Tests if the reactions to the events of a single transition are resolved in the order in
+     * which the events were published and if the notifications no persistent effect is
+     * subscribed to are skipped when a {@link TriggerNetwork} is used.
+     */
+    @Test
+    void testReactionOrder() {
+        react(ActorEvent.DAMAGE_RECEIVED);
+        react(ActorEvent.FIRST_DAMAGE_THIS_TURN_RECEIVED);
+        react(ActorEvent.DEATH);
+        encounter.getEffectPlayer().setTriggerNetwork(TriggerNetwork.forScene(encounter));
+
+        enemy.receiveDamage(10);
+        encounter.getEffectPlayer().resolveQueue();
+        assertEquals(List.of(ActorEvent.DEATH, ActorEvent.FIRST_DAMAGE_THIS_TURN_RECEIVED,
+                             ActorEvent.DAMAGE_RECEIVED), reactions);
+
+        assertTrue(encounter.getEffectPlayer().hasSubscribers(ActorEvent.DEATH));
+        assertFalse(encounter.getEffectPlayer().hasSubscribers(
+                ActorEvent.FIRST_DAMAGE_THIS_ENCOUNTER_RECEIVED
+        ));
+    }
+}
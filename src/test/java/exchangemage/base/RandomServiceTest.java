@@ -0,0 +1,93 @@
+package exchangemage.base;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+import exchangemage.base.RandomService.StreamType;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomServiceTest {
+    private static final long SEED = 42;
+
+    /**
+     * Tests if services with the same seed produce the same sequences for the same streams, so that
+     * a session can be reproduced from its seed.
+     */
+    @Test
+    void testStreamsAreReproducibleFromSeed() {
+        RandomService first  = new RandomService(SEED);
+        RandomService second = new RandomService(SEED);
+
+        assertArrayEquals(draw(first.getStream(StreamType.ENCOUNTER, 3)),
+                          draw(second.getStream(StreamType.ENCOUNTER, 3)));
+        assertArrayEquals(draw(first.getStream(StreamType.DECK, 0)),
+                          draw(new RandomService(SEED).getStream(StreamType.DECK, 0)));
+    }
+
+    /** Tests if streams of different types, keys and seeds produce different sequences. */
+    @Test
+    void testStreamsAreIndependent() {
+        RandomService service = new RandomService(SEED);
+        long[]        base    = draw(service.getStream(StreamType.ACTOR, 0));
+
+        assertFalse(Arrays.equals(base, draw(service.getStream(StreamType.ACTOR, 1))));
+        assertFalse(Arrays.equals(base, draw(service.getStream(StreamType.DECK, 0))));
+        assertFalse(Arrays.equals(
+                base, draw(new RandomService(SEED + 1).getStream(StreamType.ACTOR, 0))
+        ));
+    }
+
+    /**
+     * Tests if owners are given a single generator each and are assigned keys in the order in
+     * which they request their streams.
+     */
+    @Test
+    void testOwnerStreamsAreAssignedInRequestOrder() {
+        RandomService   service = new RandomService(SEED);
+        Object          first   = new Object();
+        Object          second  = new Object();
+        RandomGenerator stream  = service.getStream(StreamType.ACTOR, first);
+
+        assertSame(stream, service.getStream(StreamType.ACTOR, first));
+        assertArrayEquals(draw(new RandomService(SEED).getStream(StreamType.ACTOR, 0)),
+                          draw(stream));
+        assertArrayEquals(draw(new RandomService(SEED).getStream(StreamType.ACTOR, 1)),
+                          draw(service.getStream(StreamType.ACTOR, second)));
+        assertArrayEquals(draw(new RandomService(SEED).getStream(StreamType.DECK, 0)),
+                          draw(service.getStream(StreamType.DECK, second)));
+    }
+
+    /** Tests if forks are deterministic and independent of their parent and of each other. */
+    @Test
+    void testForksAreDeterministic() {
+        RandomService first  = new RandomService(SEED);
+        RandomService second = new RandomService(SEED);
+        RandomService fork   = first.fork();
+
+        assertEquals(fork.getSeed(), second.fork().getSeed());
+        assertNotEquals(SEED, fork.getSeed());
+        assertNotEquals(fork.getSeed(), first.fork().getSeed());
+    }
+
+    /** Tests if null stream types and owners are rejected. */
+    @Test
+    void testNullArguments() {
+        RandomService service = new RandomService(SEED);
+        assertThrows(NullPointerException.class, () -> service.getStream(null, 0));
+        assertThrows(NullPointerException.class, () -> service.getStream(StreamType.ACTOR, null));
+    }
+
+    /**
+     * @param random the generator to draw from
+     * @return the first values drawn from the generator
+     */
+    private static long[] draw(RandomGenerator random) {
+        long[] values = new long[8];
+        for (int i = 0; i < values.length; i++)
+            values[i] = random.nextLong();
+        return values;
+    }
+}
@@ -16,6 +16,7 @@ import exchangemage.effects.triggers.getters.EffectTargetGetter;
 import exchangemage.effects.triggers.getters.EffectValueGetter;
 import exchangemage.effects.value.DamageEffect;
 import exchangemage.effects.value.ValueEffect;
+import exchangemage.effects.value.ValueModifierEffect;
 
 public enum TestPersistentEffects {
     WHENEVER_ENEMY_IS_DAMAGED_DEAL_THEM_1_DAMAGE {
@@ -50,4 +51,13 @@ public enum TestPersistentEffects {
     ;
 
     public abstract PersistentEffect get();
+
+    public static PersistentEffect createDamageModifier(int modifier) {
+        return new PersistentEffect(
+                "Modify damage by " + modifier,
+                List.of(new ValueModifierEffect("Modify damage by " + modifier, modifier)),
+                EffectResolutionStage.MODIFICATION,
+                new EffectTypeTrigger(new EffectInResolutionGetter(), ValueEffect.class)
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package exchangemage.effects.targeting;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import exchangemage.actors.Enemy;
+import exchangemage.actors.Player;
+import exchangemage.actors.TestEnemies;
+import exchangemage.actors.TestPlayers;
+import exchangemage.base.Game;
+import exchangemage.base.GameLocator;
+import exchangemage.base.BaseGameState;
+import exchangemage.base.GameStateLocator;
+import exchangemage.scenes.BasicTurnPlayer;
+import exchangemage.scenes.Encounter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetableSetTest {
+    private Player    player;
+    private Enemy     first;
+    private Enemy     second;
+    private Encounter encounter;
+
+    @BeforeEach
+    void setUp() {
+        Game mockGame = Mockito.mock(Game.class);
+        player = TestPlayers.PLACEHOLDER.get();
+        first  = TestEnemies.PLACEHOLDER.getEnemy();
+        second = TestEnemies.PLACEHOLDER.getEnemy();
+        GameLocator.init(mockGame);
+        GameStateLocator.init(new BaseGameState());
+        Mockito.when(mockGame.getPlayer()).thenReturn(player);
+        encounter = new Encounter(new BasicTurnPlayer(), Set.of(first, second));
+        Mockito.when(mockGame.getScene()).thenReturn(encounter);
+    }
+
+    /**
+     * Tests if a {@link TargetableSet} behaves like a regular set for targetables present in the
+     * scene as well as ones without a slot in it.
+     */
+    @Test
+    void testSetOperations() {
+        TargetableSet set     = new TargetableSet();
+        Enemy         outside = TestEnemies.PLACEHOLDER.getEnemy();
+
+        assertTrue(set.add(first));
+        assertFalse(set.add(first));
+        assertTrue(set.add(outside));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(first));
+        assertTrue(set.contains(outside));
+        assertFalse(set.contains(second));
+        assertEquals(Set.of(first, outside), new HashSet<>(set));
+
+        encounter.addActor(outside);
+        assertTrue(set.contains(outside));
+        assertTrue(set.remove(outside));
+        assertTrue(set.remove(first));
+        assertTrue(set.isEmpty());
+
+        set.add(second);
+        set.add(player);
+        set.removeIf(targetable -> targetable == player);
+        assertEquals(Set.of(second), new HashSet<>(set));
+    }
+
+    /**
+     * Tests if the targetables of a scene are filtered against a {@link TargetableSet} of
+     * forbidden targets, and if a targetable keeps its slot after being removed from the scene.
+     */
+    @Test
+    void testExcludeForbiddenTargets() {
+        TargetableSet forbidden = new TargetableSet();
+        int           slot      = encounter.getSlot(first);
+
+        forbidden.add(first);
+        assertEquals(Set.of(second), encounter.getTargetables(Enemy.class, forbidden));
+        assertEquals(Set.of(player, second),
+                     encounter.getTargetables(Targetable.class, forbidden));
+        assertEquals(Set.of(first, second),
+                     encounter.getTargetables(Enemy.class, new HashSet<>()));
+
+        encounter.removeActor(first);
+        encounter.addActor(first);
+        assertEquals(slot, encounter.getSlot(first));
+        assertSame(first, encounter.getTargetable(slot));
+        assertTrue(forbidden.contains(first));
+        assertEquals(-1, encounter.getSlot(TestEnemies.PLACEHOLDER.getEnemy()));
+    }
+
+    /**
+     * Tests if the slots of the elements of a {@link TargetableSet} are not reused by other
+     * targetables while retained by the set, and are freed once the set is cleared.
+     */
+    @Test
+    void testRetainedSlots() {
+        TargetableSet forbidden = new TargetableSet();
+        Enemy         added     = TestEnemies.PLACEHOLDER.getEnemy();
+        int           slot      = encounter.getSlot(first);
+
+        forbidden.add(first);
+        encounter.removeActor(first);
+        encounter.addActor(added);
+        assertNotEquals(slot, encounter.getSlot(added));
+        assertEquals(Set.of(second, added), encounter.getTargetables(Enemy.class, forbidden));
+        assertEquals(Set.of(first), new HashSet<>(forbidden));
+
+        forbidden.clear();
+        assertEquals(-1, encounter.getSlot(first));
+        assertNull(encounter.getTargetable(slot));
+    }
+}
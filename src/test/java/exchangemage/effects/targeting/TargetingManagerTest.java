@@ -0,0 +1,193 @@
+package exchangemage.effects.targeting;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+import exchangemage.actors.Enemy;
+import exchangemage.actors.Player;
+import exchangemage.base.BaseGameState;
+import exchangemage.base.Game;
+import exchangemage.base.GameLocator;
+import exchangemage.base.GameStateLocator;
+import exchangemage.cards.Card;
+import exchangemage.cards.Deck;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.targeting.TargetingManager.SelectionFallback;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector;
+import exchangemage.effects.value.DamageEffect;
+import exchangemage.scenes.BasicTurnPlayer;
+import exchangemage.scenes.Encounter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetingManagerTest {
+    private static final Duration DEADLINE = Duration.ofMillis(20);
+
+    private static Player    player;
+    private static Enemy     enemy1;
+    private static Enemy     enemy2;
+    private static Encounter encounter;
+
+    @BeforeAll
+    static void setUp() {
+        Game mockGame = Mockito.mock(Game.class);
+        player = new Player(Mockito.mock(Deck.class), 100);
+        GameLocator.init(mockGame);
+        GameStateLocator.init(new BaseGameState());
+        Mockito.when(mockGame.getPlayer()).thenReturn(player);
+        enemy1 = new Enemy(Mockito.mock(Deck.class), 100);
+        enemy2 = new Enemy(Mockito.mock(Deck.class), 100);
+        encounter = new Encounter(new BasicTurnPlayer(), Set.of(enemy1, enemy2));
+        Mockito.when(mockGame.getScene()).thenReturn(encounter);
+    }
+
+    @BeforeEach
+    void reset() {
+        player.setCurrentHealth(100);
+        enemy1.setCurrentHealth(100);
+        enemy2.setCurrentHealth(100);
+    }
+
+    @AfterEach
+    void clearDeadline() {
+        GameStateLocator.getGameState().getTargetingManager().clearSelectionDeadline();
+    }
+
+    /**
+     * Tests if a selection left unanswered past its deadline is resolved by the
+     * {@link SelectionFallback#RANDOM} policy, damaging exactly one enemy.
+     */
+    @Test
+    void testRandomFallback() {
+        TargetingManager targetingManager = GameStateLocator.getGameState().getTargetingManager();
+        targetingManager.setSelectionDeadline(DEADLINE, SelectionFallback.RANDOM);
+
+        GameStateLocator.getGameState().getEffectPlayer().evaluateEffect(
+                createSelectedDamage(Effect.ResolutionMode.IMMEDIATE)
+        );
+
+        assertEquals(100, player.getCurrentHealth());
+        assertEquals(199, enemy1.getCurrentHealth() + enemy2.getCurrentHealth());
+        assertNull(targetingManager.getPendingRequest());
+    }
+
+    /**
+     * Tests if a selection left unanswered past its deadline is resolved by the
+     * {@link SelectionFallback#FIRST_VALID} policy, damaging the first enemy of the scene.
+     */
+    @Test
+    void testFirstValidFallback() {
+        GameStateLocator.getGameState().getTargetingManager()
+                        .setSelectionDeadline(DEADLINE, SelectionFallback.FIRST_VALID);
+        Enemy first = encounter.getTargetables(Enemy.class).iterator().next();
+
+        GameStateLocator.getGameState().getEffectPlayer().evaluateEffect(
+                createSelectedDamage(Effect.ResolutionMode.IMMEDIATE)
+        );
+
+        assertEquals(99, first.getCurrentHealth());
+        assertEquals(199, enemy1.getCurrentHealth() + enemy2.getCurrentHealth());
+    }
+
+    /**
+     * Tests if an expired selection is resolved by the fallback policy as soon as its deadline
+     * passes, on the thread waiting for the request rather than on the thread expiring it.
+     */
+    @Test
+    void testFallbackResolvedOnExpiry() {
+        TargetingManager targetingManager = GameStateLocator.getGameState().getTargetingManager();
+        targetingManager.setSelectionDeadline(DEADLINE, SelectionFallback.FIRST_VALID);
+        CompletableFuture<TargetingManager.SelectionRequest> request =
+                targetingManager.nextSelectionRequest();
+        CompletableFuture<Thread> resolver = request.thenCompose(
+                pending -> pending.getResolution().thenApply(resolved -> Thread.currentThread())
+        );
+
+        GameStateLocator.getGameState().getEffectPlayer().evaluateEffect(
+                createSelectedDamage(Effect.ResolutionMode.IMMEDIATE)
+        );
+
+        assertTrue(request.join().getResolution().join());
+        assertSame(Thread.currentThread(), resolver.join());
+        assertEquals(199, enemy1.getCurrentHealth() + enemy2.getCurrentHealth());
+    }
+
+    /**
+     * Plays a {@link Card} whose first effect is enqueued and whose second effect awaits the
+     * player's selection. Tests if the expiry of the selection with the
+     * {@link SelectionFallback#CANCEL} policy cancels the card, discarding its enqueued effect.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCancelFallback() {
+        GameStateLocator.getGameState().getTargetingManager()
+                        .setSelectionDeadline(DEADLINE, SelectionFallback.CANCEL);
+        EffectPlayer effectPlayer = GameStateLocator.getGameState().getEffectPlayer();
+        DamageEffect<Enemy> enqueued = new DamageEffect<>(
+                "Deal 1 damage to random enemy",
+                1,
+                new VariableTargetSelector<>(Enemy.class,
+                                             VariableTargetSelector.TargetingMode.RANDOM),
+                Effect.ResolutionMode.ENQUEUE
+        );
+        Card card = Mockito.mock(Card.class);
+        Mockito.when(card.getEffects()).thenReturn(
+                List.of(enqueued, createSelectedDamage(Effect.ResolutionMode.ENQUEUE))
+        );
+
+        assertThrows(CancellationException.class, () -> effectPlayer.playCard(card));
+        effectPlayer.resolveQueue();
+
+        assertFalse(enqueued.hasTarget());
+        assertEquals(200, enemy1.getCurrentHealth() + enemy2.getCurrentHealth());
+        assertFalse(GameStateLocator.getGameState().getEffectPlayer().effectInEvaluation());
+    }
+
+    /**
+     * Tests if a target chosen by the player before the deadline expires is used instead of the
+     * fallback, and if invalid deadlines are rejected.
+     */
+    @Test
+    void testChoiceBeforeDeadline() {
+        TargetingManager targetingManager = GameStateLocator.getGameState().getTargetingManager();
+        targetingManager.setSelectionDeadline(Duration.ofSeconds(30), SelectionFallback.CANCEL);
+        CompletableFuture<TargetingManager.SelectionRequest> request =
+                targetingManager.nextSelectionRequest();
+        request.thenAcceptAsync(pending -> targetingManager.chooseTarget(enemy2));
+
+        GameStateLocator.getGameState().getEffectPlayer().evaluateEffect(
+                createSelectedDamage(Effect.ResolutionMode.IMMEDIATE)
+        );
+
+        assertNotNull(request.join().getDeadline());
+        assertEquals(100, enemy1.getCurrentHealth());
+        assertEquals(99, enemy2.getCurrentHealth());
+        assertThrows(IllegalArgumentException.class, () -> targetingManager.setSelectionDeadline(
+                Duration.ZERO, SelectionFallback.RANDOM
+        ));
+    }
+
+    /**
+     * @param resolutionMode the resolution mode of the effect
+     * @return a new effect dealing 1 damage to an enemy selected by the player
+     */
+    private static DamageEffect<Enemy> createSelectedDamage(Effect.ResolutionMode resolutionMode) {
+        return new DamageEffect<>(
+                "Deal 1 damage to selected enemy",
+                1,
+                new VariableTargetSelector<>(Enemy.class,
+                                             VariableTargetSelector.TargetingMode.SELECT),
+                resolutionMode
+        );
+    }
+}
@@ -0,0 +1,167 @@
+package exchangemage.effects.targeting.selectors;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.actors.Enemy;
+import exchangemage.actors.Player;
+import exchangemage.base.BaseGameState;
+import exchangemage.base.Game;
+import exchangemage.base.GameLocator;
+import exchangemage.base.GameStateLocator;
+import exchangemage.cards.Deck;
+import exchangemage.effects.EffectPlayer.EffectResolutionStage;
+import exchangemage.effects.TestEffects;
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.effects.targeting.Targetable;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector.TargetingMode;
+import exchangemage.effects.triggers.conditions.ActorHealthCondition;
+import exchangemage.effects.triggers.conditions.AllCondition;
+import exchangemage.effects.triggers.conditions.Condition;
+import exchangemage.effects.triggers.conditions.HeldEffectCondition;
+import exchangemage.effects.triggers.conditions.InstanceCondition;
+import exchangemage.effects.triggers.conditions.NumericValueCondition;
+import exchangemage.effects.triggers.conditions.NumericValueCondition.Operator;
+import exchangemage.effects.triggers.conditions.TypeCondition;
+import exchangemage.scenes.BasicTurnPlayer;
+import exchangemage.scenes.Encounter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetQueryTest {
+    private Player    player;
+    private Enemy     enemy1;
+    private Enemy     enemy2;
+    private Enemy     enemy3;
+    private Encounter encounter;
+
+    /** A persistent effect type used to test the held effect index. */
+    private static class Ward extends PersistentEffect {
+        Ward() {
+            super("Ward",
+                  List.of(TestEffects.DEAL_1_DAMAGE_TO_CURRENTLY_TARGETED_ENEMY.get()),
+                  EffectResolutionStage.RESPONSE,
+                  () -> false);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Game mockGame = Mockito.mock(Game.class);
+        GameLocator.init(mockGame);
+        GameStateLocator.init(new BaseGameState());
+        player = new Player(Mockito.mock(Deck.class), 100);
+        enemy1 = new Enemy(Mockito.mock(Deck.class), 100);
+        enemy2 = new Enemy(Mockito.mock(Deck.class), 100);
+        enemy3 = new Enemy(Mockito.mock(Deck.class), 100);
+        Mockito.when(mockGame.getPlayer()).thenReturn(player);
+        encounter = new Encounter(new BasicTurnPlayer(), Set.of(enemy1, enemy2, enemy3));
+        Mockito.when(mockGame.getScene()).thenReturn(encounter);
+
+        player.setCurrentHealth(40);
+        enemy1.setCurrentHealth(10);
+        enemy2.setCurrentHealth(25);
+        enemy3.setCurrentHealth(50);
+    }
+
+    /**
+     * Tests if health conditions comparing against constant values are planned as index steps
+     * and if the planned query returns the same targetables as the filter evaluated as a
+     * predicate, for every operator and both integral and fractional values.
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "EQ, 25", "EQ, 25.5", "GT, 25", "GT, 24.5", "GTE, 25", "GTE, 24.5",
+            "LT, 40", "LT, 40.5", "LTE, 40", "LTE, 39.5", "GT, 1e12", "LT, -1e12"
+    })
+    void testHealthQueryMatchesPredicate(Operator operator, double value) {
+        Condition condition = new ActorHealthCondition(new NumericValueCondition(value, operator));
+        assertPlannedMatchesPredicate(DeckHolderActor.class, condition);
+    }
+
+    /**
+     * Tests if the index steps of a conjunction are intersected and its residual conjuncts are
+     * evaluated as predicates, and if conjunctions without any indexable conjuncts are not
+     * planned.
+     */
+    @Test
+    void testConjunctionPlanning() {
+        Condition health   = new ActorHealthCondition(new NumericValueCondition(20, Operator.GT));
+        Condition type     = new TypeCondition(Enemy.class);
+        Condition residual = subject -> subject != enemy3;
+        Condition filter   = new AllCondition(health, new AllCondition(type, residual));
+
+        assertTrue(new TargetQuery<>(DeckHolderActor.class, filter).isIndexed());
+        assertEquals(Set.of(enemy2), assertPlannedMatchesPredicate(DeckHolderActor.class, filter));
+
+        Condition instance = new AllCondition(new InstanceCondition(() -> enemy1), health);
+        assertTrue(assertPlannedMatchesPredicate(DeckHolderActor.class, instance).isEmpty());
+
+        assertFalse(new TargetQuery<>(DeckHolderActor.class, residual).isIndexed());
+        assertFalse(new TargetQuery<>(DeckHolderActor.class, null).isIndexed());
+        assertFalse(new TargetQuery<>(
+                DeckHolderActor.class,
+                new ActorHealthCondition(new NumericValueCondition(20, Operator.NEQ))
+        ).isIndexed());
+    }
+
+    /**
+     * Tests if the health and held effect indexes of the scene follow the changes of the actors'
+     * health and persistent effects, as well as the actors removed from the scene.
+     */
+    @Test
+    void testIndexesFollowSceneChanges() {
+        Condition filter = new AllCondition(
+                new HeldEffectCondition(Ward.class),
+                new ActorHealthCondition(new NumericValueCondition(30, Operator.LTE))
+        );
+        VariableTargetSelector<DeckHolderActor> selector = new VariableTargetSelector<>(
+                DeckHolderActor.class, filter, TargetingMode.RANDOM
+        );
+
+        enemy1.addPersistentEffect(new Ward());
+        enemy3.addPersistentEffect(new Ward());
+        assertEquals(Set.of(enemy1), selector.getActiveTargetables(new HashSet<>()));
+        assertTrue(selector.getActiveTargetables(Set.of(enemy1)).isEmpty());
+
+        enemy3.setCurrentHealth(5);
+        assertEquals(Set.of(enemy1, enemy3), selector.getActiveTargetables(new HashSet<>()));
+        assertTrue(selector.selectTarget(new HashSet<>()));
+        assertTrue(Set.of(enemy1, enemy3).contains(selector.getTarget()));
+        assertEquals(Set.of(enemy3, enemy1, enemy2), encounter.getActorsWithHealth(0, 30));
+        assertTrue(encounter.getActorsWithHealth(30, 20).isEmpty());
+
+        enemy1.removePersistentEffect(enemy1.getPersistentEffects().iterator().next());
+        encounter.removeActor(enemy3);
+        assertTrue(selector.getActiveTargetables(new HashSet<>()).isEmpty());
+        assertEquals(Set.of(enemy1, enemy2), encounter.getActorsWithHealth(0, 30));
+        assertTrue(encounter.getActorsHolding(Ward.class).isEmpty());
+        assertFalse(selector.selectTarget(new HashSet<>()));
+    }
+
+    /**
+     * Asserts that the planned query of the given filter returns the same targetables, in the
+     * same order, as the filter evaluated as a predicate over the bucket of the target class.
+     *
+     * @return the targetables returned by the planned query
+     */
+    private <T extends Targetable> Set<T> assertPlannedMatchesPredicate(Class<T> targetClass,
+                                                                       Condition filter) {
+        Set<Targetable> forbidden = Set.of(enemy1);
+        for (Set<Targetable> excluded : List.of(Set.<Targetable>of(), forbidden)) {
+            Set<T> expected = encounter.getTargetables(targetClass, excluded);
+            expected.removeIf(target -> !filter.evaluate(target));
+            Set<T> planned = new TargetQuery<>(targetClass, filter).execute(encounter, excluded);
+            assertEquals(List.copyOf(expected), List.copyOf(planned));
+        }
+        return new TargetQuery<>(targetClass, filter).execute(encounter, Set.of());
+    }
+}
@@ -0,0 +1,155 @@
+package exchangemage.effects.targeting.selectors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.actors.Enemy;
+import exchangemage.actors.Player;
+import exchangemage.base.BaseGameState;
+import exchangemage.base.Game;
+import exchangemage.base.GameLocator;
+import exchangemage.base.GameStateLocator;
+import exchangemage.base.Observable;
+import exchangemage.base.Observer;
+import exchangemage.cards.Deck;
+import exchangemage.effects.targeting.Targetable;
+import exchangemage.effects.targeting.Targetable.TargetableEvent;
+import exchangemage.scenes.BasicTurnPlayer;
+import exchangemage.scenes.Encounter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidTargetSetTest {
+    private Player    player;
+    private Enemy     enemy1;
+    private Enemy     enemy2;
+    private Encounter encounter;
+    private Recorder  recorder;
+
+    private VariableTargetSelector<DeckHolderActor> selector;
+
+    /** An {@link Observer} recording the activation events of the observed targetables. */
+    private static class Recorder implements Observer {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void update(Observable publisher, Observable.Event event) {
+            if (event == TargetableEvent.ACTIVATED || event == TargetableEvent.DEACTIVATED)
+                events.add(publisher.hashCode() + ":" + event);
+        }
+
+        /** @return the events recorded since the last call of this method */
+        private List<String> poll() {
+            List<String> polled = new ArrayList<>(events);
+            events.clear();
+            return polled;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Game mockGame = Mockito.mock(Game.class);
+        GameLocator.init(mockGame);
+        GameStateLocator.init(new BaseGameState());
+        player = new Player(Mockito.mock(Deck.class), 100);
+        enemy1 = new Enemy(Mockito.mock(Deck.class), 100);
+        enemy2 = new Enemy(Mockito.mock(Deck.class), 100);
+        Mockito.when(mockGame.getPlayer()).thenReturn(player);
+        encounter = new Encounter(new BasicTurnPlayer(), Set.of(enemy1, enemy2));
+        Mockito.when(mockGame.getScene()).thenReturn(encounter);
+
+        recorder = new Recorder();
+        player.addObserver(recorder);
+        enemy1.addObserver(recorder);
+        enemy2.addObserver(recorder);
+        selector = new VariableTargetSelector<>(
+                DeckHolderActor.class,
+                subject -> ((DeckHolderActor) subject).getCurrentHealth() > 75,
+                VariableTargetSelector.TargetingMode.SELECT
+        );
+    }
+
+    /**
+     * Tests if opening the set activates every valid target except the forbidden ones and if
+     * closing it deactivates them.
+     */
+    @Test
+    void testOpenAndClose() {
+        ValidTargetSet<DeckHolderActor> targets = selector.getValidTargets(Set.of(enemy2));
+
+        assertEquals(Set.of(player, enemy1), targets.getTargets());
+        assertEquals(Set.of(activated(player), activated(enemy1)), Set.copyOf(recorder.poll()));
+
+        targets.close();
+
+        assertTrue(targets.getTargets().isEmpty());
+        assertFalse(targets.isOpen());
+        assertEquals(2, recorder.poll().size());
+        assertFalse(enemy1.getObservers().contains(targets));
+    }
+
+    /**
+     * Tests if a change of an actor's health only activates or deactivates that actor, once per
+     * change of its validity.
+     */
+    @Test
+    void testActorChangesPublishDelta() {
+        ValidTargetSet<DeckHolderActor> targets = selector.getValidTargets(Set.of());
+        recorder.poll();
+
+        enemy1.setCurrentHealth(70);
+        assertEquals(List.of(deactivated(enemy1)), recorder.poll());
+        assertEquals(Set.of(player, enemy2), targets.getTargets());
+
+        enemy1.setCurrentHealth(60);
+        assertEquals(List.of(), recorder.poll());
+
+        enemy1.setCurrentHealth(90);
+        assertEquals(List.of(activated(enemy1)), recorder.poll());
+        assertEquals(Set.of(player, enemy1, enemy2), targets.getTargets());
+        targets.close();
+    }
+
+    /**
+     * Tests if removing an actor from the scene is picked up by {@link ValidTargetSet#refresh},
+     * and if refreshing an unchanged set publishes nothing.
+     */
+    @Test
+    void testRefreshAfterSceneChange() {
+        ValidTargetSet<DeckHolderActor> targets = selector.getValidTargets(Set.of());
+        recorder.poll();
+
+        targets.refresh();
+        assertEquals(List.of(), recorder.poll());
+
+        encounter.removeActor(enemy2);
+        targets.refresh();
+
+        assertEquals(List.of(deactivated(enemy2)), recorder.poll());
+        assertEquals(Set.of(player, enemy1), targets.getTargets());
+        assertFalse(enemy2.getObservers().contains(targets));
+        targets.close();
+    }
+
+    /**
+     * @param targetable the activated targetable
+     * @return the recorded activation event of the targetable
+     */
+    private static String activated(Targetable targetable) {
+        return targetable.hashCode() + ":" + TargetableEvent.ACTIVATED;
+    }
+
+    /**
+     * @param targetable the deactivated targetable
+     * @return the recorded deactivation event of the targetable
+     */
+    private static String deactivated(Targetable targetable) {
+        return targetable.hashCode() + ":" + TargetableEvent.DEACTIVATED;
+    }
+}
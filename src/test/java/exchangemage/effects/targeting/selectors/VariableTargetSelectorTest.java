@@ -1,6 +1,15 @@
 package exchangemage.effects.targeting.selectors;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import exchangemage.base.Game;
 import exchangemage.base.GameLocator;
@@ -10,12 +19,16 @@ import exchangemage.actors.DeckHolderActor;
 import exchangemage.actors.Actor;
 import exchangemage.actors.Player;
 import exchangemage.actors.Enemy;
+import exchangemage.cards.Card;
 import exchangemage.cards.Deck;
 import exchangemage.effects.Effect;
+import exchangemage.effects.value.AreaDamageEffect;
 import exchangemage.effects.value.DamageEffect;
+import exchangemage.effects.targeting.Targetable;
 import exchangemage.effects.targeting.TargetingManager;
 import exchangemage.scenes.BasicTurnPlayer;
 import exchangemage.scenes.Encounter;
+import exchangemage.scenes.Scene;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,13 +38,14 @@ import org.mockito.Mockito;
 import static org.junit.jupiter.api.Assertions.*;
 
 class VariableTargetSelectorTest {
+    private static Game   mockGame;
     private static Player player;
     private static Enemy  enemy1;
     private static Enemy  enemy2;
 
     @BeforeAll
     static void setUp() {
-        Game mockGame = Mockito.mock(Game.class);
+        mockGame = Mockito.mock(Game.class);
         player = new Player(Mockito.mock(Deck.class), 100);
         GameLocator.init(mockGame);
         GameStateLocator.init(new BaseGameState());
@@ -47,6 +61,7 @@ class VariableTargetSelectorTest {
         player.setCurrentHealth(100);
         enemy1.setCurrentHealth(100);
         enemy2.setCurrentHealth(100);
+        Mockito.when(mockGame.getRandom()).thenReturn(null);
     }
 
     /**
@@ -72,6 +87,28 @@ class VariableTargetSelectorTest {
         assertEquals(enemy1.getCurrentHealth() + enemy2.getCurrentHealth(), 101);
     }
 
+    /**
+     * Tests if the active targetables visited in place by a {@link VariableTargetSelector} match
+     * the set of active targetables it builds, in the order of their slots, and if checking for
+     * any active targetable respects the forbidden targets.
+     */
+    @Test
+    void testActiveTargetablesVisitedInPlace() {
+        VariableTargetSelector<Enemy> selector = new VariableTargetSelector<>(
+                Enemy.class,
+                VariableTargetSelector.TargetingMode.ALL
+        );
+        Scene       scene  = GameStateLocator.getGameState().getScene();
+        List<Enemy> active = new ArrayList<>();
+        selector.addActiveTargetables(new HashSet<>(), active);
+
+        assertEquals(List.copyOf(selector.getActiveTargetables(new HashSet<>())), active);
+        assertEquals(Set.of(enemy1, enemy2), Set.copyOf(active));
+        assertTrue(scene.getSlot(active.get(0)) < scene.getSlot(active.get(1)));
+        assertTrue(selector.hasActiveTargetables(Set.of(enemy1)));
+        assertFalse(selector.hasActiveTargetables(Set.of(enemy1, enemy2)));
+    }
+
     /**
      * Creates a {@link VariableTargetSelector} which selects a random {@link Enemy} in the scene
      * whose current health is greater than 50 as its target. Then tests if the {@link DamageEffect}
@@ -126,6 +163,38 @@ class VariableTargetSelectorTest {
         assertEquals(enemy2.getCurrentHealth(), 99);
     }
 
+    /**
+     * Creates a {@link VariableTargetSelector} which selects a random {@link Enemy} in the scene
+     * as its target. Then tests if the selected targets are reproduced when the random generator
+     * of the session is reseeded and if both enemies are selected.
+     */
+    @Test
+    void testSelectRandomEnemyWithSessionRandom() {
+        VariableTargetSelector<Enemy> selector = new VariableTargetSelector<>(
+                Enemy.class,
+                VariableTargetSelector.TargetingMode.RANDOM
+        );
+        List<Enemy> firstRun  = new ArrayList<>();
+        List<Enemy> secondRun = new ArrayList<>();
+
+        Mockito.when(mockGame.getRandom()).thenReturn(new SplittableRandom(42));
+        for (int i = 0; i < 50; i++) {
+            assertTrue(selector.selectTarget(Set.of()));
+            firstRun.add(selector.getTarget());
+            selector.clearTarget();
+        }
+        Mockito.when(mockGame.getRandom()).thenReturn(new SplittableRandom(42));
+        for (int i = 0; i < 50; i++) {
+            assertTrue(selector.selectTarget(Set.of()));
+            secondRun.add(selector.getTarget());
+            selector.clearTarget();
+        }
+
+        assertEquals(firstRun, secondRun);
+        assertTrue(firstRun.contains(enemy1));
+        assertTrue(firstRun.contains(enemy2));
+    }
+
     /**
      * Creates a {@link VariableTargetSelector} which selects a random {@link Player} in the scene
      * as its target. Then tests if the {@link DamageEffect} the selector is assigned to deals
@@ -178,14 +247,13 @@ class VariableTargetSelectorTest {
 
     /**
      * Creates a {@link VariableTargetSelector} which selects an {@link Enemy} in the scene
-     * chosen by the player as its target. Creates a thread which waits for the
-     * {@link TargetingManager} to enter its <i>awaiting-input</i> state and then selects an
-     * enemy. Checks if the {@link DamageEffect} the selector is assigned to deals damage to the
-     * selected enemy and only that enemy.
+     * chosen by the player as its target. Awaits the next selection request of the
+     * {@link TargetingManager} and answers it with an enemy from another thread. Checks if the
+     * {@link DamageEffect} the selector is assigned to deals damage to the selected enemy and
+     * only that enemy.
      */
     @Test
-    @SuppressWarnings("BusyWait")
-    void testSelectEnemy() {
+    void testSelectEnemy() throws Exception {
         TargetingManager targetingManager = GameStateLocator.getGameState().getTargetingManager();
         VariableTargetSelector<Enemy> selector = new VariableTargetSelector<>(
                 Enemy.class,
@@ -195,29 +263,13 @@ class VariableTargetSelectorTest {
                 "Deal 1 damage to selected enemy",
                 1, selector, Effect.ResolutionMode.IMMEDIATE
         );
-        Thread thread = new Thread(() -> {
-            synchronized (targetingManager.getPlayerSelectionLock()) {
-                try {
-                    targetingManager.getPlayerSelectionLock().wait();
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-            }
-            targetingManager.chooseTarget(enemy1);
-        });
-
-        thread.start();
-
-        while (thread.getState() != Thread.State.WAITING) {
-            try {
-                Thread.sleep(10);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
+        CompletableFuture<Void> choice = targetingManager.nextSelectionRequest().thenAcceptAsync(
+                request -> targetingManager.chooseTarget(enemy1)
+        );
 
         GameStateLocator.getGameState().getScene().getEffectPlayer().evaluateEffect(effect);
 
+        choice.get(5, TimeUnit.SECONDS);
         assertEquals(player.getCurrentHealth(), 100);
         assertEquals(enemy1.getCurrentHealth(), 99);
         assertEquals(enemy2.getCurrentHealth(), 100);
@@ -226,12 +278,11 @@ class VariableTargetSelectorTest {
     /**
      * Creates a {@link VariableTargetSelector} which selects any {@link Actor} in the scene
      * chosen by the player as its target. Then plays a {@link DamageEffect} using this selector
-     * twice, with the player-simulating threads selecting first an enemy and then the player.
+     * twice, with the player-simulating callbacks selecting first the player and then an enemy.
      * Checks if the {@link DamageEffect} the selector is assigned to deals damage to the selected
      * targets.
      */
     @Test
-    @SuppressWarnings("BusyWait")
     void testSelectActor() {
         TargetingManager targetingManager = GameStateLocator.getGameState().getTargetingManager();
         VariableTargetSelector<DeckHolderActor> selector = new VariableTargetSelector<>(
@@ -242,52 +293,320 @@ class VariableTargetSelectorTest {
                 "Deal 1 damage to selected actor",
                 1, selector, Effect.ResolutionMode.IMMEDIATE
         );
-        Thread thread1 = new Thread(() -> {
-            synchronized (targetingManager.getPlayerSelectionLock()) {
-                try {
-                    targetingManager.getPlayerSelectionLock().wait();
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-            }
-            targetingManager.chooseTarget(player);
-        });
-        Thread thread2 = new Thread(() -> {
-            synchronized (targetingManager.getPlayerSelectionLock()) {
-                try {
-                    targetingManager.getPlayerSelectionLock().wait();
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-            }
-            targetingManager.chooseTarget(enemy2);
-        });
 
-        thread1.start();
+        targetingManager.waitAndSelect(player);
+        GameStateLocator.getGameState().getScene().getEffectPlayer().evaluateEffect(effect);
+        targetingManager.nextSelectionRequest().thenAcceptAsync(
+                request -> targetingManager.chooseTarget(enemy2)
+        );
+        GameStateLocator.getGameState().getScene().getEffectPlayer().evaluateEffect(effect);
+
+        assertEquals(player.getCurrentHealth(), 99);
+        assertEquals(enemy1.getCurrentHealth(), 100);
+        assertEquals(enemy2.getCurrentHealth(), 99);
+    }
 
-        while (thread1.getState() != Thread.State.WAITING) {
+    /**
+     * Tests if choosing a target which does not match the pending selection is rejected without
+     * completing the selection request, and if choosing a target with no pending selection
+     * fails.
+     */
+    @Test
+    void testChooseInvalidTarget() {
+        TargetingManager targetingManager = GameStateLocator.getGameState().getTargetingManager();
+        VariableTargetSelector<Enemy> selector = new VariableTargetSelector<>(
+                Enemy.class,
+                VariableTargetSelector.TargetingMode.SELECT
+        );
+        DamageEffect<Enemy> effect = new DamageEffect<>(
+                "Deal 1 damage to selected enemy",
+                1, selector, Effect.ResolutionMode.IMMEDIATE
+        );
+        List<Boolean> rejected = new ArrayList<>();
+        targetingManager.nextSelectionRequest().thenAcceptAsync(request -> {
             try {
-                Thread.sleep(10);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+                targetingManager.chooseTarget(player);
+            } catch (TargetSelector.InvalidTargetException e) {
+                rejected.add(request.isPending());
             }
-        }
+            targetingManager.chooseTarget(enemy2);
+        });
 
         GameStateLocator.getGameState().getScene().getEffectPlayer().evaluateEffect(effect);
-        thread2.start();
 
-        while (thread2.getState() != Thread.State.WAITING) {
-            try {
-                Thread.sleep(10);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
+        assertEquals(List.of(true), rejected);
+        assertEquals(enemy2.getCurrentHealth(), 99);
+        assertNull(targetingManager.getPendingRequest());
+        assertThrows(IllegalStateException.class, () -> targetingManager.chooseTarget(enemy1));
+    }
+
+    /**
+     * Plays a {@link Card} with a player-selected {@link DamageEffect} on another thread and
+     * interrupts it while it awaits the player's choice. Checks if the selection is abandoned,
+     * the interrupt status of the thread is restored and no damage is dealt.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testInterruptedSelection() throws Exception {
+        TargetingManager targetingManager = GameStateLocator.getGameState().getTargetingManager();
+        VariableTargetSelector<Enemy> selector = new VariableTargetSelector<>(
+                Enemy.class,
+                VariableTargetSelector.TargetingMode.SELECT
+        );
+        DamageEffect<Enemy> effect = new DamageEffect<>(
+                "Deal 1 damage to selected enemy",
+                1, selector, Effect.ResolutionMode.IMMEDIATE
+        );
+        Card card = Mockito.mock(Card.class);
+        Mockito.when(card.getEffects()).thenReturn(List.of(effect));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            CompletableFuture<TargetingManager.SelectionRequest> request =
+                    targetingManager.nextSelectionRequest();
+            CompletableFuture<Void> play = GameStateLocator.getGameState().getEffectPlayer()
+                                                           .playCardAsync(card, executor);
+            request.get(5, TimeUnit.SECONDS);
+            executor.shutdownNow();
+
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                                                         () -> play.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TargetingManager.TargetSelectionInterruptedException.class,
+                             exception.getCause());
+            assertTrue(request.get().getChoice().isCancelled());
+        } finally {
+            executor.shutdownNow();
         }
 
-        GameStateLocator.getGameState().getScene().getEffectPlayer().evaluateEffect(effect);
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertNull(targetingManager.getPendingRequest());
+        assertEquals(enemy1.getCurrentHealth(), 100);
+        assertEquals(enemy2.getCurrentHealth(), 100);
+    }
 
-        assertEquals(player.getCurrentHealth(), 99);
+    /**
+     * Plays a {@link Card} with a player-selected {@link DamageEffect} on a virtual thread (see
+     * {@link exchangemage.effects.EffectPlayer#playCardAsync(Card)}) and answers its selection
+     * request from the test thread. Checks if the card is played on a virtual thread and deals
+     * damage to the chosen enemy only.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSelectOnVirtualThread() throws Exception {
+        TargetingManager targetingManager = GameStateLocator.getGameState().getTargetingManager();
+        VariableTargetSelector<Enemy> selector = new VariableTargetSelector<>(
+                Enemy.class,
+                VariableTargetSelector.TargetingMode.SELECT
+        );
+        DamageEffect<Enemy> effect = new DamageEffect<>(
+                "Deal 1 damage to selected enemy",
+                1, selector, Effect.ResolutionMode.IMMEDIATE
+        );
+        List<Boolean> virtual = new ArrayList<>();
+        Card card = Mockito.mock(Card.class);
+        Mockito.when(card.getEffects()).thenAnswer(invocation -> {
+            virtual.add(Thread.currentThread().isVirtual());
+            return List.of(effect);
+        });
+
+        CompletableFuture<TargetingManager.SelectionRequest> request =
+                targetingManager.nextSelectionRequest();
+        CompletableFuture<Void> play = GameStateLocator.getGameState().getEffectPlayer()
+                                                       .playCardAsync(card);
+        request.get(5, TimeUnit.SECONDS);
+        targetingManager.chooseTarget(enemy2);
+        play.get(5, TimeUnit.SECONDS);
+
+        assertFalse(virtual.isEmpty());
+        assertFalse(virtual.contains(false));
         assertEquals(enemy1.getCurrentHealth(), 100);
         assertEquals(enemy2.getCurrentHealth(), 99);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests if the {@link VariableTargetSelector.TargetingMode#ALL} mode selects every active
+     * targetable at once, excluding the forbidden ones.
+     */
+    @Test
+    void testSelectAll() {
+        VariableTargetSelector<DeckHolderActor> selector = new VariableTargetSelector<>(
+                DeckHolderActor.class,
+                VariableTargetSelector.TargetingMode.ALL
+        );
+
+        assertTrue(selector.selectTarget(Set.of(enemy2)));
+        assertEquals(Set.of(player, enemy1), Set.copyOf(selector.getTargets()));
+        assertSame(selector.getTargets().get(0), selector.getTarget());
+
+        selector.clearTarget();
+        assertTrue(selector.getTargets().isEmpty());
+    }
+
+    /**
+     * Tests if setting a list of targets containing an invalid target leaves the targets of the
+     * selector unchanged.
+     */
+    @Test
+    void testSetInvalidTargets() {
+        VariableTargetSelector<Enemy> selector = new VariableTargetSelector<>(
+                Enemy.class,
+                subject -> subject != enemy2,
+                VariableTargetSelector.TargetingMode.ALL
+        );
+
+        assertTrue(selector.selectTarget(Set.of()));
+        assertThrows(TargetSelector.InvalidTargetException.class,
+                     () -> selector.setTargets(List.of(enemy1, enemy2)));
+        assertSame(enemy1, selector.getTarget());
+        assertEquals(List.of(enemy1), selector.getTargets());
+
+        selector.clearTarget();
+        assertThrows(TargetSelector.InvalidTargetException.class,
+                     () -> selector.setTargets(List.of(enemy1, enemy2)));
+        assertFalse(selector.hasTarget());
+        assertTrue(selector.getTargets().isEmpty());
+    }
+
+    /**
+     * Tests if the {@link VariableTargetSelector.TargetingMode#RANDOM_N} mode selects the
+     * requested number of distinct targets (or all active targetables if there are fewer of
+     * them) and if every target is eventually selected.
+     */
+    @Test
+    void testSelectRandomN() {
+        VariableTargetSelector<DeckHolderActor> selector = new VariableTargetSelector<>(
+                DeckHolderActor.class,
+                null,
+                VariableTargetSelector.TargetingMode.RANDOM_N,
+                2
+        );
+        Set<DeckHolderActor> selected = new HashSet<>();
+
+        for (int i = 0; i < 30; i++) {
+            assertTrue(selector.selectTarget(Set.of()));
+            assertEquals(2, selector.getTargets().size());
+            assertEquals(2, Set.copyOf(selector.getTargets()).size());
+            selected.addAll(selector.getTargets());
+        }
+        assertEquals(Set.of(player, enemy1, enemy2), selected);
+
+        assertTrue(selector.selectTarget(Set.of(player, enemy1)));
+        assertEquals(List.of(enemy2), selector.getTargets());
+        assertThrows(IllegalArgumentException.class, () -> new VariableTargetSelector<>(
+                Enemy.class, null, VariableTargetSelector.TargetingMode.RANDOM_N, 0
+        ));
+    }
+
+    /**
+     * Creates an {@link AreaDamageEffect} whose affected enemies are chosen by the player with the
+     * {@link VariableTargetSelector.TargetingMode#SELECT_N} mode. Tests if both enemies are chosen
+     * in a single interaction, and if a choice of the wrong number of targets is rejected.
+     */
+    @Test
+    void testSelectN() throws Exception {
+        TargetingManager targetingManager = GameStateLocator.getGameState().getTargetingManager();
+        AreaDamageEffect<DeckHolderActor> effect = new AreaDamageEffect<>(
+                "Deal 1 damage to two selected actors",
+                1,
+                new VariableTargetSelector<>(DeckHolderActor.class, null,
+                                             VariableTargetSelector.TargetingMode.SELECT_N, 2),
+                Effect.ResolutionMode.IMMEDIATE
+        );
+        List<Integer> requested = new ArrayList<>();
+        CompletableFuture<Void> choice = targetingManager.nextSelectionRequest().thenAcceptAsync(
+                request -> {
+                    requested.add(request.getTargetCount());
+                    assertThrows(TargetSelector.InvalidTargetException.class,
+                                 () -> targetingManager.chooseTargets(List.of(enemy1)));
+                    targetingManager.chooseTargets(List.of(enemy1, enemy2));
+                }
+        );
+
+        GameStateLocator.getGameState().getEffectPlayer().evaluateEffect(effect);
+        choice.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(2), requested);
+        assertEquals(100, player.getCurrentHealth());
+        assertEquals(99, enemy1.getCurrentHealth());
+        assertEquals(99, enemy2.getCurrentHealth());
+    }
+
+    /**
+     * Creates an {@link Enemy} whose action deals damage to the enemy chosen by the
+     * {@link VariableTargetSelector.TargetingMode#HEURISTIC} mode. Tests if the enemy most likely
+     * to be killed is chosen by the {@link TargetScorer.Standard#KILL_CHANCE} scorer, and if ties
+     * are broken in favour of the candidate with the lowest slot.
+     */
+    @Test
+    void testSelectHeuristic() {
+        enemy1.setCurrentHealth(40);
+        enemy2.setCurrentHealth(5);
+        Enemy attacker = Enemy.withActions(Mockito.mock(Deck.class), 100, null, List.of(
+                new DamageEffect<>("Deal 5 damage to the weakest enemy", 5,
+                                   new VariableTargetSelector<>(
+                                           Enemy.class, null, TargetScorer.Standard.KILL_CHANCE
+                                   ),
+                                   Effect.ResolutionMode.ENQUEUE)
+        ));
+
+        attacker.takeTurn();
+        assertEquals(40, enemy1.getCurrentHealth());
+        assertEquals(0, enemy2.getCurrentHealth());
+
+        VariableTargetSelector<Enemy> selector = new VariableTargetSelector<>(
+                Enemy.class, null, preview -> 1
+        );
+        Scene scene = GameStateLocator.getGameState().getScene();
+        Enemy first = scene.getSlot(enemy1) < scene.getSlot(enemy2) ? enemy1 : enemy2;
+        for (int i = 0; i < 10; i++) {
+            assertTrue(selector.selectTarget(Set.of()));
+            assertSame(first, selector.getTarget());
+        }
+    }
+
+    /**
+     * Tests if a {@link VariableTargetSelector.TargetingMode#HEURISTIC} selection respects its
+     * preview budget - a selection allowed to preview a single candidate samples the candidate it
+     * scores at random, a selection with the full budget chooses the best candidate and a
+     * selection made once the budget of the decision window has been spent by the previous ones
+     * chooses a random candidate.
+     */
+    @Test
+    void testHeuristicBudget() {
+        TargetingManager targetingManager = GameStateLocator.getGameState().getTargetingManager();
+        Scene            scene            = GameStateLocator.getGameState().getScene();
+        Enemy            first            = scene.getSlot(enemy1) < scene.getSlot(enemy2)
+                                            ? enemy1 : enemy2;
+        VariableTargetSelector<Enemy> ranked = new VariableTargetSelector<>(
+                Enemy.class, null, preview -> preview.getTarget() == first ? 0 : 1
+        );
+
+        Set<Targetable> chosen = new HashSet<>();
+        targetingManager.setScoringBudget(1);
+        try {
+            for (int i = 0; i < 100; i++) {
+                assertTrue(ranked.selectTarget(Set.of()));
+                chosen.add(ranked.getTarget());
+            }
+        } finally {
+            targetingManager.setScoringBudget(TargetingManager.DEFAULT_SCORING_BUDGET);
+        }
+        assertEquals(Set.of(enemy1, enemy2), chosen);
+
+        chosen.clear();
+        targetingManager.openDecisionWindow(2);
+        try {
+            assertTrue(ranked.selectTarget(Set.of()));
+            assertNotSame(first, ranked.getTarget());
+            for (int i = 0; i < 100; i++) {
+                assertTrue(ranked.selectTarget(Set.of()));
+                chosen.add(ranked.getTarget());
+            }
+        } finally {
+            targetingManager.closeDecisionWindow();
+        }
+        assertEquals(Set.of(enemy1, enemy2), chosen);
+        assertTrue(ranked.selectTarget(Set.of()));
+        assertNotSame(first, ranked.getTarget());
+    }
+}
@@ -0,0 +1,149 @@
+package exchangemage.effects.triggers;
+
+import java.util.Set;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.Player;
+import exchangemage.actors.TestPlayers;
+import exchangemage.base.GameState;
+import exchangemage.base.GameStateLocator;
+import exchangemage.effects.Effect;
+import exchangemage.effects.triggers.conditions.NumericValueCondition;
+import exchangemage.effects.triggers.getters.ActorHealthGetter;
+import exchangemage.effects.triggers.getters.EffectInEvaluationGetter;
+import exchangemage.effects.triggers.getters.EffectSourceGetter;
+import exchangemage.scenes.Scene;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedTriggerTest {
+    private GameState mockGameState;
+    private Scene     mockScene;
+
+    @BeforeEach
+    void setUp() {
+        mockGameState = Mockito.mock(GameState.class);
+        mockScene     = mockScene();
+        Mockito.when(mockGameState.getScene()).thenReturn(mockScene);
+        GameStateLocator.init(mockGameState);
+    }
+
+    /**
+     * Tests if triggers reading resolution-scoped state (such as the {@link HoldersTurnTrigger})
+     * are not wrapped by {@link CachedTrigger#of}, while triggers reading only versioned state
+     * are.
+     */
+    @Test
+    void testOnlyVersionedTriggersAreCached() {
+        Trigger turnTrigger = new HoldersTurnTrigger(true);
+
+        assertTrue(StateDependency.of(turnTrigger).contains(StateDependency.NOTIFICATION));
+        assertSame(turnTrigger, CachedTrigger.of(turnTrigger));
+        assertInstanceOf(CachedTrigger.class, CachedTrigger.of(createBelowHalfHealthTrigger()));
+        assertSame(CachedTrigger.of(createBelowHalfHealthTrigger()),
+                   CachedTrigger.of(createBelowHalfHealthTrigger()));
+    }
+
+    /**
+     * Tests if a cached <i>"holder is below half health"</i> trigger returns its cached result
+     * until the state of the holder it has read changes, ignoring changes to other actors, and if
+     * results are cached separately for each effect in evaluation.
+     */
+    @Test
+    void testResultCachedUntilReadStateChanges() {
+        Player          player   = TestPlayers.PLACEHOLDER.get();
+        Player          other    = TestPlayers.PLACEHOLDER.get();
+        Effect<?>       effect   = mockEffectHeldBy(player);
+        Effect<?>       otherEf  = mockEffectHeldBy(other);
+        CountingTrigger counting = new CountingTrigger(createBelowHalfHealthTrigger());
+        Trigger         trigger  = CachedTrigger.of(counting);
+
+        Mockito.when(mockGameState.getEffectInEvaluation()).thenAnswer(invocation -> effect);
+        assertFalse(trigger.isActivated());
+        assertFalse(trigger.isActivated());
+        assertEquals(1, counting.evaluations);
+
+        other.setCurrentHealth(1);
+        assertFalse(trigger.isActivated());
+        assertEquals(1, counting.evaluations);
+
+        player.setCurrentHealth(1);
+        assertTrue(trigger.isActivated());
+        assertEquals(2, counting.evaluations);
+
+        Mockito.when(mockGameState.getEffectInEvaluation()).thenAnswer(invocation -> otherEf);
+        assertTrue(trigger.isActivated());
+        assertEquals(3, counting.evaluations);
+    }
+
+    /** Tests if the results of a cached trigger are kept separately for every scene. */
+    @Test
+    void testResultsCachedPerScene() {
+        Player          player   = TestPlayers.PLACEHOLDER.get();
+        Effect<?>       effect   = mockEffectHeldBy(player);
+        Scene           other    = mockScene();
+        CountingTrigger counting = new CountingTrigger(createBelowHalfHealthTrigger());
+        Trigger         trigger  = CachedTrigger.of(counting);
+
+        Mockito.when(mockGameState.getEffectInEvaluation()).thenAnswer(invocation -> effect);
+        assertFalse(trigger.isActivated());
+
+        Mockito.when(mockGameState.getScene()).thenReturn(other);
+        assertFalse(trigger.isActivated());
+        assertEquals(2, counting.evaluations);
+
+        Mockito.when(mockGameState.getScene()).thenReturn(mockScene);
+        assertFalse(trigger.isActivated());
+        assertEquals(2, counting.evaluations);
+    }
+
+    /**
+     * A trigger counting the evaluations of the trigger it delegates to. Not shareable, so that
+     * every instance is cached on its own.
+     */
+    private static class CountingTrigger implements Trigger, ShareableNode {
+        private final Trigger trigger;
+        private int           evaluations = 0;
+
+        CountingTrigger(Trigger trigger) {this.trigger = trigger;}
+
+        @Override
+        public boolean isActivated() {
+            this.evaluations++;
+            return this.trigger.isActivated();
+        }
+
+        @Override
+        public boolean isShareable() {return false;}
+
+        @Override
+        public Set<StateDependency> getDependencies() {return StateDependency.of(this.trigger);}
+    }
+
+    private static Trigger createBelowHalfHealthTrigger() {
+        return new ConditionalTrigger(
+                new ActorHealthGetter(
+                        new EffectSourceGetter<>(Actor.class, new EffectInEvaluationGetter()),
+                        ActorHealthGetter.HealthValue.FRACTION
+                ),
+                new NumericValueCondition(0.5, NumericValueCondition.Operator.LT)
+        );
+    }
+
+    private static Scene mockScene() {
+        Scene        scene = Mockito.mock(Scene.class);
+        TriggerCache cache = new TriggerCache();
+        Mockito.when(scene.getTriggerCache()).thenReturn(cache);
+        return scene;
+    }
+
+    private static Effect<?> mockEffectHeldBy(Player holder) {
+        Effect<?> effect = Mockito.mock(Effect.class);
+        Mockito.when(effect.getSource()).thenReturn(holder);
+        return effect;
+    }
+}
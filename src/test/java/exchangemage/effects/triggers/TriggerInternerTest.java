@@ -0,0 +1,116 @@
+package exchangemage.effects.triggers;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.Player;
+import exchangemage.effects.triggers.conditions.NonNullCondition;
+import exchangemage.effects.triggers.conditions.NumericValueCondition;
+import exchangemage.effects.triggers.conditions.ValueCondition;
+import exchangemage.effects.triggers.getters.EffectInResolutionGetter;
+import exchangemage.effects.triggers.getters.EffectSourceGetter;
+import exchangemage.effects.triggers.getters.EffectValueGetter;
+import exchangemage.effects.value.ValueEffect;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TriggerInternerTest {
+    /**
+     * Tests if two separately created {@link NotificationTrigger}s checking for the same
+     * notification are interned into the same instance, while triggers checking for different
+     * notifications are not.
+     */
+    @Test
+    void testInternNotificationTriggers() {
+        Trigger first  = TriggerInterner.intern(
+                new NotificationTrigger(Actor.ActorEvent.DAMAGE_RECEIVED)
+        );
+        Trigger second = TriggerInterner.intern(
+                new NotificationTrigger(Actor.ActorEvent.DAMAGE_RECEIVED)
+        );
+        Trigger other  = TriggerInterner.intern(new NotificationTrigger(Actor.ActorEvent.DEATH));
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+    }
+
+    /**
+     * Tests if structurally identical nested {@link ConditionStatement}s are interned into the
+     * same instance and if their operands are shared.
+     */
+    @Test
+    void testInternNestedStatements() {
+        ConditionStatement first  = TriggerInterner.intern(createStatement());
+        ConditionStatement second = TriggerInterner.intern(createStatement());
+
+        assertSame(first, second);
+        assertSame(TriggerInterner.intern(new HoldersTurnTrigger(true)),
+                   TriggerInterner.intern(new HoldersTurnTrigger(true)));
+        assertNotEquals(new HoldersTurnTrigger(true), new HoldersTurnTrigger(false));
+    }
+
+    /**
+     * Tests if triggers containing nodes which cannot be compared by structure (such as lambda
+     * expressions) are not interned.
+     */
+    @Test
+    void testLambdaTriggersAreNotInterned() {
+        ConditionalTrigger trigger = new ConditionalTrigger(() -> 1, new NonNullCondition());
+        Trigger            lambda  = () -> true;
+
+        assertFalse(trigger.isShareable());
+        assertSame(trigger, TriggerInterner.intern(trigger));
+        assertSame(lambda, TriggerInterner.intern(lambda));
+    }
+
+    /**
+     * Tests if conditions holding arbitrary objects are not interned, so that no session-specific
+     * state is shared between sessions.
+     */
+    @Test
+    void testConditionsHoldingObjectsAreNotInterned() {
+        ValueCondition valueCondition  = new ValueCondition(new Object());
+        ValueCondition stringCondition = new ValueCondition("shared");
+
+        assertFalse(valueCondition.isShareable());
+        assertSame(valueCondition, TriggerInterner.intern(valueCondition));
+        assertTrue(stringCondition.isShareable());
+        assertSame(TriggerInterner.intern(stringCondition),
+                   TriggerInterner.intern(new ValueCondition("shared")));
+        assertFalse(new NumericValueCondition(new AtomicInteger(1),
+                                              NumericValueCondition.Operator.EQ).isShareable());
+    }
+
+    /** Tests if a shared node no longer referenced by any effect is dropped from the pool. */
+    @Test
+    void testUnreferencedNodesAreReleased() throws InterruptedException {
+        WeakReference<ValueCondition> reference = new WeakReference<>(
+                TriggerInterner.intern(new ValueCondition("released"))
+        );
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(reference.get());
+        ValueCondition condition = new ValueCondition("released");
+        assertSame(condition, TriggerInterner.intern(condition));
+    }
+
+    private static ConditionStatement createStatement() {
+        return new ConditionStatement(ConditionStatement.Operator.AND, List.of(
+                new ConditionalTrigger(
+                        new EffectSourceGetter<>(Player.class, new EffectInResolutionGetter()),
+                        new NonNullCondition()
+                ),
+                new ConditionalTrigger(
+                        new EffectValueGetter(ValueEffect.ValueState.MODIFIED),
+                        new NumericValueCondition(2, NumericValueCondition.Operator.GTE)
+                )
+        ));
+    }
+}
@@ -0,0 +1,139 @@
+package exchangemage.effects.triggers;
+
+import java.util.List;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.Player;
+import exchangemage.actors.TestPlayers;
+import exchangemage.base.GameState;
+import exchangemage.base.GameStateLocator;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer.EffectResolutionStage;
+import exchangemage.effects.NotificationEffect;
+import exchangemage.effects.TestEffects;
+import exchangemage.effects.TestPersistentEffects;
+import exchangemage.effects.deployers.PersistentEffect;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TriggerNetworkTest {
+    private GameState mockGameState;
+    private Player    player;
+
+    @BeforeEach
+    void setUp() {
+        mockGameState = Mockito.mock(GameState.class);
+        player        = TestPlayers.PLACEHOLDER.get();
+        GameStateLocator.init(mockGameState);
+    }
+
+    /**
+     * Tests if the {@link TriggerNetwork} discards persistent effects whose notification or
+     * shared alpha tests are not fulfilled by the effect in resolution, while keeping the ones
+     * which can still be activated and the ones which have not been registered.
+     */
+    @Test
+    void testFilter() {
+        PersistentEffect onDamage     = createNotificationEffect(Actor.ActorEvent.DAMAGE_RECEIVED);
+        PersistentEffect onDeath      = createNotificationEffect(Actor.ActorEvent.DEATH);
+        PersistentEffect whenDamaged  = TestPersistentEffects
+                .WHENEVER_ENEMY_IS_DAMAGED_DEAL_THEM_1_DAMAGE.get();
+        PersistentEffect unregistered = createNotificationEffect(Actor.ActorEvent.DEATH);
+        Effect<?>        notification = new NotificationEffect(Actor.ActorEvent.DAMAGE_RECEIVED,
+                                                               player);
+        TriggerNetwork   network      = new TriggerNetwork();
+
+        network.register(onDamage);
+        network.register(onDeath);
+        network.register(whenDamaged);
+        Mockito.when(mockGameState.getEffectInResolution()).thenAnswer(invocation -> notification);
+
+        assertEquals(List.of(onDamage, unregistered), network.filter(
+                List.of(onDamage, onDeath, whenDamaged, unregistered), notification
+        ));
+    }
+
+    /**
+     * Tests if structurally identical alpha tests of different persistent effects are shared by
+     * the {@link TriggerNetwork} and released once no registered effect uses them.
+     */
+    @Test
+    void testAlphaTestsShared() {
+        PersistentEffect first   = TestPersistentEffects
+                .WHENEVER_ENEMY_IS_DAMAGED_DEAL_THEM_1_DAMAGE.get();
+        PersistentEffect second  = TestPersistentEffects
+                .WHENEVER_ENEMY_IS_DAMAGED_DEAL_THEM_1_DAMAGE.get();
+        TriggerNetwork   network = new TriggerNetwork();
+
+        network.register(first);
+        network.register(second);
+        assertEquals(2, network.getAlphaTestCount());
+
+        network.unregister(first);
+        assertEquals(2, network.getAlphaTestCount());
+        network.unregister(second);
+        assertEquals(0, network.getAlphaTestCount());
+    }
+
+    /**
+     * Tests if the {@link TriggerNetwork} registers and unregisters persistent effects as they are
+     * added to and removed from a watched holder.
+     */
+    @Test
+    void testIncrementalMaintenance() {
+        PersistentEffect existing = createNotificationEffect(Actor.ActorEvent.DEATH);
+        PersistentEffect added    = createNotificationEffect(Actor.ActorEvent.DAMAGE_RECEIVED);
+        TriggerNetwork   network  = new TriggerNetwork();
+
+        player.addPersistentEffect(existing);
+        network.watch(player);
+        assertTrue(network.contains(existing));
+
+        player.addPersistentEffect(added);
+        assertTrue(network.contains(added));
+
+        player.removePersistentEffect(existing);
+        assertFalse(network.contains(existing));
+
+        network.unwatch(player);
+        assertFalse(network.contains(added));
+        assertThrows(IllegalArgumentException.class, () -> network.unwatch(player));
+    }
+
+    /**
+     * Tests if the {@link TriggerNetwork} reports the notifications its registered persistent
+     * effects are subscribed to, counting persistent effects without a notification trigger as
+     * subscribed to all notifications.
+     */
+    @Test
+    void testSubscriptions() {
+        PersistentEffect onDamage    = createNotificationEffect(Actor.ActorEvent.DAMAGE_RECEIVED);
+        PersistentEffect whenDamaged = TestPersistentEffects
+                .WHENEVER_ENEMY_IS_DAMAGED_DEAL_THEM_1_DAMAGE.get();
+        TriggerNetwork   network     = new TriggerNetwork();
+
+        network.register(onDamage);
+        assertTrue(network.isSubscribed(Actor.ActorEvent.DAMAGE_RECEIVED));
+        assertFalse(network.isSubscribed(Actor.ActorEvent.DEATH));
+
+        network.register(whenDamaged);
+        assertTrue(network.isSubscribed(Actor.ActorEvent.DEATH));
+
+        network.unregister(whenDamaged);
+        network.unregister(onDamage);
+        assertFalse(network.isSubscribed(Actor.ActorEvent.DAMAGE_RECEIVED));
+    }
+
+    private PersistentEffect createNotificationEffect(Actor.ActorEvent event) {
+        return new PersistentEffect(
+                "On " + event,
+                List.of(TestEffects.DEAL_1_DAMAGE_TO_CURRENTLY_TARGETED_ENEMY.get()),
+                EffectResolutionStage.RESPONSE,
+                new NotificationTrigger(event)
+        );
+    }
+}
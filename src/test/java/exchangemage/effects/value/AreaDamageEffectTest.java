@@ -0,0 +1,110 @@
+package exchangemage.effects.value;
+
+import java.util.List;
+import java.util.Set;
+
+import exchangemage.actors.Enemy;
+import exchangemage.actors.Player;
+import exchangemage.base.BaseGameState;
+import exchangemage.base.Game;
+import exchangemage.base.GameLocator;
+import exchangemage.base.GameStateLocator;
+import exchangemage.cards.Deck;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.TestPersistentEffects;
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.scenes.BasicTurnPlayer;
+import exchangemage.scenes.Encounter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AreaDamageEffectTest {
+    private Player       player;
+    private Enemy        first;
+    private Enemy        second;
+    private EffectPlayer effectPlayer;
+
+    @BeforeEach
+    void setUp() {
+        Game mockGame = Mockito.mock(Game.class);
+        player = new Player(Mockito.mock(Deck.class), 100);
+        GameLocator.init(mockGame);
+        GameStateLocator.init(new BaseGameState());
+        Mockito.when(mockGame.getPlayer()).thenReturn(player);
+        first  = new Enemy(Mockito.mock(Deck.class), 100);
+        second = new Enemy(Mockito.mock(Deck.class), 100);
+        Encounter encounter = new Encounter(new BasicTurnPlayer(), Set.of(first, second));
+        Mockito.when(mockGame.getScene()).thenReturn(encounter);
+        effectPlayer = GameStateLocator.getGameState().getEffectPlayer();
+    }
+
+    /** Tests if an {@link AreaDamageEffect} damages every actor of its target type. */
+    @Test
+    void testDamagesAllTargets() {
+        AreaDamageEffect<Enemy> effect = new AreaDamageEffect<>(
+                "Deal 3 damage to all enemies", 3, Enemy.class, Effect.ResolutionMode.IMMEDIATE
+        );
+
+        effect.setSource(player);
+        effectPlayer.evaluateEffect(effect);
+
+        assertEquals(97, first.getCurrentHealth());
+        assertEquals(97, second.getCurrentHealth());
+        assertEquals(100, player.getCurrentHealth());
+    }
+
+    /**
+     * Tests if the persistent effects held by the source of an {@link AreaDamageEffect} modify the
+     * value shared by all targets, while the ones held by a single target only modify the damage
+     * dealt to that target.
+     */
+    @Test
+    void testSharedAndTargetSpecificModifiers() {
+        AreaDamageEffect<Enemy> effect = new AreaDamageEffect<>(
+                "Deal 3 damage to all enemies", 3, Enemy.class, Effect.ResolutionMode.IMMEDIATE
+        );
+
+        player.addPersistentEffect(TestPersistentEffects.createDamageModifier(2));
+        second.addPersistentEffect(TestPersistentEffects.createDamageModifier(-1));
+        effect.setSource(player);
+        effectPlayer.evaluateEffect(effect);
+
+        assertEquals(95, first.getCurrentHealth());
+        assertEquals(96, second.getCurrentHealth());
+    }
+
+    /**
+     * Tests if the persistent effects storing an {@link AreaDamageEffect} - held by its source or
+     * by one of its targets - are not activated again by the effect they deploy.
+     */
+    @Test
+    void testDeployersNotActivated() {
+        AreaDamageEffect<Enemy> effect = new AreaDamageEffect<>(
+                "Deal 3 damage to all enemies", 3, Enemy.class, Effect.ResolutionMode.IMMEDIATE
+        );
+        PersistentEffect sourceDeployer = new PersistentEffect(
+                "Deal 3 damage to all enemies again", List.of(effect),
+                EffectPlayer.EffectResolutionStage.RESPONSE, () -> true
+        );
+        PersistentEffect targetDeployer = new PersistentEffect(
+                "Deal 3 damage to all enemies again", List.of(effect),
+                EffectPlayer.EffectResolutionStage.RESPONSE, () -> true
+        );
+
+        player.addPersistentEffect(sourceDeployer);
+        second.addPersistentEffect(targetDeployer);
+        effect.setSource(player);
+        assertFalse(effect.getActivatablePersistentEffects(GameStateLocator.getGameState()
+                                                                           .getScene())
+                          .contains(sourceDeployer));
+
+        effectPlayer.evaluateEffect(effect);
+        assertEquals(97, first.getCurrentHealth());
+        assertEquals(97, second.getCurrentHealth());
+    }
+}
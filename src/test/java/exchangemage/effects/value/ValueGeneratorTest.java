@@ -0,0 +1,81 @@
+package exchangemage.effects.value;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import exchangemage.actors.Enemy;
+import exchangemage.base.GameState;
+import exchangemage.base.GameStateLocator;
+import exchangemage.effects.Effect;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector.TargetingMode;
+import exchangemage.scenes.Scene;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueGeneratorTest {
+    private AtomicLong    sceneVersion;
+    private AtomicInteger generated;
+
+    @BeforeEach
+    void setUp() {
+        GameState mockGameState = Mockito.mock(GameState.class);
+        Scene     mockScene     = Mockito.mock(Scene.class);
+        sceneVersion = new AtomicLong();
+        generated    = new AtomicInteger();
+        Mockito.when(mockGameState.getScene()).thenReturn(mockScene);
+        Mockito.when(mockScene.getStateVersion()).thenAnswer(invocation -> sceneVersion.get());
+        GameStateLocator.init(mockGameState);
+    }
+
+    /**
+     * Tests if a {@link ValueGenerator} declaring itself constant is evaluated only once, upon
+     * the construction of the {@link ValueEffect} using it.
+     */
+    @Test
+    void testConstantGeneratorEvaluatedOnce() {
+        ValueGenerator generator = new ValueGenerator() {
+            @Override
+            public int generate() {
+                generated.incrementAndGet();
+                return 3;
+            }
+
+            @Override
+            public boolean isConstant() {return true;}
+        };
+        DamageEffect<Enemy> effect = new DamageEffect<>(
+                "Deal 3 damage", generator, () -> true,
+                new VariableTargetSelector<>(Enemy.class, TargetingMode.RANDOM),
+                Effect.ResolutionMode.ENQUEUE
+        );
+
+        assertEquals(3, effect.getUnmodifiedValue());
+        assertEquals(3, effect.getModifiedValue());
+        assertEquals(1, generated.get());
+    }
+
+    /**
+     * Tests if a memoized {@link ValueGenerator} reuses its value until the state version of the
+     * scene changes or the generator is reset.
+     */
+    @Test
+    void testMemoizedGeneratorInvalidation() {
+        ValueGenerator generator = ValueGenerator.memoized(generated::incrementAndGet);
+
+        assertEquals(1, generator.generate());
+        assertEquals(1, generator.generate());
+
+        sceneVersion.incrementAndGet();
+        assertEquals(2, generator.generate());
+        assertEquals(2, generator.generate());
+
+        generator.reset();
+        assertEquals(3, generator.generate());
+        assertSame(generator, ValueGenerator.memoized(generator));
+    }
+}
@@ -0,0 +1,92 @@
+package exchangemage.effects.value;
+
+import java.util.List;
+
+import exchangemage.actors.Enemy;
+import exchangemage.effects.Effect;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueModifierPipelineTest {
+    /**
+     * Tests if consecutive additive and multiplicative modifiers are folded into a single stage
+     * while arbitrary modifiers are kept as separate stages.
+     */
+    @Test
+    void testArithmeticModifiersFolded() {
+        ValueModifierPipeline pipeline = createPipeline(List.of(
+                ValueModifier.additive(2),
+                ValueModifier.multiplicative(3),
+                ValueModifier.additive(-1),
+                value -> Math.max(value, 10),
+                ValueModifier.multiplicative(2)
+        ));
+
+        assertEquals(3, pipeline.size());
+        assertEquals(20, pipeline.apply(0));
+        assertEquals(22, pipeline.apply(2));
+    }
+
+    /**
+     * Tests if the folded pipeline returns the same results as applying the modifiers one by one,
+     * including when intermediate values overflow.
+     */
+    @Test
+    void testFoldedPipelineMatchesSequentialApplication() {
+        List<ValueModifier> modifiers = List.of(
+                ValueModifier.multiplicative(1 << 20),
+                ValueModifier.additive(7),
+                ValueModifier.multiplicative(1 << 15),
+                value -> value ^ 0x55,
+                ValueModifier.additive(Integer.MAX_VALUE),
+                ValueModifier.multiplicative(-3)
+        );
+        ValueModifierPipeline pipeline = createPipeline(modifiers);
+
+        for (int value : new int[]{0, 1, -1, 12345, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            int expected = value;
+            for (ValueModifier modifier : modifiers)
+                expected = modifier.modify(expected);
+            assertEquals(expected, pipeline.apply(value));
+        }
+    }
+
+    /**
+     * Tests if the modified value of a {@link ValueEffect} is cached only while all of its
+     * modifiers are arithmetic, so that an arbitrary modifier reading external state is applied
+     * anew on every read.
+     */
+    @Test
+    void testArbitraryModifiersNotCached() {
+        int[]               bonus  = {1};
+        DamageEffect<Enemy> effect = new DamageEffect<>(
+                "Deal 5 damage to random enemy", 5,
+                new VariableTargetSelector<>(Enemy.class,
+                                             VariableTargetSelector.TargetingMode.RANDOM),
+                Effect.ResolutionMode.IMMEDIATE
+        );
+        effect.addValueModifier(ValueModifier.multiplicative(2));
+        assertEquals(10, effect.getModifiedValue());
+
+        effect.addValueModifier(value -> value + bonus[0]);
+        assertEquals(11, effect.getModifiedValue());
+        bonus[0] = 4;
+        assertEquals(14, effect.getModifiedValue());
+
+        ValueModifierPipeline pipeline = createPipeline(List.of(ValueModifier.additive(1)));
+        assertTrue(pipeline.isPure());
+        pipeline.add(value -> value);
+        assertFalse(pipeline.isPure());
+        pipeline.clear();
+        assertTrue(pipeline.isPure());
+    }
+
+    private static ValueModifierPipeline createPipeline(List<ValueModifier> modifiers) {
+        ValueModifierPipeline pipeline = new ValueModifierPipeline();
+        modifiers.forEach(pipeline::add);
+        return pipeline;
+    }
+}
@@ -0,0 +1,142 @@
+package exchangemage.effects.value;
+
+import java.util.Map;
+import java.util.Set;
+
+import exchangemage.actors.Enemy;
+import exchangemage.actors.Player;
+import exchangemage.base.BaseGameState;
+import exchangemage.base.Game;
+import exchangemage.base.GameLocator;
+import exchangemage.base.GameStateLocator;
+import exchangemage.cards.Deck;
+import exchangemage.effects.Effect;
+import exchangemage.effects.TestPersistentEffects;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector;
+import exchangemage.scenes.BasicTurnPlayer;
+import exchangemage.scenes.Encounter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValuePreviewMatrixTest {
+    private Player              player;
+    private Enemy               first;
+    private Enemy               second;
+    private Encounter           encounter;
+    private DamageEffect<Enemy> effect;
+    private ValuePreviewMatrix  matrix;
+
+    @BeforeEach
+    void setUp() {
+        Game mockGame = Mockito.mock(Game.class);
+        player = new Player(Mockito.mock(Deck.class), 100);
+        GameLocator.init(mockGame);
+        GameStateLocator.init(new BaseGameState());
+        Mockito.when(mockGame.getPlayer()).thenReturn(player);
+        first  = new Enemy(Mockito.mock(Deck.class), 100);
+        second = new Enemy(Mockito.mock(Deck.class), 100);
+        encounter = new Encounter(new BasicTurnPlayer(), Set.of(first, second));
+        Mockito.when(mockGame.getScene()).thenReturn(encounter);
+
+        effect = new DamageEffect<>(
+                "Deal 3 damage to an enemy", 3,
+                new VariableTargetSelector<>(Enemy.class,
+                                             VariableTargetSelector.TargetingMode.SELECT),
+                Effect.ResolutionMode.ENQUEUE
+        );
+        effect.setSource(player);
+        matrix = ValuePreviewMatrix.observe(encounter);
+        matrix.addEffect(effect);
+    }
+
+    /**
+     * Tests if the previewed values include the modifiers held by the source and the target of
+     * the effect, without executing the effect or leaving it with a target.
+     */
+    @Test
+    void testPreviewValues() {
+        player.addPersistentEffect(TestPersistentEffects.createDamageModifier(2));
+        second.addPersistentEffect(TestPersistentEffects.createDamageModifier(-1));
+
+        assertEquals(Map.of(first, 5, second, 4), matrix.getValues(effect));
+        assertNull(matrix.getValue(effect, player));
+        assertFalse(effect.hasTarget());
+        assertEquals(100, first.getCurrentHealth());
+        assertEquals(100, second.getCurrentHealth());
+    }
+
+    /**
+     * Tests if a change of a target's state only invalidates its column, while a change of the
+     * effect's source invalidates the whole row.
+     */
+    @Test
+    void testIncrementalInvalidation() {
+        matrix.getValues(effect);
+        assertTrue(matrix.isCached(effect, first));
+        assertTrue(matrix.isCached(effect, second));
+
+        second.addPersistentEffect(TestPersistentEffects.createDamageModifier(1));
+        assertTrue(matrix.isCached(effect, first));
+        assertFalse(matrix.isCached(effect, second));
+        assertEquals(4, matrix.getValue(effect, second));
+
+        first.receiveDamage(10);
+        assertFalse(matrix.isCached(effect, first));
+        assertTrue(matrix.isCached(effect, second));
+
+        player.addPersistentEffect(TestPersistentEffects.createDamageModifier(2));
+        assertFalse(matrix.isCached(effect, second));
+        assertEquals(Map.of(first, 5, second, 6), matrix.getValues(effect));
+
+        matrix.removeEffect(effect);
+        assertThrows(IllegalArgumentException.class, () -> matrix.getValue(effect, first));
+    }
+
+    /**
+     * Tests if an actor added to the scene after the matrix has been created is observed and if
+     * the column of an actor removed from the scene is dropped.
+     */
+    @Test
+    void testActorsEnteringAndLeavingScene() {
+        Enemy third = new Enemy(Mockito.mock(Deck.class), 100);
+        encounter.addActor(third);
+        assertEquals(3, matrix.getValue(effect, third));
+
+        third.addPersistentEffect(TestPersistentEffects.createDamageModifier(1));
+        assertFalse(matrix.isCached(effect, third));
+        assertEquals(4, matrix.getValue(effect, third));
+
+        encounter.removeActor(third);
+        assertFalse(matrix.isCached(effect, third));
+        assertFalse(third.getObservers().contains(matrix));
+        assertEquals(Map.of(first, 3, second, 3), matrix.getValues(effect));
+    }
+
+    /**
+     * Tests if the cells of an effect whose value depends on the state of an actor other than its
+     * source and target are recomputed once that state changes.
+     */
+    @Test
+    void testStateDependentValues() {
+        DamageEffect<Enemy> dynamic = new DamageEffect<>(
+                "Deal damage equal to a tenth of the first enemy's health",
+                () -> first.getCurrentHealth() / 10, () -> true,
+                new VariableTargetSelector<>(Enemy.class,
+                                             VariableTargetSelector.TargetingMode.SELECT),
+                Effect.ResolutionMode.ENQUEUE
+        );
+        dynamic.setSource(player);
+        matrix.addEffect(dynamic);
+
+        assertEquals(10, matrix.getValue(dynamic, second));
+        assertEquals(3, matrix.getValue(effect, second));
+        first.receiveDamage(20);
+        assertFalse(matrix.isCached(dynamic, second));
+        assertTrue(matrix.isCached(effect, second));
+        assertEquals(8, matrix.getValue(dynamic, second));
+    }
+}
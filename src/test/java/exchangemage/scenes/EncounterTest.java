@@ -0,0 +1,91 @@
+package exchangemage.scenes;
+
+import java.util.List;
+import java.util.Set;
+
+import exchangemage.actors.Enemy;
+import exchangemage.actors.Player;
+import exchangemage.base.BaseGameState;
+import exchangemage.base.Game;
+import exchangemage.base.GameLocator;
+import exchangemage.base.GameStateLocator;
+import exchangemage.cards.Deck;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncounterTest {
+    private Player    player;
+    private Enemy     enemy1;
+    private Enemy     enemy2;
+    private Encounter encounter;
+
+    @BeforeEach
+    void setUp() {
+        Game mockGame = Mockito.mock(Game.class);
+        GameLocator.init(mockGame);
+        GameStateLocator.init(new BaseGameState());
+        player = new Player(Mockito.mock(Deck.class), 100);
+        enemy1 = new Enemy(Mockito.mock(Deck.class), 10);
+        enemy2 = new Enemy(Mockito.mock(Deck.class), 10);
+        Mockito.when(mockGame.getPlayer()).thenReturn(player);
+        encounter = new Encounter(new BasicTurnPlayer(), Set.of(enemy1, enemy2));
+        Mockito.when(mockGame.getScene()).thenReturn(encounter);
+    }
+
+    /**
+     * Tests if the typed views of the {@link Encounter} contain its enemies and players, follow
+     * the actors added to and removed from it, and cannot be modified.
+     */
+    @Test
+    void testTypedViews() {
+        Set<Enemy> enemies = encounter.getEnemies();
+        assertEquals(Set.of(enemy1, enemy2), enemies);
+        assertEquals(Set.of(player), encounter.getPlayers());
+
+        Enemy summoned = new Enemy(Mockito.mock(Deck.class), 10);
+        encounter.addActor(summoned);
+        encounter.removeActor(enemy1);
+        assertEquals(Set.of(enemy2, summoned), enemies);
+        assertEquals(List.of(enemy2, summoned), List.copyOf(enemies));
+        assertThrows(UnsupportedOperationException.class, () -> enemies.remove(enemy2));
+    }
+
+    /**
+     * Tests if the number of alive enemies follows the enemies dying, being healed or having
+     * their health set, as well as the enemies added to and removed from the encounter.
+     */
+    @Test
+    void testAliveEnemyCount() {
+        assertEquals(2, encounter.getAliveEnemyCount());
+
+        enemy1.receiveDamage(10);
+        assertEquals(1, encounter.getAliveEnemyCount());
+        enemy1.receiveDamage(5);
+        assertEquals(1, encounter.getAliveEnemyCount());
+
+        enemy2.setCurrentHealth(0);
+        assertFalse(encounter.enemiesAlive());
+
+        enemy1.heal(3);
+        assertTrue(encounter.enemiesAlive());
+        assertEquals(1, encounter.getAliveEnemyCount());
+
+        Enemy dead = new Enemy(Mockito.mock(Deck.class), 10);
+        dead.setCurrentHealth(0);
+        encounter.addActor(dead);
+        assertEquals(1, encounter.getAliveEnemyCount());
+        dead.setCurrentHealth(10);
+        assertEquals(2, encounter.getAliveEnemyCount());
+
+        encounter.removeActor(dead);
+        dead.setCurrentHealth(0);
+        dead.setCurrentHealth(10);
+        assertEquals(1, encounter.getAliveEnemyCount());
+        encounter.removeActor(enemy1);
+        assertFalse(encounter.enemiesAlive());
+    }
+}
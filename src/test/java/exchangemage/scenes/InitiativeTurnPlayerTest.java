@@ -0,0 +1,118 @@
+package exchangemage.scenes;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.Enemy;
+import exchangemage.actors.Player;
+import exchangemage.base.BaseGameState;
+import exchangemage.base.Game;
+import exchangemage.base.GameLocator;
+import exchangemage.base.GameStateLocator;
+import exchangemage.cards.Deck;
+import exchangemage.scenes.TurnPlayer.TurnPlayerEvent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InitiativeTurnPlayerTest {
+    /** An enemy recording its turns and dying once it has taken the given number of them. */
+    private class CountingEnemy extends Enemy {
+        private int turnsLeft;
+
+        CountingEnemy(int turns) {
+            super(Mockito.mock(Deck.class), 10);
+            this.turnsLeft = turns;
+        }
+
+        @Override
+        public void takeTurn() {
+            turns.add(this);
+            if (--this.turnsLeft == 0)
+                setCurrentHealth(0);
+        }
+    }
+
+    private final List<Actor>           turns  = new ArrayList<>();
+    private final List<TurnPlayerEvent> events = new ArrayList<>();
+
+    private Game          mockGame;
+    private Player        player;
+    private CountingEnemy fast;
+    private CountingEnemy slow;
+
+    @BeforeEach
+    void setUp() {
+        mockGame = Mockito.mock(Game.class);
+        GameLocator.init(mockGame);
+        GameStateLocator.init(new BaseGameState());
+        player = new Player(Mockito.mock(Deck.class), 100) {
+            @Override
+            public void takeTurn() {turns.add(this);}
+        };
+        Mockito.when(mockGame.getPlayer()).thenReturn(player);
+    }
+
+    /** Creates an encounter with the {@link #fast} and {@link #slow} enemies and starts it. */
+    private InitiativeTurnPlayer createEncounter(int fastTurns, int slowTurns) {
+        fast = new CountingEnemy(fastTurns);
+        slow = new CountingEnemy(slowTurns);
+        Map<Actor, Integer> speeds = Map.of(player, 100, fast, 200, slow, 100);
+        InitiativeTurnPlayer turnPlayer = new InitiativeTurnPlayer(speeds::get);
+        Encounter encounter = new Encounter(turnPlayer, new LinkedHashSet<>(List.of(fast, slow)));
+        encounter.addObserver((publisher, event) -> {
+            if (event instanceof TurnPlayerEvent)
+                events.add((TurnPlayerEvent) event);
+        });
+        Mockito.when(mockGame.getScene()).thenReturn(encounter);
+        turnPlayer.init(encounter);
+        return turnPlayer;
+    }
+
+    /**
+     * Tests if actors take turns in the order given by their speed, with ties broken by the
+     * order in which they were scheduled, and if the rounds of the timeline are started and ended.
+     */
+    @Test
+    void testTurnOrder() {
+        InitiativeTurnPlayer turnPlayer = createEncounter(4, 2);
+        turnPlayer.start();
+
+        assertEquals(List.of(fast, player, slow, fast, fast, player, slow, fast), turns);
+        assertEquals(TurnPlayerEvent.ROUND_STARTED, events.get(0));
+        assertEquals(TurnPlayerEvent.ROUND_ENDED, events.get(events.size() - 1));
+        assertEquals(2, events.stream().filter(TurnPlayerEvent.ROUND_STARTED::equals).count());
+        assertEquals(16, events.stream().filter(event -> event.name().startsWith("TURN")).count());
+        assertEquals(1, turnPlayer.getRound());
+    }
+
+    /**
+     * Tests if changing the speed of an actor, delaying its turn and granting it an extra turn
+     * reschedules its turns on the timeline.
+     */
+    @Test
+    void testReprioritization() {
+        InitiativeTurnPlayer turnPlayer = createEncounter(1, 1);
+        long                 round      = InitiativeTurnPlayer.ROUND_LENGTH;
+
+        turnPlayer.setSpeed(slow, 400);
+        turnPlayer.delayTurn(fast, round);
+        turnPlayer.grantExtraTurn(player);
+        assertEquals(400, turnPlayer.getSpeed(slow));
+        assertEquals(round / 4, turnPlayer.getNextTurnTime(slow));
+        assertEquals(round / 2 + round, turnPlayer.getNextTurnTime(fast));
+        assertThrows(IllegalArgumentException.class, () -> turnPlayer.setSpeed(slow, 0));
+        assertThrows(IllegalArgumentException.class, () -> turnPlayer.delayTurn(fast, -1));
+
+        turnPlayer.start();
+        assertEquals(List.of(player, slow, player, fast), turns);
+        assertFalse(turnPlayer.isScheduled(slow));
+        assertTrue(turnPlayer.isScheduled(player));
+    }
+}
@@ -0,0 +1,138 @@
+package exchangemage.scenes;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import exchangemage.actors.Enemy;
+import exchangemage.actors.Player;
+import exchangemage.base.BaseGameState;
+import exchangemage.base.Game;
+import exchangemage.base.GameLocator;
+import exchangemage.base.GameStateLocator;
+import exchangemage.base.RandomService;
+import exchangemage.cards.Deck;
+import exchangemage.effects.Effect;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector.TargetingMode;
+import exchangemage.effects.value.DamageEffect;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanningTurnPlayerTest {
+    /**
+     * A planner attacking the enemy (other than the planning one) with the lowest health in the
+     * snapshot, or the planning enemy itself if no other enemy is alive. The intents depend on
+     * the health of all enemies.
+     */
+    private static final IntentPlanner LOWEST_HEALTH_PLANNER = request -> {
+        Enemy         enemy  = (Enemy) request.getEnemy().getActor();
+        ActorSnapshot target = null;
+        Set<Enemy>    read   = new LinkedHashSet<>();
+        for (ActorSnapshot other : request.getSnapshot().getEnemies()) {
+            read.add((Enemy) other.getActor());
+            if (other.isDead() || other.getActor() == enemy)
+                continue;
+            if (target == null || other.getCurrentHealth() < target.getCurrentHealth())
+                target = other;
+        }
+        Effect<?> attack = request.getActions().get(0);
+        return new Intent(
+                List.of(new Intent.Step(attack, target != null ? target.getActor() : enemy)),
+                read
+        );
+    };
+
+    private Game mockGame;
+
+    @BeforeEach
+    void setUp() {
+        mockGame = Mockito.mock(Game.class);
+        GameLocator.init(mockGame);
+        GameStateLocator.init(new BaseGameState());
+        Mockito.when(mockGame.getPlayer()).thenReturn(new Player(Mockito.mock(Deck.class), 100));
+    }
+
+    private static Enemy createEnemy() {
+        return Enemy.withActions(Mockito.mock(Deck.class), 10, null, List.of(new DamageEffect<>(
+                "Deal 5 damage to an enemy", 5,
+                new VariableTargetSelector<>(Enemy.class, TargetingMode.RANDOM),
+                Effect.ResolutionMode.ENQUEUE
+        )));
+    }
+
+    /**
+     * Tests if the intents planned in parallel are committed in turn order and only the intents
+     * invalidated by earlier commits are planned again.
+     */
+    @Test
+    void testCommitAndReplan() {
+        Enemy enemy1 = createEnemy();
+        Enemy enemy2 = createEnemy();
+        Enemy enemy3 = createEnemy();
+        PlanningTurnPlayer turnPlayer = new PlanningTurnPlayer(LOWEST_HEALTH_PLANNER);
+        Encounter encounter = new Encounter(turnPlayer,
+                                            new LinkedHashSet<>(List.of(enemy1, enemy2, enemy3)));
+        Mockito.when(mockGame.getScene()).thenReturn(encounter);
+
+        List<Integer> enemy1Health = new ArrayList<>();
+        encounter.addObserver((publisher, event) -> {
+            if (event == TurnPlayer.TurnPlayerEvent.ROUND_ENDED)
+                enemy1Health.add(enemy1.getCurrentHealth());
+        });
+        encounter.start();
+
+        assertEquals(List.of(0, 0, 0), enemy1Health);
+        assertTrue(enemy1.isDead() && enemy2.isDead() && enemy3.isDead());
+        assertEquals(3, turnPlayer.getReplanCount());
+        assertFalse(enemy3.getActions().get(0).hasTarget());
+    }
+
+    /** Tests if a failure of the planner is reported once the failed intent is committed. */
+    @Test
+    void testPlanningFailure() {
+        PlanningTurnPlayer turnPlayer = new PlanningTurnPlayer(request -> {
+            throw new UnsupportedOperationException();
+        });
+        Encounter encounter = new Encounter(turnPlayer, Set.of(createEnemy()));
+        Mockito.when(mockGame.getScene()).thenReturn(encounter);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, encounter::start);
+        assertInstanceOf(UnsupportedOperationException.class, e.getCause());
+    }
+
+    /**
+     * Tests if every planner is given its own random stream, forked from the random service of
+     * the session in turn order, so a seeded session plans the same draws in every replay.
+     */
+    @Test
+    void testSeededPlanning() {
+        List<List<Long>> runs = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            Mockito.when(mockGame.getRandomService()).thenReturn(new RandomService(42));
+            Enemy enemy1 = createEnemy();
+            Enemy enemy2 = createEnemy();
+            Map<Enemy, Long> draws = new ConcurrentHashMap<>();
+            PlanningTurnPlayer turnPlayer = new PlanningTurnPlayer(request -> {
+                draws.putIfAbsent((Enemy) request.getEnemy().getActor(),
+                                  request.getRandom().nextLong());
+                return LOWEST_HEALTH_PLANNER.plan(request);
+            });
+            Encounter encounter = new Encounter(turnPlayer,
+                                                new LinkedHashSet<>(List.of(enemy1, enemy2)));
+            Mockito.when(mockGame.getScene()).thenReturn(encounter);
+            encounter.start();
+            runs.add(List.of(draws.get(enemy1), draws.get(enemy2)));
+        }
+
+        assertEquals(runs.get(0), runs.get(1));
+        assertNotEquals(runs.get(0).get(0), runs.get(0).get(1));
+    }
+}
@@ -0,0 +1,102 @@
+package exchangemage.scenes;
+
+import java.util.Set;
+
+import exchangemage.actors.Actor;
+import exchangemage.actors.DeckHolderActor;
+import exchangemage.actors.Enemy;
+import exchangemage.actors.Player;
+import exchangemage.actors.TestEnemies;
+import exchangemage.actors.TestPlayers;
+import exchangemage.base.GameState;
+import exchangemage.base.GameStateLocator;
+import exchangemage.effects.TestPersistentEffects;
+import exchangemage.effects.deployers.PersistentEffect;
+import exchangemage.effects.targeting.Targetable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetableIndexTest {
+    private Player    player;
+    private Enemy     enemy;
+    private Encounter encounter;
+
+    @BeforeEach
+    void setUp() {
+        GameState mockGameState = Mockito.mock(GameState.class);
+        player = TestPlayers.PLACEHOLDER.get();
+        enemy  = TestEnemies.PLACEHOLDER.getEnemy();
+        Mockito.when(mockGameState.getPlayer()).thenReturn(player);
+        GameStateLocator.init(mockGameState);
+        encounter = new Encounter(new BasicTurnPlayer(), Set.of(enemy));
+    }
+
+    /**
+     * Tests if the targetables of a {@link Scene} are bucketed under their concrete classes as
+     * well as their superclasses and interfaces.
+     */
+    @Test
+    void testBucketsByClassAndInterface() {
+        assertEquals(Set.of(enemy), encounter.getTargetables(Enemy.class));
+        assertEquals(Set.of(player), encounter.getTargetables(Player.class));
+        assertEquals(Set.of(player, enemy), encounter.getTargetables(DeckHolderActor.class));
+        assertEquals(Set.of(player, enemy), encounter.getTargetables(Actor.class));
+        assertEquals(Set.of(player, enemy), encounter.getTargetables());
+        assertTrue(encounter.getTargetables(PersistentEffect.class).isEmpty());
+    }
+
+    /**
+     * Tests if the index follows the persistent effects added to and removed from the actors and
+     * the scene, as well as the actors added to and removed from the scene, and if the returned
+     * views reflect these changes.
+     */
+    @Test
+    void testIncrementalMaintenance() {
+        Set<PersistentEffect> effects       = encounter.getTargetables(PersistentEffect.class);
+        PersistentEffect      held          = TestPersistentEffects
+                .WHENEVER_ENEMY_IS_DAMAGED_DEAL_THEM_1_DAMAGE.get();
+        PersistentEffect      environmental = TestPersistentEffects
+                .WHENEVER_ENEMY_IS_DAMAGED_DEAL_THEM_1_DAMAGE.get();
+        Enemy                 added         = TestEnemies.PLACEHOLDER.getEnemy();
+
+        enemy.addPersistentEffect(held);
+        encounter.addPersistentEffect(environmental);
+        assertEquals(Set.of(held, environmental), effects);
+
+        enemy.removePersistentEffect(held);
+        assertEquals(Set.of(environmental), effects);
+
+        encounter.addActor(added);
+        assertEquals(Set.of(enemy, added), encounter.getTargetables(Enemy.class));
+
+        encounter.removeActor(enemy);
+        enemy.addPersistentEffect(held);
+        assertEquals(Set.of(added), encounter.getTargetables(Enemy.class));
+        assertEquals(Set.of(environmental), effects);
+        assertThrows(UnsupportedOperationException.class, () -> effects.remove(environmental));
+        assertFalse(encounter.getTargetables(Targetable.class).contains(held));
+    }
+
+    /**
+     * Tests if the slot of a targetable removed from the scene is freed, dropping the reference
+     * to the targetable, and reused by the next targetable added.
+     */
+    @Test
+    void testSlotReuse() {
+        int   slot  = encounter.getSlot(enemy);
+        Enemy added = TestEnemies.PLACEHOLDER.getEnemy();
+
+        encounter.removeActor(enemy);
+        assertEquals(-1, encounter.getSlot(enemy));
+        assertNull(encounter.getTargetable(slot));
+
+        encounter.addActor(added);
+        assertEquals(slot, encounter.getSlot(added));
+        assertSame(added, encounter.getTargetable(slot));
+        assertEquals(Set.of(added), encounter.getTargetables(Enemy.class));
+    }
+}
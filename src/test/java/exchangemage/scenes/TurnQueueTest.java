@@ -0,0 +1,86 @@
+package exchangemage.scenes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import exchangemage.actors.Actor;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TurnQueueTest {
+    /**
+     * Plays out the current round of the given {@link TurnQueue}, returning the actors in the
+     * order in which they take their turns.
+     */
+    private static List<Actor> playRound(TurnQueue queue) {
+        List<Actor> turns = new ArrayList<>();
+        queue.beginRound();
+        for (Actor actor = queue.next(); actor != null; actor = queue.next())
+            turns.add(actor);
+        return turns;
+    }
+
+    /**
+     * Tests if actors removed from the {@link TurnQueue} in the middle of a round are skipped and
+     * actors added in the middle of a round take their turn at the end of it.
+     */
+    @Test
+    void testMidRoundChanges() {
+        Actor actor1  = Mockito.mock(Actor.class);
+        Actor actor2  = Mockito.mock(Actor.class);
+        Actor actor3  = Mockito.mock(Actor.class);
+        Actor spawned = Mockito.mock(Actor.class);
+
+        TurnQueue queue = new TurnQueue();
+        queue.add(actor1);
+        queue.add(actor2);
+        queue.add(actor3);
+        assertThrows(IllegalArgumentException.class, () -> queue.add(actor1));
+
+        queue.beginRound();
+        assertSame(actor1, queue.next());
+        assertTrue(queue.remove(actor1));
+        assertTrue(queue.remove(actor2));
+        queue.add(spawned);
+        assertSame(actor3, queue.next());
+        assertSame(spawned, queue.next());
+        assertNull(queue.next());
+
+        assertFalse(queue.remove(actor2));
+        assertEquals(List.of(actor3, spawned), playRound(queue));
+        assertEquals(2, queue.size());
+    }
+
+    /**
+     * Tests if the tombstones of removed actors are compacted away without changing the order of
+     * the remaining actors or the position of the current round.
+     */
+    @Test
+    void testCompaction() {
+        List<Actor> actors = new ArrayList<>();
+        TurnQueue   queue  = new TurnQueue();
+        for (int i = 0; i < 100; i++) {
+            actors.add(Mockito.mock(Actor.class));
+            queue.add(actors.get(i));
+        }
+
+        queue.beginRound();
+        for (int i = 0; i < 10; i++)
+            queue.next();
+        for (int i = 0; i < 100; i += 3)
+            queue.remove(actors.get(i));
+        for (int i = 0; i < 20; i++)
+            queue.add(Mockito.mock(Actor.class));
+        assertSame(actors.get(10), queue.next());
+
+        for (int i = 1; i < 100; i += 3)
+            queue.remove(actors.get(i));
+        queue.beginRound();
+        assertEquals(0, queue.getTombstoneCount());
+        assertEquals(List.of(actors.get(2), actors.get(5)), playRound(queue).subList(0, 2));
+        assertEquals(53, queue.size());
+    }
+}
@@ -0,0 +1,150 @@
+package exchangemage.stats;
+
+import java.util.List;
+import java.util.Set;
+
+import exchangemage.actors.Enemy;
+import exchangemage.actors.Player;
+import exchangemage.base.BaseGameState;
+import exchangemage.base.GameLocator;
+import exchangemage.base.GameStateLocator;
+import exchangemage.base.TestGames;
+import exchangemage.cards.Card;
+import exchangemage.cards.TestDecks;
+import exchangemage.effects.Effect;
+import exchangemage.effects.EffectPlayer;
+import exchangemage.effects.TestPersistentEffects;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector;
+import exchangemage.effects.targeting.selectors.VariableTargetSelector.TargetingMode;
+import exchangemage.effects.value.AreaDamageEffect;
+import exchangemage.effects.value.AreaHealEffect;
+import exchangemage.effects.value.DamageEffect;
+import exchangemage.effects.value.HealEffect;
+import exchangemage.scenes.BasicTurnPlayer;
+import exchangemage.scenes.Encounter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CombatStatsTest {
+    private Player       player;
+    private Enemy        enemy;
+    private EffectPlayer effectPlayer;
+    private CombatStats  stats;
+
+    @BeforeEach
+    void setUp() {
+        GameLocator.init(TestGames.PLACEHOLDER.get());
+        GameStateLocator.init(new BaseGameState());
+        player = new Player(TestDecks.EMPTY.getDeck(), 30);
+        enemy  = new Enemy(TestDecks.EMPTY.getDeck(), 10);
+        GameLocator.getGame().setPlayer(player);
+        Encounter encounter = new Encounter(new BasicTurnPlayer(), Set.of(enemy));
+        GameLocator.getGame().setScene(encounter);
+        effectPlayer = encounter.getEffectPlayer();
+        stats = new CombatStats();
+        effectPlayer.setCombatStats(stats);
+    }
+
+    /** @return a card dealing 7 damage to a random enemy, played by the player */
+    private Card createCard() {
+        Effect<?> damage = new DamageEffect<>("Deal 7 damage to a random enemy", 7,
+                                              new VariableTargetSelector<>(Enemy.class,
+                                                                           TargetingMode.RANDOM),
+                                              Effect.ResolutionMode.ENQUEUE);
+        damage.setSource(player);
+        return new Card() {
+            @Override
+            public List<Effect> getEffects() {return List.of(damage);}
+        };
+    }
+
+    /**
+     * Tests if the damage dealt by a card and the reactions of a persistent effect are recorded
+     * for the player and the card, with the damage exceeding the health of the enemy recorded as
+     * overkill.
+     */
+    @Test
+    void testDamageAndActivations() {
+        player.addPersistentEffect(
+                TestPersistentEffects.WHENEVER_ENEMY_IS_DAMAGED_DEAL_THEM_1_DAMAGE.get()
+        );
+        Card card = createCard();
+        effectPlayer.playCard(card);
+        effectPlayer.playCard(card);
+
+        StatsReport report = stats.export();
+        assertEquals(List.of(card), report.getCards());
+        assertEquals(10, report.get(player, Stat.DAMAGE_DEALT));
+        assertEquals(6, report.get(player, Stat.OVERKILL));
+        assertEquals(10, report.get(enemy, Stat.DAMAGE_TAKEN));
+        assertEquals(10, report.get(card, Stat.DAMAGE_DEALT));
+        assertEquals(6, report.get(card, Stat.OVERKILL));
+        assertEquals(4, report.get(card, Stat.EFFECTS_TRIGGERED));
+        assertEquals(2, report.get(card, Stat.PERSISTENT_ACTIVATIONS));
+        assertEquals(10, report.getActorTotal(Stat.DAMAGE_TAKEN));
+    }
+
+    /** Tests if only the health actually restored is recorded as healing. */
+    @Test
+    void testHealing() {
+        Effect<?> heal = new HealEffect<>("Heal a random player by 5", 5,
+                                          new VariableTargetSelector<>(Player.class,
+                                                                       TargetingMode.RANDOM),
+                                          Effect.ResolutionMode.ENQUEUE);
+        heal.setSource(enemy);
+        player.receiveDamage(3);
+        effectPlayer.evaluateEffect(heal);
+        effectPlayer.resolveQueue();
+
+        assertEquals(3, stats.get(enemy, Stat.HEALING_DONE));
+        assertEquals(3, stats.get(player, Stat.HEALING_RECEIVED));
+        assertEquals(3, stats.get(player, Stat.DAMAGE_TAKEN));
+        assertEquals(1, stats.get(enemy, Stat.EFFECTS_TRIGGERED));
+    }
+
+    /**
+     * Tests if the damage and healing applied by area effects directly to targets without
+     * persistent effects of their own are recorded.
+     */
+    @Test
+    void testAreaEffects() {
+        Enemy other = new Enemy(TestDecks.EMPTY.getDeck(), 10);
+        GameLocator.getGame().getScene().addActor(other);
+        Effect<?> damage = new AreaDamageEffect<>("Deal 4 damage to all enemies", 4, Enemy.class,
+                                                  Effect.ResolutionMode.ENQUEUE);
+        Effect<?> heal = new AreaHealEffect<>("Heal all enemies by 5", 5, Enemy.class,
+                                              Effect.ResolutionMode.ENQUEUE);
+        damage.setSource(player);
+        heal.setSource(enemy);
+        effectPlayer.evaluateEffect(damage);
+        effectPlayer.evaluateEffect(heal);
+        effectPlayer.resolveQueue();
+
+        assertEquals(8, stats.get(player, Stat.DAMAGE_DEALT));
+        assertEquals(4, stats.get(other, Stat.DAMAGE_TAKEN));
+        assertEquals(8, stats.get(enemy, Stat.HEALING_DONE));
+        assertEquals(4, stats.get(other, Stat.HEALING_RECEIVED));
+    }
+
+    /**
+     * Tests if an export is independent of further recording and if clearing the recorder drops
+     * all statistics.
+     */
+    @Test
+    void testExportAndClear() {
+        effectPlayer.playCard(createCard());
+        StatsReport report = stats.export();
+        effectPlayer.setCombatStats(null);
+        enemy.receiveDamage(1);
+        assertEquals(7, stats.get(enemy, Stat.DAMAGE_TAKEN));
+
+        stats.clear();
+        assertEquals(0, stats.get(enemy, Stat.DAMAGE_TAKEN));
+        assertTrue(stats.export().getActors().isEmpty());
+        assertEquals(7, report.get(enemy, Stat.DAMAGE_TAKEN));
+        assertEquals(List.of(player, enemy), report.getActors());
+    }
+}